@@ -3,6 +3,7 @@ plugins {
     id("org.springframework.boot") version "3.2.0"
     id("io.spring.dependency-management") version "1.1.4"
     jacoco
+    id("me.champeau.jmh") version "0.7.2"
 }
 
 group = "com.invoiceme"
@@ -22,6 +23,42 @@ repositories {
     mavenCentral()
 }
 
+// End-to-end HTTP load tests live in src/loadtest and run against the full app on H2
+val loadtest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+// Non-blocking read API (WebFlux + R2DBC) in src/reactive, sharing the domain model and application DTOs
+val reactive: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output
+    runtimeClasspath += sourceSets.main.get().output
+}
+
+configurations[reactive.implementationConfigurationName].extendsFrom(configurations.implementation.get())
+configurations[reactive.runtimeOnlyConfigurationName].extendsFrom(configurations.runtimeOnly.get())
+
+// The load test can start the reactive API next to the MVC app to compare the two
+loadtest.compileClasspath += reactive.output
+loadtest.runtimeClasspath += reactive.output
+configurations[loadtest.implementationConfigurationName].extendsFrom(configurations[reactive.implementationConfigurationName])
+configurations[loadtest.runtimeOnlyConfigurationName].extendsFrom(configurations[reactive.runtimeOnlyConfigurationName])
+
+// Tests for the reactive read API, run against the MVC app on a shared H2 database so both APIs
+// can be compared; kept apart from src/test so R2DBC and WebFlux stay off the MVC test classpath
+val reactiveTest: SourceSet by sourceSets.creating {
+    compileClasspath += sourceSets.main.get().output + reactive.output
+    runtimeClasspath += sourceSets.main.get().output + reactive.output
+}
+
+configurations[reactiveTest.implementationConfigurationName].extendsFrom(
+    configurations.testImplementation.get(), configurations[reactive.implementationConfigurationName])
+configurations[reactiveTest.runtimeOnlyConfigurationName].extendsFrom(
+    configurations.testRuntimeOnly.get(), configurations[reactive.runtimeOnlyConfigurationName])
+
 dependencies {
     // Spring Boot Starters
     implementation("org.springframework.boot:spring-boot-starter-web")
@@ -34,6 +71,16 @@ dependencies {
     runtimeOnly("io.jsonwebtoken:jjwt-jackson:0.12.3")
     implementation("org.springframework.boot:spring-boot-starter-actuator")
     
+    // Binary response formats, chosen by Accept header
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-cbor")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-smile")
+    implementation("com.fasterxml.jackson.dataformat:jackson-dataformat-avro")
+    
+    // Metrics
+    implementation("org.springframework.boot:spring-boot-starter-aop")
+    implementation("net.ttddyy:datasource-proxy:1.10")
+    runtimeOnly("io.micrometer:micrometer-registry-prometheus")
+    
     // Database
     runtimeOnly("com.h2database:h2")
     runtimeOnly("org.postgresql:postgresql")
@@ -54,6 +101,15 @@ dependencies {
     testImplementation("org.testcontainers:junit-jupiter")
     testImplementation("org.testcontainers:postgresql")
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+    
+    // Reactive read API
+    "reactiveImplementation"("org.springframework.boot:spring-boot-starter-webflux")
+    "reactiveImplementation"("org.springframework.boot:spring-boot-starter-data-r2dbc")
+    "reactiveRuntimeOnly"("io.r2dbc:r2dbc-h2")
+    "reactiveRuntimeOnly"("org.postgresql:r2dbc-postgresql")
+    
+    // Load testing
+    "loadtestImplementation"("org.hdrhistogram:HdrHistogram:2.1.12")
 }
 
 tasks.withType<Test> {
@@ -61,6 +117,18 @@ tasks.withType<Test> {
     finalizedBy(tasks.jacocoTestReport)
 }
 
+val reactiveTestTask = tasks.register<Test>("reactiveTest") {
+    group = "verification"
+    description = "Runs the reactive read API tests"
+    testClassesDirs = reactiveTest.output.classesDirs
+    classpath = reactiveTest.runtimeClasspath
+    shouldRunAfter(tasks.test)
+}
+
+tasks.check {
+    dependsOn(reactiveTestTask)
+}
+
 tasks.jacocoTestReport {
     dependsOn(tasks.test)
     reports {
@@ -80,3 +148,64 @@ tasks.jacocoTestCoverageVerification {
     }
 }
 
+// Virtual threads need Java 21 at runtime. The code still compiles for 17; -PvirtualThreads runs
+// bootRun on a Java 21 toolchain with the virtual-threads profile, and -Ploadtest.threads=virtual
+// does the same for the load test.
+val java21Launcher = javaToolchains.launcherFor {
+    languageVersion.set(JavaLanguageVersion.of(21))
+}
+
+tasks.named<JavaExec>("bootRun") {
+    if (hasProperty("virtualThreads")) {
+        javaLauncher.set(java21Launcher)
+        systemProperty("spring.profiles.include", "virtual-threads")
+    }
+}
+
+// Boots the app on an in-memory H2 database, seeds it and drives a mixed HTTP workload.
+// Tune with -Ploadtest.duration=60s -Ploadtest.concurrency=64 -Ploadtest.customers=500 ...
+tasks.register<JavaExec>("loadtest") {
+    group = "verification"
+    description = "Runs the end-to-end HTTP load test against an H2-backed app"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.invoiceme.loadtest.LoadTestRunner")
+    jvmArgs("-Xms1g", "-Xmx1g")
+    val options = listOf("duration", "warmup", "concurrency", "customers", "invoicesPerCustomer", "hotInvoices", "dataset",
+        "api", "mix", "threads")
+    if (findProperty("loadtest.threads") == "virtual") {
+        javaLauncher.set(java21Launcher)
+    }
+    args(options.mapNotNull { key -> findProperty("loadtest.$key")?.let { "--$key=$it" } })
+    args("--reportDir=${layout.buildDirectory.dir("reports/loadtest").get().asFile}")
+}
+
+// Starts the reactive read API on its own port (default 8082) against the same database
+tasks.register<JavaExec>("bootRunReactive") {
+    group = "application"
+    description = "Runs the WebFlux + R2DBC read API"
+    classpath = reactive.runtimeClasspath
+    mainClass.set("com.invoiceme.reactive.ReactiveReadApiApplication")
+}
+
+// Bulk-loads a deterministic, skewed dataset over JDBC. Pass any DatasetProfile field as
+// -Pdataset.<name>=value, e.g. -Pdataset.jdbcUrl=jdbc:postgresql://... -Pdataset.customers=200000
+tasks.register<JavaExec>("generateDataset") {
+    group = "verification"
+    description = "Generates a large synthetic dataset directly into the configured database"
+    classpath = loadtest.runtimeClasspath
+    mainClass.set("com.invoiceme.loadtest.dataset.GenerateDataset")
+    args(properties.filterKeys { it.startsWith("dataset.") }.map { (key, value) -> "--${key.removePrefix("dataset.")}=$value" })
+}
+
+// Microbenchmarks live in src/jmh/java. Run with: ./gradlew jmh
+// Narrow the run with -PjmhIncludes=InvoiceCalculation (regex on benchmark names).
+jmh {
+    jmhVersion.set("1.37")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    profilers.set(listOf("gc"))
+    resultFormat.set("JSON")
+    resultsFile.set(layout.buildDirectory.file("results/jmh/results.json"))
+    findProperty("jmhIncludes")?.let { includes.set(listOf(it.toString())) }
+}
@@ -0,0 +1,78 @@
+package com.invoiceme.api.invoices;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.invoiceme.api.formats.AvroSchemas;
+import com.invoiceme.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encode/decode cost of InvoiceResponse in each negotiable format, with mappers configured
+ * as the message converters configure them. The encoded size per format and size is
+ * printed during setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvoiceResponseFormatBenchmark {
+    
+    @Param({"json", "cbor", "smile", "avro"})
+    private String format;
+    
+    @Param({"1", "50", "500"})
+    private int size;
+    
+    private ObjectWriter writer;
+    private ObjectReader reader;
+    private InvoiceResponse response;
+    private byte[] encoded;
+    
+    @Setup
+    public void setUp() throws IOException {
+        switch (format) {
+            case "json" -> use(Jackson2ObjectMapperBuilder.json().build());
+            case "cbor" -> use(Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build());
+            case "smile" -> use(Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build());
+            case "avro" -> {
+                AvroSchemas schemas = new AvroSchemas();
+                AvroSchema schema = schemas.schemaFor(InvoiceResponse.class).orElseThrow();
+                writer = schemas.mapper().writer(schema);
+                reader = schemas.mapper().readerFor(InvoiceResponse.class).with(schema);
+            }
+            default -> throw new IllegalArgumentException(format);
+        }
+        response = InvoiceResponses.toResponse(BenchmarkFixtures.invoiceDto(size, size));
+        encoded = writer.writeValueAsBytes(response);
+        System.out.printf("%n%s, %d line items/payments: %d bytes%n", format, size, encoded.length);
+    }
+    
+    private void use(ObjectMapper mapper) {
+        writer = mapper.writerFor(InvoiceResponse.class);
+        reader = mapper.readerFor(InvoiceResponse.class);
+    }
+    
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return writer.writeValueAsBytes(response);
+    }
+    
+    @Benchmark
+    public InvoiceResponse decode() throws IOException {
+        return reader.readValue(encoded);
+    }
+}
@@ -0,0 +1,38 @@
+package com.invoiceme.api.invoices;
+
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+import com.invoiceme.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * InvoiceDto to InvoiceResponse mapping as done by the invoice controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvoiceResponseMappingBenchmark {
+    
+    @Param({"1", "50", "500"})
+    private int size;
+    
+    private InvoiceDto dto;
+    
+    @Setup
+    public void setUp() {
+        dto = BenchmarkFixtures.invoiceDto(size, size);
+    }
+    
+    @Benchmark
+    public InvoiceResponse toResponse() {
+        return InvoiceResponses.toResponse(dto);
+    }
+}
@@ -0,0 +1,45 @@
+package com.invoiceme.api.invoices;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.invoiceme.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of InvoiceResponse, configured the way Spring MVC
+ * configures its default ObjectMapper.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class InvoiceResponseSerializationBenchmark {
+    
+    @Param({"1", "50", "500"})
+    private int size;
+    
+    private ObjectWriter writer;
+    private InvoiceResponse response;
+    
+    @Setup
+    public void setUp() {
+        ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        writer = objectMapper.writerFor(InvoiceResponse.class);
+        response = InvoiceResponses.toResponse(BenchmarkFixtures.invoiceDto(size, size));
+    }
+    
+    @Benchmark
+    public byte[] writeAsBytes() throws JsonProcessingException {
+        return writer.writeValueAsBytes(response);
+    }
+}
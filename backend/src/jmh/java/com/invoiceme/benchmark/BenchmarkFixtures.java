@@ -0,0 +1,116 @@
+package com.invoiceme.benchmark;
+
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+import com.invoiceme.application.invoices.getById.LineItemDto;
+import com.invoiceme.application.invoices.getById.PaymentDto;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceStatus;
+import com.invoiceme.domain.invoices.LineItem;
+import com.invoiceme.domain.payments.Payment;
+import com.invoiceme.domain.payments.PaymentPlan;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Deterministic test data shared by the benchmarks.
+ * Payments never exceed the invoice total so balance stays positive.
+ */
+public final class BenchmarkFixtures {
+    
+    private static final LocalDate ISSUE_DATE = LocalDate.of(2025, 1, 15);
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2025, 1, 15, 9, 30);
+    
+    private BenchmarkFixtures() {
+    }
+    
+    public static Invoice invoice(int lineItemCount, int paymentCount) {
+        UUID invoiceId = UUID.randomUUID();
+        return Invoice.reconstruct(
+            invoiceId,
+            "INV-2025-000042",
+            UUID.randomUUID(),
+            InvoiceStatus.SENT,
+            ISSUE_DATE,
+            ISSUE_DATE.plusDays(30),
+            PaymentPlan.FULL,
+            "SAVE10",
+            new BigDecimal("10.00"),
+            lineItems(lineItemCount),
+            payments(invoiceId, paymentCount),
+            CREATED_AT,
+            CREATED_AT
+        );
+    }
+    
+    public static List<LineItem> lineItems(int count) {
+        List<LineItem> items = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            items.add(LineItem.of(
+                UUID.randomUUID(),
+                "Consulting hours, block " + i,
+                new BigDecimal("2.50"),
+                new BigDecimal("149.99")
+            ));
+        }
+        return items;
+    }
+    
+    public static List<Payment> payments(UUID invoiceId, int count) {
+        List<Payment> payments = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            payments.add(Payment.reconstruct(
+                UUID.randomUUID(),
+                invoiceId,
+                new BigDecimal("12.34"),
+                ISSUE_DATE.plusDays(i % 30),
+                "CARD",
+                CREATED_AT.plusMinutes(i)
+            ));
+        }
+        return payments;
+    }
+    
+    public static InvoiceDto invoiceDto(int lineItemCount, int paymentCount) {
+        Invoice invoice = invoice(lineItemCount, paymentCount);
+        return new InvoiceDto(
+            invoice.getId(),
+            invoice.getInvoiceNumber(),
+            invoice.getCustomerId(),
+            "Acme Corporation",
+            invoice.getStatus(),
+            invoice.getIssueDate(),
+            invoice.getDueDate(),
+            invoice.getPaymentPlan(),
+            invoice.getDiscountCode(),
+            invoice.getDiscountAmount(),
+            invoice.calculateSubtotal(),
+            invoice.calculateTotal(),
+            invoice.calculateBalance(),
+            invoice.getLineItems().stream()
+                    .map(item -> new LineItemDto(
+                        item.getId(),
+                        item.getDescription(),
+                        item.getQuantity(),
+                        item.getUnitPrice(),
+                        item.getTotal()
+                    ))
+                    .toList(),
+            invoice.getPayments().stream()
+                    .map(payment -> new PaymentDto(
+                        payment.getId(),
+                        payment.getAmount(),
+                        payment.getPaymentDate(),
+                        payment.getPaymentMethod(),
+                        payment.getCreatedAt()
+                    ))
+                    .toList(),
+            invoice.getCreatedAt(),
+            invoice.getUpdatedAt()
+        );
+    }
+}
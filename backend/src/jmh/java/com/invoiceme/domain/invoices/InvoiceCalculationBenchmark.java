@@ -0,0 +1,49 @@
+package com.invoiceme.domain.invoices;
+
+import com.invoiceme.benchmark.BenchmarkFixtures;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Invoice money calculations. Each call recomputes from the line items and
+ * payments, so cost and allocation grow with {@code size}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvoiceCalculationBenchmark {
+    
+    @Param({"1", "50", "500"})
+    private int size;
+    
+    private Invoice invoice;
+    
+    @Setup
+    public void setUp() {
+        invoice = BenchmarkFixtures.invoice(size, size);
+    }
+    
+    @Benchmark
+    public BigDecimal calculateSubtotal() {
+        return invoice.calculateSubtotal();
+    }
+    
+    @Benchmark
+    public BigDecimal calculateTotal() {
+        return invoice.calculateTotal();
+    }
+    
+    @Benchmark
+    public BigDecimal calculateBalance() {
+        return invoice.calculateBalance();
+    }
+}
@@ -0,0 +1,28 @@
+package com.invoiceme.domain.invoices;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Line item construction, including validation and id generation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class LineItemBenchmark {
+    
+    private final BigDecimal quantity = new BigDecimal("2.50");
+    private final BigDecimal unitPrice = new BigDecimal("149.99");
+    
+    @Benchmark
+    public LineItem create() {
+        return LineItem.create("Consulting hours", quantity, unitPrice);
+    }
+}
@@ -0,0 +1,108 @@
+package com.invoiceme.infrastructure.persistence;
+
+import com.invoiceme.domain.common.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Bulk inserts into a table keyed like invoice_line_items, with random (v4) or time-ordered (v7)
+ * UUID primary keys. Each operation inserts and commits one JDBC batch into a table that already
+ * holds {@code preloaded} rows, so inserts land in a grown index. The space used by the table and
+ * its primary key index is printed at the end of each trial. Runs against a file-backed H2
+ * database so pages are really written; PostgreSQL B-trees split the same way.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class PrimaryKeyInsertBenchmark {
+    
+    private static final int BATCH_SIZE = 1_000;
+    
+    @Param({"v4", "v7"})
+    private String ids;
+    
+    @Param({"200000"})
+    private int preloaded;
+    
+    private Path directory;
+    private Connection connection;
+    private PreparedStatement insert;
+    private Supplier<UUID> nextId;
+    private final UUID invoiceId = UUID.randomUUID();
+    
+    @Setup(Level.Trial)
+    public void setUp() throws IOException, SQLException {
+        nextId = ids.equals("v7") ? UuidV7::next : UUID::randomUUID;
+        directory = Files.createTempDirectory("pk-insert-benchmark");
+        connection = DriverManager.getConnection("jdbc:h2:file:" + directory.resolve("db") + ";CACHE_SIZE=16384", "sa", "");
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE line_items (id UUID PRIMARY KEY, invoice_id UUID NOT NULL, "
+                + "description VARCHAR(255) NOT NULL, quantity NUMERIC(10, 2) NOT NULL, line_order INTEGER NOT NULL)");
+        }
+        connection.setAutoCommit(false);
+        insert = connection.prepareStatement(
+            "INSERT INTO line_items (id, invoice_id, description, quantity, line_order) VALUES (?, ?, ?, ?, ?)");
+        for (int loaded = 0; loaded < preloaded; loaded += BATCH_SIZE) {
+            insertBatch();
+        }
+    }
+    
+    @Benchmark
+    public int[] insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            insert.setObject(1, nextId.get());
+            insert.setObject(2, invoiceId);
+            insert.setString(3, "Consulting hours");
+            insert.setInt(4, 1);
+            insert.setInt(5, i);
+            insert.addBatch();
+        }
+        int[] counts = insert.executeBatch();
+        connection.commit();
+        return counts;
+    }
+    
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException, SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CHECKPOINT SYNC");
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT COUNT(*), DISK_SPACE_USED('LINE_ITEMS') FROM line_items")) {
+                rows.next();
+                // Trials insert different row counts, so compare the space per row
+                System.out.printf("%n%s keys: %d rows, %d KiB used by the table and its primary key, %.1f bytes per row%n",
+                    ids, rows.getLong(1), rows.getLong(2) / 1024, (double) rows.getLong(2) / rows.getLong(1));
+            }
+        } finally {
+            connection.close();
+            try (Stream<Path> files = Files.walk(directory)) {
+                for (Path file : files.sorted(Comparator.reverseOrder()).toList()) {
+                    Files.delete(file);
+                }
+            }
+        }
+    }
+}
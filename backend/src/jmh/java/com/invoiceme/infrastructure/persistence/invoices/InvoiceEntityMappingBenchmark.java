@@ -0,0 +1,50 @@
+package com.invoiceme.infrastructure.persistence.invoices;
+
+import com.invoiceme.benchmark.BenchmarkFixtures;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.payments.Payment;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Domain/JPA mapping for invoices. Lives in the entity's package because
+ * InvoiceEntity and its mappers are package-private.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class InvoiceEntityMappingBenchmark {
+    
+    @Param({"1", "50", "500"})
+    private int size;
+    
+    private Invoice invoice;
+    private InvoiceEntity entity;
+    private List<Payment> payments;
+    
+    @Setup
+    public void setUp() {
+        invoice = BenchmarkFixtures.invoice(size, size);
+        entity = InvoiceEntity.fromDomain(invoice);
+        payments = invoice.getPayments();
+    }
+    
+    @Benchmark
+    public InvoiceEntity fromDomain() {
+        return InvoiceEntity.fromDomain(invoice);
+    }
+    
+    @Benchmark
+    public Invoice toDomain() {
+        return entity.toDomain(payments);
+    }
+}
@@ -0,0 +1,57 @@
+package com.invoiceme.infrastructure.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token generation and the parse/validate work done by JwtAuthenticationFilter
+ * on every authenticated request.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtServiceBenchmark {
+    
+    private static final String USERNAME = "admin@invoiceme.com";
+    
+    private JwtService jwtService;
+    private String token;
+    
+    @Setup
+    public void setUp() throws ReflectiveOperationException {
+        jwtService = new JwtService();
+        // Normally injected by @Value
+        setField("secret", "benchmark-secret-key-that-is-at-least-32-characters-long");
+        setField("expiration", 86_400_000L);
+        token = jwtService.generateToken(USERNAME);
+    }
+    
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(USERNAME);
+    }
+    
+    @Benchmark
+    public String extractUsername() {
+        return jwtService.extractUsername(token);
+    }
+    
+    @Benchmark
+    public Boolean validateToken() {
+        return jwtService.validateToken(token, USERNAME);
+    }
+    
+    private void setField(String name, Object value) throws ReflectiveOperationException {
+        Field field = JwtService.class.getDeclaredField(name);
+        field.setAccessible(true);
+        field.set(jwtService, value);
+    }
+}
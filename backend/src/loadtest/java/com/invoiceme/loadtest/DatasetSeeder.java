@@ -0,0 +1,94 @@
+package com.invoiceme.loadtest;
+
+import com.invoiceme.domain.customers.Customer;
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.domain.invoices.LineItem;
+import com.invoiceme.domain.payments.PaymentPlan;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Seeds customers and SENT invoices through the domain repositories.
+ * One password hash is shared by all customers; BCrypt per row would
+ * dominate seeding time without telling us anything.
+ */
+class DatasetSeeder {
+    
+    private static final int BATCH = 100;
+    
+    private final CustomerRepository customerRepository;
+    private final InvoiceRepository invoiceRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final String passwordHash;
+    private final Random random = new Random(42);
+    
+    DatasetSeeder(ApplicationContext context) {
+        this.customerRepository = context.getBean(CustomerRepository.class);
+        this.invoiceRepository = context.getBean(InvoiceRepository.class);
+        this.transactionTemplate = context.getBean(TransactionTemplate.class);
+        this.passwordHash = context.getBean(PasswordEncoder.class).encode("123456");
+    }
+    
+    SeededData seed(LoadTestOptions options) {
+        List<SeededData.CustomerInvoices> customers = new ArrayList<>(options.customers());
+        for (int start = 0; start < options.customers(); start += BATCH) {
+            int end = Math.min(start + BATCH, options.customers());
+            int from = start;
+            transactionTemplate.executeWithoutResult(status -> {
+                for (int i = from; i < end; i++) {
+                    customers.add(seedCustomer(i, options.invoicesPerCustomer()));
+                }
+            });
+        }
+        
+        return new SeededData(customers, seedHotInvoices(customers.get(0).customerId(), options.hotInvoices()));
+    }
+    
+    // Hot invoices get large totals so payment bursts never overpay them
+    List<UUID> seedHotInvoices(UUID customerId, int count) {
+        return transactionTemplate.execute(status -> {
+            List<UUID> ids = new ArrayList<>();
+            for (int i = 0; i < count; i++) {
+                ids.add(seedInvoice(customerId, new BigDecimal("1000000.00")));
+            }
+            return ids;
+        });
+    }
+    
+    private SeededData.CustomerInvoices seedCustomer(int index, int invoiceCount) {
+        Customer customer = customerRepository.save(Customer.create(
+            "Load Customer " + index,
+            "load" + index + "@example.com",
+            index + " Benchmark Ave",
+            passwordHash
+        ));
+        
+        List<UUID> invoiceIds = new ArrayList<>(invoiceCount);
+        for (int i = 0; i < invoiceCount; i++) {
+            invoiceIds.add(seedInvoice(customer.getId(), BigDecimal.valueOf(50 + random.nextInt(950))));
+        }
+        return new SeededData.CustomerInvoices(customer.getId(), invoiceIds);
+    }
+    
+    private UUID seedInvoice(UUID customerId, BigDecimal unitPrice) {
+        LocalDate issueDate = LocalDate.now().minusDays(random.nextInt(60));
+        Invoice invoice = Invoice.create(customerId, issueDate, issueDate.plusDays(30), PaymentPlan.FULL);
+        int lineItems = 1 + random.nextInt(5);
+        for (int i = 0; i < lineItems; i++) {
+            invoice.addLineItem(LineItem.create("Service " + i, BigDecimal.ONE, unitPrice));
+        }
+        invoice.markAsSent();
+        invoiceRepository.save(invoice);
+        return invoice.getId();
+    }
+}
@@ -0,0 +1,92 @@
+package com.invoiceme.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds) and error counts.
+ */
+class LatencyReport {
+    
+    private static final long MAX_TRACKABLE_MICROS = Duration.ofMinutes(1).toNanos() / 1000;
+    
+    private final Map<Workload.Operation, Histogram> histograms = new EnumMap<>(Workload.Operation.class);
+    private final Map<Workload.Operation, LongAdder> errors = new EnumMap<>(Workload.Operation.class);
+    
+    LatencyReport() {
+        for (Workload.Operation op : Workload.Operation.values()) {
+            histograms.put(op, new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3));
+            errors.put(op, new LongAdder());
+        }
+    }
+    
+    void record(Workload.Operation op, long latencyNanos, boolean success) {
+        histograms.get(op).recordValue(Math.min(latencyNanos / 1000, MAX_TRACKABLE_MICROS));
+        if (!success) {
+            errors.get(op).increment();
+        }
+    }
+    
+    void reset() {
+        histograms.values().forEach(Histogram::reset);
+        errors.values().forEach(LongAdder::reset);
+    }
+    
+    String render(LoadTestOptions options, Duration measured) {
+        double seconds = measured.toMillis() / 1000.0;
+        StringBuilder out = new StringBuilder();
+        out.append("InvoiceMe load test - ").append(LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME)).append('\n');
+        out.append(String.format("duration=%s warmup=%s concurrency=%d customers=%d invoicesPerCustomer=%d hotInvoices=%d api=%s mix=%s threads=%s%n%n",
+            options.duration(), options.warmup(), options.concurrency(),
+            options.customers(), options.invoicesPerCustomer(), options.hotInvoices(),
+            options.api(), options.mix(), options.threads()));
+        out.append(String.format("%-38s %9s %8s %9s %9s %9s %9s %9s%n",
+            "operation", "requests", "errors", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms"));
+        
+        long totalErrors = 0;
+        Histogram all = new Histogram(MAX_TRACKABLE_MICROS, 3);
+        for (Workload.Operation op : Workload.Operation.values()) {
+            Histogram histogram = histograms.get(op).copy();
+            long errorCount = errors.get(op).sum();
+            totalErrors += errorCount;
+            all.add(histogram);
+            out.append(row(op.label(), histogram, errorCount, seconds));
+        }
+        out.append(row("TOTAL", all, totalErrors, seconds));
+        return out.toString();
+    }
+    
+    Path write(LoadTestOptions options, Duration measured) throws IOException {
+        Files.createDirectories(options.reportDir());
+        String stamp = LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss"));
+        Path file = options.reportDir().resolve("loadtest-" + stamp + ".txt");
+        Files.writeString(file, render(options, measured));
+        return file;
+    }
+    
+    private static String row(String label, Histogram histogram, long errorCount, double seconds) {
+        return String.format("%-38s %9d %8d %9.1f %9.2f %9.2f %9.2f %9.2f%n",
+            label,
+            histogram.getTotalCount(),
+            errorCount,
+            histogram.getTotalCount() / seconds,
+            millis(histogram.getValueAtPercentile(50)),
+            millis(histogram.getValueAtPercentile(99)),
+            millis(histogram.getValueAtPercentile(99.9)),
+            millis(histogram.getMaxValue()));
+    }
+    
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
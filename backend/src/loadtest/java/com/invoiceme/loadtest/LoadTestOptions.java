@@ -0,0 +1,93 @@
+package com.invoiceme.loadtest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options for the load test, given as {@code --name=value}.
+ * {@code --dataset=generated} bulk-loads skewed data with the dataset generator
+ * instead of the small, uniform seeded set. {@code --api=reactive} sends the read
+ * operations to the WebFlux + R2DBC read API instead of the MVC controllers, and
+ * {@code --mix=reads} drops the writes so the two read paths can be compared alone.
+ * {@code --threads=virtual} runs the server with the virtual-threads profile (Java 21).
+ */
+record LoadTestOptions(
+    Duration duration,
+    Duration warmup,
+    int concurrency,
+    int customers,
+    int invoicesPerCustomer,
+    int hotInvoices,
+    String dataset,
+    String api,
+    String mix,
+    String threads,
+    Path reportDir
+) {
+    
+    // Checked before the app starts; the workload picks from these and cannot run on an empty set
+    LoadTestOptions {
+        requirePositive("concurrency", concurrency);
+        requirePositive("customers", customers);
+        requirePositive("invoicesPerCustomer", invoicesPerCustomer);
+        requirePositive("hotInvoices", hotInvoices);
+    }
+    
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            values.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        
+        return new LoadTestOptions(
+            duration(values.getOrDefault("duration", "60s")),
+            duration(values.getOrDefault("warmup", "15s")),
+            Integer.parseInt(values.getOrDefault("concurrency", "64")),
+            Integer.parseInt(values.getOrDefault("customers", "500")),
+            Integer.parseInt(values.getOrDefault("invoicesPerCustomer", "10")),
+            Integer.parseInt(values.getOrDefault("hotInvoices", "5")),
+            values.getOrDefault("dataset", "seeded"),
+            values.getOrDefault("api", "mvc"),
+            values.getOrDefault("mix", "full"),
+            values.getOrDefault("threads", "platform"),
+            Path.of(values.getOrDefault("reportDir", "build/reports/loadtest"))
+        );
+    }
+    
+    boolean reactiveReads() {
+        return api.equals("reactive");
+    }
+    
+    boolean readsOnly() {
+        return mix.equals("reads");
+    }
+    
+    boolean virtualThreads() {
+        return threads.equals("virtual");
+    }
+    
+    private static void requirePositive(String name, int value) {
+        if (value < 1) {
+            throw new IllegalArgumentException("--" + name + " must be at least 1 but was " + value);
+        }
+    }
+    
+    // Accepts "90s", "5m" or an ISO-8601 duration such as "PT90S"
+    private static Duration duration(String value) {
+        if (value.startsWith("P") || value.startsWith("p")) {
+            return Duration.parse(value);
+        }
+        long amount = Long.parseLong(value.substring(0, value.length() - 1));
+        return switch (value.charAt(value.length() - 1)) {
+            case 's' -> Duration.ofSeconds(amount);
+            case 'm' -> Duration.ofMinutes(amount);
+            default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+        };
+    }
+}
@@ -0,0 +1,197 @@
+package com.invoiceme.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.InvoiceMeApplication;
+import com.invoiceme.loadtest.dataset.DatasetGenerator;
+import com.invoiceme.loadtest.dataset.DatasetProfile;
+import com.invoiceme.reactive.ReactiveReadApiApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import javax.sql.DataSource;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Boots InvoiceMe on an in-memory H2 database, seeds it, and drives the
+ * {@link Workload} mix over real HTTP for a fixed duration.
+ *
+ * The client is asynchronous and keeps {@code concurrency} requests in flight
+ * (closed loop), so latencies exclude time a request would have spent queued
+ * behind a slow one. Client and server share the JVM; compare runs made on
+ * the same machine only.
+ *
+ * With {@code --api=reactive} the reactive read API is started as well, on the
+ * same in-memory database, and serves the read operations.
+ */
+public class LoadTestRunner {
+    
+    private static final String ADMIN_USERNAME = "loadtest-admin";
+    private static final String ADMIN_PASSWORD = "loadtest-password";
+    private static final String REACTIVE_R2DBC_URL = "r2dbc:h2:mem:///loadtest;DB_CLOSE_DELAY=-1";
+    
+    private final LoadTestOptions options;
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    
+    LoadTestRunner(LoadTestOptions options) {
+        this.options = options;
+    }
+    
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        int exitCode;
+        if (options.virtualThreads() && Runtime.version().feature() < 21) {
+            throw new IllegalStateException("--threads=virtual needs Java 21, running on " + Runtime.version());
+        }
+        String[] profiles = options.virtualThreads()
+                ? new String[] {"loadtest", "virtual-threads"}
+                : new String[] {"loadtest"};
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(InvoiceMeApplication.class)
+                .profiles(profiles)
+                .run()) {
+            exitCode = new LoadTestRunner(options).run(context);
+        }
+        System.exit(exitCode);
+    }
+    
+    int run(ConfigurableApplicationContext context) throws Exception {
+        int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+        URI baseUri = URI.create("http://localhost:" + port);
+        
+        SeededData data = options.dataset().equals("generated") ? generate(context) : seed(context);
+        String token = adminToken(baseUri);
+        
+        ConfigurableApplicationContext reactiveApi = options.reactiveReads() ? startReactiveApi(context) : null;
+        try {
+            URI readBaseUri = reactiveApi != null
+                    ? URI.create("http://localhost:" + ((WebServerApplicationContext) reactiveApi).getWebServer().getPort())
+                    : baseUri;
+            return measure(new Workload(baseUri, readBaseUri, token, data, options.readsOnly()));
+        } finally {
+            if (reactiveApi != null) {
+                reactiveApi.close();
+            }
+        }
+    }
+    
+    private int measure(Workload workload) throws Exception {
+        LatencyReport report = new LatencyReport();
+        
+        log("Warming up for %s ...", options.warmup());
+        drive(workload, report, options.warmup());
+        report.reset();
+        
+        log("Measuring for %s at concurrency %d ...", options.duration(), options.concurrency());
+        long start = System.nanoTime();
+        drive(workload, report, options.duration());
+        Duration measured = Duration.ofNanos(System.nanoTime() - start);
+        
+        Path file = report.write(options, measured);
+        System.out.println();
+        System.out.print(report.render(options, measured));
+        log("Report written to %s", file.toAbsolutePath());
+        return 0;
+    }
+    
+    // Shares the H2 database (same JVM, same name) and the JWT secret with the MVC app
+    private ConfigurableApplicationContext startReactiveApi(ConfigurableApplicationContext context) {
+        log("Starting reactive read API ...");
+        return ReactiveReadApiApplication.start(
+            "--server.port=0",
+            "--spring.r2dbc.url=" + REACTIVE_R2DBC_URL,
+            "--spring.r2dbc.username=sa",
+            "--spring.r2dbc.password=",
+            "--spring.r2dbc.pool.max-size=" + context.getEnvironment().getProperty("spring.datasource.hikari.maximum-pool-size", "20"),
+            "--jwt.secret=" + context.getEnvironment().getRequiredProperty("jwt.secret"),
+            "--logging.level.root=WARN",
+            "--logging.level.com.invoiceme=WARN");
+    }
+    
+    private SeededData seed(ConfigurableApplicationContext context) {
+        log("Seeding %d customers x %d invoices ...", options.customers(), options.invoicesPerCustomer());
+        return new DatasetSeeder(context).seed(options);
+    }
+    
+    private SeededData generate(ConfigurableApplicationContext context) throws SQLException {
+        DatasetProfile profile = DatasetProfile.defaults()
+                .withCustomers(options.customers(), options.invoicesPerCustomer());
+        log("Generating dataset: %s", profile);
+        
+        List<SeededData.CustomerInvoices> customers = new ArrayList<>();
+        try (Connection connection = context.getBean(DataSource.class).getConnection()) {
+            DatasetGenerator.DatasetSummary summary = new DatasetGenerator(profile).generate(connection,
+                (customerId, sent, all) -> {
+                    if (!all.isEmpty()) {
+                        customers.add(new SeededData.CustomerInvoices(customerId, all));
+                    }
+                });
+            log("Generated %s", summary);
+        }
+        // Customers without invoices are skipped; the skew can leave none at small sizes
+        if (customers.isEmpty()) {
+            throw new IllegalStateException("Generated dataset has no customers with invoices; raise --customers or --invoicesPerCustomer");
+        }
+        
+        List<UUID> hot = new DatasetSeeder(context).seedHotInvoices(customers.get(0).customerId(), options.hotInvoices());
+        return new SeededData(customers, hot);
+    }
+    
+    private void drive(Workload workload, LatencyReport report, Duration length) throws InterruptedException {
+        Semaphore inFlight = new Semaphore(options.concurrency());
+        long deadline = System.nanoTime() + length.toNanos();
+        while (System.nanoTime() < deadline) {
+            inFlight.acquire();
+            Workload.Operation op = workload.next();
+            HttpRequest request = workload.request(op);
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        boolean success = error == null && response.statusCode() < 400;
+                        report.record(op, System.nanoTime() - sentAt, success);
+                        inFlight.release();
+                    });
+        }
+        // Let the tail of in-flight requests finish before the phase ends
+        inFlight.acquire(options.concurrency());
+    }
+    
+    private String adminToken(URI baseUri) throws Exception {
+        post(baseUri, "/api/v1/auth/register", """
+            {"username":"%s","email":"loadtest-admin@example.com","password":"%s"}"""
+            .formatted(ADMIN_USERNAME, ADMIN_PASSWORD));
+        HttpResponse<String> login = post(baseUri, "/api/v1/auth/login", """
+            {"username":"%s","password":"%s"}"""
+            .formatted(ADMIN_USERNAME, ADMIN_PASSWORD));
+        if (login.statusCode() != 200) {
+            throw new IllegalStateException("Admin login failed: " + login.statusCode() + " " + login.body());
+        }
+        return objectMapper.readTree(login.body()).get("token").asText();
+    }
+    
+    private HttpResponse<String> post(URI baseUri, String path, String json) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(baseUri.resolve(path))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+    
+    private static void log(String format, Object... args) {
+        System.out.println("[loadtest] " + String.format(format, args));
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoiceme.loadtest;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Ids of the data the workload reads and writes against.
+ */
+record SeededData(
+    List<CustomerInvoices> customers,
+    List<UUID> hotInvoiceIds
+) {
+    
+    record CustomerInvoices(UUID customerId, List<UUID> invoiceIds) {
+    }
+}
@@ -0,0 +1,129 @@
+package com.invoiceme.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * The request mix: mostly portal reads, some admin list pages, and a
+ * trickle of writes with payments concentrated on a few hot invoices.
+ * Reads can be pointed at a different server (the reactive read API) than writes,
+ * and the writes can be left out altogether.
+ */
+class Workload {
+    
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    
+    enum Operation {
+        PORTAL_LIST("GET /customers/portal/invoices", 35, true),
+        PORTAL_GET("GET /customers/portal/invoices/{id}", 25, true),
+        ADMIN_LIST("GET /invoices", 15, true),
+        ADMIN_GET("GET /invoices/{id}", 10, true),
+        CREATE_INVOICE("POST /invoices", 5, false),
+        HOT_PAYMENT("POST /payments (hot invoice)", 10, false);
+        
+        private final String label;
+        private final int weight;
+        private final boolean read;
+        
+        Operation(String label, int weight, boolean read) {
+            this.label = label;
+            this.weight = weight;
+            this.read = read;
+        }
+        
+        String label() {
+            return label;
+        }
+    }
+    
+    private final URI baseUri;
+    private final URI readBaseUri;
+    private final String adminToken;
+    private final SeededData data;
+    private final List<Operation> operations;
+    private final int totalWeight;
+    
+    Workload(URI baseUri, URI readBaseUri, String adminToken, SeededData data, boolean readsOnly) {
+        this.baseUri = baseUri;
+        this.readBaseUri = readBaseUri;
+        this.adminToken = adminToken;
+        this.data = data;
+        this.operations = java.util.Arrays.stream(Operation.values())
+                .filter(op -> op.read || !readsOnly)
+                .toList();
+        this.totalWeight = operations.stream()
+                .mapToInt(op -> op.weight)
+                .sum();
+    }
+    
+    Operation next() {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (Operation op : operations) {
+            roll -= op.weight;
+            if (roll < 0) {
+                return op;
+            }
+        }
+        throw new IllegalStateException("Weights do not add up");
+    }
+    
+    HttpRequest request(Operation op) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        SeededData.CustomerInvoices customer = pickCustomer(random);
+        UUID invoiceId = customer.invoiceIds().get(random.nextInt(customer.invoiceIds().size()));
+        
+        return switch (op) {
+            case PORTAL_LIST -> get("/api/v1/customers/portal/invoices?customerId=" + customer.customerId()
+                    + "&page=0&size=20", false);
+            case PORTAL_GET -> get("/api/v1/customers/portal/invoices/" + invoiceId
+                    + "?customerId=" + customer.customerId(), false);
+            case ADMIN_LIST -> get("/api/v1/invoices?page=" + random.nextInt(5) + "&size=50", true);
+            case ADMIN_GET -> get("/api/v1/invoices/" + invoiceId, true);
+            case CREATE_INVOICE -> post("/api/v1/invoices", """
+                    {"customerId":"%s","issueDate":"%s","dueDate":"%s","paymentPlan":"FULL"}"""
+                    .formatted(customer.customerId(), LocalDate.now(), LocalDate.now().plusDays(30)));
+            case HOT_PAYMENT -> post("/api/v1/payments", """
+                    {"invoiceId":"%s","amount":0.01,"paymentDate":"%s","paymentMethod":"CARD"}"""
+                    .formatted(pickHotInvoice(random), LocalDate.now()));
+        };
+    }
+    
+    // Skewed towards the first customers so a few of them are much busier than the rest
+    private SeededData.CustomerInvoices pickCustomer(ThreadLocalRandom random) {
+        List<SeededData.CustomerInvoices> customers = data.customers();
+        double u = random.nextDouble();
+        int index = (int) (customers.size() * u * u);
+        return customers.get(Math.min(index, customers.size() - 1));
+    }
+    
+    private UUID pickHotInvoice(ThreadLocalRandom random) {
+        List<UUID> hot = data.hotInvoiceIds();
+        return hot.get(random.nextInt(hot.size()));
+    }
+    
+    private HttpRequest get(String path, boolean authenticated) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(readBaseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Accept", "application/json")
+                .GET();
+        if (authenticated) {
+            builder.header("Authorization", "Bearer " + adminToken);
+        }
+        return builder.build();
+    }
+    
+    private HttpRequest post(String path, String json) {
+        return HttpRequest.newBuilder(baseUri.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", "application/json")
+                .header("Authorization", "Bearer " + adminToken)
+                .POST(HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
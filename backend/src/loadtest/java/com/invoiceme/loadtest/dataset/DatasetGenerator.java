@@ -0,0 +1,413 @@
+package com.invoiceme.loadtest.dataset;
+
+import com.invoiceme.domain.common.UuidV7;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Bulk-loads customers, invoices, line items, payments and payment schedules
+ * with JDBC batches, bypassing JPA entirely.
+ *
+ * Rows mirror what the application itself would write: line totals are
+ * quantity x unit price, discounts use the seeded codes, PAY_IN_4 invoices
+ * get four schedules two weeks apart, and every payment stays within the
+ * invoice total. Expects the schema to exist and the tables to be empty.
+ */
+public class DatasetGenerator {
+    
+    // BCrypt hash of "123456", the default portal password
+    private static final String PASSWORD_HASH = "$2a$10$gWpnXLwQu8LC6y8/5wkh3uEOYqgQwktSVKP.yoHgdxJm1qEx330aq";
+    private static final String[] DISCOUNT_CODES = {"SAVE15", "FANDF"};
+    private static final BigDecimal[] DISCOUNT_PERCENTS = {new BigDecimal("15"), new BigDecimal("30")};
+    private static final String[] PAYMENT_METHODS = {"CARD", "BANK_TRANSFER", "ACH", "CHECK"};
+    private static final String[] SERVICES = {
+        "Consulting", "Design work", "Development hours", "Support retainer",
+        "Hosting", "Training session", "Audit", "Licence"
+    };
+    private static final int MAX_INVOICES_PER_CUSTOMER = 5_000;
+    private static final int MAX_LINE_ITEMS = 50;
+    private static final BigDecimal HUNDRED = new BigDecimal("100");
+    private static final BigDecimal FOUR = new BigDecimal("4");
+    
+    private final DatasetProfile profile;
+    private final Random random;
+    // Timestamp of the next id: ids rise in insert order, as UuidV7.next() makes them in the application
+    private long nextIdMillis;
+    
+    public DatasetGenerator(DatasetProfile profile) {
+        this.profile = profile;
+        this.random = new Random(profile.seed());
+        this.nextIdMillis = profile.asOf().minusYears(5).atStartOfDay().toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+    
+    /**
+     * Receives each customer with its generated invoices as they are written.
+     */
+    public interface Listener {
+        void customerGenerated(UUID customerId, List<UUID> sentInvoiceIds, List<UUID> allInvoiceIds);
+    }
+    
+    public DatasetSummary generate(Connection connection) throws SQLException {
+        return generate(connection, (customerId, sent, all) -> { });
+    }
+    
+    public DatasetSummary generate(Connection connection, Listener listener) throws SQLException {
+        long start = System.nanoTime();
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (Batches batches = new Batches(connection, profile.batchSize())) {
+            for (int i = 0; i < profile.customers(); i++) {
+                generateCustomer(i, batches, listener);
+            }
+            batches.flush();
+            connection.commit();
+            return batches.summary(System.nanoTime() - start);
+        } catch (SQLException | RuntimeException ex) {
+            connection.rollback();
+            throw ex;
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+    }
+    
+    private void generateCustomer(int index, Batches batches, Listener listener) throws SQLException {
+        UUID customerId = nextUuid();
+        LocalDateTime createdAt = profile.asOf().minusDays(400 + random.nextInt(1000)).atTime(9, 0);
+        batches.customer(customerId, "Customer " + index, "customer" + index + "@example.test",
+            (index + 1) + " Market Street", createdAt);
+        
+        int invoiceCount = invoicesFor();
+        List<UUID> sent = new ArrayList<>();
+        List<UUID> all = new ArrayList<>(invoiceCount);
+        for (int i = 0; i < invoiceCount; i++) {
+            GeneratedInvoice invoice = generateInvoice(customerId, batches);
+            all.add(invoice.id());
+            if (invoice.status().equals("SENT")) {
+                sent.add(invoice.id());
+            }
+            // Only flush between invoices so parent rows always precede their children
+            batches.flushIfFull();
+        }
+        listener.customerGenerated(customerId, sent, all);
+    }
+    
+    private GeneratedInvoice generateInvoice(UUID customerId, Batches batches) throws SQLException {
+        UUID invoiceId = nextUuid();
+        
+        double statusRoll = random.nextDouble();
+        String status = statusRoll < profile.draftShare() ? "DRAFT"
+                : statusRoll < profile.draftShare() + profile.paidShare() ? "PAID"
+                : "SENT";
+        boolean payInFour = random.nextDouble() < profile.payInFourShare();
+        boolean overdue = status.equals("SENT") && random.nextDouble() < profile.overdueShare();
+        
+        // Unpaid, not-overdue invoices must still be inside their payment window
+        int term = payInFour ? 56 : 30;
+        LocalDate issueDate = status.equals("SENT") && !overdue
+                ? profile.asOf().minusDays(random.nextInt(term))
+                : profile.asOf().minusDays(term + 1 + random.nextInt(365));
+        LocalDate dueDate = issueDate.plusDays(term);
+        LocalDateTime createdAt = issueDate.atTime(8 + random.nextInt(10), random.nextInt(60));
+        
+        // Line items
+        int lineItemCount = lineItemsFor();
+        BigDecimal subtotal = BigDecimal.ZERO;
+        for (int order = 0; order < lineItemCount; order++) {
+            BigDecimal quantity = quantity();
+            BigDecimal unitPrice = unitPrice();
+            BigDecimal total = quantity.multiply(unitPrice).setScale(2, RoundingMode.HALF_UP);
+            subtotal = subtotal.add(total);
+            batches.lineItem(nextUuid(), invoiceId,
+                SERVICES[random.nextInt(SERVICES.length)] + " #" + (order + 1),
+                quantity, unitPrice, total, order);
+        }
+        
+        // Discount
+        String discountCode = null;
+        BigDecimal discountAmount = BigDecimal.ZERO.setScale(2);
+        if (random.nextDouble() < profile.discountShare()) {
+            int code = random.nextDouble() < 0.7 ? 0 : 1;
+            discountCode = DISCOUNT_CODES[code];
+            discountAmount = subtotal.multiply(DISCOUNT_PERCENTS[code]).divide(HUNDRED, 2, RoundingMode.HALF_UP);
+        }
+        BigDecimal total = subtotal.subtract(discountAmount).max(BigDecimal.ZERO);
+        
+        // Payments and schedules
+        LocalDateTime updatedAt = createdAt;
+        if (!status.equals("DRAFT")) {
+            List<BigDecimal> installments = payInFour ? installments(total) : List.of(total);
+            int paidInstallments = paidInstallments(status, payInFour);
+            
+            if (payInFour) {
+                for (int n = 1; n <= 4; n++) {
+                    LocalDate installmentDue = issueDate.plusWeeks(2L * n);
+                    String installmentStatus = n <= paidInstallments ? "PAID"
+                            : installmentDue.isBefore(profile.asOf()) ? "OVERDUE"
+                            : "PENDING";
+                    batches.schedule(nextUuid(), invoiceId, n, installments.get(n - 1), installmentDue,
+                        installmentStatus, createdAt);
+                }
+                for (int n = 1; n <= paidInstallments; n++) {
+                    updatedAt = payment(batches, invoiceId, installments.get(n - 1),
+                        issueDate.plusWeeks(2L * n).minusDays(random.nextInt(5)));
+                }
+            } else if (status.equals("PAID")) {
+                updatedAt = payFull(batches, invoiceId, total, issueDate, dueDate);
+            } else if (random.nextDouble() < profile.partiallyPaidShare() && total.signum() > 0) {
+                BigDecimal fraction = BigDecimal.valueOf(10 + random.nextInt(80)).divide(HUNDRED);
+                BigDecimal partial = total.multiply(fraction).setScale(2, RoundingMode.DOWN);
+                if (partial.signum() > 0) {
+                    updatedAt = payment(batches, invoiceId, partial, paymentDate(issueDate, dueDate));
+                }
+            }
+        }
+        
+        batches.invoice(invoiceId, customerId, status, issueDate, dueDate, payInFour ? "PAY_IN_4" : "FULL",
+            discountCode, discountAmount, createdAt, updatedAt.isBefore(createdAt) ? createdAt : updatedAt);
+        return new GeneratedInvoice(invoiceId, status);
+    }
+    
+    private int paidInstallments(String status, boolean payInFour) {
+        if (!payInFour) {
+            return 0;
+        }
+        if (status.equals("PAID")) {
+            return 4;
+        }
+        return random.nextDouble() < profile.partiallyPaidShare() ? 1 + random.nextInt(3) : 0;
+    }
+    
+    // Full payment, sometimes split in two
+    private LocalDateTime payFull(Batches batches, UUID invoiceId, BigDecimal total,
+                                  LocalDate issueDate, LocalDate dueDate) throws SQLException {
+        if (total.signum() == 0) {
+            return issueDate.atStartOfDay();
+        }
+        if (random.nextDouble() < 0.15 && total.compareTo(BigDecimal.ONE) > 0) {
+            BigDecimal first = total.divide(BigDecimal.valueOf(2), 2, RoundingMode.DOWN);
+            payment(batches, invoiceId, first, paymentDate(issueDate, dueDate));
+            return payment(batches, invoiceId, total.subtract(first), paymentDate(issueDate, dueDate));
+        }
+        return payment(batches, invoiceId, total, paymentDate(issueDate, dueDate));
+    }
+    
+    private LocalDateTime payment(Batches batches, UUID invoiceId, BigDecimal amount, LocalDate date) throws SQLException {
+        LocalDate paymentDate = date.isAfter(profile.asOf()) ? profile.asOf() : date;
+        LocalDateTime createdAt = paymentDate.atTime(10 + random.nextInt(8), random.nextInt(60));
+        batches.payment(nextUuid(), invoiceId, amount, paymentDate,
+            PAYMENT_METHODS[random.nextInt(PAYMENT_METHODS.length)], createdAt);
+        return createdAt;
+    }
+    
+    private LocalDate paymentDate(LocalDate issueDate, LocalDate dueDate) {
+        int window = (int) Math.max(1, dueDate.toEpochDay() - issueDate.toEpochDay());
+        return issueDate.plusDays(random.nextInt(window));
+    }
+    
+    // Same split as CreatePaymentScheduleHandler: equal parts, remainder on the last
+    private static List<BigDecimal> installments(BigDecimal total) {
+        BigDecimal part = total.divide(FOUR, 2, RoundingMode.HALF_UP);
+        BigDecimal last = part.add(total.subtract(part.multiply(FOUR)));
+        return List.of(part, part, part, last);
+    }
+    
+    // Log-normal: most customers have a few invoices, a handful have hundreds
+    private int invoicesFor() {
+        double sigma = profile.invoiceSkew();
+        double mu = Math.log(profile.meanInvoicesPerCustomer()) - sigma * sigma / 2;
+        long count = Math.round(Math.exp(mu + sigma * random.nextGaussian()));
+        return (int) Math.min(count, MAX_INVOICES_PER_CUSTOMER);
+    }
+    
+    // 1 + geometric, so the mean is meanLineItems
+    private int lineItemsFor() {
+        double p = 1.0 / Math.max(1.0, profile.meanLineItems());
+        int extra = p >= 1.0 ? 0 : (int) Math.floor(Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+        return Math.min(1 + extra, MAX_LINE_ITEMS);
+    }
+    
+    private BigDecimal quantity() {
+        if (random.nextDouble() < 0.7) {
+            return BigDecimal.valueOf(1 + random.nextInt(10)).setScale(2);
+        }
+        return BigDecimal.valueOf(1 + random.nextInt(40) * 25L, 2);
+    }
+    
+    private BigDecimal unitPrice() {
+        double price = Math.exp(Math.log(120) + 0.9 * random.nextGaussian());
+        return BigDecimal.valueOf(Math.min(Math.max(price, 5), 20_000)).setScale(2, RoundingMode.HALF_UP);
+    }
+    
+    private UUID nextUuid() {
+        return UuidV7.of(nextIdMillis++, random.nextLong(), random.nextLong());
+    }
+    
+    private record GeneratedInvoice(UUID id, String status) {
+    }
+    
+    /**
+     * Row counts and elapsed time of a generation run.
+     */
+    public record DatasetSummary(long customers, long invoices, long lineItems, long payments,
+                                 long schedules, long elapsedNanos) {
+        
+        @Override
+        public String toString() {
+            return String.format("%,d customers, %,d invoices, %,d line items, %,d payments, %,d schedules in %.1fs",
+                customers, invoices, lineItems, payments, schedules, elapsedNanos / 1e9);
+        }
+    }
+    
+    /**
+     * One prepared statement per table, flushed together in foreign-key order.
+     */
+    private static final class Batches implements AutoCloseable {
+        
+        private final PreparedStatement customers;
+        private final PreparedStatement invoices;
+        private final PreparedStatement lineItems;
+        private final PreparedStatement payments;
+        private final PreparedStatement schedules;
+        private final int batchSize;
+        private int pending;
+        private long customerCount;
+        private long invoiceCount;
+        private long lineItemCount;
+        private long paymentCount;
+        private long scheduleCount;
+        
+        Batches(Connection connection, int batchSize) throws SQLException {
+            this.batchSize = batchSize;
+            this.customers = connection.prepareStatement(
+                "INSERT INTO customers (id, name, email, address, password_hash, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+            this.invoices = connection.prepareStatement(
+                "INSERT INTO invoices (id, customer_id, status, issue_date, due_date, payment_plan, "
+                + "discount_code, discount_amount, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+            this.lineItems = connection.prepareStatement(
+                "INSERT INTO invoice_line_items (id, invoice_id, description, quantity, unit_price, total, line_order) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+            this.payments = connection.prepareStatement(
+                "INSERT INTO payments (id, invoice_id, amount, payment_date, payment_method, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)");
+            this.schedules = connection.prepareStatement(
+                "INSERT INTO payment_schedules (id, invoice_id, installment_number, amount, due_date, status, created_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?)");
+        }
+        
+        void customer(UUID id, String name, String email, String address, LocalDateTime createdAt) throws SQLException {
+            customers.setObject(1, id);
+            customers.setString(2, name);
+            customers.setString(3, email);
+            customers.setString(4, address);
+            customers.setString(5, PASSWORD_HASH);
+            customers.setTimestamp(6, Timestamp.valueOf(createdAt));
+            customers.setTimestamp(7, Timestamp.valueOf(createdAt));
+            customers.addBatch();
+            customerCount++;
+            pending++;
+        }
+        
+        void invoice(UUID id, UUID customerId, String status, LocalDate issueDate, LocalDate dueDate,
+                     String paymentPlan, String discountCode, BigDecimal discountAmount,
+                     LocalDateTime createdAt, LocalDateTime updatedAt) throws SQLException {
+            invoices.setObject(1, id);
+            invoices.setObject(2, customerId);
+            invoices.setString(3, status);
+            invoices.setDate(4, Date.valueOf(issueDate));
+            invoices.setDate(5, Date.valueOf(dueDate));
+            invoices.setString(6, paymentPlan);
+            invoices.setString(7, discountCode);
+            invoices.setBigDecimal(8, discountAmount);
+            invoices.setTimestamp(9, Timestamp.valueOf(createdAt));
+            invoices.setTimestamp(10, Timestamp.valueOf(updatedAt));
+            invoices.addBatch();
+            invoiceCount++;
+            pending++;
+        }
+        
+        void lineItem(UUID id, UUID invoiceId, String description, BigDecimal quantity, BigDecimal unitPrice,
+                      BigDecimal total, int lineOrder) throws SQLException {
+            lineItems.setObject(1, id);
+            lineItems.setObject(2, invoiceId);
+            lineItems.setString(3, description);
+            lineItems.setBigDecimal(4, quantity);
+            lineItems.setBigDecimal(5, unitPrice);
+            lineItems.setBigDecimal(6, total);
+            lineItems.setInt(7, lineOrder);
+            lineItems.addBatch();
+            lineItemCount++;
+            pending++;
+        }
+        
+        void payment(UUID id, UUID invoiceId, BigDecimal amount, LocalDate paymentDate, String method,
+                     LocalDateTime createdAt) throws SQLException {
+            payments.setObject(1, id);
+            payments.setObject(2, invoiceId);
+            payments.setBigDecimal(3, amount);
+            payments.setDate(4, Date.valueOf(paymentDate));
+            payments.setString(5, method);
+            payments.setTimestamp(6, Timestamp.valueOf(createdAt));
+            payments.addBatch();
+            paymentCount++;
+            pending++;
+        }
+        
+        void schedule(UUID id, UUID invoiceId, int installmentNumber, BigDecimal amount, LocalDate dueDate,
+                      String status, LocalDateTime createdAt) throws SQLException {
+            schedules.setObject(1, id);
+            schedules.setObject(2, invoiceId);
+            schedules.setInt(3, installmentNumber);
+            schedules.setBigDecimal(4, amount);
+            schedules.setDate(5, Date.valueOf(dueDate));
+            schedules.setString(6, status);
+            schedules.setTimestamp(7, Timestamp.valueOf(createdAt));
+            schedules.addBatch();
+            scheduleCount++;
+            pending++;
+        }
+        
+        void flushIfFull() throws SQLException {
+            if (pending >= batchSize) {
+                flush();
+            }
+        }
+        
+        void flush() throws SQLException {
+            customers.executeBatch();
+            invoices.executeBatch();
+            lineItems.executeBatch();
+            payments.executeBatch();
+            schedules.executeBatch();
+            pending = 0;
+        }
+        
+        DatasetSummary summary(long elapsedNanos) {
+            return new DatasetSummary(customerCount, invoiceCount, lineItemCount, paymentCount, scheduleCount,
+                elapsedNanos);
+        }
+        
+        @Override
+        public void close() throws SQLException {
+            customers.close();
+            invoices.close();
+            lineItems.close();
+            payments.close();
+            schedules.close();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.invoiceme.loadtest.dataset;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Volumes and distributions for a generated dataset.
+ * The same profile (including seed and asOf) always produces the same rows.
+ *
+ * @param seed                  random seed
+ * @param asOf                  the "today" the data is generated relative to
+ * @param customers             number of customers
+ * @param meanInvoicesPerCustomer mean of the log-normal invoices-per-customer distribution
+ * @param invoiceSkew           log-normal sigma; higher means a few customers own most invoices
+ * @param meanLineItems         mean line items per invoice (geometric, at least 1)
+ * @param payInFourShare        fraction of invoices on the PAY_IN_4 plan
+ * @param draftShare            fraction of invoices still in DRAFT
+ * @param paidShare             fraction of invoices fully PAID
+ * @param partiallyPaidShare    fraction of SENT invoices with some payments recorded
+ * @param overdueShare          fraction of SENT invoices whose due date has passed
+ * @param discountShare         fraction of invoices with a discount code applied
+ * @param batchSize             rows per JDBC batch
+ */
+public record DatasetProfile(
+    long seed,
+    LocalDate asOf,
+    int customers,
+    double meanInvoicesPerCustomer,
+    double invoiceSkew,
+    double meanLineItems,
+    double payInFourShare,
+    double draftShare,
+    double paidShare,
+    double partiallyPaidShare,
+    double overdueShare,
+    double discountShare,
+    int batchSize
+) {
+    
+    public static DatasetProfile defaults() {
+        return new DatasetProfile(
+            42L,
+            LocalDate.now(),
+            10_000,
+            8.0,
+            1.2,
+            4.0,
+            0.2,
+            0.1,
+            0.45,
+            0.3,
+            0.25,
+            0.1,
+            1_000
+        );
+    }
+    
+    /**
+     * Overrides defaults from {@code --name=value} arguments; unknown names are ignored
+     * so the same argument list can carry connection settings.
+     */
+    public static DatasetProfile fromArgs(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        
+        DatasetProfile d = defaults();
+        return new DatasetProfile(
+            Long.parseLong(values.getOrDefault("seed", String.valueOf(d.seed()))),
+            LocalDate.parse(values.getOrDefault("asOf", d.asOf().toString())),
+            Integer.parseInt(values.getOrDefault("customers", String.valueOf(d.customers()))),
+            Double.parseDouble(values.getOrDefault("meanInvoicesPerCustomer", String.valueOf(d.meanInvoicesPerCustomer()))),
+            Double.parseDouble(values.getOrDefault("invoiceSkew", String.valueOf(d.invoiceSkew()))),
+            Double.parseDouble(values.getOrDefault("meanLineItems", String.valueOf(d.meanLineItems()))),
+            Double.parseDouble(values.getOrDefault("payInFourShare", String.valueOf(d.payInFourShare()))),
+            Double.parseDouble(values.getOrDefault("draftShare", String.valueOf(d.draftShare()))),
+            Double.parseDouble(values.getOrDefault("paidShare", String.valueOf(d.paidShare()))),
+            Double.parseDouble(values.getOrDefault("partiallyPaidShare", String.valueOf(d.partiallyPaidShare()))),
+            Double.parseDouble(values.getOrDefault("overdueShare", String.valueOf(d.overdueShare()))),
+            Double.parseDouble(values.getOrDefault("discountShare", String.valueOf(d.discountShare()))),
+            Integer.parseInt(values.getOrDefault("batchSize", String.valueOf(d.batchSize())))
+        );
+    }
+    
+    public DatasetProfile withCustomers(int customers, double meanInvoicesPerCustomer) {
+        return new DatasetProfile(seed, asOf, customers, meanInvoicesPerCustomer, invoiceSkew, meanLineItems,
+            payInFourShare, draftShare, paidShare, partiallyPaidShare, overdueShare, discountShare, batchSize);
+    }
+}
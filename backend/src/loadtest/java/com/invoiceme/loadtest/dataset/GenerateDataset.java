@@ -0,0 +1,47 @@
+package com.invoiceme.loadtest.dataset;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * CLI entry point for {@link DatasetGenerator}.
+ *
+ * <pre>
+ * ./gradlew generateDataset -Pdataset.jdbcUrl=jdbc:postgresql://localhost:5432/invoiceme \
+ *     -Pdataset.username=invoiceme -Pdataset.password=... -Pdataset.customers=200000
+ * </pre>
+ *
+ * The schema must already exist (start the application once against the database).
+ */
+public class GenerateDataset {
+    
+    public static void main(String[] args) throws Exception {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (arg.startsWith("--") && eq > 2) {
+                values.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        
+        String jdbcUrl = values.getOrDefault("jdbcUrl", System.getenv("SPRING_DATASOURCE_URL"));
+        if (jdbcUrl == null) {
+            throw new IllegalArgumentException("--jdbcUrl (or SPRING_DATASOURCE_URL) is required");
+        }
+        // Lets the Postgres driver turn each batch into multi-row INSERTs
+        if (jdbcUrl.startsWith("jdbc:postgresql:") && !jdbcUrl.contains("reWriteBatchedInserts")) {
+            jdbcUrl += (jdbcUrl.contains("?") ? "&" : "?") + "reWriteBatchedInserts=true";
+        }
+        String username = values.getOrDefault("username", System.getenv("SPRING_DATASOURCE_USERNAME"));
+        String password = values.getOrDefault("password", System.getenv("SPRING_DATASOURCE_PASSWORD"));
+        
+        DatasetProfile profile = DatasetProfile.fromArgs(args);
+        System.out.println("[dataset] Generating " + profile);
+        try (Connection connection = DriverManager.getConnection(jdbcUrl, username, password)) {
+            DatasetGenerator.DatasetSummary summary = new DatasetGenerator(profile).generate(connection);
+            System.out.println("[dataset] Wrote " + summary);
+        }
+    }
+}
@@ -1,14 +1,25 @@
 package com.invoiceme;
 
 import org.springframework.boot.SpringApplication;
-import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.SpringBootConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
 
-@SpringBootApplication
+// @SpringBootApplication spelled out so the reactive read API (com.invoiceme.reactive, its own
+// application) is not picked up when both are on the classpath, as in the load test
+@SpringBootConfiguration
+@EnableAutoConfiguration
+@ComponentScan(excludeFilters = {
+    @ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+    @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+    @ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.invoiceme\\.reactive\\..*")
+})
 public class InvoiceMeApplication {
 
     public static void main(String[] args) {
         SpringApplication.run(InvoiceMeApplication.class, args);
     }
 }
-
-
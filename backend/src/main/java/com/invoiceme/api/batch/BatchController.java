@@ -0,0 +1,155 @@
+package com.invoiceme.api.batch;
+
+import com.invoiceme.api.common.StreamingPage;
+import com.invoiceme.api.exceptions.ErrorResponse;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import com.invoiceme.infrastructure.bulkhead.Bulkhead;
+import com.invoiceme.infrastructure.concurrency.ConcurrencyLimitExceededException;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.annotation.PreDestroy;
+import jakarta.validation.Valid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.concurrent.DelegatingSecurityContextExecutorService;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * REST controller for composite batches of read requests.
+ * Sub-requests share the caller's authentication and run in parallel on a bounded pool;
+ * when the pool is saturated they run on the request thread instead of queueing without limit.
+ */
+@RestController
+@RequestMapping("/api/v1/batch")
+@Tag(name = "Batch", description = "Several GET requests in one round trip")
+public class BatchController {
+    
+    private static final Logger log = LoggerFactory.getLogger(BatchController.class);
+    
+    private final BatchRoutes routes;
+    private final int maxRequests;
+    private final Duration timeout;
+    private final ExecutorService executor;
+    
+    public BatchController(
+            BatchRoutes routes,
+            @Value("${invoiceme.batch.max-requests:20}") int maxRequests,
+            @Value("${invoiceme.batch.parallelism:8}") int parallelism,
+            @Value("${invoiceme.batch.queue-capacity:100}") int queueCapacity,
+            @Value("${invoiceme.batch.timeout:10s}") Duration timeout) {
+        this.routes = routes;
+        this.maxRequests = maxRequests;
+        this.timeout = timeout;
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(parallelism, parallelism, 60, TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("batch-"),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+        pool.allowCoreThreadTimeOut(true);
+        this.executor = new DelegatingSecurityContextExecutorService(pool);
+    }
+    
+    @PostMapping
+    @Operation(summary = "Execute a batch of GET requests",
+        description = "Runs up to invoiceme.batch.max-requests allow-listed GET routes in parallel and returns "
+            + "each status and body in request order. A failing entry does not fail the batch.")
+    @ApiResponse(responseCode = "200", description = "Batch executed; see each entry's status")
+    @ApiResponse(responseCode = "400", description = "Empty or oversized batch")
+    public ResponseEntity<BatchResponse> execute(@Valid @RequestBody BatchRequest request) {
+        if (request.requests().size() > maxRequests) {
+            throw new DomainValidationException(
+                "A batch may contain at most " + maxRequests + " requests"
+            );
+        }
+        
+        List<Future<BatchResponse.SubResponse>> pending = new ArrayList<>();
+        for (BatchRequest.SubRequest subRequest : request.requests()) {
+            Optional<BatchRoutes.BoundRoute> route = routes.resolve(subRequest.path());
+            pending.add(route.isPresent()
+                ? executor.submit(Bulkhead.propagate(() -> invoke(subRequest, route.get())))
+                : CompletableFuture.completedFuture(error(subRequest, HttpStatus.NOT_FOUND,
+                    "Not Found", "Route is not available in a batch: " + subRequest.path())));
+        }
+        
+        long deadline = System.nanoTime() + timeout.toNanos();
+        List<BatchResponse.SubResponse> responses = new ArrayList<>(pending.size());
+        for (int i = 0; i < pending.size(); i++) {
+            responses.add(await(request.requests().get(i), pending.get(i), deadline));
+        }
+        return ResponseEntity.ok(new BatchResponse(responses));
+    }
+    
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+    
+    private BatchResponse.SubResponse invoke(BatchRequest.SubRequest subRequest, BatchRoutes.BoundRoute route) {
+        try {
+            ResponseEntity<?> response = route.invoke();
+            Object body = response.getBody();
+            // List pages normally run their query while being written; here it has to run on
+            // this worker so it stays parallel and its failures are reported for this entry
+            if (body instanceof StreamingPage<?> page) {
+                body = page.collect();
+            }
+            return new BatchResponse.SubResponse(subRequest.id(), response.getStatusCode().value(), body);
+        } catch (DomainValidationException ex) {
+            return error(subRequest, HttpStatus.BAD_REQUEST, "Validation Error", ex.getMessage());
+        } catch (IllegalArgumentException | DateTimeException ex) {
+            return error(subRequest, HttpStatus.BAD_REQUEST, "Invalid Argument", ex.getMessage());
+        } catch (ConcurrencyLimitExceededException ex) {
+            return error(subRequest, HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", ex.getMessage());
+        } catch (RuntimeException ex) {
+            log.error("Batch sub-request {} failed", subRequest.path(), ex);
+            return error(subRequest, HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                ex.getMessage() != null ? ex.getMessage() : "An unexpected error occurred");
+        }
+    }
+    
+    private BatchResponse.SubResponse await(BatchRequest.SubRequest subRequest,
+                                            Future<BatchResponse.SubResponse> future,
+                                            long deadline) {
+        try {
+            return future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            return error(subRequest, HttpStatus.GATEWAY_TIMEOUT, "Gateway Timeout",
+                "Sub-request did not complete within " + timeout.toMillis() + " ms");
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            return error(subRequest, HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", "Batch was interrupted");
+        } catch (ExecutionException ex) {
+            // invoke() handles its own failures; this only covers rejected or cancelled work
+            return error(subRequest, HttpStatus.INTERNAL_SERVER_ERROR, "Internal Server Error",
+                String.valueOf(ex.getCause()));
+        }
+    }
+    
+    private static BatchResponse.SubResponse error(BatchRequest.SubRequest subRequest, HttpStatus status,
+                                                   String error, String message) {
+        return new BatchResponse.SubResponse(subRequest.id(), status.value(),
+            ErrorResponse.of(status.value(), error, message, subRequest.path()));
+    }
+}
@@ -0,0 +1,28 @@
+package com.invoiceme.api.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+
+/**
+ * Request DTO for a composite batch of GET sub-requests.
+ */
+public record BatchRequest(
+    @NotEmpty(message = "At least one request is required")
+    List<@Valid SubRequest> requests
+) {
+    
+    /**
+     * One sub-request: a caller-chosen id echoed in the response, and a path with query string,
+     * e.g. {@code /api/v1/invoices?status=SENT&size=1}.
+     */
+    public record SubRequest(
+        String id,
+        
+        @NotBlank(message = "Path is required")
+        String path
+    ) {
+    }
+}
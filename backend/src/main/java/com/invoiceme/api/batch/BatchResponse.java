@@ -0,0 +1,18 @@
+package com.invoiceme.api.batch;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch: one entry per sub-request, in request order.
+ */
+public record BatchResponse(
+    List<SubResponse> responses
+) {
+    
+    public record SubResponse(
+        String id,
+        int status,
+        Object body
+    ) {
+    }
+}
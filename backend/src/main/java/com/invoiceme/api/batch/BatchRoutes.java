@@ -0,0 +1,134 @@
+package com.invoiceme.api.batch;
+
+import com.invoiceme.api.customers.CustomerController;
+import com.invoiceme.api.discounts.DiscountCodeController;
+import com.invoiceme.api.invoices.InvoiceController;
+import com.invoiceme.api.items.ItemController;
+import com.invoiceme.api.payments.PaymentController;
+import com.invoiceme.api.payments.PaymentScheduleController;
+import com.invoiceme.domain.invoices.InvoiceStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * GET routes that may be used inside a batch. Each one calls the same controller method
+ * as the standalone endpoint, so bodies are identical; anything not listed here is rejected.
+ */
+@Component
+class BatchRoutes {
+    
+    private final List<Route> routes = new ArrayList<>();
+    
+    BatchRoutes(
+            InvoiceController invoiceController,
+            CustomerController customerController,
+            PaymentController paymentController,
+            PaymentScheduleController paymentScheduleController,
+            DiscountCodeController discountCodeController,
+            ItemController itemController) {
+        route("/api/v1/invoices", args -> invoiceController.listInvoices(
+            args.optional("status").map(InvoiceStatus::valueOf).orElse(null),
+            args.optional("customerId").map(UUID::fromString).orElse(null),
+            args.intValue("page", 0),
+            args.intValue("size", 20)));
+        // Sub-requests carry no conditional headers, so no WebRequest is passed for ETag checks
+        route("/api/v1/invoices/{id}", args -> invoiceController.getInvoiceById(args.uuid("id"), null));
+        route("/api/v1/customers", args -> customerController.listAllCustomers(
+            args.intValue("page", 0),
+            args.intValue("size", 20),
+            args.optional("sortBy").orElse("name")));
+        route("/api/v1/customers/{id}", args -> customerController.getCustomerById(args.uuid("id"), null));
+        route("/api/v1/payments/invoices/{invoiceId}",
+            args -> paymentController.listPaymentsByInvoice(args.uuid("invoiceId")));
+        route("/api/v1/payment-schedules/invoices/{invoiceId}",
+            args -> paymentScheduleController.getPaymentSchedule(args.uuid("invoiceId")));
+        route("/api/v1/payment-schedules/upcoming",
+            args -> paymentScheduleController.listUpcomingInstallments(LocalDate.parse(args.required("upToDate"))));
+        route("/api/v1/discount-codes", args -> discountCodeController.listDiscountCodes());
+        route("/api/v1/items", args -> itemController.listItems(
+            args.intValue("page", 0),
+            args.intValue("size", 20)));
+    }
+    
+    /**
+     * The call for a path with query string, or empty if the route is not allowed in a batch.
+     */
+    Optional<BoundRoute> resolve(String pathAndQuery) {
+        UriComponents uri = UriComponentsBuilder.fromUriString(pathAndQuery).build();
+        if (uri.getPath() == null || uri.getScheme() != null || uri.getHost() != null) {
+            return Optional.empty();
+        }
+        PathContainer path = PathContainer.parsePath(uri.getPath());
+        for (Route route : routes) {
+            PathPattern.PathMatchInfo match = route.pattern().matchAndExtract(path);
+            if (match != null) {
+                return Optional.of(new BoundRoute(route, new RouteArgs(match.getUriVariables(), uri.getQueryParams())));
+            }
+        }
+        return Optional.empty();
+    }
+    
+    private void route(String template, Function<RouteArgs, ResponseEntity<?>> call) {
+        routes.add(new Route(PathPatternParser.defaultInstance.parse(template), call));
+    }
+    
+    private record Route(PathPattern pattern, Function<RouteArgs, ResponseEntity<?>> call) {
+    }
+    
+    record BoundRoute(Route route, RouteArgs args) {
+        
+        ResponseEntity<?> invoke() {
+            return route.call().apply(args);
+        }
+    }
+    
+    /**
+     * Path variables and query parameters of one sub-request. Bad or missing values raise
+     * IllegalArgumentException, which the batch reports as a 400 for that entry.
+     */
+    static final class RouteArgs {
+        
+        private final Map<String, String> pathVariables;
+        private final MultiValueMap<String, String> query;
+        
+        RouteArgs(Map<String, String> pathVariables, MultiValueMap<String, String> query) {
+            this.pathVariables = pathVariables;
+            this.query = query;
+        }
+        
+        UUID uuid(String name) {
+            return UUID.fromString(pathVariables.get(name));
+        }
+        
+        Optional<String> optional(String name) {
+            return Optional.ofNullable(query.getFirst(name))
+                    .map(value -> UriUtils.decode(value, StandardCharsets.UTF_8));
+        }
+        
+        String required(String name) {
+            return optional(name).orElseThrow(() -> new IllegalArgumentException(
+                "Required parameter '" + name + "' is missing"
+            ));
+        }
+        
+        int intValue(String name, int defaultValue) {
+            return optional(name).map(Integer::parseInt).orElse(defaultValue);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.invoiceme.api.common;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+
+import java.io.IOException;
+
+/**
+ * Collection-level ETags on the list endpoints. A page mixes several aggregates (invoice
+ * rows carry customer names and payment totals), so the tag is a hash of the rendered body;
+ * an unchanged page still costs the query but not the transfer.
+ * Hashing means buffering the body, so pages larger than {@link #MAX_TAGGED_PAGE_SIZE} rows
+ * are streamed untagged instead.
+ * Registered after the security chain, so only authorized responses are tagged.
+ */
+@Configuration
+public class CollectionETagConfig {
+    
+    static final String[] LIST_ENDPOINTS = {
+        "/api/v1/invoices",
+        "/api/v1/customers",
+        "/api/v1/items",
+        "/api/v1/customers/portal/invoices"
+    };
+    
+    static final int MAX_TAGGED_PAGE_SIZE = 100;
+    
+    @Bean
+    FilterRegistrationBean<ShallowEtagHeaderFilter> collectionETagFilter() {
+        FilterRegistrationBean<ShallowEtagHeaderFilter> registration =
+            new FilterRegistrationBean<>(new PageSizeLimitedEtagFilter());
+        registration.addUrlPatterns(LIST_ENDPOINTS);
+        return registration;
+    }
+    
+    private static class PageSizeLimitedEtagFilter extends ShallowEtagHeaderFilter {
+        
+        @Override
+        protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                        FilterChain filterChain) throws ServletException, IOException {
+            if (pageSize(request) > MAX_TAGGED_PAGE_SIZE) {
+                disableContentCaching(request);
+            }
+            super.doFilterInternal(request, response, filterChain);
+        }
+        
+        private static int pageSize(HttpServletRequest request) {
+            try {
+                String size = request.getParameter("size");
+                return size != null ? Integer.parseInt(size.trim()) : 0;
+            } catch (NumberFormatException e) {
+                // Rejected by the controller anyway
+                return 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.invoiceme.api.common;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.WebRequest;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+
+/**
+ * Strong ETags for single-resource GETs, derived from the version tokens returned by the
+ * Get*VersionHandler queries. The version is read before the resource is loaded, so a
+ * matching If-None-Match is answered with 304 without hydrating or serializing anything.
+ */
+public final class ETags {
+    
+    private ETags() {
+    }
+    
+    /**
+     * The Accept header is part of the tag: a strong ETag names one representation, and the
+     * same version may be sent as JSON, CBOR, Smile or Avro.
+     * @param version Version token, empty if the resource is missing or not visible to the caller
+     * @param request The current request, or null outside HTTP
+     * @return Quoted strong ETag, or null when there is no version
+     */
+    public static String of(Optional<String> version, WebRequest request) {
+        String accept = request != null ? request.getHeader(HttpHeaders.ACCEPT) : null;
+        return version
+                .map(token -> token + "|" + accept)
+                .map(token -> "\"" + DigestUtils.md5DigestAsHex(token.getBytes(StandardCharsets.UTF_8)) + "\"")
+                .orElse(null);
+    }
+    
+    /**
+     * Checks If-None-Match and, on a match, marks the response 304 Not Modified.
+     * The request is null when a controller is invoked outside HTTP (batch sub-requests).
+     */
+    public static boolean notModified(WebRequest request, String etag) {
+        return etag != null && request != null && request.checkNotModified(etag);
+    }
+    
+    public static <T> ResponseEntity<T> ok(String etag, T body) {
+        return etag != null ? ResponseEntity.ok().eTag(etag).body(body) : ResponseEntity.ok(body);
+    }
+}
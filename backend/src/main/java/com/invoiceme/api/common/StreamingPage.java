@@ -0,0 +1,102 @@
+package com.invoiceme.api.common;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.invoiceme.application.customers.listAll.PagedResult;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * A page that is written row by row. It serializes to the same fields as {@link PagedResponse},
+ * but the rows are produced by the query handler while Jackson writes the response, so the page
+ * is never collected into a list. This works for every Jackson format the response negotiates.
+ * The handler runs when the body is written, so failures after the first row cut the response short.
+ * Pages the handler has already loaded are written the same way, mapping one row at a time.
+ */
+public final class StreamingPage<T> implements JsonSerializable {
+    
+    /**
+     * Writes the page's rows to the sink in order and returns the total element count.
+     */
+    @FunctionalInterface
+    public interface Rows<T> {
+        long write(Consumer<T> sink);
+    }
+    
+    private final Rows<T> rows;
+    private final int page;
+    private final int size;
+    
+    private StreamingPage(Rows<T> rows, int page, int size) {
+        this.rows = rows;
+        this.page = page;
+        this.size = size;
+    }
+    
+    public static <T> StreamingPage<T> of(Rows<T> rows, int page, int size) {
+        return new StreamingPage<>(rows, page, size);
+    }
+    
+    /**
+     * A page already loaded by the handler, e.g. one shared by coalesced callers; rows are
+     * still mapped one at a time as they are written.
+     */
+    public static <D, T> StreamingPage<T> of(PagedResult<D> result, Function<D, T> mapper) {
+        return new StreamingPage<>(sink -> {
+            result.content().forEach(row -> sink.accept(mapper.apply(row)));
+            return result.totalElements();
+        }, result.page(), result.size());
+    }
+    
+    /**
+     * Runs the query now and keeps the rows, for callers that need the page as a value
+     * (batch sub-requests are gathered before the batch response is written).
+     */
+    public PagedResponse<T> collect() {
+        List<T> content = new ArrayList<>();
+        long totalElements = rows.write(content::add);
+        return PagedResponse.of(content, page, size, totalElements);
+    }
+    
+    @Override
+    public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+        gen.writeStartObject(this);
+        gen.writeFieldName("content");
+        gen.writeStartArray();
+        long totalElements;
+        try {
+            totalElements = rows.write(row -> {
+                try {
+                    serializers.defaultSerializeValue(row, gen);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        gen.writeEndArray();
+        
+        PagedResponse<T> totals = PagedResponse.of(List.of(), page, size, totalElements);
+        gen.writeNumberField("page", totals.page());
+        gen.writeNumberField("size", totals.size());
+        gen.writeNumberField("totalElements", totals.totalElements());
+        gen.writeNumberField("totalPages", totals.totalPages());
+        gen.writeBooleanField("hasNext", totals.hasNext());
+        gen.writeBooleanField("hasPrevious", totals.hasPrevious());
+        gen.writeEndObject();
+    }
+    
+    @Override
+    public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+            throws IOException {
+        serialize(gen, serializers);
+    }
+}
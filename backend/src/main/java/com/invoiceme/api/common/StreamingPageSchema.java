@@ -0,0 +1,36 @@
+package com.invoiceme.api.common;
+
+import com.fasterxml.jackson.databind.JavaType;
+import io.swagger.v3.core.converter.AnnotatedType;
+import io.swagger.v3.core.converter.ModelConverter;
+import io.swagger.v3.core.converter.ModelConverterContext;
+import io.swagger.v3.core.util.Json;
+import io.swagger.v3.oas.models.media.Schema;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+
+/**
+ * Documents {@link StreamingPage} bodies in the OpenAPI spec as the {@link PagedResponse}
+ * they serialize to; the class itself has no properties for springdoc to find.
+ */
+@Component
+public class StreamingPageSchema implements ModelConverter {
+    
+    @Override
+    public Schema<?> resolve(AnnotatedType type, ModelConverterContext context, Iterator<ModelConverter> chain) {
+        if (!chain.hasNext()) {
+            return null;
+        }
+        JavaType javaType = Json.mapper().constructType(type.getType());
+        if (javaType.hasRawClass(StreamingPage.class)) {
+            JavaType pagedType = Json.mapper().getTypeFactory()
+                    .constructParametricType(PagedResponse.class, javaType.containedTypeOrUnknown(0));
+            type = new AnnotatedType(pagedType)
+                    .resolveAsRef(type.isResolveAsRef())
+                    .jsonViewAnnotation(type.getJsonViewAnnotation())
+                    .ctxAnnotations(type.getCtxAnnotations());
+        }
+        return chain.next().resolve(type, context, chain);
+    }
+}
@@ -6,6 +6,8 @@ import com.invoiceme.application.customers.delete.DeleteCustomerCommand;
 import com.invoiceme.application.customers.delete.DeleteCustomerHandler;
 import com.invoiceme.application.customers.getById.GetCustomerByIdQuery;
 import com.invoiceme.application.customers.getById.GetCustomerByIdHandler;
+import com.invoiceme.application.customers.getVersion.GetCustomerVersionQuery;
+import com.invoiceme.application.customers.getVersion.GetCustomerVersionHandler;
 import com.invoiceme.application.customers.getByEmail.GetCustomerByEmailQuery;
 import com.invoiceme.application.customers.getByEmail.GetCustomerByEmailHandler;
 import com.invoiceme.application.customers.authenticate.AuthenticateCustomerCommand;
@@ -14,8 +16,8 @@ import com.invoiceme.application.customers.listAll.ListAllCustomersQuery;
 import com.invoiceme.application.customers.listAll.ListAllCustomersHandler;
 import com.invoiceme.application.customers.update.UpdateCustomerCommand;
 import com.invoiceme.application.customers.update.UpdateCustomerHandler;
-import com.invoiceme.application.customers.listAll.PagedResult;
-import com.invoiceme.api.common.PagedResponse;
+import com.invoiceme.api.common.ETags;
+import com.invoiceme.api.common.StreamingPage;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
@@ -24,6 +26,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -39,6 +42,7 @@ public class CustomerController {
     private final UpdateCustomerHandler updateCustomerHandler;
     private final DeleteCustomerHandler deleteCustomerHandler;
     private final GetCustomerByIdHandler getCustomerByIdHandler;
+    private final GetCustomerVersionHandler getCustomerVersionHandler;
     private final GetCustomerByEmailHandler getCustomerByEmailHandler;
     private final AuthenticateCustomerHandler authenticateCustomerHandler;
     private final ListAllCustomersHandler listAllCustomersHandler;
@@ -48,6 +52,7 @@ public class CustomerController {
             UpdateCustomerHandler updateCustomerHandler,
             DeleteCustomerHandler deleteCustomerHandler,
             GetCustomerByIdHandler getCustomerByIdHandler,
+            GetCustomerVersionHandler getCustomerVersionHandler,
             GetCustomerByEmailHandler getCustomerByEmailHandler,
             AuthenticateCustomerHandler authenticateCustomerHandler,
             ListAllCustomersHandler listAllCustomersHandler) {
@@ -55,6 +60,7 @@ public class CustomerController {
         this.updateCustomerHandler = updateCustomerHandler;
         this.deleteCustomerHandler = deleteCustomerHandler;
         this.getCustomerByIdHandler = getCustomerByIdHandler;
+        this.getCustomerVersionHandler = getCustomerVersionHandler;
         this.getCustomerByEmailHandler = getCustomerByEmailHandler;
         this.authenticateCustomerHandler = authenticateCustomerHandler;
         this.listAllCustomersHandler = listAllCustomersHandler;
@@ -149,34 +155,36 @@ public class CustomerController {
     @GetMapping("/{id}")
     @Operation(summary = "Get customer by ID", description = "Retrieves a customer by their ID")
     @ApiResponse(responseCode = "200", description = "Customer found")
+    @ApiResponse(responseCode = "304", description = "Customer unchanged since the If-None-Match ETag")
     @ApiResponse(responseCode = "404", description = "Customer not found")
     public ResponseEntity<CustomerResponse> getCustomerById(
-            @Parameter(description = "Customer ID") @PathVariable UUID id) {
+            @Parameter(description = "Customer ID") @PathVariable UUID id,
+            WebRequest webRequest) {
+        String etag = ETags.of(getCustomerVersionHandler.handle(new GetCustomerVersionQuery(id)), webRequest);
+        if (ETags.notModified(webRequest, etag)) {
+            return null;
+        }
+        
         GetCustomerByIdQuery query = new GetCustomerByIdQuery(id);
         var customerDto = getCustomerByIdHandler.handle(query);
         
         CustomerResponse response = toResponse(customerDto);
-        return ResponseEntity.ok(response);
+        return ETags.ok(etag, response);
     }
     
     @GetMapping
     @Operation(summary = "List all customers", description = "Retrieves a paginated list of all customers")
     @ApiResponse(responseCode = "200", description = "Customers retrieved successfully")
-    public ResponseEntity<PagedResponse<CustomerResponse>> listAllCustomers(
+    public ResponseEntity<StreamingPage<CustomerResponse>> listAllCustomers(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "name") String sortBy) {
         ListAllCustomersQuery query = new ListAllCustomersQuery(page, size, sortBy);
-        PagedResult<com.invoiceme.application.customers.getById.CustomerDto> result = listAllCustomersHandler.handle(query);
         
-        PagedResponse<CustomerResponse> response = PagedResponse.of(
-            result.content().stream()
-                    .map(this::toResponse)
-                    .toList(),
-            result.page(),
-            result.size(),
-            result.totalElements()
-        );
+        // Pages are capped at one chunk, so they are loaded before the response starts and an
+        // overloaded server can still answer 503
+        StreamingPage<CustomerResponse> response = StreamingPage.of(
+            listAllCustomersHandler.handle(query), this::toResponse);
         return ResponseEntity.ok(response);
     }
     
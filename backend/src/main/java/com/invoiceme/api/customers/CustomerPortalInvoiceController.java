@@ -2,29 +2,33 @@ package com.invoiceme.api.customers;
 
 import com.invoiceme.application.invoices.getById.GetInvoiceByIdQuery;
 import com.invoiceme.application.invoices.getById.GetInvoiceByIdHandler;
+import com.invoiceme.application.invoices.getVersion.GetInvoiceVersionQuery;
+import com.invoiceme.application.invoices.getVersion.GetInvoiceVersionHandler;
 import com.invoiceme.application.invoices.listByCustomer.ListInvoicesByCustomerQuery;
 import com.invoiceme.application.invoices.listByCustomer.ListInvoicesByCustomerHandler;
 import com.invoiceme.application.payments.record.RecordPaymentCommand;
 import com.invoiceme.application.payments.record.RecordPaymentHandler;
 import com.invoiceme.application.payments.getById.GetPaymentByIdQuery;
 import com.invoiceme.application.payments.getById.GetPaymentByIdHandler;
-import com.invoiceme.application.customers.listAll.PagedResult;
-import com.invoiceme.api.common.PagedResponse;
+import com.invoiceme.api.common.ETags;
+import com.invoiceme.api.common.StreamingPage;
 import com.invoiceme.api.invoices.InvoiceResponse;
+import com.invoiceme.api.invoices.InvoiceResponses;
 import com.invoiceme.api.invoices.InvoiceSummaryResponse;
-import com.invoiceme.api.invoices.LineItemResponse;
-import com.invoiceme.api.invoices.PaymentResponse;
 import com.invoiceme.api.payments.PaymentDetailResponse;
 import com.invoiceme.api.payments.RecordPaymentRequest;
 import com.invoiceme.domain.exceptions.DomainValidationException;
+import com.invoiceme.infrastructure.idempotency.IdempotencyFilter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -38,16 +42,19 @@ import java.util.UUID;
 public class CustomerPortalInvoiceController {
     
     private final GetInvoiceByIdHandler getInvoiceByIdHandler;
+    private final GetInvoiceVersionHandler getInvoiceVersionHandler;
     private final ListInvoicesByCustomerHandler listInvoicesByCustomerHandler;
     private final RecordPaymentHandler recordPaymentHandler;
     private final GetPaymentByIdHandler getPaymentByIdHandler;
     
     public CustomerPortalInvoiceController(
             GetInvoiceByIdHandler getInvoiceByIdHandler,
+            GetInvoiceVersionHandler getInvoiceVersionHandler,
             ListInvoicesByCustomerHandler listInvoicesByCustomerHandler,
             RecordPaymentHandler recordPaymentHandler,
             GetPaymentByIdHandler getPaymentByIdHandler) {
         this.getInvoiceByIdHandler = getInvoiceByIdHandler;
+        this.getInvoiceVersionHandler = getInvoiceVersionHandler;
         this.listInvoicesByCustomerHandler = listInvoicesByCustomerHandler;
         this.recordPaymentHandler = recordPaymentHandler;
         this.getPaymentByIdHandler = getPaymentByIdHandler;
@@ -60,11 +67,19 @@ public class CustomerPortalInvoiceController {
     @GetMapping("/{id}")
     @Operation(summary = "Get invoice by ID for customer", description = "Retrieves an invoice only if it belongs to the specified customer")
     @ApiResponse(responseCode = "200", description = "Invoice found")
+    @ApiResponse(responseCode = "304", description = "Invoice unchanged since the If-None-Match ETag")
     @ApiResponse(responseCode = "403", description = "Invoice does not belong to customer")
     @ApiResponse(responseCode = "404", description = "Invoice not found")
     public ResponseEntity<InvoiceResponse> getInvoiceById(
             @Parameter(description = "Invoice ID") @PathVariable UUID id,
-            @Parameter(description = "Customer ID to verify ownership") @RequestParam UUID customerId) {
+            @Parameter(description = "Customer ID to verify ownership") @RequestParam UUID customerId,
+            WebRequest webRequest) {
+        
+        // Ownership is part of the version lookup: another customer's invoice has no ETag
+        String etag = ETags.of(getInvoiceVersionHandler.handle(new GetInvoiceVersionQuery(id, customerId)), webRequest);
+        if (ETags.notModified(webRequest, etag)) {
+            return null;
+        }
         
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(id);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
@@ -76,8 +91,8 @@ public class CustomerPortalInvoiceController {
             );
         }
         
-        InvoiceResponse response = toResponse(invoiceDto);
-        return ResponseEntity.ok(response);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
+        return ETags.ok(etag, response);
     }
     
     /**
@@ -87,22 +102,16 @@ public class CustomerPortalInvoiceController {
     @GetMapping
     @Operation(summary = "List invoices for customer", description = "Retrieves invoices for the specified customer")
     @ApiResponse(responseCode = "200", description = "Invoices retrieved successfully")
-    public ResponseEntity<PagedResponse<InvoiceSummaryResponse>> listInvoices(
+    public ResponseEntity<StreamingPage<InvoiceSummaryResponse>> listInvoices(
             @Parameter(description = "Customer ID") @RequestParam UUID customerId,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
         ListInvoicesByCustomerQuery query = new ListInvoicesByCustomerQuery(customerId, page, size);
-        PagedResult<com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto> result = 
-            listInvoicesByCustomerHandler.handle(query);
-        
-        PagedResponse<InvoiceSummaryResponse> response = PagedResponse.of(
-            result.content().stream()
-                    .map(this::toSummaryResponse)
-                    .toList(),
-            result.page(),
-            result.size(),
-            result.totalElements()
+        // At most one chunk, so loaded whole; identical concurrent requests share one execution
+        StreamingPage<InvoiceSummaryResponse> response = StreamingPage.of(
+            listInvoicesByCustomerHandler.handle(query),
+            InvoiceResponses::toSummaryResponse
         );
         return ResponseEntity.ok(response);
     }
@@ -116,6 +125,10 @@ public class CustomerPortalInvoiceController {
     @ApiResponse(responseCode = "201", description = "Payment recorded successfully")
     @ApiResponse(responseCode = "403", description = "Invoice does not belong to customer")
     @ApiResponse(responseCode = "404", description = "Invoice not found")
+    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still in progress")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+        description = "Makes retries safe: repeats with the same key get the first response instead of running again")
     public ResponseEntity<PaymentDetailResponse> recordPayment(
             @Parameter(description = "Invoice ID") @PathVariable UUID id,
             @Parameter(description = "Customer ID to verify ownership") @RequestParam UUID customerId,
@@ -163,55 +176,5 @@ public class CustomerPortalInvoiceController {
         
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
-    
-    private InvoiceResponse toResponse(com.invoiceme.application.invoices.getById.InvoiceDto dto) {
-        return new InvoiceResponse(
-            dto.id(),
-            dto.customerId(),
-            dto.customerName(),
-            dto.status(),
-            dto.issueDate(),
-            dto.dueDate(),
-            dto.paymentPlan(),
-            dto.discountCode(),
-            dto.discountAmount(),
-            dto.subtotal(),
-            dto.totalAmount(),
-            dto.balance(),
-            dto.lineItems().stream()
-                    .map(item -> new LineItemResponse(
-                        item.id(),
-                        item.description(),
-                        item.quantity(),
-                        item.unitPrice(),
-                        item.total()
-                    ))
-                    .toList(),
-            dto.payments().stream()
-                    .map(payment -> new PaymentResponse(
-                        payment.id(),
-                        payment.amount(),
-                        payment.paymentDate(),
-                        payment.paymentMethod(),
-                        payment.createdAt()
-                    ))
-                    .toList(),
-            dto.createdAt(),
-            dto.updatedAt()
-        );
-    }
-    
-    private InvoiceSummaryResponse toSummaryResponse(com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto dto) {
-        return new InvoiceSummaryResponse(
-            dto.id(),
-            dto.customerId(),
-            dto.customerName(),
-            dto.status(),
-            dto.issueDate(),
-            dto.dueDate(),
-            dto.totalAmount(),
-            dto.balance()
-        );
-    }
 }
 
@@ -0,0 +1,71 @@
+package com.invoiceme.api.formats;
+
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.lang.Nullable;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+
+/**
+ * Writes response DTOs as Avro binary ({@code Accept: application/avro}).
+ * Each response carries its schema's fingerprint in the {@value #SCHEMA_HEADER} header;
+ * the schemas are published by {@link AvroSchemaController}. Response-only: request
+ * bodies stay JSON. Types Avro cannot describe are not writable, so they get 406.
+ */
+public class AvroHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+    
+    public static final MediaType APPLICATION_AVRO = new MediaType("application", "avro");
+    public static final String SCHEMA_HEADER = "X-Avro-Schema";
+    
+    private final AvroSchemas schemas;
+    
+    public AvroHttpMessageConverter(AvroSchemas schemas) {
+        super(APPLICATION_AVRO);
+        this.schemas = schemas;
+    }
+    
+    @Override
+    public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    protected boolean canRead(@Nullable MediaType mediaType) {
+        return false;
+    }
+    
+    @Override
+    public boolean canWrite(@Nullable Type type, Class<?> clazz, @Nullable MediaType mediaType) {
+        return canWrite(mediaType) && schemas.schemaFor(type != null ? type : clazz).isPresent();
+    }
+    
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return true;
+    }
+    
+    @Override
+    protected void writeInternal(Object body, @Nullable Type type, HttpOutputMessage outputMessage)
+            throws IOException, HttpMessageNotWritableException {
+        AvroSchema schema = schemas.schemaFor(type != null ? type : body.getClass())
+                .orElseThrow(() -> new HttpMessageNotWritableException("No Avro schema for " + body.getClass()));
+        outputMessage.getHeaders().set(SCHEMA_HEADER, AvroSchemas.fingerprint(schema));
+        schemas.mapper().writer(schema).writeValue(outputMessage.getBody(), body);
+    }
+    
+    @Override
+    public Object read(Type type, @Nullable Class<?> contextClass, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Avro request bodies are not supported", inputMessage);
+    }
+    
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Avro request bodies are not supported", inputMessage);
+    }
+}
@@ -0,0 +1,111 @@
+package com.invoiceme.api.formats;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.RequestMappingInfo;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerMapping;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Publishes the Avro schemas of the /api/v1 responses, generated from the same DTO records
+ * the endpoints return. Clients match a response to its schema by the fingerprint in the
+ * {@value AvroHttpMessageConverter#SCHEMA_HEADER} header.
+ */
+@RestController
+@RequestMapping("/api/v1/schemas/avro")
+@Tag(name = "Schemas", description = "Schemas for binary response formats")
+public class AvroSchemaController {
+    
+    private static final String API_PREFIX = "/api/v1/";
+    
+    private final RequestMappingHandlerMapping handlerMapping;
+    private final AvroSchemas avroSchemas;
+    private final ObjectMapper objectMapper;
+    
+    public AvroSchemaController(
+            @Qualifier("requestMappingHandlerMapping") RequestMappingHandlerMapping handlerMapping,
+            AvroSchemas avroSchemas,
+            ObjectMapper objectMapper) {
+        this.handlerMapping = handlerMapping;
+        this.avroSchemas = avroSchemas;
+        this.objectMapper = objectMapper;
+    }
+    
+    @GetMapping
+    @Operation(summary = "List Avro response schemas", description = "Schema of every /api/v1 response that can be sent as application/avro")
+    @ApiResponse(responseCode = "200", description = "Schemas listed")
+    public ResponseEntity<List<EndpointSchema>> listSchemas() throws JsonProcessingException {
+        List<EndpointSchema> endpoints = new ArrayList<>();
+        for (Map.Entry<RequestMappingInfo, HandlerMethod> entry : handlerMapping.getHandlerMethods().entrySet()) {
+            Set<String> paths = entry.getKey().getPatternValues();
+            if (paths.stream().noneMatch(path -> path.startsWith(API_PREFIX))) {
+                continue;
+            }
+            Optional<AvroSchema> schema = responseType(entry.getValue()).flatMap(avroSchemas::schemaFor);
+            if (schema.isPresent()) {
+                endpoints.add(new EndpointSchema(
+                    entry.getKey().getMethodsCondition().getMethods().stream().map(Enum::name).sorted().toList(),
+                    paths.stream().sorted().toList(),
+                    AvroSchemas.fingerprint(schema.get()),
+                    objectMapper.readTree(schema.get().getAvroSchema().toString())
+                ));
+            }
+        }
+        endpoints.sort(Comparator.comparing(endpoint -> endpoint.paths().get(0)));
+        return ResponseEntity.ok(endpoints);
+    }
+    
+    @GetMapping("/{fingerprint}")
+    @Operation(summary = "Get Avro schema by fingerprint", description = "The schema named by a response's X-Avro-Schema header")
+    @ApiResponse(responseCode = "200", description = "Schema found")
+    @ApiResponse(responseCode = "404", description = "Unknown fingerprint")
+    public ResponseEntity<JsonNode> getSchema(@PathVariable String fingerprint) throws JsonProcessingException {
+        return listSchemas().getBody().stream()
+                .filter(endpoint -> endpoint.fingerprint().equals(fingerprint))
+                .findFirst()
+                .map(endpoint -> ResponseEntity.ok(endpoint.schema()))
+                .orElse(ResponseEntity.notFound().build());
+    }
+    
+    // Body type of the handler's return value, unwrapping ResponseEntity
+    private static Optional<Type> responseType(HandlerMethod method) {
+        ResolvableType type = ResolvableType.forMethodReturnType(method.getMethod());
+        if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+            type = type.getGeneric(0);
+        }
+        Class<?> body = type.resolve();
+        if (body == null || body == Void.class || body == void.class || body == Object.class) {
+            return Optional.empty();
+        }
+        return Optional.of(type.getType());
+    }
+    
+    public record EndpointSchema(
+        List<String> methods,
+        List<String> paths,
+        String fingerprint,
+        JsonNode schema
+    ) {
+    }
+}
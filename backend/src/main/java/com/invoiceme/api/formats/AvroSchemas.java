@@ -0,0 +1,63 @@
+package com.invoiceme.api.formats;
+
+import com.invoiceme.api.common.PagedResponse;
+import com.invoiceme.api.common.StreamingPage;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.fasterxml.jackson.dataformat.avro.jsr310.AvroJavaTimeModule;
+import com.fasterxml.jackson.dataformat.avro.schema.AvroSchemaGenerator;
+import org.apache.avro.SchemaNormalization;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Avro schemas generated from the response DTO records, cached per (generic) type.
+ * Shared by the message converter and the schema endpoint so both see the same schema.
+ */
+@Component
+public class AvroSchemas {
+    
+    private final AvroMapper mapper = AvroMapper.builder()
+            .addModule(new AvroJavaTimeModule())
+            .build();
+    private final Map<JavaType, Optional<AvroSchema>> schemas = new ConcurrentHashMap<>();
+    
+    public AvroMapper mapper() {
+        return mapper;
+    }
+    
+    /**
+     * @return The schema for a response type, or empty if Avro cannot describe it (maps, untyped bodies)
+     */
+    public Optional<AvroSchema> schemaFor(Type type) {
+        JavaType responseType = mapper.constructType(type);
+        if (responseType.hasRawClass(StreamingPage.class)) {
+            // Written by hand, in the shape of PagedResponse
+            responseType = mapper.getTypeFactory().constructParametricType(
+                PagedResponse.class, responseType.containedTypeOrUnknown(0));
+        }
+        return schemas.computeIfAbsent(responseType, javaType -> {
+            try {
+                AvroSchemaGenerator generator = new AvroSchemaGenerator().enableLogicalTypes();
+                mapper.acceptJsonFormatVisitor(javaType, generator);
+                return Optional.of(generator.getGeneratedSchema());
+            } catch (JsonMappingException | RuntimeException e) {
+                return Optional.empty();
+            }
+        });
+    }
+    
+    /**
+     * Identifies a schema independently of its record name, which generic wrappers such as
+     * PagedResponse share across element types.
+     */
+    public static String fingerprint(AvroSchema schema) {
+        return Long.toHexString(SchemaNormalization.parsingFingerprint64(schema.getAvroSchema()));
+    }
+}
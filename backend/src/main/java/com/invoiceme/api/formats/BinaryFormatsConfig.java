@@ -0,0 +1,47 @@
+package com.invoiceme.api.formats;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Binary alternatives to JSON on every controller, picked by the Accept header:
+ * {@code application/cbor}, {@code application/x-jackson-smile} and {@code application/avro}.
+ * CBOR and Smile use Boot's Jackson settings, so they carry exactly what the JSON would
+ * (ISO dates, BigDecimal values), just encoded more compactly.
+ * JSON stays first in the converter list, so it is still what {@code Accept: *}{@code /*} gets.
+ */
+@Configuration
+public class BinaryFormatsConfig implements WebMvcConfigurer {
+    
+    private final AvroSchemas avroSchemas;
+    
+    public BinaryFormatsConfig(AvroSchemas avroSchemas) {
+        this.avroSchemas = avroSchemas;
+    }
+    
+    // Boot slots these in place of its own CBOR/Smile defaults, which come after JSON
+    @Bean
+    MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+    
+    @Bean
+    MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+    
+    // Not a bean: Boot puts converter beans without a default counterpart ahead of JSON
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(new AvroHttpMessageConverter(avroSchemas));
+    }
+}
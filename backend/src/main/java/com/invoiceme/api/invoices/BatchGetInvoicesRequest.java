@@ -0,0 +1,18 @@
+package com.invoiceme.api.invoices;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for fetching several invoices by ID.
+ */
+public record BatchGetInvoicesRequest(
+    @NotEmpty(message = "At least one invoice ID is required")
+    @Size(max = 100, message = "At most 100 invoice IDs can be requested at once")
+    List<@NotNull UUID> ids
+) {
+}
@@ -1,11 +1,18 @@
 package com.invoiceme.api.invoices;
 
+import com.invoiceme.application.common.PageChunks;
 import com.invoiceme.application.invoices.addLineItem.AddLineItemCommand;
 import com.invoiceme.application.invoices.addLineItem.AddLineItemHandler;
 import com.invoiceme.application.invoices.create.CreateInvoiceCommand;
 import com.invoiceme.application.invoices.create.CreateInvoiceHandler;
 import com.invoiceme.application.invoices.getById.GetInvoiceByIdQuery;
 import com.invoiceme.application.invoices.getById.GetInvoiceByIdHandler;
+import com.invoiceme.application.invoices.getByIds.GetInvoicesByIdsQuery;
+import com.invoiceme.application.invoices.getByNumber.GetInvoiceByNumberQuery;
+import com.invoiceme.application.invoices.getByNumber.GetInvoiceByNumberHandler;
+import com.invoiceme.application.invoices.getByIds.GetInvoicesByIdsHandler;
+import com.invoiceme.application.invoices.getVersion.GetInvoiceVersionQuery;
+import com.invoiceme.application.invoices.getVersion.GetInvoiceVersionHandler;
 import com.invoiceme.application.invoices.listByCustomer.ListInvoicesByCustomerQuery;
 import com.invoiceme.application.invoices.listByCustomer.ListInvoicesByCustomerHandler;
 import com.invoiceme.application.invoices.listByStatus.ListInvoicesByStatusQuery;
@@ -22,18 +29,22 @@ import com.invoiceme.application.discounts.apply.ApplyDiscountCodeCommand;
 import com.invoiceme.application.discounts.apply.ApplyDiscountCodeHandler;
 import com.invoiceme.application.discounts.remove.RemoveDiscountCodeCommand;
 import com.invoiceme.application.discounts.remove.RemoveDiscountCodeHandler;
-import com.invoiceme.application.customers.listAll.PagedResult;
-import com.invoiceme.api.common.PagedResponse;
+import com.invoiceme.api.common.ETags;
+import com.invoiceme.api.common.StreamingPage;
 import com.invoiceme.domain.invoices.InvoiceStatus;
+import com.invoiceme.infrastructure.idempotency.IdempotencyFilter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
+import java.util.List;
 import java.util.UUID;
 
 /**
@@ -50,6 +61,9 @@ public class InvoiceController {
     private final AddLineItemHandler addLineItemHandler;
     private final RemoveLineItemHandler removeLineItemHandler;
     private final GetInvoiceByIdHandler getInvoiceByIdHandler;
+    private final GetInvoicesByIdsHandler getInvoicesByIdsHandler;
+    private final GetInvoiceByNumberHandler getInvoiceByNumberHandler;
+    private final GetInvoiceVersionHandler getInvoiceVersionHandler;
     private final ListInvoicesByStatusHandler listInvoicesByStatusHandler;
     private final ListInvoicesByCustomerHandler listInvoicesByCustomerHandler;
     private final ListAllInvoicesHandler listAllInvoicesHandler;
@@ -63,6 +77,9 @@ public class InvoiceController {
             AddLineItemHandler addLineItemHandler,
             RemoveLineItemHandler removeLineItemHandler,
             GetInvoiceByIdHandler getInvoiceByIdHandler,
+            GetInvoicesByIdsHandler getInvoicesByIdsHandler,
+            GetInvoiceByNumberHandler getInvoiceByNumberHandler,
+            GetInvoiceVersionHandler getInvoiceVersionHandler,
             ListInvoicesByStatusHandler listInvoicesByStatusHandler,
             ListInvoicesByCustomerHandler listInvoicesByCustomerHandler,
             ListAllInvoicesHandler listAllInvoicesHandler,
@@ -74,6 +91,9 @@ public class InvoiceController {
         this.addLineItemHandler = addLineItemHandler;
         this.removeLineItemHandler = removeLineItemHandler;
         this.getInvoiceByIdHandler = getInvoiceByIdHandler;
+        this.getInvoicesByIdsHandler = getInvoicesByIdsHandler;
+        this.getInvoiceByNumberHandler = getInvoiceByNumberHandler;
+        this.getInvoiceVersionHandler = getInvoiceVersionHandler;
         this.listInvoicesByStatusHandler = listInvoicesByStatusHandler;
         this.listInvoicesByCustomerHandler = listInvoicesByCustomerHandler;
         this.listAllInvoicesHandler = listAllInvoicesHandler;
@@ -85,6 +105,10 @@ public class InvoiceController {
     @Operation(summary = "Create a new invoice", description = "Creates a new invoice in DRAFT status")
     @ApiResponse(responseCode = "201", description = "Invoice created successfully")
     @ApiResponse(responseCode = "400", description = "Invalid input")
+    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still in progress")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+        description = "Makes retries safe: repeats with the same key get the first response instead of running again")
     public ResponseEntity<InvoiceResponse> createInvoice(@Valid @RequestBody CreateInvoiceRequest request) {
         CreateInvoiceCommand command = new CreateInvoiceCommand(
             request.customerId(),
@@ -97,7 +121,7 @@ public class InvoiceController {
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(invoiceId);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
         
-        InvoiceResponse response = toResponse(invoiceDto);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
     
@@ -119,7 +143,7 @@ public class InvoiceController {
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(id);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
         
-        InvoiceResponse response = toResponse(invoiceDto);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
         return ResponseEntity.ok(response);
     }
     
@@ -136,7 +160,7 @@ public class InvoiceController {
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(id);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
         
-        InvoiceResponse response = toResponse(invoiceDto);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
         return ResponseEntity.ok(response);
     }
     
@@ -160,7 +184,7 @@ public class InvoiceController {
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(id);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
         
-        InvoiceResponse response = toResponse(invoiceDto);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
         return ResponseEntity.ok(response);
     }
     
@@ -178,7 +202,7 @@ public class InvoiceController {
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(id);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
         
-        InvoiceResponse response = toResponse(invoiceDto);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
         return ResponseEntity.ok(response);
     }
     
@@ -196,7 +220,7 @@ public class InvoiceController {
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(id);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
         
-        InvoiceResponse response = toResponse(invoiceDto);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
         return ResponseEntity.ok(response);
     }
     
@@ -213,107 +237,95 @@ public class InvoiceController {
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(id);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
         
-        InvoiceResponse response = toResponse(invoiceDto);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
         return ResponseEntity.ok(response);
     }
     
     @GetMapping("/{id}")
     @Operation(summary = "Get invoice by ID", description = "Retrieves an invoice with all line items and payments")
     @ApiResponse(responseCode = "200", description = "Invoice found")
+    @ApiResponse(responseCode = "304", description = "Invoice unchanged since the If-None-Match ETag")
     @ApiResponse(responseCode = "404", description = "Invoice not found")
     public ResponseEntity<InvoiceResponse> getInvoiceById(
-            @Parameter(description = "Invoice ID") @PathVariable UUID id) {
+            @Parameter(description = "Invoice ID") @PathVariable UUID id,
+            WebRequest webRequest) {
+        String etag = ETags.of(getInvoiceVersionHandler.handle(new GetInvoiceVersionQuery(id)), webRequest);
+        if (ETags.notModified(webRequest, etag)) {
+            return null;
+        }
+        
         GetInvoiceByIdQuery query = new GetInvoiceByIdQuery(id);
         var invoiceDto = getInvoiceByIdHandler.handle(query);
         
-        InvoiceResponse response = toResponse(invoiceDto);
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
+        return ETags.ok(etag, response);
+    }
+    
+    @GetMapping("/by-number/{number}")
+    @Operation(summary = "Get invoice by number", description = "Retrieves an invoice by the number customers quote, e.g. INV-2026-000042")
+    @ApiResponse(responseCode = "200", description = "Invoice found")
+    @ApiResponse(responseCode = "404", description = "Invoice not found")
+    public ResponseEntity<InvoiceResponse> getInvoiceByNumber(
+            @Parameter(description = "Invoice number") @PathVariable String number) {
+        GetInvoiceByNumberQuery query = new GetInvoiceByNumberQuery(number);
+        var invoiceDto = getInvoiceByNumberHandler.handle(query);
+        
+        InvoiceResponse response = InvoiceResponses.toResponse(invoiceDto);
+        return ResponseEntity.ok(response);
+    }
+    
+    @PostMapping("/batch-get")
+    @Operation(summary = "Get invoices by IDs", description = "Retrieves up to 100 invoices with line items and payments in request order; unknown IDs are marked not found")
+    @ApiResponse(responseCode = "200", description = "Lookup completed")
+    @ApiResponse(responseCode = "400", description = "Invalid input")
+    public ResponseEntity<List<InvoiceLookupResponse>> batchGetInvoices(
+            @Valid @RequestBody BatchGetInvoicesRequest request) {
+        GetInvoicesByIdsQuery query = new GetInvoicesByIdsQuery(request.ids());
+        
+        List<InvoiceLookupResponse> response = getInvoicesByIdsHandler.handle(query).stream()
+                .map(lookup -> new InvoiceLookupResponse(
+                    lookup.invoiceId(),
+                    lookup.found(),
+                    lookup.found() ? InvoiceResponses.toResponse(lookup.invoice()) : null
+                ))
+                .toList();
         return ResponseEntity.ok(response);
     }
     
     @GetMapping
     @Operation(summary = "List invoices", description = "Retrieves invoices filtered by status or customer")
     @ApiResponse(responseCode = "200", description = "Invoices retrieved successfully")
-    public ResponseEntity<PagedResponse<InvoiceSummaryResponse>> listInvoices(
+    public ResponseEntity<StreamingPage<InvoiceSummaryResponse>> listInvoices(
             @Parameter(description = "Filter by status") @RequestParam(required = false) InvoiceStatus status,
             @Parameter(description = "Filter by customer ID") @RequestParam(required = false) UUID customerId,
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
-        PagedResult<com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto> result;
+        StreamingPage<InvoiceSummaryResponse> response;
         
+        // Pages of up to one chunk are loaded whole, so identical concurrent requests can share
+        // one handler execution and an overloaded server can still answer 503; larger pages are
+        // read while the response is written
         if (status != null) {
             ListInvoicesByStatusQuery query = new ListInvoicesByStatusQuery(status, page, size);
-            result = listInvoicesByStatusHandler.handle(query);
+            response = StreamingPage.of(listInvoicesByStatusHandler.handle(query), InvoiceResponses::toSummaryResponse);
         } else if (customerId != null) {
             ListInvoicesByCustomerQuery query = new ListInvoicesByCustomerQuery(customerId, page, size);
-            result = listInvoicesByCustomerHandler.handle(query);
+            response = StreamingPage.of(listInvoicesByCustomerHandler.handle(query), InvoiceResponses::toSummaryResponse);
         } else {
             // List all invoices regardless of status
             ListAllInvoicesQuery query = new ListAllInvoicesQuery(page, size);
-            result = listAllInvoicesHandler.handle(query);
+            response = query.size() <= PageChunks.CHUNK_SIZE
+                ? StreamingPage.of(listAllInvoicesHandler.handle(query), InvoiceResponses::toSummaryResponse)
+                : StreamingPage.of(
+                    sink -> listAllInvoicesHandler.handle(query, dto -> sink.accept(InvoiceResponses.toSummaryResponse(dto))),
+                    query.page(),
+                    query.size());
         }
         
-        PagedResponse<InvoiceSummaryResponse> response = PagedResponse.of(
-            result.content().stream()
-                    .map(this::toSummaryResponse)
-                    .toList(),
-            result.page(),
-            result.size(),
-            result.totalElements()
-        );
         return ResponseEntity.ok(response);
     }
     
-    private InvoiceResponse toResponse(com.invoiceme.application.invoices.getById.InvoiceDto dto) {
-        return new InvoiceResponse(
-            dto.id(),
-            dto.customerId(),
-            dto.customerName(),
-            dto.status(),
-            dto.issueDate(),
-            dto.dueDate(),
-            dto.paymentPlan(),
-            dto.discountCode(),
-            dto.discountAmount(),
-            dto.subtotal(),
-            dto.totalAmount(),
-            dto.balance(),
-            dto.lineItems().stream()
-                    .map(item -> new LineItemResponse(
-                        item.id(),
-                        item.description(),
-                        item.quantity(),
-                        item.unitPrice(),
-                        item.total()
-                    ))
-                    .toList(),
-            dto.payments().stream()
-                    .map(payment -> new PaymentResponse(
-                        payment.id(),
-                        payment.amount(),
-                        payment.paymentDate(),
-                        payment.paymentMethod(),
-                        payment.createdAt()
-                    ))
-                    .toList(),
-            dto.createdAt(),
-            dto.updatedAt()
-        );
-    }
-    
-    private InvoiceSummaryResponse toSummaryResponse(com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto dto) {
-        return new InvoiceSummaryResponse(
-            dto.id(),
-            dto.customerId(),
-            dto.customerName(),
-            dto.status(),
-            dto.issueDate(),
-            dto.dueDate(),
-            dto.totalAmount(),
-            dto.balance()
-        );
-    }
-    
     public record ApplyDiscountRequest(
         String discountCode
     ) {
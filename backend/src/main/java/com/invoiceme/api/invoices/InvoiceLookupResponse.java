@@ -0,0 +1,13 @@
+package com.invoiceme.api.invoices;
+
+import java.util.UUID;
+
+/**
+ * Response DTO for one requested invoice ID in a batch get; invoice is null when not found.
+ */
+public record InvoiceLookupResponse(
+    UUID id,
+    boolean found,
+    InvoiceResponse invoice
+) {
+}
@@ -13,6 +13,7 @@ import java.util.UUID;
  */
 public record InvoiceResponse(
     UUID id,
+    String invoiceNumber,
     UUID customerId,
     String customerName,
     InvoiceStatus status,
@@ -0,0 +1,66 @@
+package com.invoiceme.api.invoices;
+
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+import com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto;
+
+/**
+ * Maps invoice DTOs to the response records shared by the admin and portal controllers
+ * (and the response benchmarks in src/jmh).
+ */
+public final class InvoiceResponses {
+    
+    private InvoiceResponses() {
+    }
+    
+    public static InvoiceResponse toResponse(InvoiceDto dto) {
+        return new InvoiceResponse(
+            dto.id(),
+            dto.invoiceNumber(),
+            dto.customerId(),
+            dto.customerName(),
+            dto.status(),
+            dto.issueDate(),
+            dto.dueDate(),
+            dto.paymentPlan(),
+            dto.discountCode(),
+            dto.discountAmount(),
+            dto.subtotal(),
+            dto.totalAmount(),
+            dto.balance(),
+            dto.lineItems().stream()
+                    .map(item -> new LineItemResponse(
+                        item.id(),
+                        item.description(),
+                        item.quantity(),
+                        item.unitPrice(),
+                        item.total()
+                    ))
+                    .toList(),
+            dto.payments().stream()
+                    .map(payment -> new PaymentResponse(
+                        payment.id(),
+                        payment.amount(),
+                        payment.paymentDate(),
+                        payment.paymentMethod(),
+                        payment.createdAt()
+                    ))
+                    .toList(),
+            dto.createdAt(),
+            dto.updatedAt()
+        );
+    }
+    
+    public static InvoiceSummaryResponse toSummaryResponse(InvoiceSummaryDto dto) {
+        return new InvoiceSummaryResponse(
+            dto.id(),
+            dto.invoiceNumber(),
+            dto.customerId(),
+            dto.customerName(),
+            dto.status(),
+            dto.issueDate(),
+            dto.dueDate(),
+            dto.totalAmount(),
+            dto.balance()
+        );
+    }
+}
@@ -11,6 +11,7 @@ import java.util.UUID;
  */
 public record InvoiceSummaryResponse(
     UUID id,
+    String invoiceNumber,
     UUID customerId,
     String customerName,
     InvoiceStatus status,
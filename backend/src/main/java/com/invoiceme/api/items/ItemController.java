@@ -1,12 +1,16 @@
 package com.invoiceme.api.items;
 
-import com.invoiceme.api.common.PagedResponse;
+import com.invoiceme.api.common.ETags;
+import com.invoiceme.api.common.StreamingPage;
+import com.invoiceme.application.common.PageChunks;
 import com.invoiceme.application.items.create.CreateItemCommand;
 import com.invoiceme.application.items.create.CreateItemHandler;
 import com.invoiceme.application.items.delete.DeleteItemCommand;
 import com.invoiceme.application.items.delete.DeleteItemHandler;
 import com.invoiceme.application.items.getById.GetItemByIdQuery;
 import com.invoiceme.application.items.getById.GetItemByIdHandler;
+import com.invoiceme.application.items.getVersion.GetItemVersionQuery;
+import com.invoiceme.application.items.getVersion.GetItemVersionHandler;
 import com.invoiceme.application.items.list.ListItemsQuery;
 import com.invoiceme.application.items.list.ListItemsHandler;
 import com.invoiceme.application.items.update.UpdateItemCommand;
@@ -20,6 +24,7 @@ import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
 
@@ -35,6 +40,7 @@ public class ItemController {
     private final UpdateItemHandler updateItemHandler;
     private final DeleteItemHandler deleteItemHandler;
     private final GetItemByIdHandler getItemByIdHandler;
+    private final GetItemVersionHandler getItemVersionHandler;
     private final ListItemsHandler listItemsHandler;
     private final SecurityUtils securityUtils;
     
@@ -43,12 +49,14 @@ public class ItemController {
             UpdateItemHandler updateItemHandler,
             DeleteItemHandler deleteItemHandler,
             GetItemByIdHandler getItemByIdHandler,
+            GetItemVersionHandler getItemVersionHandler,
             ListItemsHandler listItemsHandler,
             SecurityUtils securityUtils) {
         this.createItemHandler = createItemHandler;
         this.updateItemHandler = updateItemHandler;
         this.deleteItemHandler = deleteItemHandler;
         this.getItemByIdHandler = getItemByIdHandler;
+        this.getItemVersionHandler = getItemVersionHandler;
         this.listItemsHandler = listItemsHandler;
         this.securityUtils = securityUtils;
     }
@@ -117,38 +125,47 @@ public class ItemController {
     @GetMapping("/{id}")
     @Operation(summary = "Get item by ID", description = "Retrieves an item by its ID")
     @ApiResponse(responseCode = "200", description = "Item found")
+    @ApiResponse(responseCode = "304", description = "Item unchanged since the If-None-Match ETag")
     @ApiResponse(responseCode = "404", description = "Item not found")
     public ResponseEntity<ItemResponse> getItemById(
-            @Parameter(description = "Item ID") @PathVariable UUID id) {
+            @Parameter(description = "Item ID") @PathVariable UUID id,
+            WebRequest webRequest) {
         UUID userId = securityUtils.getCurrentUserId();
         
+        String etag = ETags.of(getItemVersionHandler.handle(new GetItemVersionQuery(id, userId)), webRequest);
+        if (ETags.notModified(webRequest, etag)) {
+            return null;
+        }
+        
         GetItemByIdQuery query = new GetItemByIdQuery(id, userId);
         var itemDto = getItemByIdHandler.handle(query);
         
         ItemResponse response = toResponse(itemDto);
-        return ResponseEntity.ok(response);
+        return ETags.ok(etag, response);
     }
     
     @GetMapping
     @Operation(summary = "List all items", description = "Retrieves a paginated list of all items for the current user")
     @ApiResponse(responseCode = "200", description = "Items retrieved successfully")
-    public ResponseEntity<PagedResponse<ItemResponse>> listItems(
+    public ResponseEntity<StreamingPage<ItemResponse>> listItems(
             @Parameter(description = "Page number (0-indexed)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         UUID userId = securityUtils.getCurrentUserId();
         
         ListItemsQuery query = new ListItemsQuery(userId, page, size);
-        var result = listItemsHandler.handle(query);
-        
-        PagedResponse<ItemResponse> response = PagedResponse.of(
-            result.content().stream()
-                    .map(this::toResponse)
-                    .toList(),
-            result.page(),
-            result.size(),
-            result.totalElements()
-        );
-        return ResponseEntity.ok(response);
+        // Pages of up to one chunk are loaded before the response starts, so an overloaded server
+        // can still answer 503; larger pages are read while the response is written
+        StreamingPage.Rows<ItemResponse> rows;
+        if (query.size() <= PageChunks.CHUNK_SIZE) {
+            ListItemsHandler.PagedResult<GetItemByIdHandler.ItemDto> result = listItemsHandler.handle(query);
+            rows = sink -> {
+                result.content().forEach(dto -> sink.accept(toResponse(dto)));
+                return result.totalElements();
+            };
+        } else {
+            rows = sink -> listItemsHandler.handle(query, dto -> sink.accept(toResponse(dto)));
+        }
+        return ResponseEntity.ok(StreamingPage.of(rows, query.page(), query.size()));
     }
     
     private ItemResponse toResponse(GetItemByIdHandler.ItemDto dto) {
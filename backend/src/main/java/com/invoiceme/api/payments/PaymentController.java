@@ -6,8 +6,10 @@ import com.invoiceme.application.payments.listByInvoice.ListPaymentsByInvoiceQue
 import com.invoiceme.application.payments.listByInvoice.ListPaymentsByInvoiceHandler;
 import com.invoiceme.application.payments.record.RecordPaymentCommand;
 import com.invoiceme.application.payments.record.RecordPaymentHandler;
+import com.invoiceme.infrastructure.idempotency.IdempotencyFilter;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
@@ -44,6 +46,10 @@ public class PaymentController {
     @ApiResponse(responseCode = "201", description = "Payment recorded successfully")
     @ApiResponse(responseCode = "400", description = "Invalid input or business rule violation")
     @ApiResponse(responseCode = "404", description = "Invoice not found")
+    @ApiResponse(responseCode = "409", description = "A request with the same Idempotency-Key is still in progress")
+    @ApiResponse(responseCode = "422", description = "Idempotency-Key was already used for a different request")
+    @Parameter(name = IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, in = ParameterIn.HEADER,
+        description = "Makes retries safe: repeats with the same key get the first response instead of running again")
     public ResponseEntity<PaymentDetailResponse> recordPayment(@Valid @RequestBody RecordPaymentRequest request) {
         RecordPaymentCommand command = new RecordPaymentCommand(
             request.invoiceId(),
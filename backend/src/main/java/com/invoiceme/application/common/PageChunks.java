@@ -0,0 +1,55 @@
+package com.invoiceme.application.common;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Walks one requested page in fetches of at most {@link #CHUNK_SIZE} rows, so a large page
+ * is never loaded at once. Pages up to the chunk size are a single fetch of exactly that page.
+ * Larger pages are fetched in chunk-sized pages covering the requested range; rows of the first
+ * and last chunk outside that range are skipped.
+ */
+public final class PageChunks {
+    
+    public static final int CHUNK_SIZE = 100;
+    
+    private PageChunks() {
+    }
+    
+    /**
+     * A paged repository call, e.g. {@code (page, size) -> invoiceRepository.findAll(page, size)}.
+     */
+    @FunctionalInterface
+    public interface Fetch<T> {
+        List<T> fetch(int page, int size);
+    }
+    
+    /**
+     * Passes the rows of page {@code page} (of {@code size} rows) to {@code chunkConsumer},
+     * one chunk at a time and in order.
+     */
+    public static <T> void forEach(int page, int size, Fetch<T> fetch, Consumer<List<T>> chunkConsumer) {
+        if (size <= CHUNK_SIZE) {
+            // Also leaves invalid page/size values to the repository, as before
+            List<T> rows = fetch.fetch(page, size);
+            if (!rows.isEmpty()) {
+                chunkConsumer.accept(rows);
+            }
+            return;
+        }
+        long first = (long) page * size;
+        long end = first + size;
+        for (long chunk = first / CHUNK_SIZE; chunk * CHUNK_SIZE < end; chunk++) {
+            List<T> rows = fetch.fetch(Math.toIntExact(chunk), CHUNK_SIZE);
+            long offset = chunk * CHUNK_SIZE;
+            int from = (int) Math.max(0, first - offset);
+            int to = (int) Math.min(rows.size(), end - offset);
+            if (from < to) {
+                chunkConsumer.accept(rows.subList(from, to));
+            }
+            if (rows.size() < CHUNK_SIZE) {
+                return;
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.invoiceme.application.customers.getVersion;
+
+import com.invoiceme.domain.customers.CustomerRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Handler for GetCustomerVersionQuery.
+ * Reads only the customer's last-modified time.
+ */
+@Service
+public class GetCustomerVersionHandler {
+    
+    private final CustomerRepository customerRepository;
+    
+    public GetCustomerVersionHandler(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+    
+    /**
+     * @return An opaque version token, or empty if the customer does not exist
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> handle(GetCustomerVersionQuery query) {
+        return customerRepository.findUpdatedAtById(query.customerId())
+                .map(updatedAt -> query.customerId() + "/" + updatedAt);
+    }
+}
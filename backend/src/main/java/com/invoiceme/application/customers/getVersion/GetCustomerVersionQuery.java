@@ -0,0 +1,14 @@
+package com.invoiceme.application.customers.getVersion;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Query for the current version of a customer, used to answer conditional GETs.
+ */
+public record GetCustomerVersionQuery(
+    @NotNull(message = "Customer ID is required")
+    UUID customerId
+) {
+}
@@ -1,12 +1,15 @@
 package com.invoiceme.application.customers.listAll;
 
+import com.invoiceme.application.common.PageChunks;
 import com.invoiceme.application.customers.getById.CustomerDto;
 import com.invoiceme.domain.customers.Customer;
 import com.invoiceme.domain.customers.CustomerRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Handler for ListAllCustomersQuery.
@@ -23,20 +26,8 @@ public class ListAllCustomersHandler {
     
     @Transactional(readOnly = true)
     public PagedResult<CustomerDto> handle(ListAllCustomersQuery query) {
-        // Get paginated customers
-        List<Customer> customers = customerRepository.findAll(
-            query.page(),
-            query.size(),
-            query.sortBy()
-        );
-        
-        // Get total count
-        long totalElements = customerRepository.count();
-        
-        // Convert to DTOs
-        List<CustomerDto> customerDtos = customers.stream()
-                .map(this::toDto)
-                .toList();
+        List<CustomerDto> customerDtos = new ArrayList<>();
+        long totalElements = handle(query, customerDtos::add);
         
         return PagedResult.of(
             customerDtos,
@@ -46,6 +37,22 @@ public class ListAllCustomersHandler {
         );
     }
     
+    /**
+     * Streams the page to {@code sink} chunk by chunk instead of collecting it.
+     * @return Total number of customers
+     */
+    @Transactional(readOnly = true)
+    public long handle(ListAllCustomersQuery query, Consumer<CustomerDto> sink) {
+        // Get total count
+        long totalElements = customerRepository.count();
+        
+        PageChunks.forEach(query.page(), query.size(),
+            (page, size) -> customerRepository.findAll(page, size, query.sortBy()),
+            customers -> customers.forEach(customer -> sink.accept(toDto(customer))));
+        
+        return totalElements;
+    }
+    
     private CustomerDto toDto(Customer customer) {
         return new CustomerDto(
             customer.getId(),
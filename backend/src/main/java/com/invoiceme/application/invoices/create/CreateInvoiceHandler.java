@@ -5,6 +5,7 @@ import com.invoiceme.application.payments.schedule.CreatePaymentScheduleHandler;
 import com.invoiceme.domain.customers.CustomerRepository;
 import com.invoiceme.domain.exceptions.DomainValidationException;
 import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceNumberAllocator;
 import com.invoiceme.domain.invoices.InvoiceRepository;
 import com.invoiceme.domain.payments.PaymentPlan;
 import org.springframework.stereotype.Service;
@@ -14,7 +15,7 @@ import java.util.UUID;
 
 /**
  * Handler for CreateInvoiceCommand.
- * Creates a new invoice in DRAFT status.
+ * Creates a new invoice in DRAFT status with its invoice number.
  * If PAY_IN_4 is selected, creates payment schedule after invoice is sent.
  */
 @Service
@@ -23,14 +24,17 @@ public class CreateInvoiceHandler {
     private final InvoiceRepository invoiceRepository;
     private final CustomerRepository customerRepository;
     private final CreatePaymentScheduleHandler createPaymentScheduleHandler;
+    private final InvoiceNumberAllocator invoiceNumberAllocator;
     
     public CreateInvoiceHandler(
             InvoiceRepository invoiceRepository,
             CustomerRepository customerRepository,
-            CreatePaymentScheduleHandler createPaymentScheduleHandler) {
+            CreatePaymentScheduleHandler createPaymentScheduleHandler,
+            InvoiceNumberAllocator invoiceNumberAllocator) {
         this.invoiceRepository = invoiceRepository;
         this.customerRepository = customerRepository;
         this.createPaymentScheduleHandler = createPaymentScheduleHandler;
+        this.invoiceNumberAllocator = invoiceNumberAllocator;
     }
     
     @Transactional
@@ -50,6 +54,9 @@ public class CreateInvoiceHandler {
             command.paymentPlan() != null ? command.paymentPlan() : PaymentPlan.FULL
         );
         
+        // Number it by issue year; the number stays if the dates are edited later
+        invoice.assignNumber(invoiceNumberAllocator.next(invoice.getIssueDate()));
+        
         // Save invoice
         Invoice savedInvoice = invoiceRepository.save(invoice);
         
@@ -4,6 +4,7 @@ import com.invoiceme.domain.customers.CustomerRepository;
 import com.invoiceme.domain.exceptions.DomainValidationException;
 import com.invoiceme.domain.invoices.Invoice;
 import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.infrastructure.coalescing.Coalesce;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -24,6 +25,7 @@ public class GetInvoiceByIdHandler {
         this.customerRepository = customerRepository;
     }
     
+    @Coalesce
     @Transactional(readOnly = true)
     public InvoiceDto handle(GetInvoiceByIdQuery query) {
         Invoice invoice = invoiceRepository.findById(query.invoiceId())
@@ -36,44 +38,7 @@ public class GetInvoiceByIdHandler {
                 .map(customer -> customer.getName())
                 .orElse("Unknown Customer");
         
-        return toDto(invoice, customerName);
-    }
-    
-    private InvoiceDto toDto(Invoice invoice, String customerName) {
-        return new InvoiceDto(
-            invoice.getId(),
-            invoice.getCustomerId(),
-            customerName,
-            invoice.getStatus(),
-            invoice.getIssueDate(),
-            invoice.getDueDate(),
-            invoice.getPaymentPlan(),
-            invoice.getDiscountCode(),
-            invoice.getDiscountAmount(),
-            invoice.calculateSubtotal(),
-            invoice.calculateTotal(),
-            invoice.calculateBalance(),
-            invoice.getLineItems().stream()
-                    .map(item -> new LineItemDto(
-                        item.getId(),
-                        item.getDescription(),
-                        item.getQuantity(),
-                        item.getUnitPrice(),
-                        item.getTotal()
-                    ))
-                    .toList(),
-            invoice.getPayments().stream()
-                    .map(payment -> new PaymentDto(
-                        payment.getId(),
-                        payment.getAmount(),
-                        payment.getPaymentDate(),
-                        payment.getPaymentMethod(),
-                        payment.getCreatedAt()
-                    ))
-                    .toList(),
-            invoice.getCreatedAt(),
-            invoice.getUpdatedAt()
-        );
+        return InvoiceDto.from(invoice, customerName);
     }
 }
 
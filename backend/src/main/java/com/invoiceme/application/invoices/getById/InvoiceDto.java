@@ -1,5 +1,6 @@
 package com.invoiceme.application.invoices.getById;
 
+import com.invoiceme.domain.invoices.Invoice;
 import com.invoiceme.domain.invoices.InvoiceStatus;
 
 import java.math.BigDecimal;
@@ -13,6 +14,7 @@ import java.util.UUID;
  */
 public record InvoiceDto(
     UUID id,
+    String invoiceNumber,
     UUID customerId,
     String customerName,
     InvoiceStatus status,
@@ -29,5 +31,47 @@ public record InvoiceDto(
     LocalDateTime createdAt,
     LocalDateTime updatedAt
 ) {
+    
+    /**
+     * Maps an invoice with its line items and payments; every invoice query, reactive ones
+     * included, builds its DTO here so they all serialize the same JSON.
+     */
+    public static InvoiceDto from(Invoice invoice, String customerName) {
+        return new InvoiceDto(
+            invoice.getId(),
+            invoice.getInvoiceNumber(),
+            invoice.getCustomerId(),
+            customerName,
+            invoice.getStatus(),
+            invoice.getIssueDate(),
+            invoice.getDueDate(),
+            invoice.getPaymentPlan(),
+            invoice.getDiscountCode(),
+            invoice.getDiscountAmount(),
+            invoice.calculateSubtotal(),
+            invoice.calculateTotal(),
+            invoice.calculateBalance(),
+            invoice.getLineItems().stream()
+                    .map(item -> new LineItemDto(
+                        item.getId(),
+                        item.getDescription(),
+                        item.getQuantity(),
+                        item.getUnitPrice(),
+                        item.getTotal()
+                    ))
+                    .toList(),
+            invoice.getPayments().stream()
+                    .map(payment -> new PaymentDto(
+                        payment.getId(),
+                        payment.getAmount(),
+                        payment.getPaymentDate(),
+                        payment.getPaymentMethod(),
+                        payment.getCreatedAt()
+                    ))
+                    .toList(),
+            invoice.getCreatedAt(),
+            invoice.getUpdatedAt()
+        );
+    }
 }
 
@@ -0,0 +1,71 @@
+package com.invoiceme.application.invoices.getByIds;
+
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+import com.invoiceme.domain.customers.Customer;
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Handler for GetInvoicesByIdsQuery.
+ * Loads all requested invoices, their line items, payments and customer names with a
+ * constant number of queries and answers in request order, duplicates included.
+ */
+@Service
+public class GetInvoicesByIdsHandler {
+    
+    private final InvoiceRepository invoiceRepository;
+    private final CustomerRepository customerRepository;
+    
+    public GetInvoicesByIdsHandler(
+            InvoiceRepository invoiceRepository,
+            CustomerRepository customerRepository) {
+        this.invoiceRepository = invoiceRepository;
+        this.customerRepository = customerRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public List<InvoiceLookupDto> handle(GetInvoicesByIdsQuery query) {
+        if (query.invoiceIds().size() > GetInvoicesByIdsQuery.MAX_IDS) {
+            throw new DomainValidationException(
+                "At most " + GetInvoicesByIdsQuery.MAX_IDS + " invoice IDs can be requested at once"
+            );
+        }
+        
+        Set<UUID> distinctIds = new LinkedHashSet<>(query.invoiceIds());
+        Map<UUID, Invoice> invoices = invoiceRepository.findAllByIds(distinctIds).stream()
+                .filter(invoice -> query.customerId() == null || invoice.getCustomerId().equals(query.customerId()))
+                .collect(Collectors.toMap(Invoice::getId, Function.identity()));
+        
+        // Resolve customer names for all found invoices in one lookup
+        Set<UUID> customerIds = invoices.values().stream()
+                .map(Invoice::getCustomerId)
+                .collect(Collectors.toSet());
+        Map<UUID, String> customerNames = customerIds.isEmpty()
+                ? Map.of()
+                : customerRepository.findAllByIds(customerIds).stream()
+                        .collect(Collectors.toMap(Customer::getId, Customer::getName));
+        
+        return query.invoiceIds().stream()
+                .map(id -> {
+                    Invoice invoice = invoices.get(id);
+                    return invoice == null
+                        ? new InvoiceLookupDto(id, false, null)
+                        : new InvoiceLookupDto(id, true, InvoiceDto.from(
+                            invoice,
+                            customerNames.getOrDefault(invoice.getCustomerId(), "Unknown Customer")));
+                })
+                .toList();
+    }
+}
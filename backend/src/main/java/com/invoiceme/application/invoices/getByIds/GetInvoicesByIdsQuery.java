@@ -0,0 +1,22 @@
+package com.invoiceme.application.invoices.getByIds;
+
+import jakarta.validation.constraints.NotEmpty;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Query to get several invoices by ID in one round trip.
+ * When customerId is set, invoices belonging to other customers are reported as not found.
+ */
+public record GetInvoicesByIdsQuery(
+    @NotEmpty(message = "At least one invoice ID is required")
+    List<UUID> invoiceIds,
+    UUID customerId
+) {
+    public static final int MAX_IDS = 100;
+    
+    public GetInvoicesByIdsQuery(List<UUID> invoiceIds) {
+        this(invoiceIds, null);
+    }
+}
@@ -0,0 +1,15 @@
+package com.invoiceme.application.invoices.getByIds;
+
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+
+import java.util.UUID;
+
+/**
+ * Result for one requested invoice ID; invoice is null when it was not found.
+ */
+public record InvoiceLookupDto(
+    UUID invoiceId,
+    boolean found,
+    InvoiceDto invoice
+) {
+}
@@ -0,0 +1,42 @@
+package com.invoiceme.application.invoices.getByNumber;
+
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Handler for GetInvoiceByNumberQuery.
+ * Retrieves an invoice by its invoice number with all related data.
+ */
+@Service
+public class GetInvoiceByNumberHandler {
+    
+    private final InvoiceRepository invoiceRepository;
+    private final CustomerRepository customerRepository;
+    
+    public GetInvoiceByNumberHandler(
+            InvoiceRepository invoiceRepository,
+            CustomerRepository customerRepository) {
+        this.invoiceRepository = invoiceRepository;
+        this.customerRepository = customerRepository;
+    }
+    
+    @Transactional(readOnly = true)
+    public InvoiceDto handle(GetInvoiceByNumberQuery query) {
+        Invoice invoice = invoiceRepository.findByInvoiceNumber(query.invoiceNumber())
+                .orElseThrow(() -> new DomainValidationException(
+                    "Invoice with number " + query.invoiceNumber() + " not found"
+                ));
+        
+        // Get customer name
+        String customerName = customerRepository.findById(invoice.getCustomerId())
+                .map(customer -> customer.getName())
+                .orElse("Unknown Customer");
+        
+        return InvoiceDto.from(invoice, customerName);
+    }
+}
@@ -0,0 +1,12 @@
+package com.invoiceme.application.invoices.getByNumber;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Query to get an invoice by the number customers quote, e.g. INV-2026-000042.
+ */
+public record GetInvoiceByNumberQuery(
+    @NotBlank(message = "Invoice number is required")
+    String invoiceNumber
+) {
+}
@@ -0,0 +1,43 @@
+package com.invoiceme.application.invoices.getVersion;
+
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.infrastructure.coalescing.Coalesce;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Handler for GetInvoiceVersionQuery.
+ * Reads only the invoice's and its customer's last-modified times; the customer is part of
+ * the version because the invoice representation carries the customer's name.
+ * Payments and line item changes touch the invoice's updatedAt, so they are covered too.
+ */
+@Service
+public class GetInvoiceVersionHandler {
+    
+    private final InvoiceRepository invoiceRepository;
+    private final CustomerRepository customerRepository;
+    
+    public GetInvoiceVersionHandler(
+            InvoiceRepository invoiceRepository,
+            CustomerRepository customerRepository) {
+        this.invoiceRepository = invoiceRepository;
+        this.customerRepository = customerRepository;
+    }
+    
+    /**
+     * @return An opaque version token, or empty if the invoice is missing or not the customer's
+     */
+    @Coalesce
+    @Transactional(readOnly = true)
+    public Optional<String> handle(GetInvoiceVersionQuery query) {
+        return invoiceRepository.findVersionById(query.invoiceId())
+                .filter(version -> query.customerId() == null || version.customerId().equals(query.customerId()))
+                .map(version -> query.invoiceId() + "/" + version.updatedAt() + "/"
+                    + customerRepository.findUpdatedAtById(version.customerId())
+                            .map(Object::toString)
+                            .orElse("-"));
+    }
+}
@@ -0,0 +1,19 @@
+package com.invoiceme.application.invoices.getVersion;
+
+import jakarta.validation.constraints.NotNull;
+
+import java.util.UUID;
+
+/**
+ * Query for the current version of an invoice, used to answer conditional GETs.
+ * When customerId is set, an invoice owned by another customer has no version.
+ */
+public record GetInvoiceVersionQuery(
+    @NotNull(message = "Invoice ID is required")
+    UUID invoiceId,
+    UUID customerId
+) {
+    public GetInvoiceVersionQuery(UUID invoiceId) {
+        this(invoiceId, null);
+    }
+}
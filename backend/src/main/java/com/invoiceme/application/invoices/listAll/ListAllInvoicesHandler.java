@@ -1,14 +1,23 @@
 package com.invoiceme.application.invoices.listAll;
 
+import com.invoiceme.application.common.PageChunks;
 import com.invoiceme.application.customers.listAll.PagedResult;
 import com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto;
+import com.invoiceme.domain.customers.Customer;
 import com.invoiceme.domain.customers.CustomerRepository;
 import com.invoiceme.domain.invoices.Invoice;
 import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.infrastructure.coalescing.Coalesce;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Handler for ListAllInvoicesQuery.
@@ -27,26 +36,11 @@ public class ListAllInvoicesHandler {
         this.customerRepository = customerRepository;
     }
     
+    @Coalesce
     @Transactional(readOnly = true)
     public PagedResult<InvoiceSummaryDto> handle(ListAllInvoicesQuery query) {
-        // Get all invoices
-        List<Invoice> invoices = invoiceRepository.findAll(
-            query.page(),
-            query.size()
-        );
-        
-        // Get total count
-        long totalElements = invoiceRepository.count();
-        
-        // Convert to DTOs
-        List<InvoiceSummaryDto> invoiceDtos = invoices.stream()
-                .map(invoice -> {
-                    String customerName = customerRepository.findById(invoice.getCustomerId())
-                            .map(customer -> customer.getName())
-                            .orElse("Unknown Customer");
-                    return toSummaryDto(invoice, customerName);
-                })
-                .toList();
+        List<InvoiceSummaryDto> invoiceDtos = new ArrayList<>();
+        long totalElements = handle(query, invoiceDtos::add);
         
         return PagedResult.of(
             invoiceDtos,
@@ -56,9 +50,35 @@ public class ListAllInvoicesHandler {
         );
     }
     
+    /**
+     * Streams the page to {@code sink} chunk by chunk instead of collecting it.
+     * @return Total number of invoices
+     */
+    @Transactional(readOnly = true)
+    public long handle(ListAllInvoicesQuery query, Consumer<InvoiceSummaryDto> sink) {
+        // Get total count
+        long totalElements = invoiceRepository.count();
+        
+        PageChunks.forEach(query.page(), query.size(), invoiceRepository::findAll, invoices -> {
+            // Resolve customer names for the whole chunk in one lookup
+            Set<UUID> customerIds = invoices.stream()
+                    .map(Invoice::getCustomerId)
+                    .collect(Collectors.toSet());
+            Map<UUID, String> customerNames = customerRepository.findAllByIds(customerIds).stream()
+                    .collect(Collectors.toMap(Customer::getId, Customer::getName));
+            
+            invoices.forEach(invoice -> sink.accept(toSummaryDto(
+                invoice,
+                customerNames.getOrDefault(invoice.getCustomerId(), "Unknown Customer"))));
+        });
+        
+        return totalElements;
+    }
+    
     private InvoiceSummaryDto toSummaryDto(Invoice invoice, String customerName) {
         return new InvoiceSummaryDto(
             invoice.getId(),
+            invoice.getInvoiceNumber(),
             invoice.getCustomerId(),
             customerName,
             invoice.getStatus(),
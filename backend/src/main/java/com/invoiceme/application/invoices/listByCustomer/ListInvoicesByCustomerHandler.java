@@ -1,14 +1,18 @@
 package com.invoiceme.application.invoices.listByCustomer;
 
+import com.invoiceme.application.common.PageChunks;
 import com.invoiceme.application.customers.listAll.PagedResult;
 import com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto;
 import com.invoiceme.domain.customers.CustomerRepository;
 import com.invoiceme.domain.invoices.Invoice;
 import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.infrastructure.coalescing.Coalesce;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Handler for ListInvoicesByCustomerQuery.
@@ -27,15 +31,26 @@ public class ListInvoicesByCustomerHandler {
         this.customerRepository = customerRepository;
     }
     
+    @Coalesce
     @Transactional(readOnly = true)
     public PagedResult<InvoiceSummaryDto> handle(ListInvoicesByCustomerQuery query) {
-        // Get invoices by customer
-        List<Invoice> invoices = invoiceRepository.findByCustomerId(
-            query.customerId(),
+        List<InvoiceSummaryDto> invoiceDtos = new ArrayList<>();
+        long totalElements = handle(query, invoiceDtos::add);
+        
+        return PagedResult.of(
+            invoiceDtos,
             query.page(),
-            query.size()
+            query.size(),
+            totalElements
         );
-        
+    }
+    
+    /**
+     * Streams the page to {@code sink} chunk by chunk instead of collecting it.
+     * @return Total number of the customer's invoices
+     */
+    @Transactional(readOnly = true)
+    public long handle(ListInvoicesByCustomerQuery query, Consumer<InvoiceSummaryDto> sink) {
         // Get total count
         long totalElements = invoiceRepository.countByCustomerId(query.customerId());
         
@@ -44,22 +59,17 @@ public class ListInvoicesByCustomerHandler {
                 .map(customer -> customer.getName())
                 .orElse("Unknown Customer");
         
-        // Convert to DTOs
-        List<InvoiceSummaryDto> invoiceDtos = invoices.stream()
-                .map(invoice -> toSummaryDto(invoice, customerName))
-                .toList();
+        PageChunks.forEach(query.page(), query.size(),
+            (page, size) -> invoiceRepository.findByCustomerId(query.customerId(), page, size),
+            invoices -> invoices.forEach(invoice -> sink.accept(toSummaryDto(invoice, customerName))));
         
-        return PagedResult.of(
-            invoiceDtos,
-            query.page(),
-            query.size(),
-            totalElements
-        );
+        return totalElements;
     }
     
     private InvoiceSummaryDto toSummaryDto(Invoice invoice, String customerName) {
         return new InvoiceSummaryDto(
             invoice.getId(),
+            invoice.getInvoiceNumber(),
             invoice.getCustomerId(),
             customerName,
             invoice.getStatus(),
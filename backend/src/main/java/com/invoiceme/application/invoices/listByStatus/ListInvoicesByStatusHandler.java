@@ -1,13 +1,22 @@
 package com.invoiceme.application.invoices.listByStatus;
 
+import com.invoiceme.application.common.PageChunks;
 import com.invoiceme.application.customers.listAll.PagedResult;
+import com.invoiceme.domain.customers.Customer;
 import com.invoiceme.domain.customers.CustomerRepository;
 import com.invoiceme.domain.invoices.Invoice;
 import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.infrastructure.coalescing.Coalesce;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
 
 /**
  * Handler for ListInvoicesByStatusQuery.
@@ -26,27 +35,11 @@ public class ListInvoicesByStatusHandler {
         this.customerRepository = customerRepository;
     }
     
+    @Coalesce
     @Transactional(readOnly = true)
     public PagedResult<InvoiceSummaryDto> handle(ListInvoicesByStatusQuery query) {
-        // Get invoices by status (will be implemented in repository)
-        List<Invoice> invoices = invoiceRepository.findByStatus(
-            query.status(),
-            query.page(),
-            query.size()
-        );
-        
-        // Get total count
-        long totalElements = invoiceRepository.countByStatus(query.status());
-        
-        // Convert to DTOs
-        List<InvoiceSummaryDto> invoiceDtos = invoices.stream()
-                .map(invoice -> {
-                    String customerName = customerRepository.findById(invoice.getCustomerId())
-                            .map(customer -> customer.getName())
-                            .orElse("Unknown Customer");
-                    return toSummaryDto(invoice, customerName);
-                })
-                .toList();
+        List<InvoiceSummaryDto> invoiceDtos = new ArrayList<>();
+        long totalElements = handle(query, invoiceDtos::add);
         
         return PagedResult.of(
             invoiceDtos,
@@ -56,9 +49,37 @@ public class ListInvoicesByStatusHandler {
         );
     }
     
+    /**
+     * Streams the page to {@code sink} chunk by chunk instead of collecting it.
+     * @return Total number of invoices with the status
+     */
+    @Transactional(readOnly = true)
+    public long handle(ListInvoicesByStatusQuery query, Consumer<InvoiceSummaryDto> sink) {
+        // Get total count
+        long totalElements = invoiceRepository.countByStatus(query.status());
+        
+        PageChunks.forEach(query.page(), query.size(),
+            (page, size) -> invoiceRepository.findByStatus(query.status(), page, size),
+            invoices -> {
+                // Resolve customer names for the whole chunk in one lookup
+                Set<UUID> customerIds = invoices.stream()
+                        .map(Invoice::getCustomerId)
+                        .collect(Collectors.toSet());
+                Map<UUID, String> customerNames = customerRepository.findAllByIds(customerIds).stream()
+                        .collect(Collectors.toMap(Customer::getId, Customer::getName));
+                
+                invoices.forEach(invoice -> sink.accept(toSummaryDto(
+                    invoice,
+                    customerNames.getOrDefault(invoice.getCustomerId(), "Unknown Customer"))));
+            });
+        
+        return totalElements;
+    }
+    
     private InvoiceSummaryDto toSummaryDto(Invoice invoice, String customerName) {
         return new InvoiceSummaryDto(
             invoice.getId(),
+            invoice.getInvoiceNumber(),
             invoice.getCustomerId(),
             customerName,
             invoice.getStatus(),
@@ -0,0 +1,30 @@
+package com.invoiceme.application.items.getVersion;
+
+import com.invoiceme.domain.items.ItemRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+/**
+ * Handler for GetItemVersionQuery.
+ * Reads only the item's last-modified time, scoped to its owner.
+ */
+@Service
+public class GetItemVersionHandler {
+    
+    private final ItemRepository itemRepository;
+    
+    public GetItemVersionHandler(ItemRepository itemRepository) {
+        this.itemRepository = itemRepository;
+    }
+    
+    /**
+     * @return An opaque version token, or empty if the item is missing or not the user's
+     */
+    @Transactional(readOnly = true)
+    public Optional<String> handle(GetItemVersionQuery query) {
+        return itemRepository.findUpdatedAtByIdAndUserId(query.itemId(), query.userId())
+                .map(updatedAt -> query.itemId() + "/" + updatedAt);
+    }
+}
@@ -0,0 +1,12 @@
+package com.invoiceme.application.items.getVersion;
+
+import java.util.UUID;
+
+/**
+ * Query for the current version of a user's item, used to answer conditional GETs.
+ */
+public record GetItemVersionQuery(
+    UUID itemId,
+    UUID userId
+) {
+}
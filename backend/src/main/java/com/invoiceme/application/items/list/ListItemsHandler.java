@@ -1,12 +1,14 @@
 package com.invoiceme.application.items.list;
 
+import com.invoiceme.application.common.PageChunks;
 import com.invoiceme.application.items.getById.GetItemByIdHandler.ItemDto;
-import com.invoiceme.domain.items.Item;
 import com.invoiceme.domain.items.ItemRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Handler for ListItemsQuery.
@@ -23,19 +25,8 @@ public class ListItemsHandler {
     
     @Transactional(readOnly = true)
     public PagedResult<ItemDto> handle(ListItemsQuery query) {
-        List<Item> items = itemRepository.findByUserId(query.userId(), query.page(), query.size());
-        long total = itemRepository.countByUserId(query.userId());
-        
-        List<ItemDto> content = items.stream()
-                .map(item -> new ItemDto(
-                    item.getId(),
-                    item.getUserId(),
-                    item.getDescription(),
-                    item.getUnitPrice(),
-                    item.getCreatedAt(),
-                    item.getUpdatedAt()
-                ))
-                .toList();
+        List<ItemDto> content = new ArrayList<>();
+        long total = handle(query, content::add);
         
         return new PagedResult<>(
             content,
@@ -45,6 +36,28 @@ public class ListItemsHandler {
         );
     }
     
+    /**
+     * Streams the page to {@code sink} chunk by chunk instead of collecting it.
+     * @return Total number of the user's items
+     */
+    @Transactional(readOnly = true)
+    public long handle(ListItemsQuery query, Consumer<ItemDto> sink) {
+        long total = itemRepository.countByUserId(query.userId());
+        
+        PageChunks.forEach(query.page(), query.size(),
+            (page, size) -> itemRepository.findByUserId(query.userId(), page, size),
+            items -> items.forEach(item -> sink.accept(new ItemDto(
+                item.getId(),
+                item.getUserId(),
+                item.getDescription(),
+                item.getUnitPrice(),
+                item.getCreatedAt(),
+                item.getUpdatedAt()
+            ))));
+        
+        return total;
+    }
+    
     public record PagedResult<T>(
         List<T> content,
         int page,
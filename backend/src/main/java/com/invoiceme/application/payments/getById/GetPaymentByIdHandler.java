@@ -31,9 +31,11 @@ public class GetPaymentByIdHandler {
                     "Payment with ID " + query.paymentId() + " not found"
                 ));
         
-        // Get invoice for invoice number (using invoice ID as number for now)
+        // Invoices created before numbering fall back to their ID
         String invoiceNumber = invoiceRepository.findById(payment.getInvoiceId())
-                .map(invoice -> invoice.getId().toString())
+                .map(invoice -> invoice.getInvoiceNumber() != null
+                    ? invoice.getInvoiceNumber()
+                    : invoice.getId().toString())
                 .orElse("Unknown");
         
         return toDto(payment, invoiceNumber);
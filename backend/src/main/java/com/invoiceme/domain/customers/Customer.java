@@ -1,5 +1,6 @@
 package com.invoiceme.domain.customers;
 
+import com.invoiceme.domain.common.UuidV7;
 import com.invoiceme.domain.exceptions.DomainValidationException;
 
 import java.time.LocalDateTime;
@@ -32,7 +33,7 @@ public class Customer {
     
     // Private constructor for domain creation
     private Customer() {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.next();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
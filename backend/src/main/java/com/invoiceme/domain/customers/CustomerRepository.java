@@ -1,5 +1,7 @@
 package com.invoiceme.domain.customers;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +26,21 @@ public interface CustomerRepository {
      */
     Optional<Customer> findById(UUID id);
     
+    /**
+     * Finds the last-modified time of a customer without loading it.
+     * @param id The customer ID
+     * @return Optional containing the timestamp if found
+     */
+    Optional<LocalDateTime> findUpdatedAtById(UUID id);
+    
+    /**
+     * Finds all customers with the given IDs in a single lookup.
+     * Missing IDs are silently skipped.
+     * @param ids The customer IDs
+     * @return List of customers found, in no particular order
+     */
+    List<Customer> findAllByIds(Collection<UUID> ids);
+    
     /**
      * Finds a customer by email.
      * @param email The customer email
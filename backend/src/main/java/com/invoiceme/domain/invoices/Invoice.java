@@ -1,5 +1,6 @@
 package com.invoiceme.domain.invoices;
 
+import com.invoiceme.domain.common.UuidV7;
 import com.invoiceme.domain.exceptions.InsufficientPaymentException;
 import com.invoiceme.domain.exceptions.InvalidInvoiceStateException;
 import com.invoiceme.domain.exceptions.InvalidLineItemException;
@@ -25,10 +26,12 @@ import java.util.UUID;
  * - Balance cannot be negative
  * - Payment amount cannot exceed remaining balance
  * - Status transitions: DRAFT → SENT → PAID (no backward transitions)
+ * - An invoice number, once assigned, never changes
  */
 public class Invoice {
     
     private UUID id;
+    private String invoiceNumber; // Human-readable number, e.g. INV-2026-000042
     private UUID customerId;
     private InvoiceStatus status;
     private LocalDate issueDate;
@@ -43,7 +46,7 @@ public class Invoice {
     
     // Private constructor for domain creation
     private Invoice() {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.next();
         this.status = InvoiceStatus.DRAFT;
         this.paymentPlan = PaymentPlan.FULL; // Default to full payment
         this.discountAmount = BigDecimal.ZERO;
@@ -65,6 +68,21 @@ public class Invoice {
         return invoice;
     }
     
+    /**
+     * Gives the invoice the number customers quote, taken from an {@link InvoiceNumberAllocator}.
+     */
+    public void assignNumber(String invoiceNumber) {
+        if (invoiceNumber == null || invoiceNumber.isBlank()) {
+            throw new IllegalArgumentException("Invoice number cannot be null or empty");
+        }
+        if (this.invoiceNumber != null) {
+            throw new InvalidInvoiceStateException(
+                "Invoice already has number " + this.invoiceNumber
+            );
+        }
+        this.invoiceNumber = invoiceNumber;
+    }
+    
     /**
      * Adds a line item to the invoice.
      * Only allowed if invoice is in DRAFT status.
@@ -261,6 +279,10 @@ public class Invoice {
         return id;
     }
     
+    public String getInvoiceNumber() {
+        return invoiceNumber;
+    }
+    
     public UUID getCustomerId() {
         return customerId;
     }
@@ -311,6 +333,7 @@ public class Invoice {
      */
     public static Invoice reconstruct(
             UUID id,
+            String invoiceNumber,
             UUID customerId,
             InvoiceStatus status,
             LocalDate issueDate,
@@ -324,6 +347,7 @@ public class Invoice {
             LocalDateTime updatedAt) {
         Invoice invoice = new Invoice();
         invoice.id = id;
+        invoice.invoiceNumber = invoiceNumber;
         invoice.customerId = customerId;
         invoice.status = status;
         invoice.issueDate = issueDate;
@@ -398,6 +422,7 @@ public class Invoice {
     public String toString() {
         return "Invoice{" +
                 "id=" + id +
+                ", invoiceNumber=" + invoiceNumber +
                 ", customerId=" + customerId +
                 ", status=" + status +
                 ", total=" + calculateTotal() +
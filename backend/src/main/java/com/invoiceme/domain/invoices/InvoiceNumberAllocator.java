@@ -0,0 +1,21 @@
+package com.invoiceme.domain.invoices;
+
+import java.time.LocalDate;
+
+/**
+ * Hands out the human-readable invoice numbers customers quote.
+ * Defined in domain layer to maintain dependency inversion.
+ * 
+ * Numbers are unique within a series (one per issue year) but not gapless, and with several
+ * instances running they are not strictly in creation order: a number taken by an invoice
+ * that is never saved is not handed out again.
+ */
+public interface InvoiceNumberAllocator {
+    
+    /**
+     * Takes the next number in the series of {@code issueDate}'s year.
+     * @param issueDate The issue date of the invoice being numbered
+     * @return The invoice number, e.g. INV-2026-000042
+     */
+    String next(LocalDate issueDate);
+}
@@ -1,5 +1,6 @@
 package com.invoiceme.domain.invoices;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +25,27 @@ public interface InvoiceRepository {
      */
     Optional<Invoice> findById(UUID id);
     
+    /**
+     * Finds an invoice by the number customers quote.
+     * @param invoiceNumber The invoice number, e.g. INV-2026-000042
+     * @return Optional containing the invoice if found
+     */
+    Optional<Invoice> findByInvoiceNumber(String invoiceNumber);
+    
+    /**
+     * Finds the owner and last-modified time of an invoice without loading it.
+     * @param id The invoice ID
+     * @return Optional containing the version if found
+     */
+    Optional<InvoiceVersion> findVersionById(UUID id);
+    
+    /**
+     * Finds invoices by IDs, with line items and payments, in a fixed number of queries.
+     * @param ids The invoice IDs
+     * @return List of invoices found, in no particular order
+     */
+    List<Invoice> findAllByIds(Collection<UUID> ids);
+    
     /**
      * Finds invoices by status with pagination.
      * @param status The invoice status
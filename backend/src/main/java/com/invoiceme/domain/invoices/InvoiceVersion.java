@@ -0,0 +1,14 @@
+package com.invoiceme.domain.invoices;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Owner and last-modified time of an invoice, read without loading the aggregate.
+ * Used to validate conditional requests before any hydration.
+ */
+public record InvoiceVersion(
+    UUID customerId,
+    LocalDateTime updatedAt
+) {
+}
@@ -1,5 +1,6 @@
 package com.invoiceme.domain.invoices;
 
+import com.invoiceme.domain.common.UuidV7;
 import com.invoiceme.domain.exceptions.InvalidLineItemException;
 
 import java.math.BigDecimal;
@@ -44,7 +45,7 @@ public class LineItem {
      * Factory method to create a new LineItem.
      */
     public static LineItem create(String description, BigDecimal quantity, BigDecimal unitPrice) {
-        return new LineItem(UUID.randomUUID(), description, quantity, unitPrice);
+        return new LineItem(UuidV7.next(), description, quantity, unitPrice);
     }
     
     /**
@@ -1,5 +1,6 @@
 package com.invoiceme.domain.items;
 
+import com.invoiceme.domain.common.UuidV7;
 import com.invoiceme.domain.exceptions.DomainValidationException;
 
 import java.math.BigDecimal;
@@ -27,7 +28,7 @@ public class Item {
     
     // Private constructor for domain creation
     private Item() {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.next();
         this.createdAt = LocalDateTime.now();
         this.updatedAt = LocalDateTime.now();
     }
@@ -1,5 +1,6 @@
 package com.invoiceme.domain.items;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -24,6 +25,14 @@ public interface ItemRepository {
      */
     Optional<Item> findById(UUID id);
     
+    /**
+     * Finds the last-modified time of an item owned by a user without loading it.
+     * @param id The item ID
+     * @param userId The owning user ID
+     * @return Optional containing the timestamp if the item exists and belongs to the user
+     */
+    Optional<LocalDateTime> findUpdatedAtByIdAndUserId(UUID id, UUID userId);
+    
     /**
      * Finds all items for a specific user with pagination.
      * @param userId The user ID
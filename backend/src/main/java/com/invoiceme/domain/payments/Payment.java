@@ -1,5 +1,6 @@
 package com.invoiceme.domain.payments;
 
+import com.invoiceme.domain.common.UuidV7;
 import com.invoiceme.domain.exceptions.DomainValidationException;
 import com.invoiceme.domain.invoices.Invoice;
 
@@ -29,7 +30,7 @@ public class Payment {
     
     // Private constructor for domain creation
     private Payment() {
-        this.id = UUID.randomUUID();
+        this.id = UuidV7.next();
         this.createdAt = LocalDateTime.now();
     }
     
@@ -1,5 +1,6 @@
 package com.invoiceme.domain.payments;
 
+import com.invoiceme.domain.common.UuidV7;
 import com.invoiceme.domain.exceptions.DomainValidationException;
 
 import java.math.BigDecimal;
@@ -50,7 +51,7 @@ public class PaymentSchedule {
             BigDecimal amount,
             LocalDate dueDate) {
         PaymentSchedule schedule = new PaymentSchedule();
-        schedule.id = UUID.randomUUID();
+        schedule.id = UuidV7.next();
         schedule.invoiceId = invoiceId;
         schedule.setInstallmentNumber(installmentNumber);
         schedule.setAmount(amount);
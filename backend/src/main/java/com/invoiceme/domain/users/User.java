@@ -1,5 +1,6 @@
 package com.invoiceme.domain.users;
 
+import com.invoiceme.domain.common.UuidV7;
 import com.invoiceme.domain.exceptions.DomainValidationException;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
@@ -38,7 +39,7 @@ public class User {
         }
 
         User user = new User();
-        user.id = UUID.randomUUID();
+        user.id = UuidV7.next();
         user.username = username.trim();
         user.email = email.trim().toLowerCase();
         user.passwordHash = passwordEncoder.encode(plainPassword);
@@ -0,0 +1,221 @@
+package com.invoiceme.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * One workload's share of the server: a bounded number of requests running at once with a
+ * bounded, time-limited queue in front of them, and a cap on the database connections its
+ * requests hold. The bulkhead of the request being served is bound to the thread, so the
+ * connection cap applies wherever the request's work opens a connection.
+ */
+public final class Bulkhead {
+    
+    public static final String ACTIVE_GAUGE = "invoiceme.bulkhead.active";
+    public static final String QUEUED_GAUGE = "invoiceme.bulkhead.queued";
+    public static final String CONNECTIONS_GAUGE = "invoiceme.bulkhead.connections";
+    public static final String REJECTED_COUNTER = "invoiceme.bulkhead.rejected";
+    public static final String WAIT_TIMER = "invoiceme.bulkhead.wait";
+    public static final String CONNECTION_WAIT_TIMER = "invoiceme.bulkhead.connection.wait";
+    
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+    
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueued;
+    private final Duration maxWait;
+    private final int maxConnections;
+    private final Duration connectionTimeout;
+    private final Semaphore slots;
+    private final Semaphore connections;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final Timer slotWait;
+    private final Timer connectionWait;
+    private final Counter rejectedFull;
+    private final Counter rejectedTimeout;
+    
+    Bulkhead(String name, BulkheadProperties.Group group, MeterRegistry registry) {
+        if (group.maxConcurrent() < 1 || group.maxQueued() < 0 || group.maxConnections() < 0) {
+            throw new IllegalArgumentException("Bulkhead " + name
+                + " needs max-concurrent >= 1, max-queued >= 0 and max-connections >= 0");
+        }
+        this.name = name;
+        this.maxConcurrent = group.maxConcurrent();
+        this.maxQueued = group.maxQueued();
+        this.maxWait = group.maxWait();
+        this.maxConnections = group.maxConnections();
+        this.connectionTimeout = group.connectionTimeout();
+        this.slots = new Semaphore(maxConcurrent, true);
+        this.connections = maxConnections > 0 ? new Semaphore(maxConnections, true) : null;
+        
+        Gauge.builder(ACTIVE_GAUGE, this, b -> b.maxConcurrent - b.slots.availablePermits())
+                .description("Requests running in the bulkhead")
+                .tag("bulkhead", name)
+                .register(registry);
+        Gauge.builder(QUEUED_GAUGE, queued, AtomicInteger::get)
+                .description("Requests waiting for a bulkhead slot")
+                .tag("bulkhead", name)
+                .register(registry);
+        if (connections != null) {
+            Gauge.builder(CONNECTIONS_GAUGE, this, b -> b.maxConnections - b.connections.availablePermits())
+                    .description("Database connections held by the bulkhead's requests")
+                    .tag("bulkhead", name)
+                    .register(registry);
+        }
+        this.slotWait = Timer.builder(WAIT_TIMER)
+                .description("Time requests waited for a bulkhead slot")
+                .tag("bulkhead", name)
+                .register(registry);
+        this.connectionWait = Timer.builder(CONNECTION_WAIT_TIMER)
+                .description("Time spent waiting for the bulkhead's connection share")
+                .tag("bulkhead", name)
+                .register(registry);
+        this.rejectedFull = rejected(registry, name, "queue-full");
+        this.rejectedTimeout = rejected(registry, name, "timeout");
+    }
+    
+    public String name() {
+        return name;
+    }
+    
+    /**
+     * The bulkhead of the request this thread is working for, or {@code null}.
+     */
+    public static Bulkhead current() {
+        return CURRENT.get();
+    }
+    
+    /**
+     * Runs {@code task} in the caller's bulkhead, for work handed to another thread.
+     */
+    public static <T> Callable<T> propagate(Callable<T> task) {
+        Bulkhead bulkhead = CURRENT.get();
+        if (bulkhead == null) {
+            return task;
+        }
+        return () -> {
+            Bulkhead previous = CURRENT.get();
+            CURRENT.set(bulkhead);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+    
+    /**
+     * Takes a slot, queueing for up to {@code max-wait} if none is free, and binds the bulkhead
+     * to the thread. Returns false, counting the rejection, when the queue is full or the wait runs out.
+     */
+    boolean enter() throws InterruptedException {
+        if (!slots.tryAcquire()) {
+            if (queued.incrementAndGet() > maxQueued) {
+                queued.decrementAndGet();
+                rejectedFull.increment();
+                return false;
+            }
+            long start = System.nanoTime();
+            try {
+                if (!slots.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                    rejectedTimeout.increment();
+                    return false;
+                }
+            } finally {
+                queued.decrementAndGet();
+                slotWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            }
+        }
+        CURRENT.set(this);
+        return true;
+    }
+    
+    void exit() {
+        CURRENT.remove();
+        slots.release();
+    }
+    
+    /**
+     * Opens a connection within the bulkhead's share; the share is given back when it is closed.
+     */
+    Connection connection(DataSource target, ConnectionSource source) throws SQLException {
+        if (connections == null) {
+            return source.open(target);
+        }
+        long start = System.nanoTime();
+        try {
+            if (!connections.tryAcquire(connectionTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new SQLTransientConnectionException("Bulkhead " + name + " - all " + maxConnections
+                    + " of its connections are in use, waited " + connectionTimeout.toMillis() + "ms");
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a connection in bulkhead " + name, ex);
+        } finally {
+            connectionWait.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        try {
+            return releasingOnClose(source.open(target));
+        } catch (SQLException | RuntimeException ex) {
+            connections.release();
+            throw ex;
+        }
+    }
+    
+    private Connection releasingOnClose(Connection connection) {
+        AtomicBoolean released = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                if (method.getName().equals("close") && released.compareAndSet(false, true)) {
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException ex) {
+                        throw ex.getCause();
+                    } finally {
+                        connections.release();
+                    }
+                }
+                try {
+                    return method.invoke(connection, args);
+                } catch (InvocationTargetException ex) {
+                    throw ex.getCause();
+                }
+            });
+    }
+    
+    private static void restore(Bulkhead previous) {
+        if (previous != null) {
+            CURRENT.set(previous);
+        } else {
+            CURRENT.remove();
+        }
+    }
+    
+    private static Counter rejected(MeterRegistry registry, String name, String reason) {
+        return Counter.builder(REJECTED_COUNTER)
+                .description("Requests turned away with 503 by a bulkhead")
+                .tag("bulkhead", name)
+                .tag("reason", reason)
+                .register(registry);
+    }
+    
+    @FunctionalInterface
+    interface ConnectionSource {
+        Connection open(DataSource dataSource) throws SQLException;
+    }
+}
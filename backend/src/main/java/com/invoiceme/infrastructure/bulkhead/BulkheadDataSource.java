@@ -0,0 +1,34 @@
+package com.invoiceme.infrastructure.bulkhead;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Holds each connection to the connection share of the current thread's {@link Bulkhead}.
+ * Work outside any bulkhead (startup, background jobs) draws on the pool as before.
+ */
+class BulkheadDataSource extends DelegatingDataSource {
+    
+    BulkheadDataSource(DataSource target) {
+        super(target);
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead bulkhead = Bulkhead.current();
+        return bulkhead != null
+                ? bulkhead.connection(obtainTargetDataSource(), DataSource::getConnection)
+                : super.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Bulkhead bulkhead = Bulkhead.current();
+        return bulkhead != null
+                ? bulkhead.connection(obtainTargetDataSource(), target -> target.getConnection(username, password))
+                : super.getConnection(username, password);
+    }
+}
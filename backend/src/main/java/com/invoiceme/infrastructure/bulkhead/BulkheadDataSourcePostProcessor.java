@@ -0,0 +1,69 @@
+package com.invoiceme.infrastructure.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Wraps every DataSource bean so connections count against the current request's bulkhead.
+ * The wrapper delegates unwrap(), so Hikari pool metrics keep working.
+ * <p>
+ * The connection caps only partition the pool if they fit in it together, so startup fails when
+ * they add up to more than the pool's {@code maximum-pool-size}: the other workloads could then
+ * hold every connection between them and leave a capped workload with none.
+ */
+@Component
+@ConditionalOnProperty(name = "invoiceme.bulkheads.enabled", havingValue = "true", matchIfMissing = true)
+public class BulkheadDataSourcePostProcessor implements BeanPostProcessor {
+    
+    // What Hikari uses when maximum-pool-size is not set; the pool reports -1 until it starts
+    private static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+    
+    private final ObjectProvider<BulkheadProperties> properties;
+    
+    public BulkheadDataSourcePostProcessor(ObjectProvider<BulkheadProperties> properties) {
+        this.properties = properties;
+    }
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof BulkheadDataSource)) {
+            BulkheadProperties bulkheads = properties.getIfAvailable();
+            if (bulkheads != null) {
+                checkConnectionShares(bulkheads, dataSource, beanName);
+            }
+            return new BulkheadDataSource(dataSource);
+        }
+        return bean;
+    }
+    
+    static void checkConnectionShares(BulkheadProperties bulkheads, DataSource dataSource, String beanName) {
+        HikariDataSource pool = hikariPool(dataSource);
+        if (pool == null || !bulkheads.enabled()) {
+            return;
+        }
+        int poolSize = pool.getMaximumPoolSize() > 0 ? pool.getMaximumPoolSize() : HIKARI_DEFAULT_POOL_SIZE;
+        int reserved = bulkheads.groups().values().stream()
+                .mapToInt(BulkheadProperties.Group::maxConnections)
+                .sum();
+        if (reserved > poolSize) {
+            throw new IllegalStateException("Bulkhead max-connections add up to " + reserved + " but DataSource '"
+                + beanName + "' has maximum-pool-size " + poolSize
+                + "; lower the caps or grow the pool so each workload keeps its share");
+        }
+    }
+    
+    // Other pools, or none behind the bean, are not checked
+    private static HikariDataSource hikariPool(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.invoiceme.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs each request inside the {@link Bulkhead} of its workload (portal, admin, reporting, batch),
+ * so one workload saturating its slots or connections leaves the others untouched. Requests that
+ * cannot get a slot in time get 503 with {@code Retry-After}. Runs after authentication, so
+ * rejected credentials never take a slot, and holds the slot until the response is written.
+ * A request matching several bulkheads' paths belongs to the most specific pattern, so the
+ * {@code /api/**} catch-all never takes portal or batch requests whatever the declaration order.
+ */
+@Component
+public class BulkheadFilter extends OncePerRequestFilter {
+    
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+    
+    private final List<Route> routes = new ArrayList<>();
+    
+    public BulkheadFilter(BulkheadProperties properties, MeterRegistry registry) {
+        if (!properties.enabled()) {
+            return;
+        }
+        for (Map.Entry<String, BulkheadProperties.Group> entry : properties.groups().entrySet()) {
+            Bulkhead bulkhead = new Bulkhead(entry.getKey(), entry.getValue(), registry);
+            for (String pattern : entry.getValue().paths()) {
+                routes.add(new Route(pattern, bulkhead));
+            }
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return routes.isEmpty();
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        
+        Bulkhead bulkhead = bulkheadFor(request);
+        if (bulkhead == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        boolean entered;
+        try {
+            entered = bulkhead.enter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                "Too many " + bulkhead.name() + " requests in progress, retry later");
+            return;
+        }
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            bulkhead.exit();
+        }
+    }
+    
+    private Bulkhead bulkheadFor(HttpServletRequest request) {
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        Comparator<String> specificity = PATH_MATCHER.getPatternComparator(path);
+        Route best = null;
+        for (Route route : routes) {
+            if (PATH_MATCHER.match(route.pattern(), path)
+                    && (best == null || specificity.compare(route.pattern(), best.pattern()) < 0)) {
+                best = route;
+            }
+        }
+        return best == null ? null : best.bulkhead();
+    }
+    
+    private record Route(String pattern, Bulkhead bulkhead) {
+    }
+}
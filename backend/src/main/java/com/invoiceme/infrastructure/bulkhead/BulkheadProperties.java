@@ -0,0 +1,34 @@
+package com.invoiceme.infrastructure.bulkhead;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Workload bulkheads under {@code invoiceme.bulkheads}. A request belongs to the bulkhead with the
+ * most specific path pattern matching it; other requests are not isolated.
+ */
+@ConfigurationProperties("invoiceme.bulkheads")
+public record BulkheadProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue Map<String, Group> groups
+) {
+    
+    public record Group(
+        @DefaultValue List<String> paths,
+        // Requests of this workload running at once
+        int maxConcurrent,
+        // Requests waiting for one of those slots; more are rejected straight away
+        @DefaultValue("0") int maxQueued,
+        // How long a queued request waits for a slot before it is rejected
+        @DefaultValue("1s") Duration maxWait,
+        // Database connections this workload may hold at once; 0 shares the whole pool
+        @DefaultValue("0") int maxConnections,
+        // How long a call waits for one of those connections before failing like a pool timeout
+        @DefaultValue("5s") Duration connectionTimeout
+    ) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.invoiceme.infrastructure.coalescing;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Opts a query handler method into single-flight execution: concurrent calls with equal
+ * arguments share one in-flight execution and its result (or exception).
+ * Only for read-only handlers whose result depends on nothing but their arguments, which
+ * must be value types such as the query records; the shared result must not be modified.
+ * See {@link CoalescingAspect}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Coalesce {
+}
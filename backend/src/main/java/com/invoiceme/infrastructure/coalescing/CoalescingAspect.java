@@ -0,0 +1,113 @@
+package com.invoiceme.infrastructure.coalescing;
+
+import com.invoiceme.infrastructure.persistence.routing.ReadYourWritesTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Single-flight execution for {@link Coalesce} handlers. The first caller for a given
+ * handler and arguments runs the handler; callers arriving while it runs wait for and
+ * share its outcome instead of repeating the queries. Joined calls are counted under
+ * {@value #COALESCED_COUNTER}; the handler timer still sees every call.
+ * <p>
+ * A caller never joins a flight older than a write committed before it arrived: every
+ * committed read-write transaction starts a new generation, and flights are keyed by it.
+ * Calls made inside a transaction run on their own, since they belong to its unit of work.
+ * With replica routing, a client pinned to the primary after its own write only shares flights
+ * with other pinned callers, so it is never handed a read that went to a lagging replica.
+ * Ordered inside the handler metrics, JFR and profiling aspects and outside the transaction.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 3)
+public class CoalescingAspect implements TransactionExecutionListener {
+    
+    public static final String COALESCED_COUNTER = "invoiceme.handler.coalesced";
+    
+    private final MeterRegistry registry;
+    private final ReadYourWritesTracker readYourWrites; // null unless replica routing is enabled
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong writeGeneration = new AtomicLong();
+    
+    public CoalescingAspect(MeterRegistry registry, ObjectProvider<ReadYourWritesTracker> readYourWrites) {
+        this.registry = registry;
+        this.readYourWrites = readYourWrites.getIfAvailable();
+    }
+    
+    @Around("@annotation(com.invoiceme.infrastructure.coalescing.Coalesce)")
+    public Object coalesce(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            return joinPoint.proceed();
+        }
+        
+        FlightKey key = new FlightKey(
+            joinPoint.getSignature().toLongString(),
+            Arrays.asList(joinPoint.getArgs()),
+            writeGeneration.get(),
+            readYourWrites != null && readYourWrites.isCurrentClientPinned());
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(key, flight);
+        if (running != null) {
+            coalescedCounter(joinPoint.getSignature().getDeclaringType().getSimpleName()).increment();
+            return join(running);
+        }
+        
+        try {
+            Object result = joinPoint.proceed();
+            flight.complete(result);
+            return result;
+        } catch (Throwable ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+    
+    @Override
+    public void afterCommit(TransactionExecution transaction, @Nullable Throwable commitFailure) {
+        if (commitFailure == null && !transaction.isReadOnly()) {
+            writeGeneration.incrementAndGet();
+        }
+    }
+    
+    private static Object join(CompletableFuture<Object> flight) throws Throwable {
+        try {
+            return flight.get();
+        } catch (ExecutionException ex) {
+            throw ex.getCause();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a coalesced call", ex);
+        }
+    }
+    
+    private Counter coalescedCounter(String handler) {
+        return Counter.builder(COALESCED_COUNTER)
+                .description("Handler calls that shared another caller's in-flight execution")
+                .tag("handler", handler)
+                .register(registry);
+    }
+    
+    private record FlightKey(String method, List<Object> args, long writeGeneration, boolean pinnedToPrimary) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Caps how many handler calls run at once, so overload is turned away immediately rather
+ * than queueing every request on the connection pool until it times out. The cap is learned
+ * by {@link GradientLimit} from handler latency (which includes waiting for a connection) and
+ * the pool's waiting threads. Each {@link WorkPriority} may only fill its share of the cap, so
+ * list reads are shed before single reads, and those before writes and payments.
+ * <p>
+ * Rejected calls throw {@link ConcurrencyLimitExceededException} (503). Handlers called by
+ * another handler run under the caller's slot. Calls streaming rows to a sink run while a 200
+ * response is already being written, so they are too late to turn away: they take a slot but
+ * are always admitted. Ordered inside the metrics aspects, so rejections
+ * are timed as errors, and after coalescing, so callers sharing a flight take no slot; it is
+ * outside the transaction, so a rejected call never holds a connection.
+ */
+@Aspect
+@Order(Ordered.HIGHEST_PRECEDENCE + 4)
+public class ConcurrencyLimitAspect {
+    
+    public static final String LIMIT_GAUGE = "invoiceme.concurrency.limit";
+    public static final String IN_FLIGHT_GAUGE = "invoiceme.concurrency.inflight";
+    public static final String REJECTED_COUNTER = "invoiceme.concurrency.rejected";
+    
+    private static final ThreadLocal<Boolean> HOLDS_SLOT = new ThreadLocal<>();
+    
+    private final GradientLimit limit;
+    private final ConcurrencyLimitProperties.Shares shares;
+    private final HikariDataSource pool;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Map<WorkPriority, Counter> rejected = new EnumMap<>(WorkPriority.class);
+    
+    ConcurrencyLimitAspect(ConcurrencyLimitProperties properties, HikariDataSource pool, MeterRegistry registry) {
+        this.limit = new GradientLimit(
+            properties.initialLimit(), properties.minLimit(), properties.maxLimit(), properties.latencyTolerance());
+        this.shares = properties.shares();
+        this.pool = pool;
+        Gauge.builder(LIMIT_GAUGE, limit, GradientLimit::limit)
+                .description("Handler calls allowed to run at once")
+                .register(registry);
+        Gauge.builder(IN_FLIGHT_GAUGE, inFlight, AtomicInteger::get)
+                .description("Handler calls running now")
+                .register(registry);
+        for (WorkPriority priority : WorkPriority.values()) {
+            rejected.put(priority, Counter.builder(REJECTED_COUNTER)
+                    .description("Handler calls rejected with 503 by the concurrency limit")
+                    .tag("priority", priority.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+    
+    @Around("execution(public * com.invoiceme.application..*Handler.handle(..))")
+    public Object limit(ProceedingJoinPoint joinPoint) throws Throwable {
+        if (HOLDS_SLOT.get() != null) {
+            return joinPoint.proceed();
+        }
+        
+        Object[] args = joinPoint.getArgs();
+        int started = args.length > 1 && args[args.length - 1] instanceof Consumer<?>
+                ? inFlight.incrementAndGet()
+                : acquire(WorkPriority.of(joinPoint.getSignature().getDeclaringType(), args));
+        HOLDS_SLOT.set(Boolean.TRUE);
+        long start = System.nanoTime();
+        try {
+            Object result = joinPoint.proceed();
+            limit.onSample(System.nanoTime() - start, started, poolWaiters(), poolSize());
+            return result;
+        } finally {
+            HOLDS_SLOT.remove();
+            inFlight.decrementAndGet();
+        }
+    }
+    
+    // Returns the calls in flight, this one included
+    private int acquire(WorkPriority priority) {
+        int allowed = Math.max(1, (int) (limit.limit() * shares.of(priority)));
+        while (true) {
+            int current = inFlight.get();
+            if (current >= allowed) {
+                rejected.get(priority).increment();
+                throw new ConcurrencyLimitExceededException(priority, allowed);
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return current + 1;
+            }
+        }
+    }
+    
+    private int poolWaiters() {
+        HikariPoolMXBean bean = pool != null ? pool.getHikariPoolMXBean() : null;
+        return bean != null ? bean.getThreadsAwaitingConnection() : 0;
+    }
+    
+    private int poolSize() {
+        return pool != null ? pool.getMaximumPoolSize() : 0;
+    }
+}
@@ -0,0 +1,37 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Registers the {@link ConcurrencyLimitAspect} unless {@code invoiceme.concurrency-limit.enabled} is false.
+ */
+@Configuration
+@EnableConfigurationProperties(ConcurrencyLimitProperties.class)
+@ConditionalOnProperty(name = "invoiceme.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+    
+    @Bean
+    public ConcurrencyLimitAspect concurrencyLimitAspect(
+            ConcurrencyLimitProperties properties, DataSource dataSource, MeterRegistry registry) {
+        return new ConcurrencyLimitAspect(properties, unwrapHikari(dataSource), registry);
+    }
+    
+    // The primary pool; with replica routing the DataSource is not a single pool and only latency is used
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.invoiceme.infrastructure.concurrency;
+
+/**
+ * Thrown instead of running a handler when the concurrency limit for its priority is reached.
+ */
+public class ConcurrencyLimitExceededException extends RuntimeException {
+    
+    private final WorkPriority priority;
+    
+    public ConcurrencyLimitExceededException(WorkPriority priority, int limit) {
+        super("Server is busy, " + priority.name().toLowerCase() + " requests are limited to " + limit + " at once");
+        this.priority = priority;
+    }
+    
+    public WorkPriority getPriority() {
+        return priority;
+    }
+}
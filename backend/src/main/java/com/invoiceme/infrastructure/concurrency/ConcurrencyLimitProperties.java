@@ -0,0 +1,40 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Adaptive handler concurrency limit under {@code invoiceme.concurrency-limit}.
+ */
+@ConfigurationProperties("invoiceme.concurrency-limit")
+public record ConcurrencyLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("20") int initialLimit,
+    @DefaultValue("4") int minLimit,
+    @DefaultValue("200") int maxLimit,
+    // Latency over the learned baseline, as a ratio, taken as normal variation rather than queueing
+    @DefaultValue("1.5") double latencyTolerance,
+    @DefaultValue Shares shares
+) {
+    
+    /**
+     * Share of the limit each kind of work may fill. Work with a smaller share is shed first,
+     * leaving the rest of the limit to higher priorities.
+     */
+    public record Shares(
+        @DefaultValue("1.0") double payment,
+        @DefaultValue("0.9") double write,
+        @DefaultValue("0.75") double read,
+        @DefaultValue("0.5") double list
+    ) {
+        
+        double of(WorkPriority priority) {
+            return switch (priority) {
+                case PAYMENT -> payment;
+                case WRITE -> write;
+                case READ -> read;
+                case LIST -> list;
+            };
+        }
+    }
+}
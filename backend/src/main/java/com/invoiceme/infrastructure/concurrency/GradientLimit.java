@@ -0,0 +1,65 @@
+package com.invoiceme.infrastructure.concurrency;
+
+/**
+ * Learns how many handler calls can run at once without queueing, in the style of a
+ * gradient limiter. A long-term average of latency is the no-load baseline; while recent
+ * latency stays within the tolerance of it the limit grows by about its square root per
+ * sample, and as recent latency climbs above it the limit shrinks in proportion (at most
+ * by half per sample). Threads waiting on the connection pool shrink it the same way.
+ * The limit only grows while calls actually use at least half of it.
+ */
+final class GradientLimit {
+    
+    private static final double SHORT_SMOOTHING = 0.2;
+    private static final double LONG_SMOOTHING = 1.0 / 500;
+    private static final double LIMIT_SMOOTHING = 0.2;
+    
+    private final int minLimit;
+    private final int maxLimit;
+    private final double tolerance;
+    private double limit;
+    private double shortRtt;
+    private double longRtt;
+    
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, double tolerance) {
+        if (minLimit < 1 || maxLimit < minLimit || tolerance < 1) {
+            throw new IllegalArgumentException("Concurrency limits need 1 <= min-limit <= max-limit and latency-tolerance >= 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.limit = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+    }
+    
+    synchronized int limit() {
+        return (int) limit;
+    }
+    
+    /**
+     * Adjusts the limit after a call that took {@code rttNanos} with {@code inFlight} calls
+     * running when it started. {@code poolWaiters} threads wait for one of {@code poolSize}
+     * connections right now.
+     */
+    synchronized void onSample(long rttNanos, int inFlight, int poolWaiters, int poolSize) {
+        if (longRtt == 0) {
+            shortRtt = rttNanos;
+            longRtt = rttNanos;
+        }
+        shortRtt += (rttNanos - shortRtt) * SHORT_SMOOTHING;
+        longRtt += (rttNanos - longRtt) * LONG_SMOOTHING;
+        // After load drops the baseline has drifted up; bring it back faster than its window would
+        if (longRtt > 2 * shortRtt) {
+            longRtt *= 0.95;
+        }
+        
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRtt / shortRtt));
+        if (poolWaiters > 0 && poolSize > 0) {
+            gradient = Math.min(gradient, Math.max(0.5, (double) poolSize / (poolSize + poolWaiters)));
+        }
+        double next = limit * gradient + Math.sqrt(limit);
+        if (next > limit && inFlight < limit / 2) {
+            return;
+        }
+        limit = Math.max(minLimit, Math.min(maxLimit, limit + (next - limit) * LIMIT_SMOOTHING));
+    }
+}
@@ -0,0 +1,23 @@
+package com.invoiceme.infrastructure.concurrency;
+
+/**
+ * How readily a handler call is shed under overload, from last to first.
+ */
+public enum WorkPriority {
+    PAYMENT,
+    WRITE,
+    READ,
+    LIST;
+    
+    private static final String PAYMENTS_PACKAGE = "com.invoiceme.application.payments";
+    
+    // Handlers take a *Command or *Query record; List* handlers are the page and report reads
+    static WorkPriority of(Class<?> handler, Object[] args) {
+        boolean command = args.length > 0 && args[0] != null
+                && args[0].getClass().getSimpleName().endsWith("Command");
+        if (command) {
+            return handler.getPackageName().startsWith(PAYMENTS_PACKAGE) ? PAYMENT : WRITE;
+        }
+        return handler.getSimpleName().startsWith("List") ? LIST : READ;
+    }
+}
@@ -0,0 +1,37 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one command/query handler invocation.
+ */
+@Name("com.invoiceme.Handler")
+@Label("Handler Invocation")
+@Category({"InvoiceMe", "Application"})
+@Description("A command or query handler call with the SQL work it caused")
+@StackTrace(false)
+class HandlerEvent extends Event {
+    
+    @Label("Handler")
+    String handler;
+    
+    @Label("Invoice ID")
+    String invoiceId;
+    
+    @Label("Customer ID")
+    String customerId;
+    
+    @Label("SQL Statements")
+    long sqlStatements;
+    
+    @Label("Rows Read")
+    long rowsRead;
+    
+    @Label("Exception")
+    String exception;
+}
@@ -0,0 +1,188 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * On-demand JDK Flight Recorder control.
+ * <ul>
+ *   <li>GET /actuator/jfr - recording status</li>
+ *   <li>POST /actuator/jfr/start - start with the "default" or "profile" settings plus the InvoiceMe events</li>
+ *   <li>POST /actuator/jfr/stop - stop and discard</li>
+ *   <li>GET /actuator/jfr/dump - download a .jfr snapshot, or with keep=true write it to the dump directory</li>
+ * </ul>
+ * A lock rather than {@code synchronized} guards the recording: dumps write to disk, and
+ * blocking inside a monitor would pin the carrier thread under virtual threads.
+ */
+@Component
+@Endpoint(id = "jfr")
+public class JfrEndpoint {
+    
+    private static final String RECORDING_NAME = "invoiceme-on-demand";
+    private static final DateTimeFormatter FILE_TIMESTAMP = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss")
+            .withZone(ZoneOffset.UTC);
+    
+    private final Path dumpDir;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Recording recording;
+    
+    public JfrEndpoint(@Value("${invoiceme.diagnostics.jfr.dump-dir:${java.io.tmpdir}/invoiceme-jfr}") String dumpDir) {
+        this.dumpDir = Path.of(dumpDir);
+    }
+    
+    @ReadOperation
+    public Map<String, Object> status() {
+        lock.lock();
+        try {
+            return currentStatus();
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @WriteOperation
+    public WebEndpointResponse<Map<String, Object>> control(@Selector String action,
+                                                            @Nullable String settings,
+                                                            @Nullable Long maxAgeSeconds) {
+        lock.lock();
+        try {
+            return doControl(action, settings, maxAgeSeconds);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    @ReadOperation(produces = "application/octet-stream")
+    public WebEndpointResponse<Resource> dump(@Selector String action, @Nullable Boolean keep) throws IOException {
+        lock.lock();
+        try {
+            return doDump(action, keep);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    private Map<String, Object> currentStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        if (recording == null) {
+            status.put("state", "NOT_STARTED");
+            return status;
+        }
+        status.put("state", recording.getState().name());
+        status.put("startTime", recording.getStartTime());
+        status.put("maxAge", recording.getMaxAge());
+        status.put("bytesWritten", recording.getSize());
+        return status;
+    }
+    
+    private WebEndpointResponse<Map<String, Object>> doControl(String action, String settings, Long maxAgeSeconds) {
+        switch (action) {
+            case "start":
+                if (isRunning()) {
+                    return new WebEndpointResponse<>(currentStatus(), WebEndpointResponse.STATUS_BAD_REQUEST);
+                }
+                try {
+                    start(settings == null ? "default" : settings,
+                            Duration.ofSeconds(maxAgeSeconds == null ? 600 : maxAgeSeconds));
+                } catch (IOException | ParseException ex) {
+                    return new WebEndpointResponse<>(Map.of("error", "Unknown JFR settings: " + settings),
+                            WebEndpointResponse.STATUS_BAD_REQUEST);
+                }
+                return new WebEndpointResponse<>(currentStatus());
+            case "stop":
+                if (recording != null) {
+                    recording.close();
+                    recording = null;
+                }
+                return new WebEndpointResponse<>(currentStatus());
+            default:
+                return new WebEndpointResponse<>(Map.of("error", "Unknown action: " + action),
+                        WebEndpointResponse.STATUS_BAD_REQUEST);
+        }
+    }
+    
+    private WebEndpointResponse<Resource> doDump(String action, Boolean keep) throws IOException {
+        if (!"dump".equals(action)) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        if (!isRunning()) {
+            return new WebEndpointResponse<>(WebEndpointResponse.STATUS_NOT_FOUND);
+        }
+        
+        if (Boolean.TRUE.equals(keep)) {
+            Files.createDirectories(dumpDir);
+            Path file = dumpDir.resolve("invoiceme-" + FILE_TIMESTAMP.format(Instant.now()) + ".jfr");
+            recording.dump(file);
+            return new WebEndpointResponse<>(new FileSystemResource(file));
+        }
+        Path file = Files.createTempFile("invoiceme-", ".jfr");
+        try {
+            recording.dump(file);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+        return new WebEndpointResponse<>(new DeleteOnCloseResource(file));
+    }
+    
+    /**
+     * A dump that is only downloaded, not kept: the file is deleted as soon as the response
+     * has been streamed and the stream closed, rather than piling up in the temp directory
+     * until the JVM exits.
+     */
+    static class DeleteOnCloseResource extends FileSystemResource {
+        
+        DeleteOnCloseResource(Path file) {
+            super(file);
+        }
+        
+        @Override
+        public InputStream getInputStream() throws IOException {
+            return Files.newInputStream(getFile().toPath(), StandardOpenOption.DELETE_ON_CLOSE);
+        }
+    }
+    
+    private void start(String settings, Duration maxAge) throws IOException, ParseException {
+        Recording started = new Recording(Configuration.getConfiguration(settings));
+        started.setName(RECORDING_NAME);
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.enable(HandlerEvent.class);
+        started.enable(RepositoryEvent.class);
+        started.enable(TokenValidationEvent.class);
+        started.enable(PasswordCheckEvent.class);
+        // Only emitted on Java 21+; harmless to enable on older runtimes
+        started.enable(VirtualThreadPinningMonitor.PINNED_EVENT).withStackTrace();
+        started.start();
+        recording = started;
+    }
+    
+    private boolean isRunning() {
+        return recording != null && recording.getState() == RecordingState.RUNNING;
+    }
+}
@@ -0,0 +1,80 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import com.invoiceme.infrastructure.metrics.JdbcActivity;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emits JFR events for handler and repository calls.
+ * When no recording has the events enabled the advice only checks a flag and proceeds.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+public class JfrEventAspect {
+    
+    @Around("execution(public * com.invoiceme.application..*Handler.handle(..))")
+    public Object handler(ProceedingJoinPoint joinPoint) throws Throwable {
+        HandlerEvent event = new HandlerEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        
+        JdbcActivity activity = JdbcActivity.current();
+        JdbcActivity.Snapshot before = activity.snapshot();
+        event.begin();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            event.exception = ex.getClass().getSimpleName();
+            throw ex;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                JdbcActivity.Snapshot used = activity.snapshot().since(before);
+                JfrIds.Ids ids = JfrIds.from(joinPoint);
+                event.handler = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.invoiceId = ids.invoiceId();
+                event.customerId = ids.customerId();
+                event.sqlStatements = used.statements();
+                event.rowsRead = used.rows();
+                event.commit();
+            }
+        }
+    }
+    
+    @Around("execution(public * com.invoiceme.infrastructure.persistence..*RepositoryImpl.*(..))")
+    public Object repository(ProceedingJoinPoint joinPoint) throws Throwable {
+        RepositoryEvent event = new RepositoryEvent();
+        if (!event.isEnabled()) {
+            return joinPoint.proceed();
+        }
+        
+        JdbcActivity activity = JdbcActivity.current();
+        JdbcActivity.Snapshot before = activity.snapshot();
+        Object result = null;
+        event.begin();
+        try {
+            result = joinPoint.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                JdbcActivity.Snapshot used = activity.snapshot().since(before);
+                JfrIds.Ids ids = JfrIds.from(joinPoint);
+                event.repository = joinPoint.getSignature().getDeclaringType().getSimpleName();
+                event.method = joinPoint.getSignature().getName();
+                event.invoiceId = ids.invoiceId();
+                event.customerId = ids.customerId();
+                event.sqlStatements = used.statements();
+                event.rowsRead = used.rows();
+                event.resultCount = JfrIds.count(result);
+                event.commit();
+            }
+        }
+    }
+}
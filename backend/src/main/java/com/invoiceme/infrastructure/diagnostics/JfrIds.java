@@ -0,0 +1,110 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.reflect.MethodSignature;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Pulls invoice and customer ids out of handler commands/queries and
+ * repository arguments so JFR events can be tied to business entities.
+ */
+final class JfrIds {
+    
+    private static final ClassValue<List<Method>> INVOICE_ACCESSORS = accessors("invoiceId");
+    private static final ClassValue<List<Method>> CUSTOMER_ACCESSORS = accessors("customerId");
+    
+    private JfrIds() {
+    }
+    
+    record Ids(String invoiceId, String customerId) {
+    }
+    
+    static Ids from(ProceedingJoinPoint joinPoint) {
+        String invoiceId = null;
+        String customerId = null;
+        String[] names = ((MethodSignature) joinPoint.getSignature()).getParameterNames();
+        Object[] args = joinPoint.getArgs();
+        String owner = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        
+        for (int i = 0; i < args.length; i++) {
+            Object arg = args[i];
+            if (arg == null) {
+                continue;
+            }
+            if (arg instanceof UUID uuid && names != null) {
+                // Plain id parameters: invoiceId/customerId, or "id" on the matching repository
+                String name = names[i];
+                if (name.equals("invoiceId") || (name.equals("id") && owner.startsWith("Invoice"))) {
+                    invoiceId = uuid.toString();
+                } else if (name.equals("customerId") || (name.equals("id") && owner.startsWith("Customer"))) {
+                    customerId = uuid.toString();
+                }
+            } else if (arg.getClass().isRecord()) {
+                invoiceId = invoiceId != null ? invoiceId : read(INVOICE_ACCESSORS, arg);
+                customerId = customerId != null ? customerId : read(CUSTOMER_ACCESSORS, arg);
+            }
+        }
+        return new Ids(invoiceId, customerId);
+    }
+    
+    static long count(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Boolean || result instanceof Number) {
+            return 0;
+        }
+        return 1;
+    }
+    
+    private static String read(ClassValue<List<Method>> accessors, Object record) {
+        for (Method accessor : accessors.get(record.getClass())) {
+            try {
+                Object value = accessor.invoke(record);
+                if (value != null) {
+                    return value.toString();
+                }
+            } catch (ReflectiveOperationException ex) {
+                return null;
+            }
+        }
+        return null;
+    }
+    
+    // Record components named e.g. "invoiceId"; a record's own "id" is not assumed to mean anything
+    private static ClassValue<List<Method>> accessors(String componentName) {
+        return new ClassValue<>() {
+            @Override
+            protected List<Method> computeValue(Class<?> type) {
+                List<Method> methods = new ArrayList<>();
+                if (type.isRecord()) {
+                    for (RecordComponent component : type.getRecordComponents()) {
+                        if (component.getName().equals(componentName) && component.getType() == UUID.class) {
+                            Method accessor = component.getAccessor();
+                            accessor.setAccessible(true);
+                            methods.add(accessor);
+                        }
+                    }
+                }
+                return methods;
+            }
+        };
+    }
+}
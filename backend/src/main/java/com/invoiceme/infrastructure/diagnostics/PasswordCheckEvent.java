@@ -0,0 +1,25 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for a password hash or verification through the PasswordEncoder bean.
+ */
+@Name("com.invoiceme.PasswordCheck")
+@Label("Password Hash/Check")
+@Category({"InvoiceMe", "Security"})
+@Description("BCrypt encode or matches call")
+@StackTrace(false)
+class PasswordCheckEvent extends Event {
+    
+    @Label("Operation")
+    String operation;
+    
+    @Label("Matched")
+    boolean matched;
+}
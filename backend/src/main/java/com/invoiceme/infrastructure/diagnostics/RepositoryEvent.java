@@ -0,0 +1,40 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for one domain repository call.
+ */
+@Name("com.invoiceme.Repository")
+@Label("Repository Call")
+@Category({"InvoiceMe", "Persistence"})
+@Description("A repository method call with the rows it read and returned")
+@StackTrace(false)
+class RepositoryEvent extends Event {
+    
+    @Label("Repository")
+    String repository;
+    
+    @Label("Method")
+    String method;
+    
+    @Label("Invoice ID")
+    String invoiceId;
+    
+    @Label("Customer ID")
+    String customerId;
+    
+    @Label("SQL Statements")
+    long sqlStatements;
+    
+    @Label("Rows Read")
+    long rowsRead;
+    
+    @Label("Results Returned")
+    long resultCount;
+}
@@ -0,0 +1,89 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import com.invoiceme.infrastructure.metrics.JdbcActivity;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What one request did on its thread: the handlers it went through and the
+ * SQL it ran. Only lives for the duration of the request.
+ */
+final class RequestProfile implements JdbcActivity.StatementObserver {
+    
+    private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+    
+    private final int maxStatements;
+    private final Instant startedAt = Instant.now();
+    private final long startNanos = System.nanoTime();
+    private final JdbcActivity.Snapshot jdbcBefore;
+    private final List<SlowRequest.HandlerCall> handlers = new ArrayList<>(2);
+    private final List<SlowRequest.Statement> statements = new ArrayList<>();
+    private int droppedStatements;
+    
+    private RequestProfile(int maxStatements) {
+        this.maxStatements = maxStatements;
+        this.jdbcBefore = JdbcActivity.current().snapshot();
+    }
+    
+    static RequestProfile start(int maxStatements) {
+        RequestProfile profile = new RequestProfile(maxStatements);
+        CURRENT.set(profile);
+        JdbcActivity.current().observe(profile);
+        return profile;
+    }
+    
+    /**
+     * The profile of the request running on this thread, or {@code null}.
+     */
+    static RequestProfile current() {
+        return CURRENT.get();
+    }
+    
+    @Override
+    public void statementExecuted(String sql, long nanos) {
+        if (statements.size() < maxStatements) {
+            statements.add(new SlowRequest.Statement(sql, nanos / 1_000));
+        } else {
+            droppedStatements++;
+        }
+    }
+    
+    /**
+     * Reserves the handler's slot so nested handlers are listed in call order.
+     */
+    int handlerStarted(String handler) {
+        handlers.add(new SlowRequest.HandlerCall(handler, 0));
+        return handlers.size() - 1;
+    }
+    
+    void handlerFinished(int slot, long nanos) {
+        handlers.set(slot, new SlowRequest.HandlerCall(handlers.get(slot).handler(), nanos / 1_000_000));
+    }
+    
+    long elapsedNanos() {
+        return System.nanoTime() - startNanos;
+    }
+    
+    void stop() {
+        JdbcActivity.current().observe(null);
+        CURRENT.remove();
+    }
+    
+    SlowRequest toSlowRequest(String endpoint, int status, long elapsedNanos) {
+        JdbcActivity.Snapshot jdbc = JdbcActivity.current().snapshot().since(jdbcBefore);
+        return new SlowRequest(
+            endpoint,
+            status,
+            startedAt,
+            elapsedNanos / 1_000_000,
+            jdbc.elapsedNanos() / 1_000_000,
+            jdbc.statements(),
+            jdbc.rows(),
+            List.copyOf(handlers),
+            List.copyOf(statements),
+            droppedStatements
+        );
+    }
+}
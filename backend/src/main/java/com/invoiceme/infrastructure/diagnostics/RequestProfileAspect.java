@@ -0,0 +1,33 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+/**
+ * Adds each handler invocation to the current request's profile.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 2)
+public class RequestProfileAspect {
+    
+    @Around("execution(public * com.invoiceme.application..*Handler.handle(..))")
+    public Object profile(ProceedingJoinPoint joinPoint) throws Throwable {
+        RequestProfile profile = RequestProfile.current();
+        if (profile == null) {
+            return joinPoint.proceed();
+        }
+        
+        int slot = profile.handlerStarted(joinPoint.getSignature().getDeclaringType().getSimpleName());
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } finally {
+            profile.handlerFinished(slot, System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A request that crossed the slow-request threshold, as reported by /actuator/slowrequests.
+ */
+public record SlowRequest(
+    String endpoint,
+    int status,
+    Instant startedAt,
+    long totalMillis,
+    long jdbcMillis,
+    long sqlStatements,
+    long rowsHydrated,
+    List<HandlerCall> handlers,
+    List<Statement> statements,
+    int statementsNotCaptured
+) {
+    
+    public record HandlerCall(String handler, long millis) {
+    }
+    
+    public record Statement(String sql, long micros) {
+    }
+}
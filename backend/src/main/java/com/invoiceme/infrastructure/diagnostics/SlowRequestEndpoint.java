@@ -0,0 +1,37 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes the slow-request buffer at /actuator/slowrequests; DELETE empties it.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestEndpoint {
+    
+    private final SlowRequestLog log;
+    
+    public SlowRequestEndpoint(SlowRequestLog log) {
+        this.log = log;
+    }
+    
+    @ReadOperation
+    public Map<String, Object> slowRequests() {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("thresholdMillis", log.threshold().toMillis());
+        body.put("capacity", log.capacity());
+        body.put("requests", log.slowest());
+        return body;
+    }
+    
+    @DeleteOperation
+    public void clear() {
+        log.clear();
+    }
+}
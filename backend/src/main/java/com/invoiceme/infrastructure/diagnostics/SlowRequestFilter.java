@@ -0,0 +1,53 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Profiles every request and hands the ones over the threshold to the {@link SlowRequestLog}.
+ * Runs ahead of the security chain so JWT validation counts towards the total.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class SlowRequestFilter extends OncePerRequestFilter {
+    
+    private final SlowRequestLog log;
+    
+    public SlowRequestFilter(SlowRequestLog log) {
+        this.log = log;
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        
+        RequestProfile profile = RequestProfile.start(log.maxStatements());
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsed = profile.elapsedNanos();
+            if (log.isSlow(elapsed)) {
+                log.add(profile.toSlowRequest(endpoint(request), response.getStatus(), elapsed));
+            }
+            profile.stop();
+        }
+    }
+    
+    // The route template keeps entries for the same endpoint comparable across ids
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : request.getRequestURI());
+    }
+}
@@ -0,0 +1,92 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Bounded ring buffer of recent requests slower than the threshold.
+ * Only slow requests take the lock, so the common path never contends. It is a
+ * {@link ReentrantLock} so a contended add parks a virtual thread instead of pinning it.
+ */
+@Component
+public class SlowRequestLog {
+    
+    private final Duration threshold;
+    private final int maxStatements;
+    private final SlowRequest[] entries;
+    private final ReentrantLock lock = new ReentrantLock();
+    private int next;
+    private int size;
+    
+    public SlowRequestLog(
+            @Value("${invoiceme.diagnostics.slow-requests.threshold:500ms}") Duration threshold,
+            @Value("${invoiceme.diagnostics.slow-requests.capacity:50}") int capacity,
+            @Value("${invoiceme.diagnostics.slow-requests.max-statements:100}") int maxStatements) {
+        this.threshold = threshold;
+        this.maxStatements = maxStatements;
+        this.entries = new SlowRequest[capacity];
+    }
+    
+    Duration threshold() {
+        return threshold;
+    }
+    
+    int maxStatements() {
+        return maxStatements;
+    }
+    
+    int capacity() {
+        return entries.length;
+    }
+    
+    boolean isSlow(long elapsedNanos) {
+        return elapsedNanos >= threshold.toNanos();
+    }
+    
+    void add(SlowRequest request) {
+        lock.lock();
+        try {
+            entries[next] = request;
+            next = (next + 1) % entries.length;
+            size = Math.min(size + 1, entries.length);
+        } finally {
+            lock.unlock();
+        }
+    }
+    
+    /**
+     * Buffered requests, slowest first.
+     */
+    public List<SlowRequest> slowest() {
+        List<SlowRequest> copy;
+        lock.lock();
+        try {
+            copy = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                copy.add(entries[i]);
+            }
+        } finally {
+            lock.unlock();
+        }
+        copy.sort(Comparator.comparingLong(SlowRequest::totalMillis).reversed());
+        return copy;
+    }
+    
+    void clear() {
+        lock.lock();
+        try {
+            Arrays.fill(entries, null);
+            next = 0;
+            size = 0;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
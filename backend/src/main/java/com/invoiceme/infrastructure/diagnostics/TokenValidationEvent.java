@@ -0,0 +1,37 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event for parsing and validating a bearer token.
+ */
+@Name("com.invoiceme.TokenValidation")
+@Label("JWT Validation")
+@Category({"InvoiceMe", "Security"})
+@Description("Signature check and claim validation of a request's JWT")
+@StackTrace(false)
+public class TokenValidationEvent extends Event {
+    
+    @Label("Valid")
+    private boolean valid;
+    
+    @Label("Failure")
+    private String failure;
+    
+    /**
+     * Records the outcome and commits the event if it is being recorded.
+     */
+    public void complete(boolean valid, String failure) {
+        end();
+        if (shouldCommit()) {
+            this.valid = valid;
+            this.failure = failure;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,253 @@
+package com.invoiceme.infrastructure.idempotency;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+import org.springframework.web.util.UrlPathHelper;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs {@code POST} requests carrying an {@code Idempotency-Key} header at most once per caller
+ * and key. The first request claims the key and its response is kept; repeats of the same request
+ * get that response back from a single primary key lookup, without running any handler. A repeat
+ * arriving while the first is still running waits for it, up to {@code max-wait}, then gets 409.
+ * Reusing a key for a different request gets 422. Server errors are not kept, so a repeat after
+ * a 5xx runs again. Runs after authorization, so a response is only replayed to callers allowed
+ * to make the request.
+ */
+@Component
+public class IdempotencyFilter extends OncePerRequestFilter {
+    
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+    
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final long POLL_INTERVAL_MILLIS = 50;
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final UrlPathHelper URL_PATH_HELPER = new UrlPathHelper();
+    
+    private final IdempotencyProperties properties;
+    private final IdempotencyStore store;
+    // Executions running on this instance, so local repeats wake up as soon as they finish
+    private final Map<String, CountDownLatch> executions = new ConcurrentHashMap<>();
+    
+    public IdempotencyFilter(IdempotencyProperties properties, IdempotencyStore store) {
+        this.properties = properties;
+        this.store = store;
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        if (!properties.enabled()
+                || !HttpMethod.POST.matches(request.getMethod())
+                || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null) {
+            return true;
+        }
+        String path = URL_PATH_HELPER.getPathWithinApplication(request);
+        return properties.paths().stream().noneMatch(pattern -> PATH_MATCHER.match(pattern, path));
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER);
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                IDEMPOTENCY_KEY_HEADER + " must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String id = sha256((caller() + "\n" + key).getBytes(StandardCharsets.UTF_8));
+        String target = request.getRequestURI() + (request.getQueryString() != null ? "?" + request.getQueryString() : "");
+        String requestHash = sha256((target + "\n").getBytes(StandardCharsets.UTF_8), cachedRequest.body);
+        
+        long deadline = System.nanoTime() + properties.maxWait().toNanos();
+        while (true) {
+            Optional<IdempotencyRecordEntity> existing = store.find(id);
+            if (existing.isPresent()) {
+                IdempotencyRecordEntity record = existing.get();
+                if (!record.getRequestHash().equals(requestHash)) {
+                    response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                        IDEMPOTENCY_KEY_HEADER + " was already used for a different request");
+                    return;
+                }
+                if (record.isCompleted()) {
+                    replay(record, response);
+                    return;
+                }
+                if (!awaitExecution(id, deadline)) {
+                    response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+                    response.sendError(HttpStatus.CONFLICT.value(),
+                        "A request with this " + IDEMPOTENCY_KEY_HEADER + " is still in progress");
+                    return;
+                }
+            } else if (store.claim(id, requestHash, properties.lease())) {
+                execute(id, cachedRequest, response, filterChain);
+                return;
+            }
+        }
+    }
+    
+    private void execute(String id, HttpServletRequest request, HttpServletResponse response,
+                         FilterChain filterChain) throws ServletException, IOException {
+        CountDownLatch execution = new CountDownLatch(1);
+        executions.put(id, execution);
+        ContentCachingResponseWrapper cachingResponse = new ContentCachingResponseWrapper(response);
+        boolean kept = false;
+        try {
+            filterChain.doFilter(request, cachingResponse);
+            int status = cachingResponse.getStatus();
+            byte[] body = cachingResponse.getContentAsByteArray();
+            if (status < HttpStatus.INTERNAL_SERVER_ERROR.value() && body.length <= IdempotencyStore.MAX_BODY_SIZE) {
+                store.complete(id, status, cachingResponse.getContentType(), body, properties.retention());
+                kept = true;
+            }
+        } finally {
+            try {
+                if (!kept) {
+                    store.release(id);
+                }
+            } finally {
+                executions.remove(id, execution);
+                execution.countDown();
+            }
+        }
+        cachingResponse.copyBodyToResponse();
+    }
+    
+    private void replay(IdempotencyRecordEntity record, HttpServletResponse response) throws IOException {
+        response.setStatus(record.getStatus());
+        response.setHeader(REPLAYED_HEADER, "true");
+        if (record.getContentType() != null) {
+            response.setContentType(record.getContentType());
+        }
+        byte[] body = record.getBody() != null ? record.getBody() : new byte[0];
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+    
+    // Waits a little for the execution holding the key; false once the deadline has passed
+    private boolean awaitExecution(String id, long deadline) {
+        long remaining = deadline - System.nanoTime();
+        if (remaining <= 0) {
+            return false;
+        }
+        long wait = Math.min(remaining, TimeUnit.MILLISECONDS.toNanos(POLL_INTERVAL_MILLIS));
+        try {
+            CountDownLatch execution = executions.get(id);
+            if (execution != null) {
+                execution.await(wait, TimeUnit.NANOSECONDS);
+            } else {
+                TimeUnit.NANOSECONDS.sleep(wait);
+            }
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+    
+    private static String caller() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return "anonymous";
+        }
+        return "user:" + authentication.getName();
+    }
+    
+    private static String sha256(byte[]... parts) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (byte[] part : parts) {
+                digest.update(part);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+    
+    /**
+     * The request with its body read up front, so the body is part of the request hash and
+     * can still be read by the controller.
+     */
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        
+        private final byte[] body;
+        
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = request.getInputStream().readAllBytes();
+        }
+        
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+                
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+                
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    throw new UnsupportedOperationException("The body is already read");
+                }
+                
+                @Override
+                public int read() {
+                    return input.read();
+                }
+                
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return input.read(b, off, len);
+                }
+            };
+        }
+        
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            return new BufferedReader(new InputStreamReader(getInputStream(),
+                encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8));
+        }
+    }
+}
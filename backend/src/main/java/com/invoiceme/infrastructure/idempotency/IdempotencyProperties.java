@@ -0,0 +1,24 @@
+package com.invoiceme.infrastructure.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Idempotency keys under {@code invoiceme.idempotency}: {@code POST} requests to {@code paths}
+ * carrying an {@code Idempotency-Key} header run once, and repeats get the stored response.
+ */
+@ConfigurationProperties("invoiceme.idempotency")
+public record IdempotencyProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue List<String> paths,
+    // How long a completed response is replayed for its key
+    @DefaultValue("24h") Duration retention,
+    // How long a repeat waits for the first execution before it gets 409
+    @DefaultValue("10s") Duration maxWait,
+    // After this long an unfinished execution (e.g. of a crashed instance) no longer holds its key
+    @DefaultValue("1m") Duration lease
+) {
+}
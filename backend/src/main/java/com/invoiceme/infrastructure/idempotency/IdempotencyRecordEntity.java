@@ -0,0 +1,87 @@
+package com.invoiceme.infrastructure.idempotency;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * JPA entity for one idempotency key: the request it was first used with and, once that request
+ * has run, the response to replay. A record without a status is still executing.
+ */
+@Entity
+@Table(name = "idempotency_records", indexes = {
+    @Index(name = "idx_idempotency_records_expires_at", columnList = "expires_at")
+})
+class IdempotencyRecordEntity {
+    
+    // SHA-256 of the caller and the key, so keys of different callers never meet
+    @Id
+    @Column(length = 64)
+    private String id;
+    
+    @Column(name = "request_hash", nullable = false, length = 64)
+    private String requestHash;
+    
+    @Column(name = "status")
+    private Integer status;
+    
+    @Column(name = "content_type")
+    private String contentType;
+    
+    @Column(name = "body", length = IdempotencyStore.MAX_BODY_SIZE)
+    private byte[] body;
+    
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+    
+    // Default constructor for JPA
+    protected IdempotencyRecordEntity() {
+    }
+    
+    static IdempotencyRecordEntity executing(String id, String requestHash, LocalDateTime now, LocalDateTime leaseEnd) {
+        IdempotencyRecordEntity entity = new IdempotencyRecordEntity();
+        entity.id = id;
+        entity.requestHash = requestHash;
+        entity.createdAt = now;
+        entity.expiresAt = leaseEnd;
+        return entity;
+    }
+    
+    void complete(int status, String contentType, byte[] body, LocalDateTime expiresAt) {
+        this.status = status;
+        this.contentType = contentType;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+    
+    boolean isCompleted() {
+        return status != null;
+    }
+    
+    // Getters
+    String getId() {
+        return id;
+    }
+    
+    String getRequestHash() {
+        return requestHash;
+    }
+    
+    Integer getStatus() {
+        return status;
+    }
+    
+    String getContentType() {
+        return contentType;
+    }
+    
+    byte[] getBody() {
+        return body;
+    }
+    
+    LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+}
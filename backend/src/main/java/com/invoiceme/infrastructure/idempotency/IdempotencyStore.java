@@ -0,0 +1,106 @@
+package com.invoiceme.infrastructure.idempotency;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The idempotency records, each looked up by primary key. All access goes to the primary
+ * database: the transactions are not read-only, so a replica that has not yet seen a record
+ * never makes a repeat run again.
+ */
+@Repository
+class IdempotencyStore {
+    
+    // Larger responses are not kept, so repeats of their requests run again
+    static final int MAX_BODY_SIZE = 1024 * 1024;
+    
+    private static final long PURGE_INTERVAL_NANOS = TimeUnit.MINUTES.toNanos(1);
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final TransactionTemplate transactionTemplate;
+    private final AtomicLong nextPurge = new AtomicLong(System.nanoTime());
+    
+    IdempotencyStore(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+    
+    /**
+     * The unexpired record for {@code id}, completed or still executing.
+     */
+    @Transactional
+    public Optional<IdempotencyRecordEntity> find(String id) {
+        IdempotencyRecordEntity record = entityManager.find(IdempotencyRecordEntity.class, id);
+        if (record == null || record.getExpiresAt().isBefore(LocalDateTime.now())) {
+            return Optional.empty();
+        }
+        return Optional.of(record);
+    }
+    
+    /**
+     * Records that {@code id} is executing for {@code lease}.
+     * @return False if another execution already holds the key
+     */
+    public boolean claim(String id, String requestHash, Duration lease) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                LocalDateTime now = LocalDateTime.now();
+                purgeExpired(id, now);
+                entityManager.persist(IdempotencyRecordEntity.executing(id, requestHash, now, now.plus(lease)));
+                entityManager.flush();
+            });
+            return true;
+        } catch (ConstraintViolationException e) {
+            return false;
+        }
+    }
+    
+    /**
+     * Keeps the response of the execution holding {@code id} for {@code retention}.
+     */
+    @Transactional
+    public void complete(String id, int status, String contentType, byte[] body, Duration retention) {
+        IdempotencyRecordEntity record = entityManager.find(IdempotencyRecordEntity.class, id);
+        if (record != null) {
+            record.complete(status, contentType, body, LocalDateTime.now().plus(retention));
+        }
+    }
+    
+    /**
+     * Frees {@code id} after an execution whose response is not kept, so the next attempt runs.
+     */
+    @Transactional
+    public void release(String id) {
+        entityManager.createQuery(
+                "DELETE FROM IdempotencyRecordEntity r WHERE r.id = :id AND r.status IS NULL")
+            .setParameter("id", id)
+            .executeUpdate();
+    }
+    
+    // Always clears an expired record for the key being claimed; all others at most once a minute
+    private void purgeExpired(String id, LocalDateTime now) {
+        long due = nextPurge.get();
+        if (System.nanoTime() - due >= 0 && nextPurge.compareAndSet(due, System.nanoTime() + PURGE_INTERVAL_NANOS)) {
+            entityManager.createQuery("DELETE FROM IdempotencyRecordEntity r WHERE r.expiresAt < :now")
+                .setParameter("now", now)
+                .executeUpdate();
+            return;
+        }
+        entityManager.createQuery("DELETE FROM IdempotencyRecordEntity r WHERE r.id = :id AND r.expiresAt < :now")
+            .setParameter("id", id)
+            .setParameter("now", now)
+            .executeUpdate();
+    }
+}
@@ -0,0 +1,28 @@
+package com.invoiceme.infrastructure.metrics;
+
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+/**
+ * Wraps every DataSource bean in a datasource-proxy so statements and rows
+ * are attributed to the thread that issued them.
+ * The proxy delegates unwrap(), so Hikari pool metrics keep working.
+ */
+@Component
+public class DataSourceMetricsPostProcessor implements BeanPostProcessor {
+    
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+            return ProxyDataSourceBuilder.create(beanName, dataSource)
+                    .listener(new JdbcActivityListener())
+                    .proxyResultSet(new RowCountingResultSetProxyLogicFactory())
+                    .build();
+        }
+        return bean;
+    }
+}
@@ -0,0 +1,86 @@
+package com.invoiceme.infrastructure.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times every command/query handler and records the SQL statements and rows
+ * it caused.
+ * Ordered outermost so the transaction commit (and its flush) is included.
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class HandlerMetricsAspect {
+    
+    static final String HANDLER_TIMER = "invoiceme.handler";
+    static final String HANDLER_STATEMENTS = "invoiceme.handler.sql.statements";
+    static final String HANDLER_ROWS = "invoiceme.handler.sql.rows";
+    static final String HANDLER_JDBC_TIME = "invoiceme.handler.sql.time";
+    
+    private final MeterRegistry registry;
+    
+    public HandlerMetricsAspect(MeterRegistry registry) {
+        this.registry = registry;
+    }
+    
+    @Around("execution(public * com.invoiceme.application..*Handler.handle(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        String handler = joinPoint.getSignature().getDeclaringType().getSimpleName();
+        JdbcActivity activity = JdbcActivity.current();
+        JdbcActivity.Snapshot before = activity.snapshot();
+        long start = System.nanoTime();
+        Throwable failure = null;
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable ex) {
+            failure = ex;
+            throw ex;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            JdbcActivity.Snapshot used = activity.snapshot().since(before);
+            record(handler, failure, elapsed, used);
+        }
+    }
+    
+    private void record(String handler, Throwable failure, long elapsedNanos, JdbcActivity.Snapshot used) {
+        Timer.builder(HANDLER_TIMER)
+                .description("Command/query handler latency")
+                .tag("handler", handler)
+                .tag("outcome", failure == null ? "success" : "error")
+                .tag("exception", failure == null ? "none" : failure.getClass().getSimpleName())
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        
+        DistributionSummary.builder(HANDLER_STATEMENTS)
+                .description("SQL statements executed per handler invocation")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(used.statements());
+        
+        DistributionSummary.builder(HANDLER_ROWS)
+                .description("Result set rows read per handler invocation")
+                .baseUnit("rows")
+                .tag("handler", handler)
+                .publishPercentileHistogram()
+                .register(registry)
+                .record(used.rows());
+        
+        Timer.builder(HANDLER_JDBC_TIME)
+                .description("Time spent executing SQL per handler invocation")
+                .tag("handler", handler)
+                .register(registry)
+                .record(used.elapsedNanos(), TimeUnit.NANOSECONDS);
+    }
+}
@@ -0,0 +1,68 @@
+package com.invoiceme.infrastructure.metrics;
+
+/**
+ * Per-thread JDBC activity counters.
+ * Fed by the DataSource proxy and read as deltas around a unit of work,
+ * so nested handlers each see only their own statements and rows.
+ */
+public final class JdbcActivity {
+    
+    private static final ThreadLocal<JdbcActivity> CURRENT = ThreadLocal.withInitial(JdbcActivity::new);
+    
+    private long statements;
+    private long rows;
+    private long elapsedNanos;
+    private StatementObserver observer;
+    
+    private JdbcActivity() {
+    }
+    
+    public static JdbcActivity current() {
+        return CURRENT.get();
+    }
+    
+    void recordStatement(String sql, long nanos) {
+        statements++;
+        elapsedNanos += nanos;
+        if (observer != null) {
+            observer.statementExecuted(sql, nanos);
+        }
+    }
+    
+    void recordRow() {
+        rows++;
+    }
+    
+    /**
+     * Sees every statement this thread executes until cleared with {@code null}.
+     */
+    public void observe(StatementObserver observer) {
+        this.observer = observer;
+    }
+    
+    public Snapshot snapshot() {
+        return new Snapshot(statements, rows, elapsedNanos);
+    }
+    
+    /**
+     * Immutable view of the counters at a point in time.
+     */
+    public record Snapshot(long statements, long rows, long elapsedNanos) {
+        
+        public Snapshot since(Snapshot earlier) {
+            return new Snapshot(
+                statements - earlier.statements,
+                rows - earlier.rows,
+                elapsedNanos - earlier.elapsedNanos
+            );
+        }
+    }
+    
+    /**
+     * Callback for code that needs the SQL text, not just the counters.
+     */
+    @FunctionalInterface
+    public interface StatementObserver {
+        void statementExecuted(String sql, long nanos);
+    }
+}
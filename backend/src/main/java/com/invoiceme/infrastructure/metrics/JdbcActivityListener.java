@@ -0,0 +1,36 @@
+package com.invoiceme.infrastructure.metrics;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+
+/**
+ * Counts executed statements and their wall time into {@link JdbcActivity}.
+ * A JDBC batch counts as a single statement since it is one round trip.
+ */
+class JdbcActivityListener implements QueryExecutionListener {
+    
+    private static final String START_NANOS = "invoiceme.startNanos";
+    
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        execInfo.addCustomValue(START_NANOS, System.nanoTime());
+    }
+    
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        Long start = execInfo.getCustomValue(START_NANOS, Long.class);
+        long elapsed = start != null ? System.nanoTime() - start : 0L;
+        JdbcActivity.current().recordStatement(sql(execInfo, queryInfoList), elapsed);
+    }
+    
+    private static String sql(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        if (queryInfoList.isEmpty()) {
+            return "";
+        }
+        String sql = queryInfoList.get(0).getQuery();
+        return execInfo.isBatch() ? sql + " [batch of " + execInfo.getBatchSize() + "]" : sql;
+    }
+}
@@ -0,0 +1,97 @@
+package com.invoiceme.infrastructure.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Gauges for connection pool saturation and Hibernate cache hit ratios.
+ * Per-handler timers are recorded by {@link HandlerMetricsAspect}.
+ */
+@Configuration
+public class MetricsConfig {
+    
+    @Bean
+    public MeterBinder connectionPoolSaturation(DataSource dataSource) {
+        return registry -> {
+            HikariDataSource hikari = unwrapHikari(dataSource);
+            if (hikari == null) {
+                return;
+            }
+            Gauge.builder("invoiceme.db.pool.saturation", hikari, MetricsConfig::saturation)
+                    .description("Active connections as a fraction of the maximum pool size")
+                    .tag("pool", String.valueOf(hikari.getPoolName()))
+                    .register(registry);
+            Gauge.builder("invoiceme.db.pool.pending", hikari, MetricsConfig::pending)
+                    .description("Threads waiting for a connection")
+                    .tag("pool", String.valueOf(hikari.getPoolName()))
+                    .register(registry);
+        };
+    }
+    
+    @Bean
+    public MeterBinder hibernateCacheHitRatios(EntityManagerFactory entityManagerFactory) {
+        return registry -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            cacheGauge(registry, statistics, "second-level",
+                s -> ratio(s.getSecondLevelCacheHitCount(), s.getSecondLevelCacheMissCount()));
+            cacheGauge(registry, statistics, "query",
+                s -> ratio(s.getQueryCacheHitCount(), s.getQueryCacheMissCount()));
+            cacheGauge(registry, statistics, "query-plan",
+                s -> ratio(s.getQueryPlanCacheHitCount(), s.getQueryPlanCacheMissCount()));
+        };
+    }
+    
+    private static void cacheGauge(
+            MeterRegistry registry,
+            Statistics statistics,
+            String cache,
+            ToDoubleFunction<Statistics> ratio) {
+        Gauge.builder("invoiceme.hibernate.cache.hit.ratio", statistics, ratio)
+                .description("Hit ratio of a Hibernate cache (requires hibernate.generate_statistics)")
+                .tag("cache", cache)
+                .register(registry);
+    }
+    
+    private static double ratio(long hits, long misses) {
+        long total = hits + misses;
+        return total == 0 ? Double.NaN : (double) hits / total;
+    }
+    
+    private static double saturation(HikariDataSource hikari) {
+        HikariPoolMXBean pool = pool(hikari);
+        int max = hikari.getMaximumPoolSize();
+        return pool == null || max <= 0 ? 0 : (double) pool.getActiveConnections() / max;
+    }
+    
+    private static double pending(HikariDataSource hikari) {
+        HikariPoolMXBean pool = pool(hikari);
+        return pool == null ? 0 : pool.getThreadsAwaitingConnection();
+    }
+    
+    private static HikariPoolMXBean pool(HikariDataSource hikari) {
+        // Null until the pool has been started by the first getConnection()
+        return hikari.getHikariPoolMXBean();
+    }
+    
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class)
+                    ? dataSource.unwrap(HikariDataSource.class)
+                    : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.invoiceme.infrastructure.metrics;
+
+import net.ttddyy.dsproxy.ConnectionInfo;
+import net.ttddyy.dsproxy.proxy.ProxyConfig;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogic;
+import net.ttddyy.dsproxy.proxy.ResultSetProxyLogicFactory;
+import net.ttddyy.dsproxy.proxy.SimpleResultSetProxyLogic;
+
+import java.sql.ResultSet;
+
+/**
+ * Counts rows read from result sets, i.e. every successful {@code next()}.
+ */
+class RowCountingResultSetProxyLogicFactory implements ResultSetProxyLogicFactory {
+    
+    @Override
+    public ResultSetProxyLogic create(ResultSet resultSet, ConnectionInfo connectionInfo, ProxyConfig proxyConfig) {
+        ResultSetProxyLogic delegate = new SimpleResultSetProxyLogic(resultSet, connectionInfo, proxyConfig);
+        return (proxy, method, args) -> {
+            Object result = delegate.invoke(proxy, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                JdbcActivity.current().recordRow();
+            }
+            return result;
+        };
+    }
+}
@@ -0,0 +1,56 @@
+package com.invoiceme.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.MappedSuperclass;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Transient;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.springframework.data.domain.Persistable;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Base for entities whose ids are assigned by the domain (UUIDs, discount codes) rather than
+ * generated by the database. With an assigned id neither Spring Data nor Hibernate can tell a new
+ * row from a stored one, so both would merge, i.e. SELECT the row before inserting it.
+ * <p>
+ * Repositories call {@link #detectNew} on the entity built from a domain object: within a
+ * transaction, an aggregate being updated was loaded earlier in that transaction, so an id missing
+ * from the persistence context is a new row. New entities are persisted by
+ * {@code JpaRepository.save} and reported transient by {@link NewEntityInterceptor} when a merge
+ * cascades to them, so creates are plain (batched) inserts. Entities not known to be new are
+ * merged exactly as before.
+ */
+@MappedSuperclass
+public abstract class AssignedIdEntity<ID> implements Persistable<ID> {
+    
+    @Transient
+    private boolean isNew;
+    
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+    
+    /**
+     * Marks this entity new if a transaction is active and its persistence context holds no
+     * entity with this id. Checks the persistence context only; never queries the database.
+     */
+    public void detectNew(EntityManager entityManager) {
+        isNew = TransactionSynchronizationManager.isActualTransactionActive()
+            && !isInPersistenceContext(entityManager);
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        isNew = false;
+    }
+    
+    private boolean isInPersistenceContext(EntityManager entityManager) {
+        SessionImplementor session = entityManager.unwrap(SessionImplementor.class);
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(getClass());
+        return session.getPersistenceContextInternal().getEntity(session.generateEntityKey(getId(), persister)) != null;
+    }
+}
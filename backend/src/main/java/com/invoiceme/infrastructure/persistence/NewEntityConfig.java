@@ -0,0 +1,18 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registers {@link NewEntityInterceptor} with the session factory.
+ */
+@Configuration
+public class NewEntityConfig {
+    
+    @Bean
+    public HibernatePropertiesCustomizer newEntityInterceptor() {
+        return properties -> properties.put(AvailableSettings.INTERCEPTOR, new NewEntityInterceptor());
+    }
+}
@@ -0,0 +1,16 @@
+package com.invoiceme.infrastructure.persistence;
+
+import org.hibernate.Interceptor;
+
+/**
+ * Answers Hibernate's "is this entity transient?" for {@link AssignedIdEntity new} entities, so a
+ * merge cascading to them (e.g. a line item added to a stored invoice) inserts them without first
+ * selecting by id. Every other entity is left to Hibernate, which queries as before.
+ */
+public class NewEntityInterceptor implements Interceptor {
+    
+    @Override
+    public Boolean isTransient(Object entity) {
+        return entity instanceof AssignedIdEntity<?> assigned && assigned.isNew() ? Boolean.TRUE : null;
+    }
+}
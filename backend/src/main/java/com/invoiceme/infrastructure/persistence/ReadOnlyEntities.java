@@ -0,0 +1,26 @@
+package com.invoiceme.infrastructure.persistence;
+
+import jakarta.persistence.EntityManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+/**
+ * Keeps read-only list queries from piling up managed entities.
+ * Read-only callers only see the domain copies, so a list page streamed in chunks does not
+ * have to keep every chunk's entities in the persistence context.
+ */
+public final class ReadOnlyEntities {
+    
+    private ReadOnlyEntities() {
+    }
+    
+    /**
+     * Detaches {@code entities} once mapped, if the current transaction is read-only.
+     */
+    public static void detachIfReadOnly(EntityManager entityManager, Collection<?> entities) {
+        if (TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            entities.forEach(entityManager::detach);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.persistence.customers;
 
 import com.invoiceme.domain.customers.Customer;
+import com.invoiceme.infrastructure.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -13,7 +14,7 @@ import java.util.UUID;
 @Table(name = "customers", indexes = {
     @Index(name = "idx_customers_email", columnList = "email")
 })
-class CustomerEntity {
+class CustomerEntity extends AssignedIdEntity<UUID> {
     
     @Id
     private UUID id;
@@ -67,7 +68,8 @@ class CustomerEntity {
     }
     
     // Getters and setters
-    UUID getId() {
+    @Override
+    public UUID getId() {
         return id;
     }
     
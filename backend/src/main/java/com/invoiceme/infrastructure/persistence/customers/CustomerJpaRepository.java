@@ -1,12 +1,13 @@
 package com.invoiceme.infrastructure.persistence.customers;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -19,7 +20,11 @@ interface CustomerJpaRepository extends JpaRepository<CustomerEntity, UUID> {
     
     Optional<CustomerEntity> findByEmail(String email);
     
-    Page<CustomerEntity> findAll(Pageable pageable);
+    @Query("SELECT c.updatedAt FROM CustomerEntity c WHERE c.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(@Param("id") UUID id);
+    
+    // List rather than Page: callers count separately, so no count query per page
+    List<CustomerEntity> findAllBy(Pageable pageable);
     
     @Query("SELECT COUNT(i) > 0 FROM InvoiceEntity i WHERE i.customerId = :customerId")
     boolean hasInvoices(@Param("customerId") UUID customerId);
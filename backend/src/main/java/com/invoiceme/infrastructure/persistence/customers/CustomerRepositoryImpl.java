@@ -2,12 +2,16 @@ package com.invoiceme.infrastructure.persistence.customers;
 
 import com.invoiceme.domain.customers.Customer;
 import com.invoiceme.domain.customers.CustomerRepository;
-import org.springframework.data.domain.Page;
+import com.invoiceme.infrastructure.persistence.ReadOnlyEntities;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -20,6 +24,9 @@ import java.util.stream.Collectors;
 @Repository
 public class CustomerRepositoryImpl implements CustomerRepository {
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     private final CustomerJpaRepository jpaRepository;
     
     public CustomerRepositoryImpl(CustomerJpaRepository jpaRepository) {
@@ -29,6 +36,7 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     @Override
     public Customer save(Customer customer) {
         CustomerEntity entity = CustomerEntity.fromDomain(customer);
+        entity.detectNew(entityManager);
         CustomerEntity saved = jpaRepository.save(entity);
         return saved.toDomain();
     }
@@ -39,6 +47,21 @@ public class CustomerRepositoryImpl implements CustomerRepository {
                 .map(CustomerEntity::toDomain);
     }
     
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtById(UUID id) {
+        return jpaRepository.findUpdatedAtById(id);
+    }
+    
+    @Override
+    public List<Customer> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        return jpaRepository.findAllById(ids).stream()
+                .map(CustomerEntity::toDomain)
+                .collect(Collectors.toList());
+    }
+    
     @Override
     public Optional<Customer> findByEmail(String email) {
         return jpaRepository.findByEmail(email)
@@ -47,12 +70,15 @@ public class CustomerRepositoryImpl implements CustomerRepository {
     
     @Override
     public List<Customer> findAll(int page, int size, String sortBy) {
-        Sort sort = Sort.by(Sort.Direction.ASC, sortBy);
+        // Tie-break on id so page and chunk boundaries are stable for non-unique sort fields
+        Sort sort = Sort.by(Sort.Direction.ASC, sortBy).and(Sort.by("id"));
         Pageable pageable = PageRequest.of(page, size, sort);
-        Page<CustomerEntity> customerPage = jpaRepository.findAll(pageable);
-        return customerPage.getContent().stream()
+        List<CustomerEntity> customers = jpaRepository.findAllBy(pageable);
+        List<Customer> result = customers.stream()
                 .map(CustomerEntity::toDomain)
                 .collect(Collectors.toList());
+        ReadOnlyEntities.detachIfReadOnly(entityManager, customers);
+        return result;
     }
     
     @Override
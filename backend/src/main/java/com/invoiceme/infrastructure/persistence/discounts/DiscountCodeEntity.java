@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.persistence.discounts;
 
 import com.invoiceme.domain.discounts.DiscountCode;
+import com.invoiceme.infrastructure.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -13,7 +14,7 @@ import java.time.LocalDateTime;
 @Table(name = "discount_codes", indexes = {
     @Index(name = "idx_discount_codes_code", columnList = "code", unique = true)
 })
-class DiscountCodeEntity {
+class DiscountCodeEntity extends AssignedIdEntity<String> {
     
     @Id
     @Column(length = 50)
@@ -58,6 +59,11 @@ class DiscountCodeEntity {
     }
     
     // Getters and setters
+    @Override
+    public String getId() {
+        return code;
+    }
+    
     String getCode() {
         return code;
     }
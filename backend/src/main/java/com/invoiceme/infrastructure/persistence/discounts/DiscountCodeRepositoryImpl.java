@@ -2,6 +2,8 @@ package com.invoiceme.infrastructure.persistence.discounts;
 
 import com.invoiceme.domain.discounts.DiscountCode;
 import com.invoiceme.domain.discounts.DiscountCodeRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -15,6 +17,9 @@ import java.util.stream.Collectors;
 @Repository
 public class DiscountCodeRepositoryImpl implements DiscountCodeRepository {
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     private final DiscountCodeJpaRepository jpaRepository;
     
     public DiscountCodeRepositoryImpl(DiscountCodeJpaRepository jpaRepository) {
@@ -24,6 +29,7 @@ public class DiscountCodeRepositoryImpl implements DiscountCodeRepository {
     @Override
     public DiscountCode save(DiscountCode discountCode) {
         DiscountCodeEntity entity = DiscountCodeEntity.fromDomain(discountCode);
+        entity.detectNew(entityManager);
         DiscountCodeEntity saved = jpaRepository.save(entity);
         return saved.toDomain();
     }
@@ -0,0 +1,176 @@
+package com.invoiceme.infrastructure.persistence.invoices;
+
+import com.invoiceme.domain.invoices.InvoiceNumberAllocator;
+
+import java.time.LocalDate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Hi/lo invoice numbers. Each instance reserves blocks of {@code block-size} numbers per series
+ * from the shared table and hands them out from memory, so numbering an invoice is an atomic
+ * increment rather than a database round trip, and no two instances hand out the same number.
+ * 
+ * Blocks are reserved on a thread of their own, outside the caller's transaction, and the next
+ * block is requested once half of the current one is used. A caller that still finds its series
+ * without numbers (a new year, or a reservation that has not come back yet) holds its own
+ * connection while it waits, so it gives up after {@code max-wait} rather than sitting out the
+ * pool's connection timeout alongside the reservation it is waiting for.
+ * Numbers still in memory when an instance stops become gaps.
+ */
+class HiLoInvoiceNumberAllocator implements InvoiceNumberAllocator, AutoCloseable {
+    
+    private final InvoiceNumberBlockStore store;
+    private final ExecutorService reserver;
+    private final String prefix;
+    private final String format;
+    private final int blockSize;
+    private final long maxWaitNanos;
+    private final ConcurrentMap<String, Series> series = new ConcurrentHashMap<>();
+    
+    HiLoInvoiceNumberAllocator(InvoiceNumberBlockStore store, InvoiceNumberProperties properties,
+            ExecutorService reserver) {
+        if (properties.blockSize() < 1 || properties.digits() < 1) {
+            throw new IllegalArgumentException("Invoice numbers need block-size >= 1 and digits >= 1");
+        }
+        this.store = store;
+        this.reserver = reserver;
+        this.prefix = properties.prefix();
+        this.format = "%s-%0" + properties.digits() + "d";
+        this.blockSize = properties.blockSize();
+        this.maxWaitNanos = properties.maxWait().toNanos();
+    }
+    
+    /**
+     * @throws InvoiceNumbersUnavailableException If no block could be reserved within {@code max-wait}
+     */
+    @Override
+    public String next(LocalDate issueDate) {
+        String name = seriesName(issueDate);
+        long number = series.computeIfAbsent(name, Series::new).next();
+        return String.format(format, name, number);
+    }
+    
+    /**
+     * Starts reserving the first block of {@code issueDate}'s series without waiting for it,
+     * so the first invoices of that series do not have to.
+     */
+    void reserveAhead(LocalDate issueDate) {
+        series.computeIfAbsent(seriesName(issueDate), Series::new).prefetch();
+    }
+    
+    @Override
+    public void close() {
+        reserver.shutdownNow();
+    }
+    
+    private String seriesName(LocalDate issueDate) {
+        return prefix + "-" + issueDate.getYear();
+    }
+    
+    /**
+     * The block of one series being handed out, and the one reserved to follow it.
+     */
+    private final class Series {
+        
+        private final String name;
+        // Only taken to swap blocks, once per block-size numbers
+        private final ReentrantLock swap = new ReentrantLock();
+        private volatile Block current = Block.EMPTY;
+        private CompletableFuture<Block> upcoming;
+        
+        Series(String name) {
+            this.name = name;
+        }
+        
+        long next() {
+            long deadline = System.nanoTime() + maxWaitNanos;
+            while (true) {
+                Block block = current;
+                long number = block.next().getAndIncrement();
+                if (number < block.end()) {
+                    if (number == block.halfway()) {
+                        prefetch();
+                    }
+                    return number;
+                }
+                advance(block, deadline);
+            }
+        }
+        
+        // The first caller past the end of a block swaps in the next one; the others retry on it
+        private void advance(Block exhausted, long deadline) {
+            try {
+                if (!swap.tryLock(deadline - System.nanoTime(), TimeUnit.NANOSECONDS)) {
+                    throw unavailable(null);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw unavailable(e);
+            }
+            try {
+                if (current != exhausted) {
+                    return;
+                }
+                if (upcoming == null) {
+                    upcoming = reserve();
+                }
+                // A reservation still running when the wait runs out is kept for the next caller
+                current = upcoming.get(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                upcoming = null;
+            } catch (TimeoutException e) {
+                throw unavailable(e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw unavailable(e);
+            } catch (ExecutionException e) {
+                // A failed reservation is tried again by the next caller
+                upcoming = null;
+                throw e.getCause() instanceof RuntimeException cause ? cause : unavailable(e);
+            } finally {
+                swap.unlock();
+            }
+        }
+        
+        private void prefetch() {
+            swap.lock();
+            try {
+                if (upcoming == null) {
+                    upcoming = reserve();
+                }
+            } finally {
+                swap.unlock();
+            }
+        }
+        
+        private CompletableFuture<Block> reserve() {
+            return CompletableFuture.supplyAsync(() -> Block.endingAt(store.reserve(name, blockSize), blockSize),
+                reserver);
+        }
+        
+        private InvoiceNumbersUnavailableException unavailable(Exception cause) {
+            return new InvoiceNumbersUnavailableException(name, TimeUnit.NANOSECONDS.toMillis(maxWaitNanos), cause);
+        }
+    }
+    
+    /**
+     * Numbers from {@code end - size} up to {@code end} (exclusive); {@code next} runs past
+     * {@code end} once the block is used up.
+     */
+    private record Block(AtomicLong next, long halfway, long end) {
+        
+        static final Block EMPTY = new Block(new AtomicLong(Long.MIN_VALUE), Long.MIN_VALUE, Long.MIN_VALUE);
+        
+        static Block endingAt(long end, int size) {
+            long start = end - size;
+            return new Block(new AtomicLong(start), start + size / 2, end);
+        }
+    }
+}
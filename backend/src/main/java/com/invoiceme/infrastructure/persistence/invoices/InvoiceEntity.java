@@ -5,7 +5,10 @@ import com.invoiceme.domain.invoices.InvoiceStatus;
 import com.invoiceme.domain.invoices.LineItem;
 import com.invoiceme.domain.payments.Payment;
 import com.invoiceme.domain.payments.PaymentPlan;
+import com.invoiceme.infrastructure.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -16,18 +19,33 @@ import java.util.stream.Collectors;
 /**
  * JPA entity for Invoice.
  * Maps domain Invoice to database table.
+ * Line items are lazy; each repository query names the fetch plan it needs.
  */
 @Entity
+@NamedEntityGraphs({
+    // Detail: line items joined into the invoice select (payments are a separate aggregate)
+    @NamedEntityGraph(name = InvoiceEntity.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("lineItems")),
+    // Summary: invoice columns only, safe to paginate in SQL
+    @NamedEntityGraph(name = InvoiceEntity.SUMMARY_GRAPH)
+})
 @Table(name = "invoices", indexes = {
+    @Index(name = "idx_invoices_invoice_number", columnList = "invoice_number", unique = true),
     @Index(name = "idx_invoices_customer_id", columnList = "customer_id"),
     @Index(name = "idx_invoices_status", columnList = "status"),
     @Index(name = "idx_invoices_customer_status", columnList = "customer_id,status")
 })
-class InvoiceEntity {
+class InvoiceEntity extends AssignedIdEntity<UUID> {
+    
+    static final String DETAIL_GRAPH = "Invoice.detail";
+    static final String SUMMARY_GRAPH = "Invoice.summary";
     
     @Id
     private UUID id;
     
+    // Nullable for invoices created before numbering; unique, so lookups by number use the index
+    @Column(name = "invoice_number", length = 32, updatable = false)
+    private String invoiceNumber;
+    
     @Column(name = "customer_id", nullable = false)
     private UUID customerId;
     
@@ -51,7 +69,10 @@ class InvoiceEntity {
     @Column(name = "discount_amount", precision = 10, scale = 2)
     private java.math.BigDecimal discountAmount;
     
-    @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
+    // Outside the detail plan, first access batch-loads line items for up to 100 invoices at once
+    @OneToMany(mappedBy = "invoice", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
+    @OrderBy("lineOrder")
+    @BatchSize(size = 100)
     private List<LineItemEntity> lineItems = new ArrayList<>();
     
     @Column(name = "created_at", nullable = false, updatable = false)
@@ -71,6 +92,7 @@ class InvoiceEntity {
     static InvoiceEntity fromDomain(Invoice invoice) {
         InvoiceEntity entity = new InvoiceEntity();
         entity.id = invoice.getId();
+        entity.invoiceNumber = invoice.getInvoiceNumber();
         entity.customerId = invoice.getCustomerId();
         entity.status = invoice.getStatus();
         entity.issueDate = invoice.getIssueDate();
@@ -91,6 +113,13 @@ class InvoiceEntity {
         return entity;
     }
     
+    // Line items added to a stored invoice are new rows too
+    @Override
+    public void detectNew(EntityManager entityManager) {
+        super.detectNew(entityManager);
+        lineItems.forEach(lineItem -> lineItem.detectNew(entityManager));
+    }
+    
     // Convert to domain entity (payments loaded separately)
     Invoice toDomain(List<Payment> payments) {
         List<LineItem> domainLineItems = lineItems.stream()
@@ -99,6 +128,7 @@ class InvoiceEntity {
         
         return Invoice.reconstruct(
             id,
+            invoiceNumber,
             customerId,
             status,
             issueDate,
@@ -114,7 +144,8 @@ class InvoiceEntity {
     }
     
     // Getters and setters
-    UUID getId() {
+    @Override
+    public UUID getId() {
         return id;
     }
     
@@ -122,6 +153,14 @@ class InvoiceEntity {
         this.id = id;
     }
     
+    String getInvoiceNumber() {
+        return invoiceNumber;
+    }
+    
+    void setInvoiceNumber(String invoiceNumber) {
+        this.invoiceNumber = invoiceNumber;
+    }
+    
     UUID getCustomerId() {
         return customerId;
     }
@@ -1,30 +1,55 @@
 package com.invoiceme.infrastructure.persistence.invoices;
 
 import com.invoiceme.domain.invoices.InvoiceStatus;
-import org.springframework.data.domain.Page;
+import com.invoiceme.domain.invoices.InvoiceVersion;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.EntityGraph.EntityGraphType;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
  * Spring Data JPA repository for Invoice entity.
+ * Every method that loads invoices declares its fetch plan (see InvoiceEntity graphs).
  */
 @Repository
 interface InvoiceJpaRepository extends JpaRepository<InvoiceEntity, UUID> {
     
-    Page<InvoiceEntity> findByStatus(InvoiceStatus status, Pageable pageable);
+    @EntityGraph(InvoiceEntity.DETAIL_GRAPH)
+    Optional<InvoiceEntity> findWithLineItemsById(UUID id);
+    
+    @EntityGraph(InvoiceEntity.DETAIL_GRAPH)
+    Optional<InvoiceEntity> findWithLineItemsByInvoiceNumber(String invoiceNumber);
+    
+    @Query("SELECT new com.invoiceme.domain.invoices.InvoiceVersion(i.customerId, i.updatedAt) "
+            + "FROM InvoiceEntity i WHERE i.id = :id")
+    Optional<InvoiceVersion> findVersionById(@Param("id") UUID id);
+    
+    // Line items joined in, so any number of ids is a single statement
+    @EntityGraph(InvoiceEntity.DETAIL_GRAPH)
+    List<InvoiceEntity> findWithLineItemsByIdIn(Collection<UUID> ids);
+    
+    // List (not Page) return types skip the implicit count query; callers count separately.
+    // Summary plan: a collection join would force Hibernate to paginate in memory
+    @EntityGraph(value = InvoiceEntity.SUMMARY_GRAPH, type = EntityGraphType.FETCH)
+    List<InvoiceEntity> findByStatus(InvoiceStatus status, Pageable pageable);
     
     long countByStatus(InvoiceStatus status);
     
-    Page<InvoiceEntity> findByCustomerId(UUID customerId, Pageable pageable);
+    @EntityGraph(value = InvoiceEntity.SUMMARY_GRAPH, type = EntityGraphType.FETCH)
+    List<InvoiceEntity> findByCustomerId(UUID customerId, Pageable pageable);
     
     long countByCustomerId(UUID customerId);
     
-    Page<InvoiceEntity> findAll(Pageable pageable);
+    @EntityGraph(value = InvoiceEntity.SUMMARY_GRAPH, type = EntityGraphType.FETCH)
+    List<InvoiceEntity> findAllBy(Pageable pageable);
     
     long count();
 }
@@ -0,0 +1,39 @@
+package com.invoiceme.infrastructure.persistence.invoices;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * JPA entity for the invoice number series.
+ * One row per series (e.g. INV-2026) holding the lowest number no instance has reserved yet.
+ */
+@Entity
+@Table(name = "invoice_number_blocks")
+class InvoiceNumberBlockEntity {
+    
+    @Id
+    @Column(length = 32)
+    private String series;
+    
+    @Column(name = "next_value", nullable = false)
+    private long nextValue;
+    
+    // Default constructor for JPA
+    protected InvoiceNumberBlockEntity() {
+    }
+    
+    InvoiceNumberBlockEntity(String series, long nextValue) {
+        this.series = series;
+        this.nextValue = nextValue;
+    }
+    
+    String getSeries() {
+        return series;
+    }
+    
+    long getNextValue() {
+        return nextValue;
+    }
+}
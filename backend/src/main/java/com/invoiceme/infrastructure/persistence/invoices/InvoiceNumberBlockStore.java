@@ -0,0 +1,57 @@
+package com.invoiceme.infrastructure.persistence.invoices;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reserves blocks of invoice numbers from the invoice_number_blocks table, always on the
+ * primary database. Instances reserving from the same series queue on its row, so every
+ * block is handed to exactly one of them.
+ */
+@Repository
+class InvoiceNumberBlockStore {
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    private final TransactionTemplate transactionTemplate;
+    
+    InvoiceNumberBlockStore(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        // A block stays reserved even if the work that asked for it rolls back
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+    
+    /**
+     * Moves {@code series} on by {@code size} numbers.
+     * @return The end (exclusive) of the reserved block, which starts {@code size} numbers lower
+     */
+    public long reserve(String series, int size) {
+        while (true) {
+            try {
+                return transactionTemplate.execute(status -> {
+                    int updated = entityManager.createQuery(
+                            "UPDATE InvoiceNumberBlockEntity b SET b.nextValue = b.nextValue + :size "
+                                    + "WHERE b.series = :series")
+                        .setParameter("size", (long) size)
+                        .setParameter("series", series)
+                        .executeUpdate();
+                    if (updated == 0) {
+                        // First block of the series; numbers start at 1
+                        entityManager.persist(new InvoiceNumberBlockEntity(series, 1L + size));
+                        entityManager.flush();
+                        return 1L + size;
+                    }
+                    return entityManager.find(InvoiceNumberBlockEntity.class, series).getNextValue();
+                });
+            } catch (ConstraintViolationException e) {
+                // Another instance started the series at the same time; reserve from its row instead
+            }
+        }
+    }
+}
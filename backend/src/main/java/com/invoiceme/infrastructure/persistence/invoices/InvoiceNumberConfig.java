@@ -0,0 +1,35 @@
+package com.invoiceme.infrastructure.persistence.invoices;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.LocalDate;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Registers the {@link HiLoInvoiceNumberAllocator}. Its table lives on the main database,
+ * so numbers are unique across shards as well as across instances.
+ */
+@Configuration
+@EnableConfigurationProperties(InvoiceNumberProperties.class)
+public class InvoiceNumberConfig {
+    
+    @Bean(destroyMethod = "close")
+    HiLoInvoiceNumberAllocator invoiceNumberAllocator(InvoiceNumberBlockStore store, InvoiceNumberProperties properties) {
+        HiLoInvoiceNumberAllocator allocator = new HiLoInvoiceNumberAllocator(store, properties, reserverExecutor());
+        // Creates right after startup would otherwise all wait on the same first reservation
+        allocator.reserveAhead(LocalDate.now());
+        return allocator;
+    }
+    
+    // One thread is enough: it runs once per block-size numbers, and series queue on their rows anyway
+    private static ExecutorService reserverExecutor() {
+        return Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "invoice-number-blocks");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+}
@@ -0,0 +1,22 @@
+package com.invoiceme.infrastructure.persistence.invoices;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Invoice numbering under {@code invoiceme.invoice-numbers}: numbers look like
+ * {@code <prefix>-<issue year>-<number>}, e.g. INV-2026-000042, counting from 1 each year.
+ */
+@ConfigurationProperties("invoiceme.invoice-numbers")
+public record InvoiceNumberProperties(
+    @DefaultValue("INV") String prefix,
+    // The number is zero-padded to this many digits; larger numbers just get longer
+    @DefaultValue("6") int digits,
+    // Numbers each instance reserves per database round trip; unused ones are lost when it stops
+    @DefaultValue("100") int blockSize,
+    // How long creating an invoice waits for a block before it gets 503; it holds a connection meanwhile
+    @DefaultValue("2s") Duration maxWait
+) {
+}
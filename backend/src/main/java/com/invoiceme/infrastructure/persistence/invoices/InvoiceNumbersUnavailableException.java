@@ -0,0 +1,11 @@
+package com.invoiceme.infrastructure.persistence.invoices;
+
+/**
+ * Thrown when an invoice cannot be numbered because no block of numbers could be reserved in time.
+ */
+public class InvoiceNumbersUnavailableException extends RuntimeException {
+    
+    public InvoiceNumbersUnavailableException(String series, long waitedMillis, Throwable cause) {
+        super("No invoice numbers of series " + series + " could be reserved within " + waitedMillis + "ms", cause);
+    }
+}
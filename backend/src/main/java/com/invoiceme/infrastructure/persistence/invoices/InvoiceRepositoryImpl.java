@@ -3,17 +3,23 @@ package com.invoiceme.infrastructure.persistence.invoices;
 import com.invoiceme.domain.invoices.Invoice;
 import com.invoiceme.domain.invoices.InvoiceRepository;
 import com.invoiceme.domain.invoices.InvoiceStatus;
+import com.invoiceme.domain.invoices.InvoiceVersion;
 import com.invoiceme.domain.payments.Payment;
+import com.invoiceme.infrastructure.persistence.ReadOnlyEntities;
 import com.invoiceme.infrastructure.persistence.payments.PaymentEntity;
 import com.invoiceme.infrastructure.persistence.payments.PaymentJpaRepository;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -25,6 +31,12 @@ import java.util.stream.Collectors;
 @Repository
 public class InvoiceRepositoryImpl implements InvoiceRepository {
     
+    // Same order as the sharded repository; the id tie-break keeps page and chunk boundaries stable
+    private static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt").and(Sort.by("id"));
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     private final InvoiceJpaRepository jpaRepository;
     private final PaymentJpaRepository paymentJpaRepository;
     
@@ -38,6 +50,7 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     @Override
     public Invoice save(Invoice invoice) {
         InvoiceEntity entity = InvoiceEntity.fromDomain(invoice);
+        entity.detectNew(entityManager);
         InvoiceEntity saved = jpaRepository.save(entity);
         
         // Load payments for this invoice
@@ -51,7 +64,7 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     
     @Override
     public Optional<Invoice> findById(UUID id) {
-        return jpaRepository.findById(id)
+        return jpaRepository.findWithLineItemsById(id)
                 .map(entity -> {
                     // Load payments for this invoice
                     List<Payment> payments = paymentJpaRepository.findByInvoiceId(id)
@@ -63,19 +76,34 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     }
     
     @Override
+    public Optional<Invoice> findByInvoiceNumber(String invoiceNumber) {
+        return jpaRepository.findWithLineItemsByInvoiceNumber(invoiceNumber)
+                .map(entity -> entity.toDomain(paymentJpaRepository.findByInvoiceId(entity.getId())
+                        .stream()
+                        .map(PaymentEntity::toDomain)
+                        .collect(Collectors.toList())));
+    }
+    
+    @Override
+    public Optional<InvoiceVersion> findVersionById(UUID id) {
+        return jpaRepository.findVersionById(id);
+    }
+    
+    @Override
+    public List<Invoice> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        return toDomainWithPayments(jpaRepository.findWithLineItemsByIdIn(ids));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public List<Invoice> findByStatus(InvoiceStatus status, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<InvoiceEntity> invoicePage = jpaRepository.findByStatus(status, pageable);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        List<InvoiceEntity> invoices = jpaRepository.findByStatus(status, pageable);
         
-        return invoicePage.getContent().stream()
-                .map(entity -> {
-                    List<Payment> payments = paymentJpaRepository.findByInvoiceId(entity.getId())
-                            .stream()
-                            .map(PaymentEntity::toDomain)
-                            .collect(Collectors.toList());
-                    return entity.toDomain(payments);
-                })
-                .collect(Collectors.toList());
+        return toDomainWithPayments(invoices);
     }
     
     @Override
@@ -84,19 +112,12 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Invoice> findByCustomerId(UUID customerId, int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<InvoiceEntity> invoicePage = jpaRepository.findByCustomerId(customerId, pageable);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        List<InvoiceEntity> invoices = jpaRepository.findByCustomerId(customerId, pageable);
         
-        return invoicePage.getContent().stream()
-                .map(entity -> {
-                    List<Payment> payments = paymentJpaRepository.findByInvoiceId(entity.getId())
-                            .stream()
-                            .map(PaymentEntity::toDomain)
-                            .collect(Collectors.toList());
-                    return entity.toDomain(payments);
-                })
-                .collect(Collectors.toList());
+        return toDomainWithPayments(invoices);
     }
     
     @Override
@@ -105,19 +126,12 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     }
     
     @Override
+    @Transactional(readOnly = true)
     public List<Invoice> findAll(int page, int size) {
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<InvoiceEntity> invoicePage = jpaRepository.findAll(pageable);
+        Pageable pageable = PageRequest.of(page, size, NEWEST_FIRST);
+        List<InvoiceEntity> invoices = jpaRepository.findAllBy(pageable);
         
-        return invoicePage.getContent().stream()
-                .map(entity -> {
-                    List<Payment> payments = paymentJpaRepository.findByInvoiceId(entity.getId())
-                            .stream()
-                            .map(PaymentEntity::toDomain)
-                            .collect(Collectors.toList());
-                    return entity.toDomain(payments);
-                })
-                .collect(Collectors.toList());
+        return toDomainWithPayments(invoices);
     }
     
     @Override
@@ -134,5 +148,30 @@ public class InvoiceRepositoryImpl implements InvoiceRepository {
     public void deleteById(UUID id) {
         jpaRepository.deleteById(id);
     }
+    
+    // Loads payments for a whole page in one query instead of one per invoice.
+    // Summary-plan entities batch-load their lazy line items here, so callers need an open session
+    private List<Invoice> toDomainWithPayments(List<InvoiceEntity> entities) {
+        if (entities.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        List<UUID> invoiceIds = entities.stream()
+                .map(InvoiceEntity::getId)
+                .toList();
+        List<PaymentEntity> payments = paymentJpaRepository.findByInvoiceIdIn(invoiceIds);
+        Map<UUID, List<Payment>> paymentsByInvoice = payments.stream()
+                .map(PaymentEntity::toDomain)
+                .collect(Collectors.groupingBy(Payment::getInvoiceId));
+        
+        List<Invoice> invoices = entities.stream()
+                .map(entity -> entity.toDomain(
+                    paymentsByInvoice.getOrDefault(entity.getId(), Collections.emptyList())))
+                .collect(Collectors.toList());
+        
+        ReadOnlyEntities.detachIfReadOnly(entityManager, entities);
+        ReadOnlyEntities.detachIfReadOnly(entityManager, payments);
+        return invoices;
+    }
 }
 
@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.persistence.invoices;
 
 import com.invoiceme.domain.invoices.LineItem;
+import com.invoiceme.infrastructure.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.util.UUID;
@@ -13,7 +14,7 @@ import java.util.UUID;
 @Table(name = "invoice_line_items", indexes = {
     @Index(name = "idx_invoice_line_items_invoice_id", columnList = "invoice_id")
 })
-class LineItemEntity {
+class LineItemEntity extends AssignedIdEntity<UUID> {
     
     @Id
     private UUID id;
@@ -65,7 +66,8 @@ class LineItemEntity {
     }
     
     // Getters and setters
-    UUID getId() {
+    @Override
+    public UUID getId() {
         return id;
     }
     
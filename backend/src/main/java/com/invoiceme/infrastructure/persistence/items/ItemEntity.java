@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.persistence.items;
 
 import com.invoiceme.domain.items.Item;
+import com.invoiceme.infrastructure.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
@@ -15,7 +16,7 @@ import java.util.UUID;
     @Index(name = "idx_items_user_id", columnList = "user_id"),
     @Index(name = "idx_items_description", columnList = "description")
 })
-class ItemEntity {
+class ItemEntity extends AssignedIdEntity<UUID> {
     
     @Id
     @Column(columnDefinition = "UUID")
@@ -65,7 +66,8 @@ class ItemEntity {
     }
     
     // Getters and setters
-    UUID getId() {
+    @Override
+    public UUID getId() {
         return id;
     }
     
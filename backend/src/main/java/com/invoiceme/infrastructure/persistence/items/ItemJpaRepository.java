@@ -1,12 +1,14 @@
 package com.invoiceme.infrastructure.persistence.items;
 
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -15,7 +17,11 @@ import java.util.UUID;
 @Repository
 interface ItemJpaRepository extends JpaRepository<ItemEntity, UUID> {
     
-    Page<ItemEntity> findByUserIdOrderByCreatedAtDesc(UUID userId, Pageable pageable);
+    // List rather than Page: callers count separately, so no count query per page
+    List<ItemEntity> findByUserIdOrderByCreatedAtDescIdAsc(UUID userId, Pageable pageable);
+    
+    @Query("SELECT i.updatedAt FROM ItemEntity i WHERE i.id = :itemId AND i.userId = :userId")
+    Optional<LocalDateTime> findUpdatedAtByIdAndUserId(@Param("itemId") UUID itemId, @Param("userId") UUID userId);
     
     @Query("SELECT COUNT(i) FROM ItemEntity i WHERE i.userId = :userId")
     long countByUserId(@Param("userId") UUID userId);
@@ -2,11 +2,14 @@ package com.invoiceme.infrastructure.persistence.items;
 
 import com.invoiceme.domain.items.Item;
 import com.invoiceme.domain.items.ItemRepository;
-import org.springframework.data.domain.Page;
+import com.invoiceme.infrastructure.persistence.ReadOnlyEntities;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -19,6 +22,9 @@ import java.util.stream.Collectors;
 @Repository
 public class ItemRepositoryImpl implements ItemRepository {
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     private final ItemJpaRepository jpaRepository;
     
     public ItemRepositoryImpl(ItemJpaRepository jpaRepository) {
@@ -28,6 +34,7 @@ public class ItemRepositoryImpl implements ItemRepository {
     @Override
     public Item save(Item item) {
         ItemEntity entity = ItemEntity.fromDomain(item);
+        entity.detectNew(entityManager);
         ItemEntity saved = jpaRepository.save(entity);
         return saved.toDomain();
     }
@@ -38,13 +45,20 @@ public class ItemRepositoryImpl implements ItemRepository {
                 .map(ItemEntity::toDomain);
     }
     
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtByIdAndUserId(UUID id, UUID userId) {
+        return jpaRepository.findUpdatedAtByIdAndUserId(id, userId);
+    }
+    
     @Override
     public List<Item> findByUserId(UUID userId, int page, int size) {
         Pageable pageable = PageRequest.of(page, size);
-        Page<ItemEntity> itemPage = jpaRepository.findByUserIdOrderByCreatedAtDesc(userId, pageable);
-        return itemPage.getContent().stream()
+        List<ItemEntity> items = jpaRepository.findByUserIdOrderByCreatedAtDescIdAsc(userId, pageable);
+        List<Item> result = items.stream()
                 .map(ItemEntity::toDomain)
                 .collect(Collectors.toList());
+        ReadOnlyEntities.detachIfReadOnly(entityManager, items);
+        return result;
     }
     
     @Override
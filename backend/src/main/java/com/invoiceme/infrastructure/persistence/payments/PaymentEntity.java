@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.persistence.payments;
 
 import com.invoiceme.domain.payments.Payment;
+import com.invoiceme.infrastructure.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -15,7 +16,7 @@ import java.util.UUID;
 @Table(name = "payments", indexes = {
     @Index(name = "idx_payments_invoice_id", columnList = "invoice_id")
 })
-public class PaymentEntity {
+public class PaymentEntity extends AssignedIdEntity<UUID> {
     
     @Id
     private UUID id;
@@ -64,7 +65,8 @@ public class PaymentEntity {
     }
     
     // Getters and setters
-    UUID getId() {
+    @Override
+    public UUID getId() {
         return id;
     }
     
@@ -3,6 +3,7 @@ package com.invoiceme.infrastructure.persistence.payments;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
@@ -13,5 +14,7 @@ import java.util.UUID;
 public interface PaymentJpaRepository extends JpaRepository<PaymentEntity, UUID> {
     
     List<PaymentEntity> findByInvoiceId(UUID invoiceId);
+    
+    List<PaymentEntity> findByInvoiceIdIn(Collection<UUID> invoiceIds);
 }
 
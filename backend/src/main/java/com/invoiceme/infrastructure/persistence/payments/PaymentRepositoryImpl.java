@@ -2,6 +2,8 @@ package com.invoiceme.infrastructure.persistence.payments;
 
 import com.invoiceme.domain.payments.Payment;
 import com.invoiceme.domain.payments.PaymentRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,6 +18,9 @@ import java.util.stream.Collectors;
 @Repository
 public class PaymentRepositoryImpl implements PaymentRepository {
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     private final PaymentJpaRepository jpaRepository;
     
     public PaymentRepositoryImpl(PaymentJpaRepository jpaRepository) {
@@ -25,6 +30,7 @@ public class PaymentRepositoryImpl implements PaymentRepository {
     @Override
     public Payment save(Payment payment) {
         PaymentEntity entity = PaymentEntity.fromDomain(payment);
+        entity.detectNew(entityManager);
         PaymentEntity saved = jpaRepository.save(entity);
         return saved.toDomain();
     }
@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.persistence.payments;
 
 import com.invoiceme.domain.payments.PaymentSchedule;
+import com.invoiceme.infrastructure.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDate;
@@ -16,7 +17,7 @@ import java.util.UUID;
     @Index(name = "idx_payment_schedules_invoice_id", columnList = "invoice_id"),
     @Index(name = "idx_payment_schedules_due_date", columnList = "due_date")
 })
-class PaymentScheduleEntity {
+class PaymentScheduleEntity extends AssignedIdEntity<UUID> {
     
     @Id
     @Column(columnDefinition = "UUID")
@@ -72,7 +73,8 @@ class PaymentScheduleEntity {
     }
     
     // Getters and setters
-    UUID getId() {
+    @Override
+    public UUID getId() {
         return id;
     }
     
@@ -2,6 +2,8 @@ package com.invoiceme.infrastructure.persistence.payments;
 
 import com.invoiceme.domain.payments.PaymentSchedule;
 import com.invoiceme.domain.payments.PaymentScheduleRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
@@ -17,6 +19,9 @@ import java.util.stream.Collectors;
 @Repository
 public class PaymentScheduleRepositoryImpl implements PaymentScheduleRepository {
     
+    @PersistenceContext
+    private EntityManager entityManager;
+    
     private final PaymentScheduleJpaRepository jpaRepository;
     
     public PaymentScheduleRepositoryImpl(PaymentScheduleJpaRepository jpaRepository) {
@@ -26,6 +31,7 @@ public class PaymentScheduleRepositoryImpl implements PaymentScheduleRepository
     @Override
     public PaymentSchedule save(PaymentSchedule schedule) {
         PaymentScheduleEntity entity = PaymentScheduleEntity.fromDomain(schedule);
+        entity.detectNew(entityManager);
         PaymentScheduleEntity saved = jpaRepository.save(entity);
         return saved.toDomain();
     }
@@ -35,6 +41,7 @@ public class PaymentScheduleRepositoryImpl implements PaymentScheduleRepository
         List<PaymentScheduleEntity> entities = schedules.stream()
                 .map(PaymentScheduleEntity::fromDomain)
                 .collect(Collectors.toList());
+        entities.forEach(entity -> entity.detectNew(entityManager));
         jpaRepository.saveAll(entities);
     }
     
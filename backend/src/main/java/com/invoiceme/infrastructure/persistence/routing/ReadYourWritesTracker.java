@@ -0,0 +1,58 @@
+package com.invoiceme.infrastructure.persistence.routing;
+
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers when each client last committed a write, so its reads can stay
+ * on the primary until replicas have had time to catch up.
+ * Shared with the coalescing aspect, which must not hand a pinned client a replica read.
+ */
+public class ReadYourWritesTracker {
+    
+    private static final int PRUNE_THRESHOLD = 10_000;
+    
+    private final long windowNanos;
+    private final Map<String, Long> lastWrite = new ConcurrentHashMap<>();
+    
+    public ReadYourWritesTracker(Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+    
+    public boolean isEnabled() {
+        return windowNanos > 0;
+    }
+    
+    public void recordWrite(String client) {
+        long now = System.nanoTime();
+        lastWrite.put(client, now);
+        if (lastWrite.size() > PRUNE_THRESHOLD) {
+            lastWrite.values().removeIf(written -> now - written > windowNanos);
+        }
+    }
+    
+    public boolean isPinned(String client) {
+        Long written = lastWrite.get(client);
+        return written != null && System.nanoTime() - written <= windowNanos;
+    }
+    
+    /**
+     * Whether reads made now by the authenticated client of this thread go to the primary.
+     */
+    public boolean isCurrentClientPinned() {
+        if (!isEnabled()) {
+            return false;
+        }
+        String client = currentClient();
+        return client != null && isPinned(client);
+    }
+    
+    static String currentClient() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.isAuthenticated() ? authentication.getName() : null;
+    }
+}
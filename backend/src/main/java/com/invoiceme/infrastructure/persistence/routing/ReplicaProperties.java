@@ -0,0 +1,30 @@
+package com.invoiceme.infrastructure.persistence.routing;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Read replica settings under {@code invoiceme.datasource.replicas}.
+ * The primary keeps using the standard {@code spring.datasource.*} properties.
+ */
+@ConfigurationProperties("invoiceme.datasource.replicas")
+public record ReplicaProperties(
+    boolean enabled,
+    @DefaultValue List<Node> nodes,
+    // How long a client's reads stay on the primary after its own write; zero disables pinning
+    @DefaultValue("0s") Duration readYourWritesWindow,
+    // How long a replica that failed to hand out a connection is skipped
+    @DefaultValue("10s") Duration retryAfter
+) {
+    
+    public record Node(
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
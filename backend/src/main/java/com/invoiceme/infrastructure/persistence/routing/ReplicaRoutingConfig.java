@@ -0,0 +1,89 @@
+package com.invoiceme.infrastructure.persistence.routing;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Replaces the auto-configured DataSource with primary/replica routing when
+ * {@code invoiceme.datasource.replicas.enabled=true}.
+ * The pools are not beans themselves so the JDBC metrics proxy wraps only the routed DataSource.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "invoiceme.datasource.replicas", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties({DataSourceProperties.class, ReplicaProperties.class})
+public class ReplicaRoutingConfig {
+    
+    @Bean
+    public ReadYourWritesTracker readYourWritesTracker(ReplicaProperties replicaProperties) {
+        return new ReadYourWritesTracker(replicaProperties.readYourWritesWindow());
+    }
+    
+    @Bean
+    @Primary
+    public DataSource dataSource(DataSourceProperties dataSourceProperties,
+                                 ReplicaProperties replicaProperties,
+                                 ReadYourWritesTracker readYourWritesTracker,
+                                 Environment environment) {
+        HikariDataSource primary = dataSourceProperties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(primary));
+        if (primary.getPoolName() == null) {
+            primary.setPoolName("primary");
+        }
+        
+        List<ReplicaProperties.Node> nodes = replicaProperties.nodes();
+        List<DataSource> replicas = IntStream.range(0, nodes.size())
+                .mapToObj(i -> replicaPool("replica-" + i, nodes.get(i)))
+                .toList();
+        return new ClosingLazyConnectionDataSourceProxy(new ReplicaRoutingDataSource(
+            primary, replicas, replicaProperties.retryAfter(), readYourWritesTracker));
+    }
+    
+    private static DataSource replicaPool(String name, ReplicaProperties.Node node) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName(name);
+        dataSource.setJdbcUrl(node.url());
+        dataSource.setUsername(node.username());
+        dataSource.setPassword(node.password());
+        dataSource.setMaximumPoolSize(node.maximumPoolSize());
+        dataSource.setReadOnly(true);
+        // Fail fast so an unreachable replica falls back to the primary instead of stalling reads
+        dataSource.setConnectionTimeout(2_000);
+        dataSource.setInitializationFailTimeout(-1);
+        return dataSource;
+    }
+    
+    /**
+     * Closes the pools behind the routing DataSource on shutdown.
+     */
+    private static final class ClosingLazyConnectionDataSourceProxy extends LazyConnectionDataSourceProxy
+            implements Closeable {
+        
+        private final ReplicaRoutingDataSource routing;
+        
+        private ClosingLazyConnectionDataSourceProxy(ReplicaRoutingDataSource routing) {
+            super(routing);
+            this.routing = routing;
+        }
+        
+        @Override
+        public void close() {
+            routing.close();
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.invoiceme.infrastructure.persistence.routing;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Sends read-only transactions to a replica and everything else to the primary.
+ * <p>
+ * Must sit behind a {@link org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy}:
+ * the JPA transaction manager asks for a connection before it marks the
+ * transaction read-only, and the lazy proxy defers that until the first statement.
+ * <p>
+ * A replica that fails to hand out a connection is skipped for {@code retryAfter}
+ * and the read goes to the primary instead.
+ */
+public class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+    
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+    
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final long retryAfterNanos;
+    private final ReadYourWritesTracker readYourWrites;
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    Duration retryAfter, Duration readYourWritesWindow) {
+        this(primary, replicas, retryAfter, new ReadYourWritesTracker(readYourWritesWindow));
+    }
+    
+    public ReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas,
+                                    Duration retryAfter, ReadYourWritesTracker readYourWrites) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.retryAfterNanos = retryAfter.toNanos();
+        this.readYourWrites = readYourWrites;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (routeToReplica()) {
+            Connection connection = replicaConnection();
+            if (connection != null) {
+                return connection;
+            }
+        }
+        return primaryConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        // Same as HikariDataSource: the pools are opened with their configured credentials
+        throw new SQLFeatureNotSupportedException("Routing data source uses the pool credentials");
+    }
+    
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        // Pool metrics look for the primary pool
+        if (iface.isInstance(this)) {
+            return (T) this;
+        }
+        return primary.unwrap(iface);
+    }
+    
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(this) || primary.isWrapperFor(iface);
+    }
+    
+    @Override
+    public void close() {
+        closeQuietly(primary);
+        replicas.forEach(replica -> closeQuietly(replica.dataSource));
+    }
+    
+    private boolean routeToReplica() {
+        if (replicas.isEmpty() || !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return false;
+        }
+        return !readYourWrites.isCurrentClientPinned();
+    }
+    
+    private Connection replicaConnection() {
+        int start = Math.floorMod(nextReplica.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.isAvailable()) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException ex) {
+                log.warn("Replica unavailable, falling back for {}s: {}", retryAfterNanos / 1_000_000_000, ex.getMessage());
+                replica.markDown(retryAfterNanos);
+            }
+        }
+        return null;
+    }
+    
+    private Connection primaryConnection() throws SQLException {
+        Connection connection = primary.getConnection();
+        if (readYourWrites.isEnabled()
+                && TransactionSynchronizationManager.isSynchronizationActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            String client = ReadYourWritesTracker.currentClient();
+            if (client != null) {
+                TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        readYourWrites.recordWrite(client);
+                    }
+                });
+            }
+        }
+        return connection;
+    }
+    
+    private static void closeQuietly(DataSource dataSource) {
+        if (dataSource instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception ex) {
+                log.debug("Failed to close pool", ex);
+            }
+        }
+    }
+    
+    private static final class Replica {
+        
+        private final DataSource dataSource;
+        private volatile long downUntil;
+        
+        private Replica(DataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+        
+        boolean isAvailable() {
+            return downUntil == 0 || System.nanoTime() - downUntil >= 0;
+        }
+        
+        void markDown(long forNanos) {
+            downUntil = System.nanoTime() + forNanos;
+        }
+    }
+}
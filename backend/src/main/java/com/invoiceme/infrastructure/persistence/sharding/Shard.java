@@ -0,0 +1,18 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+
+/**
+ * One shard database. {@code transactions} is only used when no handler transaction is active.
+ */
+record Shard(int index, DataSource dataSource, NamedParameterJdbcTemplate jdbc, TransactionTemplate transactions) {
+    
+    Shard(int index, DataSource dataSource) {
+        this(index, dataSource, new NamedParameterJdbcTemplate(dataSource),
+            new TransactionTemplate(new DataSourceTransactionManager(dataSource)));
+    }
+}
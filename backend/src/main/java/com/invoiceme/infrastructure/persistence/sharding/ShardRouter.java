@@ -0,0 +1,182 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.function.Function;
+
+/**
+ * Picks the shard for a customer or invoice and runs work against one or all shards.
+ * <p>
+ * Inside a handler transaction each shard gets one connection that commits just before
+ * the main transaction does and rolls back with it. This is best effort, not two-phase
+ * commit: a failure of the main commit after a shard committed is not undone.
+ */
+public class ShardRouter implements AutoCloseable {
+    
+    private final List<Shard> shards;
+    private final ExecutorService scatterExecutor;
+    private final Map<UUID, Integer> invoiceDirectory;
+    
+    ShardRouter(List<Shard> shards, ExecutorService scatterExecutor, int directorySize) {
+        this.shards = List.copyOf(shards);
+        this.scatterExecutor = scatterExecutor;
+        this.invoiceDirectory = Collections.synchronizedMap(new LinkedHashMap<>(1024, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Integer> eldest) {
+                return size() > directorySize;
+            }
+        });
+    }
+    
+    int shardCount() {
+        return shards.size();
+    }
+    
+    Shard forCustomer(UUID customerId) {
+        return shards.get(Math.floorMod(customerId.hashCode(), shards.size()));
+    }
+    
+    /**
+     * The shard holding the invoice, asking every shard on a directory miss.
+     */
+    Optional<Shard> forInvoice(UUID invoiceId) {
+        Integer known = invoiceDirectory.get(invoiceId);
+        if (known != null) {
+            return Optional.of(shards.get(known));
+        }
+        List<Boolean> found = scatter(shard -> shard.jdbc().queryForObject(
+            "SELECT COUNT(*) FROM invoices WHERE id = :id", Map.of("id", invoiceId), Long.class) > 0);
+        for (int i = 0; i < found.size(); i++) {
+            if (found.get(i)) {
+                invoiceDirectory.put(invoiceId, i);
+                return Optional.of(shards.get(i));
+            }
+        }
+        return Optional.empty();
+    }
+    
+    void remember(UUID invoiceId, Shard shard) {
+        invoiceDirectory.put(invoiceId, shard.index());
+    }
+    
+    void forget(UUID invoiceId) {
+        invoiceDirectory.remove(invoiceId);
+    }
+    
+    /**
+     * Runs work on one shard, joining the current transaction if there is one.
+     */
+    <T> T execute(Shard shard, ShardWork<T> work) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return shard.transactions().execute(status -> work.run());
+        }
+        if (!TransactionSynchronizationManager.hasResource(shard.dataSource())) {
+            bindTransactionalConnection(shard);
+        }
+        return work.run();
+    }
+    
+    /**
+     * Runs work on every shard in parallel and returns the results in shard order.
+     * Shards already enlisted in the caller's transaction run on the caller's thread
+     * so they see its uncommitted writes; the others run in their own short transaction.
+     */
+    <T> List<T> scatter(Function<Shard, T> work) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            if (TransactionSynchronizationManager.hasResource(shard.dataSource())) {
+                futures.add(CompletableFuture.completedFuture(work.apply(shard)));
+            } else {
+                futures.add(CompletableFuture.supplyAsync(
+                    () -> shard.transactions().execute(status -> work.apply(shard)), scatterExecutor));
+            }
+        }
+        
+        List<T> results = new ArrayList<>(shards.size());
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+        return results;
+    }
+    
+    @Override
+    public void close() {
+        scatterExecutor.shutdown();
+        for (Shard shard : shards) {
+            if (shard.dataSource() instanceof AutoCloseable pool) {
+                try {
+                    pool.close();
+                } catch (Exception ignored) {
+                    // Shutting down anyway
+                }
+            }
+        }
+    }
+    
+    private static void bindTransactionalConnection(Shard shard) {
+        Connection connection;
+        try {
+            connection = shard.dataSource().getConnection();
+            connection.setAutoCommit(false);
+        } catch (SQLException ex) {
+            throw new TransactionSystemException("Could not begin shard " + shard.index() + " transaction", ex);
+        }
+        ConnectionHolder holder = new ConnectionHolder(connection);
+        holder.setSynchronizedWithTransaction(true);
+        TransactionSynchronizationManager.bindResource(shard.dataSource(), holder);
+        TransactionSynchronizationManager.registerSynchronization(new ShardTransactionSynchronization(shard, connection));
+    }
+    
+    @FunctionalInterface
+    interface ShardWork<T> {
+        T run();
+    }
+    
+    private record ShardTransactionSynchronization(Shard shard, Connection connection)
+            implements TransactionSynchronization {
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            try {
+                connection.commit();
+            } catch (SQLException ex) {
+                throw new TransactionSystemException("Could not commit shard " + shard.index(), ex);
+            }
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(shard.dataSource());
+            try (connection) {
+                if (status != STATUS_COMMITTED) {
+                    connection.rollback();
+                }
+                connection.setAutoCommit(true);
+            } catch (SQLException ignored) {
+                // The pool discards connections it cannot reset
+            }
+        }
+    }
+}
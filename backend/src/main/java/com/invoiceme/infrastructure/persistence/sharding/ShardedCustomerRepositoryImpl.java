@@ -0,0 +1,82 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import com.invoiceme.domain.customers.Customer;
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.infrastructure.persistence.customers.CustomerRepositoryImpl;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Customers stay on the main database; only {@link #hasInvoices} has to ask the customer's shard.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = ShardingConfig.ENABLED_PROPERTY, havingValue = "true")
+public class ShardedCustomerRepositoryImpl implements CustomerRepository {
+    
+    private final CustomerRepositoryImpl delegate;
+    private final InvoiceRepository invoiceRepository;
+    
+    public ShardedCustomerRepositoryImpl(CustomerRepositoryImpl delegate, ShardedInvoiceRepositoryImpl invoiceRepository) {
+        this.delegate = delegate;
+        this.invoiceRepository = invoiceRepository;
+    }
+    
+    @Override
+    public Customer save(Customer customer) {
+        return delegate.save(customer);
+    }
+    
+    @Override
+    public Optional<Customer> findById(UUID id) {
+        return delegate.findById(id);
+    }
+    
+    @Override
+    public Optional<LocalDateTime> findUpdatedAtById(UUID id) {
+        return delegate.findUpdatedAtById(id);
+    }
+    
+    @Override
+    public List<Customer> findAllByIds(Collection<UUID> ids) {
+        return delegate.findAllByIds(ids);
+    }
+    
+    @Override
+    public Optional<Customer> findByEmail(String email) {
+        return delegate.findByEmail(email);
+    }
+    
+    @Override
+    public List<Customer> findAll(int page, int size, String sortBy) {
+        return delegate.findAll(page, size, sortBy);
+    }
+    
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+    
+    @Override
+    public boolean existsById(UUID id) {
+        return delegate.existsById(id);
+    }
+    
+    @Override
+    public void deleteById(UUID id) {
+        delegate.deleteById(id);
+    }
+    
+    @Override
+    public boolean hasInvoices(UUID customerId) {
+        return invoiceRepository.countByCustomerId(customerId) > 0;
+    }
+}
@@ -0,0 +1,340 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.domain.invoices.InvoiceStatus;
+import com.invoiceme.domain.invoices.InvoiceVersion;
+import com.invoiceme.domain.invoices.LineItem;
+import com.invoiceme.domain.payments.Payment;
+import com.invoiceme.domain.payments.PaymentPlan;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * InvoiceRepository over customer-keyed shards.
+ * Customer-scoped calls hit one shard; admin-wide lists scatter to every shard and
+ * merge-sort by creation time, counts are summed. Invoice numbers come from the main
+ * database, so each one is on at most one shard.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = ShardingConfig.ENABLED_PROPERTY, havingValue = "true")
+public class ShardedInvoiceRepositoryImpl implements InvoiceRepository {
+    
+    private static final String INVOICE_COLUMNS = "id, invoice_number, customer_id, status, issue_date, due_date, payment_plan, "
+            + "discount_code, discount_amount, created_at, updated_at";
+    
+    private static final Comparator<InvoiceRow> NEWEST_FIRST =
+            Comparator.comparing(InvoiceRow::createdAt).reversed().thenComparing(InvoiceRow::id);
+    
+    private final ShardRouter router;
+    
+    public ShardedInvoiceRepositoryImpl(ShardRouter router) {
+        this.router = router;
+    }
+    
+    @Override
+    public Invoice save(Invoice invoice) {
+        Shard shard = router.forCustomer(invoice.getCustomerId());
+        Invoice saved = router.execute(shard, () -> {
+            SqlParameterSource params = invoiceParams(invoice);
+            int updated = shard.jdbc().update("UPDATE invoices SET status = :status, issue_date = :issueDate, "
+                    + "due_date = :dueDate, payment_plan = :paymentPlan, discount_code = :discountCode, "
+                    + "discount_amount = :discountAmount, updated_at = :updatedAt WHERE id = :id", params);
+            if (updated == 0) {
+                shard.jdbc().update("INSERT INTO invoices (" + INVOICE_COLUMNS + ") VALUES (:id, :invoiceNumber, :customerId, "
+                        + ":status, :issueDate, :dueDate, :paymentPlan, :discountCode, :discountAmount, "
+                        + ":createdAt, :updatedAt)", params);
+            }
+            replaceLineItems(shard, invoice);
+            return hydrate(shard, List.of(row(shard, invoice))).get(0);
+        });
+        router.remember(invoice.getId(), shard);
+        return saved;
+    }
+    
+    @Override
+    public Optional<Invoice> findById(UUID id) {
+        return router.forInvoice(id).flatMap(shard -> router.execute(shard, () -> {
+            List<InvoiceRow> rows = shard.jdbc().query(
+                "SELECT " + INVOICE_COLUMNS + " FROM invoices WHERE id = :id", Map.of("id", id), rowMapper(shard));
+            return hydrate(shard, rows).stream().findFirst();
+        }));
+    }
+    
+    /**
+     * The number says nothing about the customer, so every shard is asked; each one uses its
+     * invoice number index.
+     */
+    @Override
+    public Optional<Invoice> findByInvoiceNumber(String invoiceNumber) {
+        Map<String, String> params = Map.of("invoiceNumber", invoiceNumber);
+        Optional<Invoice> found = router.scatter(shard -> hydrate(shard, shard.jdbc().query(
+                "SELECT " + INVOICE_COLUMNS + " FROM invoices WHERE invoice_number = :invoiceNumber",
+                params, rowMapper(shard))))
+                .stream()
+                .flatMap(List::stream)
+                .findFirst();
+        found.ifPresent(invoice -> router.remember(invoice.getId(), router.forCustomer(invoice.getCustomerId())));
+        return found;
+    }
+    
+    @Override
+    public Optional<InvoiceVersion> findVersionById(UUID id) {
+        return router.forInvoice(id).flatMap(shard -> router.execute(shard, () -> shard.jdbc().query(
+            "SELECT customer_id, updated_at FROM invoices WHERE id = :id", Map.of("id", id),
+            (rs, rowNum) -> new InvoiceVersion(
+                rs.getObject("customer_id", UUID.class),
+                rs.getObject("updated_at", LocalDateTime.class)))
+            .stream().findFirst()));
+    }
+    
+    /**
+     * One IN query per shard, all shards in parallel, since the ids may live anywhere.
+     */
+    @Override
+    public List<Invoice> findAllByIds(Collection<UUID> ids) {
+        if (ids.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, Collection<UUID>> params = Map.of("ids", ids);
+        List<Invoice> found = new ArrayList<>();
+        router.scatter(shard -> hydrate(shard, shard.jdbc().query(
+                "SELECT " + INVOICE_COLUMNS + " FROM invoices WHERE id IN (:ids)", params, rowMapper(shard))))
+                .forEach(found::addAll);
+        for (Invoice invoice : found) {
+            router.remember(invoice.getId(), router.forCustomer(invoice.getCustomerId()));
+        }
+        return found;
+    }
+    
+    @Override
+    public List<Invoice> findByStatus(InvoiceStatus status, int page, int size) {
+        return scatterPage("WHERE status = :status", Map.of("status", status.name()), page, size);
+    }
+    
+    @Override
+    public long countByStatus(InvoiceStatus status) {
+        return sum("SELECT COUNT(*) FROM invoices WHERE status = :status", Map.of("status", status.name()));
+    }
+    
+    @Override
+    public List<Invoice> findByCustomerId(UUID customerId, int page, int size) {
+        Shard shard = router.forCustomer(customerId);
+        return router.execute(shard, () -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("customerId", customerId)
+                    .addValue("limit", size)
+                    .addValue("offset", page * size);
+            List<InvoiceRow> rows = shard.jdbc().query("SELECT " + INVOICE_COLUMNS + " FROM invoices "
+                    + "WHERE customer_id = :customerId ORDER BY created_at DESC, id "
+                    + "LIMIT :limit OFFSET :offset", params, rowMapper(shard));
+            return hydrate(shard, rows);
+        });
+    }
+    
+    @Override
+    public long countByCustomerId(UUID customerId) {
+        Shard shard = router.forCustomer(customerId);
+        return router.execute(shard, () -> shard.jdbc().queryForObject(
+            "SELECT COUNT(*) FROM invoices WHERE customer_id = :customerId",
+            Map.of("customerId", customerId), Long.class));
+    }
+    
+    @Override
+    public List<Invoice> findAll(int page, int size) {
+        return scatterPage("", Map.of(), page, size);
+    }
+    
+    @Override
+    public long count() {
+        return sum("SELECT COUNT(*) FROM invoices", Map.of());
+    }
+    
+    @Override
+    public boolean existsById(UUID id) {
+        return router.forInvoice(id).isPresent();
+    }
+    
+    @Override
+    public void deleteById(UUID id) {
+        router.forInvoice(id).ifPresent(shard -> {
+            router.execute(shard, () -> {
+                Map<String, UUID> params = Map.of("id", id);
+                shard.jdbc().update("DELETE FROM invoice_line_items WHERE invoice_id = :id", params);
+                return shard.jdbc().update("DELETE FROM invoices WHERE id = :id", params);
+            });
+            router.forget(id);
+        });
+    }
+    
+    /**
+     * Every shard returns its first (page + 1) * size rows; the merged, sorted list is then
+     * cut to the requested page and only those invoices get their children loaded.
+     */
+    private List<Invoice> scatterPage(String where, Map<String, ?> filter, int page, int size) {
+        int limit = (page + 1) * size;
+        MapSqlParameterSource params = new MapSqlParameterSource(filter).addValue("limit", limit);
+        List<InvoiceRow> merged = router.scatter(shard -> shard.jdbc().query(
+                "SELECT " + INVOICE_COLUMNS + " FROM invoices " + where
+                        + " ORDER BY created_at DESC, id LIMIT :limit", params, rowMapper(shard)))
+                .stream()
+                .flatMap(List::stream)
+                .sorted(NEWEST_FIRST)
+                .skip((long) page * size)
+                .limit(size)
+                .toList();
+        if (merged.isEmpty()) {
+            return Collections.emptyList();
+        }
+        
+        Map<Integer, List<InvoiceRow>> byShard = merged.stream()
+                .collect(Collectors.groupingBy(row -> row.shard().index()));
+        Map<UUID, Invoice> hydrated = new LinkedHashMap<>();
+        router.scatter(shard -> hydrate(shard, byShard.getOrDefault(shard.index(), List.of())))
+                .forEach(invoices -> invoices.forEach(invoice -> hydrated.put(invoice.getId(), invoice)));
+        return merged.stream().map(row -> hydrated.get(row.id())).toList();
+    }
+    
+    private long sum(String sql, Map<String, ?> params) {
+        return router.scatter(shard -> shard.jdbc().queryForObject(sql, params, Long.class))
+                .stream()
+                .mapToLong(Long::longValue)
+                .sum();
+    }
+    
+    // Line items and payments for a batch of invoices in two queries, as InvoiceRepositoryImpl does
+    private List<Invoice> hydrate(Shard shard, List<InvoiceRow> rows) {
+        if (rows.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<String, List<UUID>> ids = Map.of("ids", rows.stream().map(InvoiceRow::id).toList());
+        
+        Map<UUID, List<LineItem>> lineItems = new LinkedHashMap<>();
+        shard.jdbc().query("SELECT invoice_id, id, description, quantity, unit_price FROM invoice_line_items "
+                + "WHERE invoice_id IN (:ids) ORDER BY invoice_id, line_order", ids, rs -> {
+                    lineItems.computeIfAbsent(rs.getObject("invoice_id", UUID.class), k -> new ArrayList<>())
+                            .add(LineItem.of(
+                                rs.getObject("id", UUID.class),
+                                rs.getString("description"),
+                                rs.getBigDecimal("quantity"),
+                                rs.getBigDecimal("unit_price")));
+                });
+        Map<UUID, List<Payment>> payments = shard.jdbc()
+                .query("SELECT " + ShardedPaymentRepositoryImpl.PAYMENT_COLUMNS + " FROM payments "
+                        + "WHERE invoice_id IN (:ids)", ids, ShardedPaymentRepositoryImpl.PAYMENT_MAPPER)
+                .stream()
+                .collect(Collectors.groupingBy(Payment::getInvoiceId));
+        
+        return rows.stream()
+                .map(row -> Invoice.reconstruct(
+                    row.id(),
+                    row.invoiceNumber(),
+                    row.customerId(),
+                    row.status(),
+                    row.issueDate(),
+                    row.dueDate(),
+                    row.paymentPlan(),
+                    row.discountCode(),
+                    row.discountAmount(),
+                    lineItems.getOrDefault(row.id(), Collections.emptyList()),
+                    payments.getOrDefault(row.id(), Collections.emptyList()),
+                    row.createdAt(),
+                    row.updatedAt()))
+                .collect(Collectors.toList());
+    }
+    
+    private static void replaceLineItems(Shard shard, Invoice invoice) {
+        shard.jdbc().update("DELETE FROM invoice_line_items WHERE invoice_id = :id", Map.of("id", invoice.getId()));
+        List<LineItem> lineItems = invoice.getLineItems();
+        if (lineItems.isEmpty()) {
+            return;
+        }
+        SqlParameterSource[] batch = new SqlParameterSource[lineItems.size()];
+        for (int i = 0; i < lineItems.size(); i++) {
+            LineItem lineItem = lineItems.get(i);
+            batch[i] = new MapSqlParameterSource("id", lineItem.getId())
+                    .addValue("invoiceId", invoice.getId())
+                    .addValue("description", lineItem.getDescription())
+                    .addValue("quantity", lineItem.getQuantity())
+                    .addValue("unitPrice", lineItem.getUnitPrice())
+                    .addValue("total", lineItem.getTotal())
+                    .addValue("lineOrder", i);
+        }
+        shard.jdbc().batchUpdate("INSERT INTO invoice_line_items (id, invoice_id, description, quantity, "
+                + "unit_price, total, line_order) VALUES (:id, :invoiceId, :description, :quantity, :unitPrice, "
+                + ":total, :lineOrder)", batch);
+    }
+    
+    private static SqlParameterSource invoiceParams(Invoice invoice) {
+        return new MapSqlParameterSource("id", invoice.getId())
+                .addValue("invoiceNumber", invoice.getInvoiceNumber())
+                .addValue("customerId", invoice.getCustomerId())
+                .addValue("status", invoice.getStatus().name())
+                .addValue("issueDate", invoice.getIssueDate())
+                .addValue("dueDate", invoice.getDueDate())
+                .addValue("paymentPlan", invoice.getPaymentPlan().name())
+                .addValue("discountCode", invoice.getDiscountCode())
+                .addValue("discountAmount", invoice.getDiscountAmount())
+                .addValue("createdAt", invoice.getCreatedAt())
+                .addValue("updatedAt", invoice.getUpdatedAt());
+    }
+    
+    private static InvoiceRow row(Shard shard, Invoice invoice) {
+        return new InvoiceRow(shard, invoice.getId(), invoice.getInvoiceNumber(), invoice.getCustomerId(), invoice.getStatus(),
+            invoice.getIssueDate(), invoice.getDueDate(), invoice.getPaymentPlan(), invoice.getDiscountCode(),
+            invoice.getDiscountAmount(), invoice.getCreatedAt(), invoice.getUpdatedAt());
+    }
+    
+    private static RowMapper<InvoiceRow> rowMapper(Shard shard) {
+        return (rs, rowNum) -> new InvoiceRow(
+            shard,
+            rs.getObject("id", UUID.class),
+            rs.getString("invoice_number"),
+            rs.getObject("customer_id", UUID.class),
+            InvoiceStatus.valueOf(rs.getString("status")),
+            rs.getObject("issue_date", LocalDate.class),
+            rs.getObject("due_date", LocalDate.class),
+            PaymentPlan.valueOf(rs.getString("payment_plan")),
+            rs.getString("discount_code"),
+            rs.getBigDecimal("discount_amount"),
+            rs.getObject("created_at", LocalDateTime.class),
+            rs.getObject("updated_at", LocalDateTime.class));
+    }
+    
+    /**
+     * An invoice row before its line items and payments are attached.
+     */
+    private record InvoiceRow(
+        Shard shard,
+        UUID id,
+        String invoiceNumber,
+        UUID customerId,
+        InvoiceStatus status,
+        LocalDate issueDate,
+        LocalDate dueDate,
+        PaymentPlan paymentPlan,
+        String discountCode,
+        BigDecimal discountAmount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+    ) {
+    }
+}
@@ -0,0 +1,83 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import com.invoiceme.domain.payments.Payment;
+import com.invoiceme.domain.payments.PaymentRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * PaymentRepository over customer-keyed shards. Payments live on their invoice's shard.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = ShardingConfig.ENABLED_PROPERTY, havingValue = "true")
+public class ShardedPaymentRepositoryImpl implements PaymentRepository {
+    
+    static final String PAYMENT_COLUMNS = "id, invoice_id, amount, payment_date, payment_method, created_at";
+    
+    static final RowMapper<Payment> PAYMENT_MAPPER = (rs, rowNum) -> Payment.reconstruct(
+        rs.getObject("id", UUID.class),
+        rs.getObject("invoice_id", UUID.class),
+        rs.getBigDecimal("amount"),
+        rs.getObject("payment_date", LocalDate.class),
+        rs.getString("payment_method"),
+        rs.getObject("created_at", LocalDateTime.class));
+    
+    private final ShardRouter router;
+    
+    public ShardedPaymentRepositoryImpl(ShardRouter router) {
+        this.router = router;
+    }
+    
+    @Override
+    public Payment save(Payment payment) {
+        Shard shard = router.forInvoice(payment.getInvoiceId())
+                .orElseThrow(() -> new IllegalStateException(
+                    "Invoice " + payment.getInvoiceId() + " not found on any shard"));
+        router.execute(shard, () -> {
+            MapSqlParameterSource params = new MapSqlParameterSource("id", payment.getId())
+                    .addValue("invoiceId", payment.getInvoiceId())
+                    .addValue("amount", payment.getAmount())
+                    .addValue("paymentDate", payment.getPaymentDate())
+                    .addValue("paymentMethod", payment.getPaymentMethod())
+                    .addValue("createdAt", payment.getCreatedAt());
+            int updated = shard.jdbc().update("UPDATE payments SET amount = :amount, payment_date = :paymentDate, "
+                    + "payment_method = :paymentMethod WHERE id = :id", params);
+            if (updated == 0) {
+                shard.jdbc().update("INSERT INTO payments (" + PAYMENT_COLUMNS + ") VALUES (:id, :invoiceId, "
+                        + ":amount, :paymentDate, :paymentMethod, :createdAt)", params);
+            }
+            return updated;
+        });
+        return payment;
+    }
+    
+    @Override
+    public Optional<Payment> findById(UUID id) {
+        return router.scatter(shard -> shard.jdbc().query(
+                    "SELECT " + PAYMENT_COLUMNS + " FROM payments WHERE id = :id", Map.of("id", id), PAYMENT_MAPPER))
+                .stream()
+                .flatMap(List::stream)
+                .findFirst();
+    }
+    
+    @Override
+    public List<Payment> findByInvoiceId(UUID invoiceId) {
+        return router.forInvoice(invoiceId)
+                .map(shard -> router.execute(shard, () -> shard.jdbc().query(
+                    "SELECT " + PAYMENT_COLUMNS + " FROM payments WHERE invoice_id = :invoiceId",
+                    Map.of("invoiceId", invoiceId), PAYMENT_MAPPER)))
+                .orElse(Collections.emptyList());
+    }
+}
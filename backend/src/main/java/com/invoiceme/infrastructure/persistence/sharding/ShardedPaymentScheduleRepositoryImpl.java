@@ -0,0 +1,122 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import com.invoiceme.domain.payments.PaymentSchedule;
+import com.invoiceme.domain.payments.PaymentScheduleRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * PaymentScheduleRepository over customer-keyed shards. Schedules live on their invoice's shard.
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = ShardingConfig.ENABLED_PROPERTY, havingValue = "true")
+public class ShardedPaymentScheduleRepositoryImpl implements PaymentScheduleRepository {
+    
+    private static final String SCHEDULE_COLUMNS =
+            "id, invoice_id, installment_number, amount, due_date, status, created_at";
+    
+    private static final RowMapper<PaymentSchedule> SCHEDULE_MAPPER = (rs, rowNum) -> PaymentSchedule.reconstruct(
+        rs.getObject("id", UUID.class),
+        rs.getObject("invoice_id", UUID.class),
+        rs.getInt("installment_number"),
+        rs.getBigDecimal("amount"),
+        rs.getObject("due_date", LocalDate.class),
+        PaymentSchedule.InstallmentStatus.valueOf(rs.getString("status")),
+        rs.getObject("created_at", LocalDateTime.class));
+    
+    private final ShardRouter router;
+    
+    public ShardedPaymentScheduleRepositoryImpl(ShardRouter router) {
+        this.router = router;
+    }
+    
+    @Override
+    public PaymentSchedule save(PaymentSchedule schedule) {
+        saveAll(List.of(schedule));
+        return schedule;
+    }
+    
+    @Override
+    public void saveAll(List<PaymentSchedule> schedules) {
+        Map<UUID, List<PaymentSchedule>> byInvoice = schedules.stream()
+                .collect(Collectors.groupingBy(PaymentSchedule::getInvoiceId));
+        byInvoice.forEach((invoiceId, invoiceSchedules) -> {
+            Shard shard = router.forInvoice(invoiceId)
+                    .orElseThrow(() -> new IllegalStateException("Invoice " + invoiceId + " not found on any shard"));
+            router.execute(shard, () -> {
+                for (PaymentSchedule schedule : invoiceSchedules) {
+                    upsert(shard, schedule);
+                }
+                return invoiceSchedules.size();
+            });
+        });
+    }
+    
+    @Override
+    public Optional<PaymentSchedule> findById(UUID id) {
+        return router.scatter(shard -> shard.jdbc().query(
+                    "SELECT " + SCHEDULE_COLUMNS + " FROM payment_schedules WHERE id = :id",
+                    Map.of("id", id), SCHEDULE_MAPPER))
+                .stream()
+                .flatMap(List::stream)
+                .findFirst();
+    }
+    
+    @Override
+    public List<PaymentSchedule> findByInvoiceId(UUID invoiceId) {
+        return router.forInvoice(invoiceId)
+                .map(shard -> router.execute(shard, () -> shard.jdbc().query(
+                    "SELECT " + SCHEDULE_COLUMNS + " FROM payment_schedules WHERE invoice_id = :invoiceId "
+                            + "ORDER BY installment_number", Map.of("invoiceId", invoiceId), SCHEDULE_MAPPER)))
+                .orElse(Collections.emptyList());
+    }
+    
+    @Override
+    public List<PaymentSchedule> findUpcomingInstallments(LocalDate upToDate) {
+        return router.scatter(shard -> shard.jdbc().query(
+                    "SELECT " + SCHEDULE_COLUMNS + " FROM payment_schedules "
+                            + "WHERE status IN ('PENDING', 'OVERDUE') AND due_date <= :upToDate ORDER BY due_date",
+                    Map.of("upToDate", upToDate), SCHEDULE_MAPPER))
+                .stream()
+                .flatMap(List::stream)
+                .sorted(Comparator.comparing(PaymentSchedule::getDueDate))
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public void deleteByInvoiceId(UUID invoiceId) {
+        router.forInvoice(invoiceId).ifPresent(shard -> router.execute(shard, () -> shard.jdbc().update(
+            "DELETE FROM payment_schedules WHERE invoice_id = :invoiceId", Map.of("invoiceId", invoiceId))));
+    }
+    
+    private static void upsert(Shard shard, PaymentSchedule schedule) {
+        SqlParameterSource params = new MapSqlParameterSource("id", schedule.getId())
+                .addValue("invoiceId", schedule.getInvoiceId())
+                .addValue("installmentNumber", schedule.getInstallmentNumber())
+                .addValue("amount", schedule.getAmount())
+                .addValue("dueDate", schedule.getDueDate())
+                .addValue("status", schedule.getStatus().name())
+                .addValue("createdAt", schedule.getCreatedAt());
+        int updated = shard.jdbc().update("UPDATE payment_schedules SET installment_number = :installmentNumber, "
+                + "amount = :amount, due_date = :dueDate, status = :status WHERE id = :id", params);
+        if (updated == 0) {
+            shard.jdbc().update("INSERT INTO payment_schedules (" + SCHEDULE_COLUMNS + ") VALUES (:id, :invoiceId, "
+                    + ":installmentNumber, :amount, :dueDate, :status, :createdAt)", params);
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the shard pools when {@code invoiceme.sharding.enabled=true}.
+ * The sharded repositories in this package then take over from the JPA ones.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "invoiceme.sharding", name = "enabled", havingValue = "true")
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+    
+    static final String ENABLED_PROPERTY = "invoiceme.sharding.enabled";
+    
+    @Bean(destroyMethod = "close")
+    ShardRouter shardRouter(ShardingProperties properties, Environment environment) {
+        if (properties.shards().isEmpty()) {
+            throw new IllegalStateException("invoiceme.sharding.shards must list at least one database");
+        }
+        
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 0; i < properties.shards().size(); i++) {
+            HikariDataSource dataSource = shardPool(i, properties.shards().get(i));
+            if (properties.initializeSchema()) {
+                new ResourceDatabasePopulator(new ClassPathResource("db/sharding/shard-schema.sql")).execute(dataSource);
+            }
+            shards.add(new Shard(i, dataSource));
+        }
+        ExecutorService scatterExecutor = Threading.VIRTUAL.isActive(environment)
+                ? virtualScatterExecutor()
+                : scatterExecutor(shards.size());
+        return new ShardRouter(shards, scatterExecutor, properties.directorySize());
+    }
+    
+    private static HikariDataSource shardPool(int index, ShardingProperties.Node node) {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("shard-" + index);
+        dataSource.setJdbcUrl(node.url());
+        dataSource.setUsername(node.username());
+        dataSource.setPassword(node.password());
+        dataSource.setMaximumPoolSize(node.maximumPoolSize());
+        return dataSource;
+    }
+    
+    // Scatter queries block on JDBC, so a few threads per shard keeps concurrent admin lists from queueing
+    private static ExecutorService scatterExecutor(int shardCount) {
+        AtomicInteger counter = new AtomicInteger();
+        return Executors.newFixedThreadPool(shardCount * 4, runnable -> {
+            Thread thread = new Thread(runnable, "shard-scatter-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    
+    // With virtual threads the shard pools are the only limit, so each scatter leg gets its own thread
+    private static ExecutorService virtualScatterExecutor() {
+        return Executors.newCachedThreadPool(new VirtualThreadTaskExecutor("shard-scatter-").getVirtualThreadFactory());
+    }
+}
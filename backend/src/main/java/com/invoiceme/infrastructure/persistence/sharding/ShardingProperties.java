@@ -0,0 +1,30 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+
+/**
+ * Invoice sharding settings under {@code invoiceme.sharding}.
+ * The order of {@code shards} defines the shard numbers, so it must never change
+ * once data has been written.
+ */
+@ConfigurationProperties("invoiceme.sharding")
+public record ShardingProperties(
+    boolean enabled,
+    @DefaultValue List<Node> shards,
+    // Creates the shard tables from db/sharding/shard-schema.sql on startup
+    @DefaultValue("false") boolean initializeSchema,
+    // Invoice id to shard entries kept so id lookups skip the scatter query
+    @DefaultValue("100000") int directorySize
+) {
+    
+    public record Node(
+        String url,
+        String username,
+        String password,
+        @DefaultValue("10") int maximumPoolSize
+    ) {
+    }
+}
@@ -1,6 +1,7 @@
 package com.invoiceme.infrastructure.persistence.users;
 
 import com.invoiceme.domain.users.User;
+import com.invoiceme.infrastructure.persistence.AssignedIdEntity;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import java.util.UUID;
@@ -16,7 +17,7 @@ import java.util.UUID;
     @Index(name = "idx_users_username", columnList = "username"),
     @Index(name = "idx_users_email", columnList = "email")
 })
-public class UserEntity {
+public class UserEntity extends AssignedIdEntity<UUID> {
     @Id
     @Column(columnDefinition = "BINARY(16)")
     private UUID id;
@@ -58,6 +59,7 @@ public class UserEntity {
     }
 
     // Getters and setters
+    @Override
     public UUID getId() {
         return id;
     }
@@ -2,6 +2,8 @@ package com.invoiceme.infrastructure.persistence.users;
 
 import com.invoiceme.domain.users.User;
 import com.invoiceme.domain.users.UserRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -12,6 +14,9 @@ import java.util.UUID;
  */
 @Repository
 public class UserRepositoryImpl implements UserRepository {
+    @PersistenceContext
+    private EntityManager entityManager;
+
     private final UserJpaRepository jpaRepository;
 
     public UserRepositoryImpl(UserJpaRepository jpaRepository) {
@@ -28,6 +33,7 @@ public class UserRepositoryImpl implements UserRepository {
                 return existing;
             })
             .orElse(new UserEntity(user));
+        entity.detectNew(entityManager);
         jpaRepository.save(entity);
     }
 
@@ -0,0 +1,125 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import com.invoiceme.infrastructure.security.BearerTokens;
+import com.invoiceme.infrastructure.security.JwtService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.web.util.matcher.AntPathRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-client rate limiting, ahead of JWT authentication in the security chain, so a single
+ * integration or scraper cannot take the connection pool from everyone else. A client is the
+ * subject of a valid bearer token, otherwise the remote address. Each route group in
+ * {@link RateLimitProperties} keeps its own buckets; requests over the limit get 429 with
+ * {@code Retry-After}. Rejections are counted under {@value #REJECTED_COUNTER}; tracked clients
+ * and the busiest client's share of its burst are gauged per group.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    
+    public static final String REJECTED_COUNTER = "invoiceme.ratelimit.rejected";
+    public static final String CLIENTS_GAUGE = "invoiceme.ratelimit.clients";
+    public static final String OCCUPANCY_GAUGE = "invoiceme.ratelimit.occupancy";
+    
+    private final JwtService jwtService;
+    private final List<RouteGroup> groups = new ArrayList<>();
+    
+    public RateLimitFilter(RateLimitProperties properties, JwtService jwtService, MeterRegistry registry) {
+        this.jwtService = jwtService;
+        if (!properties.enabled()) {
+            return;
+        }
+        for (Map.Entry<String, RateLimitProperties.Group> entry : properties.groups().entrySet()) {
+            String name = entry.getKey();
+            RateLimitProperties.Group group = entry.getValue();
+            TokenBuckets buckets = new TokenBuckets(
+                group.permitsPerSecond(), group.burst(), properties.maxClients(), System.nanoTime());
+            Gauge.builder(CLIENTS_GAUGE, buckets, TokenBuckets::clients)
+                    .description("Clients with a rate limit bucket")
+                    .tag("group", name)
+                    .register(registry);
+            Gauge.builder(OCCUPANCY_GAUGE, buckets, b -> b.occupancy(System.nanoTime()))
+                    .description("Share of its burst the busiest client has used")
+                    .tag("group", name)
+                    .register(registry);
+            Counter rejected = Counter.builder(REJECTED_COUNTER)
+                    .description("Requests rejected with 429 by the rate limiter")
+                    .tag("group", name)
+                    .register(registry);
+            List<RequestMatcher> matchers = group.paths().stream()
+                    .<RequestMatcher>map(AntPathRequestMatcher::antMatcher)
+                    .toList();
+            groups.add(new RouteGroup(name, matchers, buckets, rejected));
+        }
+    }
+    
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return groups.isEmpty();
+    }
+    
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain) throws ServletException, IOException {
+        
+        RouteGroup group = groupFor(request);
+        if (group == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        
+        long waitNanos = group.buckets().tryAcquire(client(request), System.nanoTime());
+        if (waitNanos > 0) {
+            group.rejected().increment();
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(waitNanos)));
+            response.sendError(HttpStatus.TOO_MANY_REQUESTS.value(), "Rate limit exceeded, retry later");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+    
+    private RouteGroup groupFor(HttpServletRequest request) {
+        for (RouteGroup group : groups) {
+            for (RequestMatcher matcher : group.matchers()) {
+                if (matcher.matches(request)) {
+                    return group;
+                }
+            }
+        }
+        return null;
+    }
+    
+    // Only a verified subject is used, otherwise made-up tokens would each get a fresh bucket.
+    // The remote address is the client's, not the proxy's: server.forward-headers-strategy
+    // takes it from X-Forwarded-For when the request comes through a trusted proxy
+    private String client(HttpServletRequest request) {
+        String username = BearerTokens.verifiedSubject(request, jwtService);
+        return username != null ? "user:" + username : "ip:" + request.getRemoteAddr();
+    }
+    
+    private static long retryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+    
+    private record RouteGroup(String name, List<RequestMatcher> matchers, TokenBuckets buckets, Counter rejected) {
+    }
+}
@@ -0,0 +1,29 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-client rate limits under {@code invoiceme.rate-limit}. A request counts against the
+ * first group, in declaration order, with a path pattern matching it; other requests are not limited.
+ */
+@ConfigurationProperties("invoiceme.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    // Clients tracked per group before buckets that have refilled are dropped
+    @DefaultValue("100000") int maxClients,
+    @DefaultValue Map<String, Group> groups
+) {
+    
+    public record Group(
+        @DefaultValue List<String> paths,
+        // Sustained requests per second for one client
+        double permitsPerSecond,
+        // Requests one client can make back to back after being idle
+        @DefaultValue("1") int burst
+    ) {
+    }
+}
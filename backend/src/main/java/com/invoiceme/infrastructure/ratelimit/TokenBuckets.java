@@ -0,0 +1,80 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The token buckets of one route group, one per client. Each bucket is kept as the time at
+ * which it will be full again (GCRA), so taking a token is a single compare-and-set. A bucket
+ * that has refilled carries no state, so once more than {@code maxClients} are tracked the
+ * full ones are dropped, at most once a second.
+ */
+final class TokenBuckets {
+    
+    private static final long SWEEP_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+    
+    private final long intervalNanos;
+    private final long capacityNanos;
+    private final int maxClients;
+    private final Map<String, AtomicLong> fullAt = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep;
+    
+    TokenBuckets(double permitsPerSecond, int burst, int maxClients, long now) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("Rate limits need permits-per-second > 0 and burst >= 1");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / permitsPerSecond));
+        this.capacityNanos = intervalNanos * burst;
+        this.maxClients = maxClients;
+        this.nextSweep = new AtomicLong(now);
+    }
+    
+    /**
+     * Takes a token from the client's bucket. Returns 0 when one was taken, otherwise the
+     * nanoseconds until one will be available.
+     */
+    long tryAcquire(String client, long now) {
+        sweepIfOverCapacity(now);
+        AtomicLong bucket = fullAt.computeIfAbsent(client, key -> new AtomicLong(now));
+        while (true) {
+            long current = bucket.get();
+            long next = (current - now > 0 ? current : now) + intervalNanos;
+            long backlog = next - now;
+            if (backlog > capacityNanos) {
+                return backlog - capacityNanos;
+            }
+            if (bucket.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+    
+    int clients() {
+        return fullAt.size();
+    }
+    
+    /**
+     * Share of the burst in use by the busiest client, from 0 (all buckets full) to 1
+     * (the next request of that client is rejected).
+     */
+    double occupancy(long now) {
+        long busiest = 0;
+        for (AtomicLong bucket : fullAt.values()) {
+            busiest = Math.max(busiest, bucket.get() - now);
+        }
+        return Math.min(1.0, (double) busiest / capacityNanos);
+    }
+    
+    // A request racing the sweep may still update a dropped bucket; its client then starts
+    // over with a full bucket, which is what the dropped one held anyway.
+    private void sweepIfOverCapacity(long now) {
+        long due = nextSweep.get();
+        if (fullAt.size() <= maxClients || now - due < 0
+                || !nextSweep.compareAndSet(due, now + SWEEP_INTERVAL_NANOS)) {
+            return;
+        }
+        fullAt.values().removeIf(bucket -> bucket.get() - now <= 0);
+    }
+}
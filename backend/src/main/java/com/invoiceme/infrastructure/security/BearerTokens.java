@@ -0,0 +1,54 @@
+package com.invoiceme.infrastructure.security;
+
+import com.invoiceme.infrastructure.diagnostics.TokenValidationEvent;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+/**
+ * The verified subject of a request's bearer token, parsed once per request. The rate limiter
+ * needs it before authentication and JwtAuthenticationFilter after; a parse checks the HMAC
+ * signature and decodes the claims, so the outcome is kept as a request attribute for the
+ * second caller instead of being repeated.
+ */
+public final class BearerTokens {
+    
+    private static final String SUBJECT_ATTRIBUTE = BearerTokens.class.getName() + ".subject";
+    private static final String BEARER_PREFIX = "Bearer ";
+    
+    private BearerTokens() {
+    }
+    
+    /**
+     * @return The token's subject if the request carries a bearer token whose signature and
+     *         expiry verify, otherwise null
+     */
+    public static String verifiedSubject(HttpServletRequest request, JwtService jwtService) {
+        Object parsed = request.getAttribute(SUBJECT_ATTRIBUTE);
+        if (parsed == null) {
+            String subject = parse(request, jwtService);
+            // An empty string remembers a missing or invalid token
+            parsed = subject != null ? subject : "";
+            request.setAttribute(SUBJECT_ATTRIBUTE, parsed);
+        }
+        String subject = (String) parsed;
+        return subject.isEmpty() ? null : subject;
+    }
+    
+    private static String parse(HttpServletRequest request, JwtService jwtService) {
+        String authHeader = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (authHeader == null || !authHeader.startsWith(BEARER_PREFIX)) {
+            return null;
+        }
+        TokenValidationEvent event = new TokenValidationEvent();
+        event.begin();
+        try {
+            // Parsing verifies the signature and rejects expired tokens
+            String subject = jwtService.extractUsername(authHeader.substring(BEARER_PREFIX.length()));
+            event.complete(subject != null, subject != null ? null : "no subject");
+            return subject;
+        } catch (Exception e) {
+            event.complete(false, e.getClass().getSimpleName());
+            return null;
+        }
+    }
+}
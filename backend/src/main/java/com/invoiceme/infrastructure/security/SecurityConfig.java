@@ -1,5 +1,13 @@
 package com.invoiceme.infrastructure.security;
 
+import com.invoiceme.infrastructure.bulkhead.BulkheadFilter;
+import com.invoiceme.infrastructure.bulkhead.BulkheadProperties;
+import com.invoiceme.infrastructure.diagnostics.InstrumentedPasswordEncoder;
+import com.invoiceme.infrastructure.idempotency.IdempotencyFilter;
+import com.invoiceme.infrastructure.idempotency.IdempotencyProperties;
+import com.invoiceme.infrastructure.ratelimit.RateLimitFilter;
+import com.invoiceme.infrastructure.ratelimit.RateLimitProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
@@ -8,6 +16,7 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.intercept.AuthorizationFilter;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
@@ -21,12 +30,20 @@ import java.util.List;
  */
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties({RateLimitProperties.class, BulkheadProperties.class, IdempotencyProperties.class})
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthenticationFilter;
+    private final RateLimitFilter rateLimitFilter;
+    private final BulkheadFilter bulkheadFilter;
+    private final IdempotencyFilter idempotencyFilter;
 
-    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+    public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, RateLimitFilter rateLimitFilter,
+                          BulkheadFilter bulkheadFilter, IdempotencyFilter idempotencyFilter) {
         this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+        this.rateLimitFilter = rateLimitFilter;
+        this.bulkheadFilter = bulkheadFilter;
+        this.idempotencyFilter = idempotencyFilter;
     }
 
     @Bean
@@ -36,6 +53,8 @@ public class SecurityConfig {
             .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
             .authorizeHttpRequests(auth -> auth
                 // Public endpoints
+                // Recordings and captured SQL expose request data, so these are not public like the other actuator endpoints
+                .requestMatchers("/actuator/jfr", "/actuator/jfr/**", "/actuator/slowrequests").authenticated()
                 .requestMatchers("/h2-console/**", "/swagger-ui/**", "/api-docs/**", "/actuator/**").permitAll()
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 // Portal endpoints (customer-facing, no auth required)
@@ -48,14 +67,20 @@ public class SecurityConfig {
             )
             .headers(headers -> headers.frameOptions().disable()) // Allow H2 console frames
             .cors(cors -> cors.configurationSource(corsConfigurationSource()))
-            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
+            .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class)
+            // Rejects over-limit clients before any handler runs or a connection is taken
+            .addFilterBefore(rateLimitFilter, JwtAuthenticationFilter.class)
+            // Requests wait for their workload's slot only once their token has been checked
+            .addFilterAfter(bulkheadFilter, JwtAuthenticationFilter.class)
+            // Stored responses are only replayed to callers allowed to make the request
+            .addFilterAfter(idempotencyFilter, AuthorizationFilter.class);
         
         return http.build();
     }
 
     @Bean
     public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+        return new InstrumentedPasswordEncoder(new BCryptPasswordEncoder());
     }
     
     @Bean
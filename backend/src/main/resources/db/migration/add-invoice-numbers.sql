@@ -0,0 +1,33 @@
+-- Adds invoice numbers (PostgreSQL) for databases whose schema is validated rather than
+-- generated, as in the prod profile. Run once on the main database before deploying invoice
+-- numbers; with sharding, also run the two invoices statements (and nothing else) on every shard.
+
+-- The series table on the main database: the lowest number not yet reserved by any instance
+CREATE TABLE IF NOT EXISTS invoice_number_blocks (
+    series VARCHAR(32) PRIMARY KEY,
+    next_value BIGINT NOT NULL
+);
+
+ALTER TABLE invoices ADD COLUMN IF NOT EXISTS invoice_number VARCHAR(32);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_invoices_invoice_number ON invoices (invoice_number);
+
+-- Numbers existing invoices in creation order per issue year and starts each series after them.
+-- Sharded invoices stay unnumbered, as numbering each shard on its own would repeat numbers.
+-- Assumes the default prefix (INV) and digits (6).
+UPDATE invoices i
+SET invoice_number = n.invoice_number
+FROM (
+    SELECT id, 'INV-' || EXTRACT(YEAR FROM issue_date)::INT || '-'
+            || LPAD((ROW_NUMBER() OVER (PARTITION BY EXTRACT(YEAR FROM issue_date) ORDER BY created_at, id))::TEXT, 6, '0')
+            AS invoice_number
+    FROM invoices
+    WHERE invoice_number IS NULL
+) n
+WHERE i.id = n.id;
+
+INSERT INTO invoice_number_blocks (series, next_value)
+SELECT LEFT(invoice_number, 8), MAX(CAST(SUBSTRING(invoice_number FROM 10) AS BIGINT)) + 1
+FROM invoices
+WHERE invoice_number IS NOT NULL
+GROUP BY LEFT(invoice_number, 8)
+ON CONFLICT (series) DO NOTHING;
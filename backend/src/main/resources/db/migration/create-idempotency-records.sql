@@ -0,0 +1,17 @@
+-- Creates the idempotency key store (PostgreSQL) for databases whose schema is validated
+-- rather than generated, as in the prod profile. Run once before deploying idempotency keys.
+
+-- One row per caller and Idempotency-Key: the hash of the request the key was first used with
+-- and, once that request has run, its response. Rows without a status are still executing.
+CREATE TABLE IF NOT EXISTS idempotency_records (
+    id VARCHAR(64) PRIMARY KEY,
+    request_hash VARCHAR(64) NOT NULL,
+    status INTEGER,
+    content_type VARCHAR(255),
+    body BYTEA,
+    created_at TIMESTAMP NOT NULL,
+    expires_at TIMESTAMP NOT NULL
+);
+
+-- Expired rows are deleted in bulk by the application
+CREATE INDEX IF NOT EXISTS idx_idempotency_records_expires_at ON idempotency_records (expires_at);
@@ -0,0 +1,58 @@
+-- Schema for one invoice shard (H2 and PostgreSQL).
+-- Invoices, their line items, payments and schedules live on the shard chosen by the
+-- invoice's customer id; customers, users, items and discount codes stay on the main database.
+
+CREATE TABLE IF NOT EXISTS invoices (
+    id UUID PRIMARY KEY,
+    invoice_number VARCHAR(32),
+    customer_id UUID NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    issue_date DATE NOT NULL,
+    due_date DATE,
+    payment_plan VARCHAR(255) NOT NULL,
+    discount_code VARCHAR(50),
+    discount_amount NUMERIC(10, 2),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE UNIQUE INDEX IF NOT EXISTS idx_invoices_invoice_number ON invoices (invoice_number);
+CREATE INDEX IF NOT EXISTS idx_invoices_customer_id ON invoices (customer_id);
+CREATE INDEX IF NOT EXISTS idx_invoices_status ON invoices (status);
+CREATE INDEX IF NOT EXISTS idx_invoices_created_at ON invoices (created_at);
+
+CREATE TABLE IF NOT EXISTS invoice_line_items (
+    id UUID PRIMARY KEY,
+    invoice_id UUID NOT NULL REFERENCES invoices (id) ON DELETE CASCADE,
+    description TEXT NOT NULL,
+    quantity NUMERIC(10, 2) NOT NULL,
+    unit_price NUMERIC(10, 2) NOT NULL,
+    total NUMERIC(10, 2) NOT NULL,
+    line_order INTEGER NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_invoice_line_items_invoice_id ON invoice_line_items (invoice_id);
+
+CREATE TABLE IF NOT EXISTS payments (
+    id UUID PRIMARY KEY,
+    invoice_id UUID NOT NULL,
+    amount NUMERIC(10, 2) NOT NULL,
+    payment_date DATE NOT NULL,
+    payment_method VARCHAR(50),
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_payments_invoice_id ON payments (invoice_id);
+
+CREATE TABLE IF NOT EXISTS payment_schedules (
+    id UUID PRIMARY KEY,
+    invoice_id UUID NOT NULL,
+    installment_number INTEGER NOT NULL,
+    amount NUMERIC(10, 2) NOT NULL,
+    due_date DATE NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS idx_payment_schedules_invoice_id ON payment_schedules (invoice_id);
+CREATE INDEX IF NOT EXISTS idx_payment_schedules_due_date ON payment_schedules (due_date);
@@ -0,0 +1,222 @@
+package com.invoiceme.reactive;
+
+import com.invoiceme.application.common.PageChunks;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceStatus;
+import com.invoiceme.domain.invoices.LineItem;
+import com.invoiceme.domain.payments.Payment;
+import com.invoiceme.domain.payments.PaymentPlan;
+import com.invoiceme.domain.payments.PaymentSchedule;
+import io.r2dbc.spi.Readable;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC reads over the tables the JPA entities map, rebuilt into domain objects
+ * so totals and balances come from the same domain code as the MVC API.
+ */
+@Repository
+class InvoiceReadRepository {
+    
+    private static final String INVOICE_COLUMNS = "id, invoice_number, customer_id, status, issue_date, due_date, payment_plan, "
+            + "discount_code, discount_amount, created_at, updated_at";
+    
+    private final DatabaseClient db;
+    
+    InvoiceReadRepository(DatabaseClient db) {
+        this.db = db;
+    }
+    
+    Mono<Invoice> findById(UUID id) {
+        return db.sql("SELECT " + INVOICE_COLUMNS + " FROM invoices WHERE id = :id")
+                .bind("id", id)
+                .map(InvoiceReadRepository::invoiceRow)
+                .one()
+                .flatMap(row -> withChildren(List.of(row)).next());
+    }
+    
+    Flux<Invoice> findByCustomerId(UUID customerId, int page, int size) {
+        return page("WHERE customer_id = :customerId", Map.of("customerId", customerId), page, size);
+    }
+    
+    Mono<Long> countByCustomerId(UUID customerId) {
+        return count("WHERE customer_id = :customerId", Map.of("customerId", customerId));
+    }
+    
+    Flux<Invoice> findByStatus(InvoiceStatus status, int page, int size) {
+        return page("WHERE status = :status", Map.of("status", status.name()), page, size);
+    }
+    
+    Mono<Long> countByStatus(InvoiceStatus status) {
+        return count("WHERE status = :status", Map.of("status", status.name()));
+    }
+    
+    Flux<Invoice> findAll(int page, int size) {
+        return page("", Map.of(), page, size);
+    }
+    
+    Mono<Long> count() {
+        return count("", Map.of());
+    }
+    
+    Mono<Map<UUID, String>> customerNames(Collection<UUID> customerIds) {
+        if (customerIds.isEmpty()) {
+            return Mono.just(Collections.emptyMap());
+        }
+        return db.sql("SELECT id, name FROM customers WHERE id IN (:ids)")
+                .bind("ids", customerIds)
+                .map(row -> Map.entry(row.get("id", UUID.class), row.get("name", String.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+    
+    Flux<Payment> findPaymentsByInvoiceIds(Collection<UUID> invoiceIds) {
+        return db.sql("SELECT id, invoice_id, amount, payment_date, payment_method, created_at FROM payments "
+                        + "WHERE invoice_id IN (:ids)")
+                .bind("ids", invoiceIds)
+                .map(row -> Payment.reconstruct(
+                    row.get("id", UUID.class),
+                    row.get("invoice_id", UUID.class),
+                    row.get("amount", BigDecimal.class),
+                    row.get("payment_date", LocalDate.class),
+                    row.get("payment_method", String.class),
+                    row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+    
+    Flux<PaymentSchedule> findSchedulesByInvoiceId(UUID invoiceId) {
+        return db.sql("SELECT id, invoice_id, installment_number, amount, due_date, status, created_at "
+                        + "FROM payment_schedules WHERE invoice_id = :invoiceId ORDER BY installment_number")
+                .bind("invoiceId", invoiceId)
+                .map(row -> PaymentSchedule.reconstruct(
+                    row.get("id", UUID.class),
+                    row.get("invoice_id", UUID.class),
+                    row.get("installment_number", Integer.class),
+                    row.get("amount", BigDecimal.class),
+                    row.get("due_date", LocalDate.class),
+                    PaymentSchedule.InstallmentStatus.valueOf(row.get("status", String.class)),
+                    row.get("created_at", LocalDateTime.class)))
+                .all();
+    }
+    
+    // Same walk as PageChunks: pages larger than one chunk are read as chunk-sized pages, so
+    // no single query (or IN list of its line items and payments) exceeds CHUNK_SIZE rows
+    private Flux<Invoice> page(String where, Map<String, Object> filter, int page, int size) {
+        if (size <= PageChunks.CHUNK_SIZE) {
+            return fetch(where, filter, (long) page * size, size);
+        }
+        long first = (long) page * size;
+        long firstChunk = first / PageChunks.CHUNK_SIZE;
+        long lastChunk = (first + size - 1) / PageChunks.CHUNK_SIZE;
+        return Flux.range(0, Math.toIntExact(lastChunk - firstChunk + 1))
+                .concatMap(i -> fetch(where, filter, (firstChunk + i) * PageChunks.CHUNK_SIZE, PageChunks.CHUNK_SIZE)
+                        .collectList())
+                .takeUntil(chunk -> chunk.size() < PageChunks.CHUNK_SIZE)
+                .concatMapIterable(chunk -> chunk)
+                .skip(first - firstChunk * PageChunks.CHUNK_SIZE)
+                .take(size);
+    }
+    
+    // Same order as the JPA repository; the id tie-break keeps page and chunk boundaries stable
+    private Flux<Invoice> fetch(String where, Map<String, Object> filter, long offset, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql("SELECT " + INVOICE_COLUMNS + " FROM invoices " + where
+                + " ORDER BY created_at DESC, id LIMIT :limit OFFSET :offset");
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            spec = spec.bind(entry.getKey(), entry.getValue());
+        }
+        return spec.bind("limit", limit)
+                .bind("offset", offset)
+                .map(InvoiceReadRepository::invoiceRow)
+                .all()
+                .collectList()
+                .flatMapMany(this::withChildren);
+    }
+    
+    private Mono<Long> count(String where, Map<String, Object> filter) {
+        DatabaseClient.GenericExecuteSpec spec = db.sql("SELECT COUNT(*) AS total FROM invoices " + where);
+        for (Map.Entry<String, Object> entry : filter.entrySet()) {
+            spec = spec.bind(entry.getKey(), entry.getValue());
+        }
+        return spec.map(row -> row.get("total", Long.class)).one();
+    }
+    
+    // Line items and payments for the whole page in two queries, run concurrently
+    private Flux<Invoice> withChildren(List<InvoiceRow> rows) {
+        if (rows.isEmpty()) {
+            return Flux.empty();
+        }
+        List<UUID> ids = rows.stream().map(InvoiceRow::id).toList();
+        
+        Mono<Map<UUID, List<LineItem>>> lineItems = db.sql("SELECT invoice_id, id, description, quantity, unit_price "
+                        + "FROM invoice_line_items WHERE invoice_id IN (:ids) ORDER BY invoice_id, line_order")
+                .bind("ids", ids)
+                .map(row -> Map.entry(row.get("invoice_id", UUID.class), LineItem.of(
+                    row.get("id", UUID.class),
+                    row.get("description", String.class),
+                    row.get("quantity", BigDecimal.class),
+                    row.get("unit_price", BigDecimal.class))))
+                .all()
+                .collect(Collectors.groupingBy(Map.Entry::getKey,
+                    Collectors.mapping(Map.Entry::getValue, Collectors.toList())));
+        Mono<Map<UUID, List<Payment>>> payments = findPaymentsByInvoiceIds(ids)
+                .collect(Collectors.groupingBy(Payment::getInvoiceId));
+        
+        return Mono.zip(lineItems, payments).flatMapMany(children -> Flux.fromIterable(rows)
+                .map(row -> Invoice.reconstruct(
+                    row.id(),
+                    row.invoiceNumber(),
+                    row.customerId(),
+                    row.status(),
+                    row.issueDate(),
+                    row.dueDate(),
+                    row.paymentPlan(),
+                    row.discountCode(),
+                    row.discountAmount(),
+                    children.getT1().getOrDefault(row.id(), Collections.emptyList()),
+                    children.getT2().getOrDefault(row.id(), Collections.emptyList()),
+                    row.createdAt(),
+                    row.updatedAt())));
+    }
+    
+    private static InvoiceRow invoiceRow(Readable row) {
+        return new InvoiceRow(
+            row.get("id", UUID.class),
+            row.get("invoice_number", String.class),
+            row.get("customer_id", UUID.class),
+            InvoiceStatus.valueOf(row.get("status", String.class)),
+            row.get("issue_date", LocalDate.class),
+            row.get("due_date", LocalDate.class),
+            PaymentPlan.valueOf(row.get("payment_plan", String.class)),
+            row.get("discount_code", String.class),
+            row.get("discount_amount", BigDecimal.class),
+            row.get("created_at", LocalDateTime.class),
+            row.get("updated_at", LocalDateTime.class));
+    }
+    
+    private record InvoiceRow(
+        UUID id,
+        String invoiceNumber,
+        UUID customerId,
+        InvoiceStatus status,
+        LocalDate issueDate,
+        LocalDate dueDate,
+        PaymentPlan paymentPlan,
+        String discountCode,
+        BigDecimal discountAmount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+    ) {
+    }
+}
@@ -0,0 +1,87 @@
+package com.invoiceme.reactive;
+
+import com.invoiceme.application.customers.listAll.PagedResult;
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+import com.invoiceme.application.invoices.listAll.ListAllInvoicesQuery;
+import com.invoiceme.application.invoices.listByCustomer.ListInvoicesByCustomerQuery;
+import com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto;
+import com.invoiceme.application.invoices.listByStatus.ListInvoicesByStatusQuery;
+import com.invoiceme.application.payments.getById.PaymentDetailDto;
+import com.invoiceme.application.payments.schedule.GetPaymentScheduleHandler.PaymentScheduleDto;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import com.invoiceme.domain.invoices.Invoice;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+/**
+ * Reactive counterpart of the invoice, payment and schedule query handlers.
+ */
+@Service
+class InvoiceReadService {
+    
+    private final InvoiceReadRepository repository;
+    
+    InvoiceReadService(InvoiceReadRepository repository) {
+        this.repository = repository;
+    }
+    
+    Mono<InvoiceDto> getById(UUID invoiceId) {
+        return repository.findById(invoiceId)
+                .switchIfEmpty(Mono.error(() -> new DomainValidationException(
+                    "Invoice with ID " + invoiceId + " not found"
+                )))
+                .flatMap(invoice -> repository.customerNames(Set.of(invoice.getCustomerId()))
+                        .map(names -> ReadModelMapper.toDto(invoice,
+                            names.getOrDefault(invoice.getCustomerId(), ReadModelMapper.UNKNOWN_CUSTOMER))));
+    }
+    
+    Mono<PagedResult<InvoiceSummaryDto>> listByStatus(ListInvoicesByStatusQuery query) {
+        return toPage(repository.findByStatus(query.status(), query.page(), query.size()),
+            repository.countByStatus(query.status()), query.page(), query.size());
+    }
+    
+    Mono<PagedResult<InvoiceSummaryDto>> listByCustomer(ListInvoicesByCustomerQuery query) {
+        return toPage(repository.findByCustomerId(query.customerId(), query.page(), query.size()),
+            repository.countByCustomerId(query.customerId()), query.page(), query.size());
+    }
+    
+    Mono<PagedResult<InvoiceSummaryDto>> listAll(ListAllInvoicesQuery query) {
+        return toPage(repository.findAll(query.page(), query.size()), repository.count(), query.page(), query.size());
+    }
+    
+    Mono<List<PaymentDetailDto>> listPayments(UUID invoiceId) {
+        return repository.findPaymentsByInvoiceIds(List.of(invoiceId))
+                .map(ReadModelMapper::toDetailDto)
+                .collectList();
+    }
+    
+    Mono<List<PaymentScheduleDto>> getSchedule(UUID invoiceId) {
+        return repository.findSchedulesByInvoiceId(invoiceId)
+                .map(ReadModelMapper::toScheduleDto)
+                .collectList();
+    }
+    
+    // Page, count and then customer names; page and count are issued concurrently
+    private Mono<PagedResult<InvoiceSummaryDto>> toPage(Flux<Invoice> invoices, Mono<Long> total, int page, int size) {
+        return Mono.zip(invoices.collectList(), total).flatMap(result -> {
+            List<Invoice> content = result.getT1();
+            Set<UUID> customerIds = content.stream()
+                    .map(Invoice::getCustomerId)
+                    .collect(Collectors.toSet());
+            return repository.customerNames(customerIds).map(names -> PagedResult.of(
+                content.stream()
+                        .map(invoice -> ReadModelMapper.toSummaryDto(invoice,
+                            names.getOrDefault(invoice.getCustomerId(), ReadModelMapper.UNKNOWN_CUSTOMER)))
+                        .toList(),
+                page,
+                size,
+                result.getT2()));
+        });
+    }
+}
@@ -0,0 +1,28 @@
+package com.invoiceme.reactive;
+
+import com.invoiceme.api.exceptions.ErrorResponse;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebExchange;
+
+/**
+ * Error bodies in the same shape as GlobalExceptionHandler.
+ */
+@RestControllerAdvice
+class ReactiveExceptionHandler {
+    
+    @ExceptionHandler(DomainValidationException.class)
+    ResponseEntity<ErrorResponse> handleDomainValidationException(
+            DomainValidationException ex,
+            ServerWebExchange exchange) {
+        return ResponseEntity.badRequest().body(ErrorResponse.of(
+            HttpStatus.BAD_REQUEST.value(),
+            "Validation Error",
+            ex.getMessage(),
+            exchange.getRequest().getPath().value()
+        ));
+    }
+}
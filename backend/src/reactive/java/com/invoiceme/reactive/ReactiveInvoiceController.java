@@ -0,0 +1,81 @@
+package com.invoiceme.reactive;
+
+import com.invoiceme.application.customers.listAll.PagedResult;
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+import com.invoiceme.application.invoices.listAll.ListAllInvoicesQuery;
+import com.invoiceme.application.invoices.listByCustomer.ListInvoicesByCustomerQuery;
+import com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto;
+import com.invoiceme.application.invoices.listByStatus.ListInvoicesByStatusQuery;
+import com.invoiceme.application.payments.getById.PaymentDetailDto;
+import com.invoiceme.application.payments.schedule.GetPaymentScheduleHandler.PaymentScheduleDto;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import com.invoiceme.domain.invoices.InvoiceStatus;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Read endpoints mirroring InvoiceController, CustomerPortalInvoiceController,
+ * PaymentController and PaymentScheduleController.
+ * Page parameters go through the same query records, so the same page size caps apply.
+ */
+@RestController
+@RequestMapping("/api/v1")
+class ReactiveInvoiceController {
+    
+    private final InvoiceReadService readService;
+    
+    ReactiveInvoiceController(InvoiceReadService readService) {
+        this.readService = readService;
+    }
+    
+    @GetMapping("/invoices/{id}")
+    Mono<InvoiceDto> getInvoiceById(@PathVariable UUID id) {
+        return readService.getById(id);
+    }
+    
+    @GetMapping("/invoices")
+    Mono<PagedResult<InvoiceSummaryDto>> listInvoices(
+            @RequestParam(required = false) InvoiceStatus status,
+            @RequestParam(required = false) UUID customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        if (status != null) {
+            return readService.listByStatus(new ListInvoicesByStatusQuery(status, page, size));
+        } else if (customerId != null) {
+            return readService.listByCustomer(new ListInvoicesByCustomerQuery(customerId, page, size));
+        }
+        return readService.listAll(new ListAllInvoicesQuery(page, size));
+    }
+    
+    @GetMapping("/customers/portal/invoices/{id}")
+    Mono<InvoiceDto> getPortalInvoice(@PathVariable UUID id, @RequestParam UUID customerId) {
+        return readService.getById(id).flatMap(invoice -> invoice.customerId().equals(customerId)
+                ? Mono.just(invoice)
+                : Mono.error(new DomainValidationException("Invoice does not belong to the specified customer")));
+    }
+    
+    @GetMapping("/customers/portal/invoices")
+    Mono<PagedResult<InvoiceSummaryDto>> listPortalInvoices(
+            @RequestParam UUID customerId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size) {
+        return readService.listByCustomer(new ListInvoicesByCustomerQuery(customerId, page, size));
+    }
+    
+    @GetMapping("/payments/invoices/{invoiceId}")
+    Mono<List<PaymentDetailDto>> listPaymentsByInvoice(@PathVariable UUID invoiceId) {
+        return readService.listPayments(invoiceId);
+    }
+    
+    @GetMapping("/payment-schedules/invoices/{invoiceId}")
+    Mono<List<PaymentScheduleDto>> getPaymentSchedule(@PathVariable UUID invoiceId) {
+        return readService.getSchedule(invoiceId);
+    }
+}
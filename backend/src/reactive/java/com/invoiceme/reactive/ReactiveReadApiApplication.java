@@ -0,0 +1,44 @@
+package com.invoiceme.reactive;
+
+import com.invoiceme.infrastructure.security.JwtService;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.jpa.JpaRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Non-blocking read API for invoice detail/lists, payments by invoice and payment schedules.
+ * Serves the same paths and JSON as the MVC app, from a handful of event-loop threads.
+ * Only this package is scanned: the MVC controllers, JPA repositories and handlers stay out.
+ */
+@SpringBootApplication(exclude = {
+    DataSourceAutoConfiguration.class,
+    HibernateJpaAutoConfiguration.class,
+    JpaRepositoriesAutoConfiguration.class
+})
+@Import(JwtService.class)
+public class ReactiveReadApiApplication {
+    
+    public static void main(String[] args) {
+        start(args);
+    }
+    
+    public static ConfigurableApplicationContext start(String... args) {
+        return new SpringApplicationBuilder(ReactiveReadApiApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .properties("spring.config.name=reactive-api")
+                .run(args);
+    }
+    
+    // Explicit so Netty is used even when Tomcat is on the classpath for the MVC app
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
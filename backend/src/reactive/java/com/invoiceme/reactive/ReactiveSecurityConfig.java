@@ -0,0 +1,84 @@
+package com.invoiceme.reactive;
+
+import com.invoiceme.infrastructure.security.JwtService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextImpl;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.authentication.HttpStatusServerEntryPoint;
+import org.springframework.security.web.server.context.ServerSecurityContextRepository;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+
+/**
+ * Same rules as SecurityConfig for the routes this API serves: portal reads are public,
+ * everything else under /api needs a valid bearer token.
+ */
+@Configuration
+@EnableWebFluxSecurity
+class ReactiveSecurityConfig {
+    
+    @Bean
+    SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http, JwtService jwtService) {
+        return http
+            .csrf(ServerHttpSecurity.CsrfSpec::disable)
+            .httpBasic(ServerHttpSecurity.HttpBasicSpec::disable)
+            .formLogin(ServerHttpSecurity.FormLoginSpec::disable)
+            .securityContextRepository(new BearerTokenContextRepository(jwtService))
+            .authorizeExchange(exchange -> exchange
+                .pathMatchers("/api/v1/customers/portal/invoices/**").permitAll()
+                .pathMatchers("/api/**").authenticated()
+                .anyExchange().permitAll()
+            )
+            // The servlet chain answers 403 for anonymous requests; keep that here
+            .exceptionHandling(exceptions -> exceptions
+                .authenticationEntryPoint(new HttpStatusServerEntryPoint(HttpStatus.FORBIDDEN)))
+            .build();
+    }
+    
+    /**
+     * Stateless: the context is rebuilt from the Authorization header on every request.
+     * An invalid token leaves the request anonymous, as JwtAuthenticationFilter does.
+     */
+    static final class BearerTokenContextRepository implements ServerSecurityContextRepository {
+        
+        private final JwtService jwtService;
+        
+        BearerTokenContextRepository(JwtService jwtService) {
+            this.jwtService = jwtService;
+        }
+        
+        @Override
+        public Mono<Void> save(ServerWebExchange exchange, SecurityContext context) {
+            return Mono.empty();
+        }
+        
+        @Override
+        public Mono<SecurityContext> load(ServerWebExchange exchange) {
+            String authHeader = exchange.getRequest().getHeaders().getFirst(HttpHeaders.AUTHORIZATION);
+            if (authHeader == null || !authHeader.startsWith("Bearer ")) {
+                return Mono.empty();
+            }
+            try {
+                String jwt = authHeader.substring(7);
+                String username = jwtService.extractUsername(jwt);
+                if (username == null || !jwtService.validateToken(jwt, username)) {
+                    return Mono.empty();
+                }
+                return Mono.just(new SecurityContextImpl(
+                    new UsernamePasswordAuthenticationToken(username, null, new ArrayList<>())));
+            } catch (Exception e) {
+                // Invalid token, continue without authentication
+                return Mono.empty();
+            }
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.invoiceme.reactive;
+
+import com.invoiceme.application.invoices.getById.InvoiceDto;
+import com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto;
+import com.invoiceme.application.payments.getById.PaymentDetailDto;
+import com.invoiceme.application.payments.schedule.GetPaymentScheduleHandler.PaymentScheduleDto;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.payments.Payment;
+import com.invoiceme.domain.payments.PaymentSchedule;
+
+/**
+ * Same DTO mapping as the MVC query handlers, so both APIs serialize identical JSON.
+ */
+final class ReadModelMapper {
+    
+    static final String UNKNOWN_CUSTOMER = "Unknown Customer";
+    
+    private ReadModelMapper() {
+    }
+    
+    static InvoiceDto toDto(Invoice invoice, String customerName) {
+        return InvoiceDto.from(invoice, customerName);
+    }
+    
+    static InvoiceSummaryDto toSummaryDto(Invoice invoice, String customerName) {
+        return new InvoiceSummaryDto(
+            invoice.getId(),
+            invoice.getInvoiceNumber(),
+            invoice.getCustomerId(),
+            customerName,
+            invoice.getStatus(),
+            invoice.getIssueDate(),
+            invoice.getDueDate(),
+            invoice.calculateTotal(),
+            invoice.calculateBalance()
+        );
+    }
+    
+    // Matches PaymentController: the invoice id doubles as the invoice number
+    static PaymentDetailDto toDetailDto(Payment payment) {
+        return new PaymentDetailDto(
+            payment.getId(),
+            payment.getInvoiceId(),
+            payment.getInvoiceId().toString(),
+            payment.getAmount(),
+            payment.getPaymentDate(),
+            payment.getPaymentMethod(),
+            payment.getCreatedAt()
+        );
+    }
+    
+    static PaymentScheduleDto toScheduleDto(PaymentSchedule schedule) {
+        return new PaymentScheduleDto(
+            schedule.getId(),
+            schedule.getInvoiceId(),
+            schedule.getInstallmentNumber(),
+            schedule.getAmount(),
+            schedule.getDueDate(),
+            schedule.getStatus().name(),
+            schedule.getCreatedAt()
+        );
+    }
+}
@@ -0,0 +1,220 @@
+package com.invoiceme.reactive;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.InvoiceMeApplication;
+import com.invoiceme.api.customers.CreateCustomerRequest;
+import com.invoiceme.api.invoices.AddLineItemRequest;
+import com.invoiceme.api.invoices.CreateInvoiceRequest;
+import com.invoiceme.domain.payments.PaymentPlan;
+import com.invoiceme.infrastructure.security.JwtService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Runs the reactive read API against the MVC app's H2 database: rows are written through the
+ * MVC API and read back through both, and the two responses must be the same JSON.
+ */
+@SpringBootTest(classes = InvoiceMeApplication.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReactiveReadApiTest {
+    
+    private static final String R2DBC_URL = "r2dbc:h2:mem:///reactivetest;DB_CLOSE_DELAY=-1";
+    
+    private static ConfigurableApplicationContext reactiveApi;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private JwtService jwtService;
+    
+    @Autowired
+    private Environment environment;
+    
+    private WebTestClient client;
+    
+    private UUID customerId;
+    
+    private UUID otherCustomerId;
+    
+    @BeforeEach
+    void setUp() throws Exception {
+        if (reactiveApi == null) {
+            reactiveApi = ReactiveReadApiApplication.start(
+                "--server.port=0",
+                "--spring.r2dbc.url=" + R2DBC_URL,
+                "--spring.r2dbc.username=sa",
+                "--spring.r2dbc.password=",
+                "--jwt.secret=" + environment.getRequiredProperty("jwt.secret"),
+                "--logging.level.root=WARN");
+        }
+        int port = ((WebServerApplicationContext) reactiveApi).getWebServer().getPort();
+        client = WebTestClient.bindToServer().baseUrl("http://localhost:" + port).build();
+        
+        customerId = createCustomer("Reactive Customer");
+        otherCustomerId = createCustomer("Other Customer");
+    }
+    
+    @AfterAll
+    static void stopReactiveApi() {
+        if (reactiveApi != null) {
+            reactiveApi.close();
+        }
+    }
+    
+    @Test
+    void shouldServePortalReadsAnonymouslyButNotTheAuthenticatedRoutes() throws Exception {
+        UUID invoiceId = createInvoice(customerId, 2);
+        
+        client.get().uri("/api/v1/customers/portal/invoices/{id}?customerId={customerId}", invoiceId, customerId)
+                .exchange()
+                .expectStatus().isOk();
+        client.get().uri("/api/v1/customers/portal/invoices?customerId={customerId}", customerId)
+                .exchange()
+                .expectStatus().isOk();
+        
+        client.get().uri("/api/v1/invoices/{id}", invoiceId)
+                .exchange()
+                .expectStatus().isForbidden();
+        client.get().uri("/api/v1/invoices")
+                .exchange()
+                .expectStatus().isForbidden();
+        client.get().uri("/api/v1/payments/invoices/{id}", invoiceId)
+                .exchange()
+                .expectStatus().isForbidden();
+        client.get().uri("/api/v1/invoices/{id}", invoiceId)
+                .header("Authorization", "Bearer not-a-token")
+                .exchange()
+                .expectStatus().isForbidden();
+        
+        client.get().uri("/api/v1/invoices/{id}", invoiceId)
+                .header("Authorization", "Bearer " + jwtService.generateToken("admin"))
+                .exchange()
+                .expectStatus().isOk();
+    }
+    
+    @Test
+    void shouldReturnTheSameDetailAsTheMvcApi() throws Exception {
+        UUID invoiceId = createInvoice(customerId, 3);
+        mockMvc.perform(post("/api/v1/invoices/{id}/send", invoiceId).with(user("admin")))
+                .andExpect(status().isOk());
+        
+        assertEquals(
+            mvcGet("/api/v1/invoices/" + invoiceId),
+            reactiveGet("/api/v1/invoices/" + invoiceId));
+        assertEquals(
+            mvcGet("/api/v1/customers/portal/invoices/" + invoiceId + "?customerId=" + customerId),
+            reactiveGet("/api/v1/customers/portal/invoices/" + invoiceId + "?customerId=" + customerId));
+    }
+    
+    @Test
+    void shouldReturnTheSameListsAsTheMvcApi() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            createInvoice(customerId, i + 1);
+        }
+        
+        for (String path : new String[] {
+            "/api/v1/invoices?customerId=" + customerId,
+            "/api/v1/invoices?customerId=" + customerId + "&page=1&size=2",
+            "/api/v1/invoices?status=DRAFT",
+            "/api/v1/customers/portal/invoices?customerId=" + customerId
+        }) {
+            assertEquals(mvcGet(path), reactiveGet(path), path);
+        }
+    }
+    
+    @Test
+    void shouldCapThePageSizeLikeTheMvcApi() throws Exception {
+        createInvoice(customerId, 1);
+        
+        String path = "/api/v1/invoices?customerId=" + customerId + "&size=1000";
+        JsonNode reactive = reactiveGet(path);
+        assertEquals(100, reactive.get("size").asInt());
+        assertEquals(mvcGet(path), reactive);
+    }
+    
+    @Test
+    void shouldRejectAnotherCustomersInvoiceOnThePortal() throws Exception {
+        UUID invoiceId = createInvoice(customerId, 1);
+        
+        client.get().uri("/api/v1/customers/portal/invoices/{id}?customerId={customerId}", invoiceId, otherCustomerId)
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody()
+                .jsonPath("$.message").isEqualTo("Invoice does not belong to the specified customer");
+    }
+    
+    private UUID createCustomer(String name) throws Exception {
+        CreateCustomerRequest request = new CreateCustomerRequest(
+            name, UUID.randomUUID() + "@example.com", "1 Main St", null);
+        return idOf(mockMvc.perform(post("/api/v1/customers").with(user("admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+    }
+    
+    private UUID createInvoice(UUID customerId, int lineItems) throws Exception {
+        CreateInvoiceRequest request = new CreateInvoiceRequest(
+            customerId, LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        UUID invoiceId = idOf(mockMvc.perform(post("/api/v1/invoices").with(user("admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn().getResponse().getContentAsString());
+        for (int i = 1; i <= lineItems; i++) {
+            AddLineItemRequest lineItem = new AddLineItemRequest(
+                null, "Item " + i, BigDecimal.valueOf(i), new BigDecimal("12.50"));
+            mockMvc.perform(post("/api/v1/invoices/{id}/line-items", invoiceId).with(user("admin"))
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(lineItem)))
+                    .andExpect(status().isOk());
+        }
+        return invoiceId;
+    }
+    
+    private UUID idOf(String body) throws Exception {
+        return UUID.fromString(objectMapper.readTree(body).get("id").asText());
+    }
+    
+    private JsonNode mvcGet(String path) throws Exception {
+        return objectMapper.readTree(mockMvc.perform(get(path).with(user("admin")))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString());
+    }
+    
+    private JsonNode reactiveGet(String path) throws Exception {
+        byte[] body = client.get().uri(path)
+                .header("Authorization", "Bearer " + jwtService.generateToken("admin"))
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody().returnResult().getResponseBodyContent();
+        return objectMapper.readTree(body);
+    }
+}
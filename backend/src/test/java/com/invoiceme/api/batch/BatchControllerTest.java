@@ -0,0 +1,88 @@
+package com.invoiceme.api.batch;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// Not @Transactional: sub-requests run on pool threads and only see committed data
+@SpringBootTest(properties = "invoiceme.batch.max-requests=3")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BatchControllerTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Test
+    @WithMockUser
+    void shouldReturnEachSubResponseInRequestOrder() throws Exception {
+        UUID missing = UUID.randomUUID();
+        mockMvc.perform(post("/api/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"requests":[
+                              {"id":"sent","path":"/api/v1/invoices?status=SENT&size=1"},
+                              {"id":"codes","path":"/api/v1/discount-codes"},
+                              {"id":"missing","path":"/api/v1/invoices/%s"}
+                            ]}""".formatted(missing)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responses", hasSize(3)))
+                .andExpect(jsonPath("$.responses[0].id").value("sent"))
+                .andExpect(jsonPath("$.responses[0].status").value(200))
+                .andExpect(jsonPath("$.responses[0].body.size").value(1))
+                .andExpect(jsonPath("$.responses[1].id").value("codes"))
+                .andExpect(jsonPath("$.responses[1].status").value(200))
+                .andExpect(jsonPath("$.responses[1].body").isArray())
+                .andExpect(jsonPath("$.responses[2].status").value(400))
+                .andExpect(jsonPath("$.responses[2].body.message").value(containsString(missing.toString())));
+    }
+    
+    @Test
+    @WithMockUser
+    void shouldRejectRoutesOutsideTheAllowList() throws Exception {
+        mockMvc.perform(post("/api/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"requests":[
+                              {"id":"login","path":"/api/v1/auth/login"},
+                              {"id":"bad","path":"/api/v1/payment-schedules/upcoming?upToDate=soon"}
+                            ]}"""))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responses[0].status").value(404))
+                .andExpect(jsonPath("$.responses[1].status").value(400));
+    }
+    
+    @Test
+    @WithMockUser
+    void shouldRejectOversizedBatch() throws Exception {
+        mockMvc.perform(post("/api/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                            {"requests":[
+                              {"path":"/api/v1/discount-codes"},
+                              {"path":"/api/v1/discount-codes"},
+                              {"path":"/api/v1/discount-codes"},
+                              {"path":"/api/v1/discount-codes"}
+                            ]}"""))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    void shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(post("/api/v1/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requests\":[{\"path\":\"/api/v1/discount-codes\"}]}"))
+                .andExpect(status().isForbidden());
+    }
+}
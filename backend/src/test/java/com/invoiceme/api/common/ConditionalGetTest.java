@@ -0,0 +1,141 @@
+package com.invoiceme.api.common;
+
+import com.invoiceme.application.customers.create.CreateCustomerCommand;
+import com.invoiceme.application.customers.create.CreateCustomerHandler;
+import com.invoiceme.application.invoices.addLineItem.AddLineItemCommand;
+import com.invoiceme.application.invoices.addLineItem.AddLineItemHandler;
+import com.invoiceme.application.invoices.create.CreateInvoiceCommand;
+import com.invoiceme.application.invoices.create.CreateInvoiceHandler;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static com.invoiceme.support.QueryCountAssertions.countQueries;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class ConditionalGetTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+    
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+    
+    @Autowired
+    private AddLineItemHandler addLineItemHandler;
+    
+    @Test
+    @WithMockUser
+    void shouldAnswerUnchangedInvoiceWith304WithoutLoadingIt() throws Exception {
+        UUID customerId = createCustomer("etag1");
+        UUID invoiceId = createInvoiceHandler.handle(new CreateInvoiceCommand(
+            customerId, LocalDate.now(), LocalDate.now().plusDays(30), null));
+        flushAndClear();
+        
+        String etag = mockMvc.perform(get("/api/v1/invoices/{id}", invoiceId))
+                .andExpect(status().isOk())
+                .andExpect(result -> assertEquals(1, result.getResponse().getHeaders(HttpHeaders.ETAG).size()))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        flushAndClear();
+        
+        // Invoice and customer timestamps only
+        long statements = countQueries(() -> perform304(get("/api/v1/invoices/{id}", invoiceId), etag));
+        assertTrue(statements <= 2, "304 took " + statements + " statements");
+        
+        addLineItemHandler.handle(new AddLineItemCommand(invoiceId, null, "Work", BigDecimal.ONE, BigDecimal.TEN));
+        flushAndClear();
+        
+        mockMvc.perform(get("/api/v1/invoices/{id}", invoiceId).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)))
+                .andExpect(jsonPath("$.lineItems", hasSize(1)));
+    }
+    
+    @Test
+    @WithMockUser
+    void shouldNotValidatePortalInvoiceForAnotherCustomer() throws Exception {
+        UUID customerId = createCustomer("etag2");
+        UUID otherCustomerId = createCustomer("etag3");
+        UUID invoiceId = createInvoiceHandler.handle(new CreateInvoiceCommand(
+            customerId, LocalDate.now(), LocalDate.now().plusDays(30), null));
+        flushAndClear();
+        
+        String etag = mockMvc.perform(get("/api/v1/customers/portal/invoices/{id}", invoiceId)
+                        .param("customerId", customerId.toString()))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        
+        perform304(get("/api/v1/customers/portal/invoices/{id}", invoiceId)
+            .param("customerId", customerId.toString()), etag);
+        mockMvc.perform(get("/api/v1/customers/portal/invoices/{id}", invoiceId)
+                        .param("customerId", otherCustomerId.toString())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isBadRequest());
+    }
+    
+    @Test
+    @WithMockUser
+    void shouldTagCustomersAndCustomerLists() throws Exception {
+        UUID customerId = createCustomer("etag4");
+        flushAndClear();
+        
+        String etag = mockMvc.perform(get("/api/v1/customers/{id}", customerId))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        perform304(get("/api/v1/customers/{id}", customerId), etag);
+        
+        String listEtag = mockMvc.perform(get("/api/v1/customers"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(listEtag);
+        perform304(get("/api/v1/customers"), listEtag);
+    }
+    
+    private void perform304(
+            MockHttpServletRequestBuilder request,
+            String etag) {
+        try {
+            mockMvc.perform(request.header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified())
+                    .andExpect(content().string(""));
+        } catch (Exception e) {
+            throw new AssertionError(e);
+        }
+    }
+    
+    private UUID createCustomer(String name) {
+        return createCustomerHandler.handle(new CreateCustomerCommand(
+            name, name + "@example.com", "1 Main St", null));
+    }
+    
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
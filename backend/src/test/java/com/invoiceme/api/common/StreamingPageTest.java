@@ -0,0 +1,143 @@
+package com.invoiceme.api.common;
+
+import com.invoiceme.api.formats.AvroHttpMessageConverter;
+import com.invoiceme.domain.customers.Customer;
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.domain.invoices.LineItem;
+import com.invoiceme.domain.payments.PaymentPlan;
+import com.jayway.jsonpath.JsonPath;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+@WithMockUser
+class StreamingPageTest {
+    
+    private static final int INVOICES = 250;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    private UUID customerId;
+    
+    @BeforeEach
+    void seedInvoices() {
+        customerId = customerRepository.save(Customer.create(
+            "Streaming Customer", "streaming@example.com", "1 Main St", "not-a-real-hash")).getId();
+        for (int i = 0; i < INVOICES; i++) {
+            Invoice invoice = Invoice.create(customerId, LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+            invoice.addLineItem(LineItem.create("Service " + i, BigDecimal.ONE, BigDecimal.valueOf(100)));
+            invoiceRepository.save(invoice);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    @Test
+    void shouldStreamPagesLargerThanAChunkWithoutGapsOrDuplicates() throws Exception {
+        // The unfiltered list has no page size cap; other tests may have left invoices behind
+        int totalElements = JsonPath.read(mockMvc.perform(get("/api/v1/invoices").param("size", "1"))
+                .andReturn().getResponse().getContentAsString(), "$.totalElements");
+        assertTrue(totalElements >= INVOICES);
+        int totalPages = (totalElements + 119) / 120;
+        
+        Set<String> ids = new HashSet<>();
+        for (int page = 0; page < totalPages; page++) {
+            String body = mockMvc.perform(get("/api/v1/invoices")
+                        .param("page", String.valueOf(page))
+                        .param("size", "120"))
+                    .andExpect(status().isOk())
+                    // Too large to buffer for a body hash
+                    .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                    .andExpect(jsonPath("$.content", hasSize(Math.min(120, totalElements - page * 120))))
+                    .andExpect(jsonPath("$.page").value(page))
+                    .andExpect(jsonPath("$.size").value(120))
+                    .andExpect(jsonPath("$.totalElements").value(totalElements))
+                    .andExpect(jsonPath("$.totalPages").value(totalPages))
+                    .andExpect(jsonPath("$.hasNext").value(page < totalPages - 1))
+                    .andExpect(jsonPath("$.hasPrevious").value(page > 0))
+                    .andReturn().getResponse().getContentAsString();
+            List<String> pageIds = JsonPath.read(body, "$.content[*].id");
+            ids.addAll(pageIds);
+        }
+        assertEquals(totalElements, ids.size());
+        
+        mockMvc.perform(get("/api/v1/invoices").param("customerId", customerId.toString()))
+                .andExpect(jsonPath("$.content[0].customerName").value("Streaming Customer"))
+                .andExpect(jsonPath("$.content[0].totalAmount").value(100.0));
+    }
+    
+    @Test
+    void shouldKeepCollectionETagOnSmallPages() throws Exception {
+        String etag = mockMvc.perform(get("/api/v1/invoices")
+                    .param("customerId", customerId.toString())
+                    .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.content", hasSize(20)))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        
+        mockMvc.perform(get("/api/v1/invoices")
+                    .param("customerId", customerId.toString())
+                    .param("size", "20")
+                    .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+    
+    @Test
+    void shouldWriteStreamedPagesInNegotiatedFormatsAndBatches() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices")
+                    .param("customerId", customerId.toString())
+                    .param("size", "150")
+                    .accept(AvroHttpMessageConverter.APPLICATION_AVRO))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(AvroHttpMessageConverter.SCHEMA_HEADER));
+        
+        mockMvc.perform(post("/api/v1/batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content("{\"requests\":[{\"id\":\"list\",\"path\":\"/api/v1/invoices?customerId="
+                        + customerId + "&size=150\"}]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.responses[0].status").value(200))
+                .andExpect(jsonPath("$.responses[0].body.content").isArray())
+                // Capped by the query, as for the standalone endpoint
+                .andExpect(jsonPath("$.responses[0].body.size").value(100));
+    }
+}
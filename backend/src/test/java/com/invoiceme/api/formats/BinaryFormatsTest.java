@@ -0,0 +1,126 @@
+package com.invoiceme.api.formats;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.invoiceme.api.invoices.InvoiceResponse;
+import com.invoiceme.application.customers.create.CreateCustomerCommand;
+import com.invoiceme.application.customers.create.CreateCustomerHandler;
+import com.invoiceme.application.invoices.addLineItem.AddLineItemCommand;
+import com.invoiceme.application.invoices.addLineItem.AddLineItemHandler;
+import com.invoiceme.application.invoices.create.CreateInvoiceCommand;
+import com.invoiceme.application.invoices.create.CreateInvoiceHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class BinaryFormatsTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private AvroSchemas avroSchemas;
+    
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+    
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+    
+    @Autowired
+    private AddLineItemHandler addLineItemHandler;
+    
+    private UUID invoiceId;
+    
+    @BeforeEach
+    void setUp() {
+        UUID customerId = createCustomerHandler.handle(new CreateCustomerCommand(
+            "Formats Customer", "formats@example.com", "1 Main St", null));
+        invoiceId = createInvoiceHandler.handle(new CreateInvoiceCommand(
+            customerId, LocalDate.now(), LocalDate.now().plusDays(30), null));
+        for (int i = 0; i < 5; i++) {
+            addLineItemHandler.handle(new AddLineItemCommand(
+                invoiceId, null, "Consulting " + i, BigDecimal.ONE, new BigDecimal("125.50")));
+        }
+    }
+    
+    @Test
+    @WithMockUser
+    void shouldDefaultToJson() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices/{id}", invoiceId).accept(MediaType.ALL))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+    
+    @Test
+    @WithMockUser
+    void shouldEncodeSameContentAsCbor() throws Exception {
+        byte[] json = fetch(MediaType.APPLICATION_JSON).getContentAsByteArray();
+        MockHttpServletResponse cbor = fetch(MediaType.APPLICATION_CBOR);
+        
+        assertEquals(MediaType.APPLICATION_CBOR_VALUE, cbor.getContentType());
+        // UUIDs are CBOR byte strings, so compare decoded DTOs rather than trees
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        assertEquals(
+            objectMapper.readValue(json, InvoiceResponse.class),
+            cborMapper.readValue(cbor.getContentAsByteArray(), InvoiceResponse.class));
+        assertTrue(cbor.getContentAsByteArray().length < json.length);
+    }
+    
+    @Test
+    @WithMockUser
+    void shouldEncodeAvroAgainstPublishedSchema() throws Exception {
+        byte[] json = fetch(MediaType.APPLICATION_JSON).getContentAsByteArray();
+        MockHttpServletResponse avro = fetch(AvroHttpMessageConverter.APPLICATION_AVRO);
+        
+        AvroSchema schema = avroSchemas.schemaFor(InvoiceResponse.class).orElseThrow();
+        String fingerprint = AvroSchemas.fingerprint(schema);
+        assertEquals(fingerprint, avro.getHeader(AvroHttpMessageConverter.SCHEMA_HEADER));
+        InvoiceResponse decoded = avroSchemas.mapper().readerFor(InvoiceResponse.class)
+                .with(schema)
+                .readValue(avro.getContentAsByteArray());
+        assertEquals(invoiceId, decoded.id());
+        assertEquals(5, decoded.lineItems().size());
+        assertEquals(0, new BigDecimal("627.50").compareTo(decoded.totalAmount()));
+        assertTrue(avro.getContentAsByteArray().length < json.length / 2);
+        
+        mockMvc.perform(get("/api/v1/schemas/avro"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[*].fingerprint", hasItem(fingerprint)));
+        mockMvc.perform(get("/api/v1/schemas/avro/{fingerprint}", fingerprint))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.name").value("InvoiceResponse"));
+    }
+    
+    private MockHttpServletResponse fetch(MediaType mediaType) throws Exception {
+        return mockMvc.perform(get("/api/v1/invoices/{id}", invoiceId).accept(mediaType))
+                .andExpect(status().isOk())
+                .andReturn().getResponse();
+    }
+}
@@ -36,6 +36,7 @@ class InvoiceControllerIntegrationTest {
     
     private UUID customerId;
     private UUID invoiceId;
+    private String invoiceNumber;
     
     @BeforeEach
     void setUp() throws Exception {
@@ -74,6 +75,7 @@ class InvoiceControllerIntegrationTest {
         
         InvoiceResponse invoice = objectMapper.readValue(invoiceResponse, InvoiceResponse.class);
         invoiceId = invoice.id();
+        invoiceNumber = invoice.invoiceNumber();
     }
     
     @Test
@@ -89,6 +91,8 @@ class InvoiceControllerIntegrationTest {
                 .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isCreated())
                 .andExpect(jsonPath("$.id").exists())
+                .andExpect(jsonPath("$.invoiceNumber").value(matchesPattern("INV-" + LocalDate.now().getYear() + "-\\d{6}")))
+                .andExpect(jsonPath("$.invoiceNumber").value(not(invoiceNumber)))
                 .andExpect(jsonPath("$.customerId").value(customerId.toString()))
                 .andExpect(jsonPath("$.status").value(InvoiceStatus.DRAFT.name()))
                 .andExpect(jsonPath("$.lineItems").isArray())
@@ -231,6 +235,22 @@ class InvoiceControllerIntegrationTest {
                 .andExpect(jsonPath("$.payments").isArray());
     }
     
+    @Test
+    void shouldGetInvoiceByNumber() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices/by-number/{number}", invoiceNumber))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(invoiceId.toString()))
+                .andExpect(jsonPath("$.invoiceNumber").value(invoiceNumber))
+                .andExpect(jsonPath("$.customerId").value(customerId.toString()))
+                .andExpect(jsonPath("$.lineItems").isArray());
+    }
+    
+    @Test
+    void shouldReturn400WhenInvoiceNumberIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices/by-number/{number}", "INV-1999-000001"))
+                .andExpect(status().isBadRequest());
+    }
+    
     @Test
     void shouldListInvoicesByStatus() throws Exception {
         // Mark invoice as sent
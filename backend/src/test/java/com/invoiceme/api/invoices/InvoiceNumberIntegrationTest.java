@@ -0,0 +1,121 @@
+package com.invoiceme.api.invoices;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.domain.customers.Customer;
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.domain.payments.PaymentPlan;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Invoices are numbered on create and can be looked up by number on the unsharded (JPA) path.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class InvoiceNumberIntegrationTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    private UUID customerId;
+    
+    @BeforeEach
+    void setUp() {
+        customerId = customerRepository.save(Customer.create(
+            "Numbered Customer", UUID.randomUUID() + "@example.com", "1 Main St", "not-a-real-hash")).getId();
+    }
+    
+    @Test
+    void shouldNumberNewInvoicesByIssueYear() throws Exception {
+        InvoiceResponse first = createInvoice(LocalDate.now());
+        InvoiceResponse second = createInvoice(LocalDate.now());
+        InvoiceResponse lastYear = createInvoice(LocalDate.now().minusYears(1));
+        
+        String series = "INV-" + LocalDate.now().getYear() + "-";
+        assertTrue(first.invoiceNumber().matches(series + "\\d{6}"), first.invoiceNumber());
+        assertTrue(second.invoiceNumber().matches(series + "\\d{6}"), second.invoiceNumber());
+        assertNotEquals(first.invoiceNumber(), second.invoiceNumber());
+        assertTrue(lastYear.invoiceNumber().startsWith("INV-" + (LocalDate.now().getYear() - 1) + "-"));
+    }
+    
+    @Test
+    void shouldGetInvoiceByNumber() throws Exception {
+        InvoiceResponse created = createInvoice(LocalDate.now());
+        
+        mockMvc.perform(get("/api/v1/invoices/by-number/{number}", created.invoiceNumber()).with(user("admin")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(created.id().toString()))
+                .andExpect(jsonPath("$.invoiceNumber").value(created.invoiceNumber()))
+                .andExpect(jsonPath("$.customerId").value(customerId.toString()))
+                .andExpect(jsonPath("$.customerName").value("Numbered Customer"));
+    }
+    
+    @Test
+    void shouldReturn400WhenInvoiceNumberIsUnknown() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices/by-number/{number}", "INV-1999-000001").with(user("admin")))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Invoice with number INV-1999-000001 not found"));
+    }
+    
+    @Test
+    void shouldRejectADuplicateInvoiceNumber() {
+        Invoice first = Invoice.create(customerId, LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        first.assignNumber("DUP-2026-000001");
+        invoiceRepository.save(first);
+        entityManager.flush();
+        
+        Invoice second = Invoice.create(customerId, LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        second.assignNumber("DUP-2026-000001");
+        assertThrows(PersistenceException.class, () -> {
+            invoiceRepository.save(second);
+            entityManager.flush();
+        });
+    }
+    
+    private InvoiceResponse createInvoice(LocalDate issueDate) throws Exception {
+        CreateInvoiceRequest request = new CreateInvoiceRequest(
+            customerId, issueDate, LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        String body = mockMvc.perform(post("/api/v1/invoices").with(user("admin"))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+        return objectMapper.readValue(body, InvoiceResponse.class);
+    }
+}
@@ -0,0 +1,55 @@
+package com.invoiceme.application.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PageChunksTest {
+    
+    private static final List<Integer> ROWS = IntStream.range(0, 1000).boxed().toList();
+    
+    @Test
+    void shouldFetchSmallPageInOneCall() {
+        List<int[]> fetches = new ArrayList<>();
+        List<Integer> rows = collect(2, 20, fetches);
+        
+        assertEquals(ROWS.subList(40, 60), rows);
+        assertEquals(1, fetches.size());
+        assertArrayEquals(new int[] {2, 20}, fetches.get(0));
+    }
+    
+    @Test
+    void shouldSplitLargePageIntoChunksAndTrimTheEnds() {
+        List<int[]> fetches = new ArrayList<>();
+        List<Integer> rows = collect(1, 250, fetches);
+        
+        // Rows 250..499 span chunks 2, 3 and 4 of 100
+        assertEquals(ROWS.subList(250, 500), rows);
+        assertEquals(List.of(2, 3, 4), fetches.stream().map(fetch -> fetch[0]).toList());
+        assertTrue(fetches.stream().allMatch(fetch -> fetch[1] == PageChunks.CHUNK_SIZE));
+    }
+    
+    @Test
+    void shouldStopAtTheLastRow() {
+        List<int[]> fetches = new ArrayList<>();
+        List<Integer> rows = collect(3, 300, fetches);
+        
+        assertEquals(ROWS.subList(900, 1000), rows);
+        // Chunk 10 comes back empty and ends the walk
+        assertEquals(List.of(9, 10), fetches.stream().map(fetch -> fetch[0]).toList());
+    }
+    
+    private static List<Integer> collect(int page, int size, List<int[]> fetches) {
+        List<Integer> rows = new ArrayList<>();
+        PageChunks.forEach(page, size, (chunkPage, chunkSize) -> {
+            fetches.add(new int[] {chunkPage, chunkSize});
+            int from = Math.min(ROWS.size(), chunkPage * chunkSize);
+            return ROWS.subList(from, Math.min(ROWS.size(), from + chunkSize));
+        }, rows::addAll);
+        return rows;
+    }
+}
@@ -62,6 +62,7 @@ class CreateInvoiceHandlerTest {
         assertTrue(invoice.isPresent());
         assertEquals(InvoiceStatus.DRAFT, invoice.get().getStatus());
         assertEquals(customerId, invoice.get().getCustomerId());
+        assertTrue(invoice.get().getInvoiceNumber().startsWith("INV-" + LocalDate.now().getYear() + "-"));
         assertTrue(invoice.get().canBeEdited());
     }
     
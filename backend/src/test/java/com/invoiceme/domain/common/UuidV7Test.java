@@ -0,0 +1,83 @@
+package com.invoiceme.domain.common;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+    
+    @Test
+    void shouldSetVersionVariantAndCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UuidV7.next();
+        long after = System.currentTimeMillis();
+        
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        // The counter may carry the timestamp a millisecond or so ahead under load
+        assertTrue(UuidV7.timestamp(id) >= before && UuidV7.timestamp(id) <= after + 1000);
+    }
+    
+    @Test
+    void shouldIncreaseStrictlyEvenWithinOneMillisecond() {
+        UUID previous = UuidV7.next();
+        for (int i = 0; i < 100_000; i++) {
+            UUID id = UuidV7.next();
+            assertTrue(compareUnsigned(previous, id) < 0, previous + " not before " + id);
+            previous = id;
+        }
+    }
+    
+    @Test
+    void shouldStayUniqueAndOrderedPerThreadAcrossThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<UUID>>> batches = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                batches.add(executor.submit(() -> {
+                    List<UUID> ids = new ArrayList<>();
+                    for (int i = 0; i < 20_000; i++) {
+                        ids.add(UuidV7.next());
+                    }
+                    return ids;
+                }));
+            }
+            Set<UUID> all = new HashSet<>();
+            for (Future<List<UUID>> batch : batches) {
+                List<UUID> ids = batch.get();
+                for (int i = 1; i < ids.size(); i++) {
+                    assertTrue(compareUnsigned(ids.get(i - 1), ids.get(i)) < 0);
+                }
+                all.addAll(ids);
+            }
+            assertEquals(8 * 20_000, all.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void shouldBuildIdsFromGivenTimestampAndBits() {
+        UUID id = UuidV7.of(1_700_000_000_000L, -1L, -1L);
+        
+        assertEquals(1_700_000_000_000L, UuidV7.timestamp(id));
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        assertTrue(compareUnsigned(id, UuidV7.of(1_700_000_000_001L, 0L, 0L)) < 0);
+    }
+    
+    // Byte order, as databases compare UUIDs; UUID.compareTo compares signed halves
+    private static int compareUnsigned(UUID a, UUID b) {
+        int high = Long.compareUnsigned(a.getMostSignificantBits(), b.getMostSignificantBits());
+        return high != 0 ? high : Long.compareUnsigned(a.getLeastSignificantBits(), b.getLeastSignificantBits());
+    }
+}
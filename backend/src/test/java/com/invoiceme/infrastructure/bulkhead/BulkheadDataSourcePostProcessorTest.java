@@ -0,0 +1,65 @@
+package com.invoiceme.infrastructure.bulkhead;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BulkheadDataSourcePostProcessorTest {
+    
+    @Test
+    void shouldAcceptConnectionCapsThatFitInThePool() {
+        BulkheadProperties bulkheads = bulkheads(4, 2, 2, 1);
+        
+        assertDoesNotThrow(() -> BulkheadDataSourcePostProcessor.checkConnectionShares(bulkheads, pool(10), "dataSource"));
+        assertDoesNotThrow(() -> BulkheadDataSourcePostProcessor.checkConnectionShares(bulkheads, pool(9), "dataSource"));
+    }
+    
+    @Test
+    void shouldRejectConnectionCapsThatOvercommitThePool() {
+        BulkheadProperties bulkheads = bulkheads(6, 6, 3, 2);
+        
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> BulkheadDataSourcePostProcessor.checkConnectionShares(bulkheads, pool(10), "dataSource"));
+        assertTrue(ex.getMessage().contains("add up to 17"), ex.getMessage());
+    }
+    
+    @Test
+    void shouldUseHikarisDefaultWhenThePoolSizeIsNotSet() {
+        HikariDataSource unset = new HikariDataSource();
+        
+        assertDoesNotThrow(() -> BulkheadDataSourcePostProcessor.checkConnectionShares(bulkheads(4, 2, 2, 1), unset, "dataSource"));
+        assertThrows(IllegalStateException.class,
+            () -> BulkheadDataSourcePostProcessor.checkConnectionShares(bulkheads(6, 6), unset, "dataSource"));
+    }
+    
+    @Test
+    void shouldFindThePoolBehindAProxy() {
+        DelegatingDataSource proxy = new DelegatingDataSource(pool(10));
+        
+        assertThrows(IllegalStateException.class,
+            () -> BulkheadDataSourcePostProcessor.checkConnectionShares(bulkheads(6, 6), proxy, "dataSource"));
+    }
+    
+    private static BulkheadProperties bulkheads(int... maxConnections) {
+        Map<String, BulkheadProperties.Group> groups = new LinkedHashMap<>();
+        for (int i = 0; i < maxConnections.length; i++) {
+            groups.put("group-" + i, new BulkheadProperties.Group(
+                List.of("/api/" + i + "/**"), 1, 0, Duration.ofSeconds(1), maxConnections[i], Duration.ofSeconds(1)));
+        }
+        return new BulkheadProperties(true, groups);
+    }
+    
+    // Never started, so no connections are opened
+    private static HikariDataSource pool(int maximumPoolSize) {
+        HikariDataSource pool = new HikariDataSource();
+        pool.setMaximumPoolSize(maximumPoolSize);
+        return pool;
+    }
+}
@@ -0,0 +1,85 @@
+package com.invoiceme.infrastructure.bulkhead;
+
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * One admin request held inside the database fills the admin bulkhead; further admin requests
+ * are turned away while portal requests, in their own bulkhead, still run.
+ */
+@SpringBootTest(properties = {
+    "invoiceme.bulkheads.groups.admin.max-concurrent=1",
+    "invoiceme.bulkheads.groups.admin.max-queued=0"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class BulkheadFilterTest {
+    
+    @MockBean
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry registry;
+    
+    @Test
+    void shouldRejectAdminRequestsOnlyWhileTheAdminBulkheadIsFull() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(invoiceRepository.count()).thenAnswer(invocation -> {
+            release.await(10, TimeUnit.SECONDS);
+            return 0L;
+        });
+        CompletableFuture<Integer> held = CompletableFuture.supplyAsync(() -> statusOf("/api/v1/invoices"));
+        awaitActive("admin", 1);
+        
+        mockMvc.perform(get("/api/v1/customers").with(user("admin")))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"));
+        mockMvc.perform(get("/api/v1/customers/portal/invoices").param("customerId", UUID.randomUUID().toString()))
+            .andExpect(status().isOk());
+        assertEquals(1, registry.get(Bulkhead.REJECTED_COUNTER)
+            .tags("bulkhead", "admin", "reason", "queue-full").counter().count());
+        
+        release.countDown();
+        assertEquals(200, held.get(10, TimeUnit.SECONDS));
+        mockMvc.perform(get("/api/v1/customers").with(user("admin")))
+            .andExpect(status().isOk());
+    }
+    
+    private int statusOf(String path) {
+        try {
+            return mockMvc.perform(get(path).with(user("admin"))).andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private void awaitActive(String bulkhead, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get(Bulkhead.ACTIVE_GAUGE).tag("bulkhead", bulkhead).gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Request never entered the bulkhead");
+            Thread.sleep(10);
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.invoiceme.infrastructure.bulkhead;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class BulkheadTest {
+    
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    
+    @Test
+    void shouldQueueUpToTheLimitThenReject() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 1, Duration.ofSeconds(5), 0);
+        assertTrue(bulkhead.enter());
+        
+        CompletableFuture<Boolean> queued = CompletableFuture.supplyAsync(() -> enter(bulkhead));
+        awaitQueued(1);
+        assertFalse(bulkhead.enter());
+        assertEquals(1, rejected("queue-full"));
+        
+        bulkhead.exit();
+        assertTrue(queued.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void shouldRejectWhenTheWaitRunsOut() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 1, Duration.ofMillis(20), 0);
+        assertTrue(bulkhead.enter());
+        
+        assertFalse(CompletableFuture.supplyAsync(() -> enter(bulkhead)).get(5, TimeUnit.SECONDS));
+        assertEquals(1, rejected("timeout"));
+        bulkhead.exit();
+    }
+    
+    @Test
+    void shouldBindTheBulkheadToTheThreadAndPropagateIt() throws Exception {
+        Bulkhead bulkhead = bulkhead(1, 0, Duration.ZERO, 0);
+        assertTrue(bulkhead.enter());
+        
+        assertSame(bulkhead, Bulkhead.current());
+        var task = Bulkhead.propagate(Bulkhead::current);
+        assertSame(bulkhead, CompletableFuture.supplyAsync(() -> call(task)).get(5, TimeUnit.SECONDS));
+        
+        bulkhead.exit();
+        assertNull(Bulkhead.current());
+    }
+    
+    @Test
+    void shouldCapConnectionsAndReturnThemOnClose() throws Exception {
+        Bulkhead bulkhead = bulkhead(10, 0, Duration.ZERO, 2);
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+        BulkheadDataSource dataSource = new BulkheadDataSource(pool);
+        assertTrue(bulkhead.enter());
+        
+        Connection first = dataSource.getConnection();
+        Connection second = dataSource.getConnection();
+        assertEquals(2.0, registry.get(Bulkhead.CONNECTIONS_GAUGE).gauge().value());
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        
+        first.close();
+        first.close();
+        assertEquals(1.0, registry.get(Bulkhead.CONNECTIONS_GAUGE).gauge().value());
+        dataSource.getConnection().close();
+        second.close();
+        assertEquals(0.0, registry.get(Bulkhead.CONNECTIONS_GAUGE).gauge().value());
+        bulkhead.exit();
+        
+        // Outside a bulkhead the pool is used directly
+        for (int i = 0; i < 3; i++) {
+            dataSource.getConnection();
+        }
+        verify(pool, times(6)).getConnection();
+    }
+    
+    private Bulkhead bulkhead(int maxConcurrent, int maxQueued, Duration maxWait, int maxConnections) {
+        return new Bulkhead("test", new BulkheadProperties.Group(
+            List.of(), maxConcurrent, maxQueued, maxWait, maxConnections, Duration.ofMillis(20)), registry);
+    }
+    
+    private void awaitQueued(int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get(Bulkhead.QUEUED_GAUGE).gauge().value() < expected) {
+            assertTrue(System.nanoTime() < deadline, "Request never queued");
+            Thread.sleep(5);
+        }
+    }
+    
+    private double rejected(String reason) {
+        return registry.get(Bulkhead.REJECTED_COUNTER).tag("reason", reason).counter().count();
+    }
+    
+    // Leaves again at once, so no pool thread keeps the bulkhead bound
+    private static boolean enter(Bulkhead bulkhead) {
+        try {
+            boolean entered = bulkhead.enter();
+            if (entered) {
+                bulkhead.exit();
+            }
+            return entered;
+        } catch (InterruptedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private static <T> T call(Callable<T> task) {
+        try {
+            return task.call();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
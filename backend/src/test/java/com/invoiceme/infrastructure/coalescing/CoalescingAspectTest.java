@@ -0,0 +1,238 @@
+package com.invoiceme.infrastructure.coalescing;
+
+import com.invoiceme.infrastructure.persistence.routing.ReadYourWritesTracker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class CoalescingAspectTest {
+    
+    @Autowired
+    private BlockingHandler handler;
+    
+    @Autowired
+    private MeterRegistry registry;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+    
+    private final ExecutorService callers = Executors.newFixedThreadPool(8);
+    
+    @BeforeEach
+    void resetHandler() {
+        handler.reset();
+    }
+    
+    @AfterEach
+    void releaseAndStop() {
+        handler.release();
+        callers.shutdownNow();
+    }
+    
+    @Test
+    void shouldShareOneExecutionBetweenConcurrentIdenticalCalls() throws Exception {
+        double coalescedBefore = coalesced();
+        
+        List<Future<List<String>>> calls = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            calls.add(callers.submit(() -> handler.handle("invoice-1")));
+        }
+        awaitUntil(() -> coalesced() - coalescedBefore == 4);
+        handler.release();
+        
+        List<String> first = calls.get(0).get(5, TimeUnit.SECONDS);
+        for (Future<List<String>> call : calls) {
+            assertSame(first, call.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, handler.executions());
+    }
+    
+    @Test
+    void shouldNotShareBetweenDifferentQueries() throws Exception {
+        Future<List<String>> first = callers.submit(() -> handler.handle("invoice-1"));
+        Future<List<String>> second = callers.submit(() -> handler.handle("invoice-2"));
+        
+        awaitUntil(() -> handler.executions() == 2);
+        handler.release();
+        
+        assertEquals(List.of("invoice-1"), first.get(5, TimeUnit.SECONDS));
+        assertEquals(List.of("invoice-2"), second.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void shouldNotJoinFlightStartedBeforeACommittedWrite() throws Exception {
+        Future<List<String>> beforeWrite = callers.submit(() -> handler.handle("invoice-1"));
+        awaitUntil(() -> handler.executions() == 1);
+        
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> { });
+        Future<List<String>> afterWrite = callers.submit(() -> handler.handle("invoice-1"));
+        
+        awaitUntil(() -> handler.executions() == 2);
+        handler.release();
+        assertNotSame(beforeWrite.get(5, TimeUnit.SECONDS), afterWrite.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void shouldRunCallsInsideATransactionOnTheirOwn() throws Exception {
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        
+        Future<List<String>> outside = callers.submit(() -> handler.handle("invoice-1"));
+        awaitUntil(() -> handler.executions() == 1);
+        Future<List<String>> inside = callers.submit(() -> readOnly.execute(status -> handler.handle("invoice-1")));
+        
+        awaitUntil(() -> handler.executions() == 2);
+        handler.release();
+        assertNotSame(outside.get(5, TimeUnit.SECONDS), inside.get(5, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void shouldNotShareBetweenPinnedAndUnpinnedClients() throws Exception {
+        readYourWrites.recordWrite("writer");
+        
+        Future<List<String>> unpinned = callers.submit(() -> asClient("reader", () -> handler.handle("invoice-1")));
+        awaitUntil(() -> handler.executions() == 1);
+        Future<List<String>> pinned = callers.submit(() -> asClient("writer", () -> handler.handle("invoice-1")));
+        awaitUntil(() -> handler.executions() == 2);
+        
+        double coalescedBefore = coalesced();
+        Future<List<String>> pinnedAgain = callers.submit(() -> asClient("writer", () -> handler.handle("invoice-1")));
+        awaitUntil(() -> coalesced() - coalescedBefore == 1);
+        handler.release();
+        
+        assertNotSame(unpinned.get(5, TimeUnit.SECONDS), pinned.get(5, TimeUnit.SECONDS));
+        assertSame(pinned.get(5, TimeUnit.SECONDS), pinnedAgain.get(5, TimeUnit.SECONDS));
+        assertEquals(2, handler.executions());
+    }
+    
+    @Test
+    void shouldPassTheFailureToEveryCaller() throws Exception {
+        IllegalStateException failure = new IllegalStateException("boom");
+        handler.failWith(failure);
+        Future<List<String>> first = callers.submit(() -> handler.handle("invoice-1"));
+        awaitUntil(() -> handler.executions() == 1);
+        double coalescedBefore = coalesced();
+        Future<List<String>> second = callers.submit(() -> handler.handle("invoice-1"));
+        awaitUntil(() -> coalesced() - coalescedBefore == 1);
+        handler.release();
+        
+        for (Future<List<String>> call : List.of(first, second)) {
+            Exception ex = assertThrows(Exception.class, () -> call.get(5, TimeUnit.SECONDS));
+            assertSame(failure, ex.getCause());
+        }
+    }
+    
+    private double coalesced() {
+        Counter counter = registry.find(CoalescingAspect.COALESCED_COUNTER)
+                .tag("handler", "BlockingHandler")
+                .counter();
+        return counter != null ? counter.count() : 0;
+    }
+    
+    private static <T> T asClient(String username, Callable<T> call) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(username, null, List.of()));
+        try {
+            return call.call();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+    
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!condition.getAsBoolean()) {
+            assertTrue(System.nanoTime() < deadline, "Condition not reached in time");
+            Thread.sleep(10);
+        }
+    }
+    
+    @TestConfiguration
+    static class Handlers {
+        
+        @Bean
+        BlockingHandler blockingHandler() {
+            return new BlockingHandler();
+        }
+        
+        // Replica routing is off in tests; the tracker alone is enough for the coalescing key
+        @Bean
+        ReadYourWritesTracker readYourWritesTracker() {
+            return new ReadYourWritesTracker(Duration.ofMinutes(1));
+        }
+    }
+    
+    /**
+     * Holds every execution until released, so calls overlap deterministically.
+     * State is reached through methods because the test holds the proxy.
+     */
+    static class BlockingHandler {
+        
+        private final AtomicInteger executions = new AtomicInteger();
+        private volatile CountDownLatch release = new CountDownLatch(1);
+        private volatile RuntimeException failure;
+        
+        public void reset() {
+            executions.set(0);
+            release = new CountDownLatch(1);
+            failure = null;
+        }
+        
+        public int executions() {
+            return executions.get();
+        }
+        
+        public void release() {
+            release.countDown();
+        }
+        
+        public void failWith(RuntimeException failure) {
+            this.failure = failure;
+        }
+        
+        @Coalesce
+        public List<String> handle(String query) {
+            executions.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            if (failure != null) {
+                throw failure;
+            }
+            return new ArrayList<>(List.of(query));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdQuery;
+import com.invoiceme.application.invoices.listAll.ListAllInvoicesHandler;
+import com.invoiceme.application.invoices.listAll.ListAllInvoicesQuery;
+import com.invoiceme.application.payments.record.RecordPaymentCommand;
+import com.invoiceme.application.payments.record.RecordPaymentHandler;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * With a fixed limit of 2, one read in flight leaves no room for reads or lists
+ * (shares 0.75 and 0.5) but still admits payments (share 1.0).
+ */
+@SpringBootTest(properties = {
+    "invoiceme.concurrency-limit.enabled=true",
+    "invoiceme.concurrency-limit.initial-limit=2",
+    "invoiceme.concurrency-limit.min-limit=2",
+    "invoiceme.concurrency-limit.max-limit=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WithMockUser
+class ConcurrencyLimitAspectTest {
+    
+    private static final UUID BLOCKING_INVOICE = UUID.randomUUID();
+    
+    @MockBean
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private GetInvoiceByIdHandler getInvoiceByIdHandler;
+    
+    @Autowired
+    private ListAllInvoicesHandler listAllInvoicesHandler;
+    
+    @Autowired
+    private RecordPaymentHandler recordPaymentHandler;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private MeterRegistry registry;
+    
+    private final CountDownLatch release = new CountDownLatch(1);
+    private CompletableFuture<?> blockedRead;
+    
+    @BeforeEach
+    void occupyOneSlot() throws Exception {
+        when(invoiceRepository.findById(any())).thenAnswer(invocation -> {
+            if (BLOCKING_INVOICE.equals(invocation.getArgument(0))) {
+                release.await(10, TimeUnit.SECONDS);
+            }
+            return Optional.empty();
+        });
+        blockedRead = CompletableFuture.runAsync(
+            () -> getInvoiceByIdHandler.handle(new GetInvoiceByIdQuery(BLOCKING_INVOICE)));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (registry.get(ConcurrencyLimitAspect.IN_FLIGHT_GAUGE).gauge().value() < 1) {
+            assertTrue(System.nanoTime() < deadline, "Blocking read never started");
+            Thread.sleep(10);
+        }
+    }
+    
+    @AfterEach
+    void releaseSlot() {
+        release.countDown();
+        assertThrows(Exception.class, () -> blockedRead.get(10, TimeUnit.SECONDS));
+    }
+    
+    @Test
+    void shouldShedListsAndReadsButAdmitPayments() {
+        double rejectedBefore = rejected("list");
+        
+        assertThrows(ConcurrencyLimitExceededException.class,
+            () -> listAllInvoicesHandler.handle(new ListAllInvoicesQuery(0, 20)));
+        assertThrows(ConcurrencyLimitExceededException.class,
+            () -> getInvoiceByIdHandler.handle(new GetInvoiceByIdQuery(UUID.randomUUID())));
+        // Admitted, then fails on the missing invoice
+        assertThrows(DomainValidationException.class,
+            () -> recordPaymentHandler.handle(new RecordPaymentCommand(
+                UUID.randomUUID(), BigDecimal.ONE, LocalDate.now(), "CARD")));
+        
+        assertEquals(1, rejected("list") - rejectedBefore);
+    }
+    
+    @Test
+    void shouldAnswer503WithRetryAfter() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices").param("size", "20"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "1"))
+            .andExpect(jsonPath("$.status").value(503));
+        mockMvc.perform(get("/api/v1/customers"))
+            .andExpect(status().isServiceUnavailable());
+    }
+    
+    @Test
+    void shouldAdmitPagesThatAreAlreadyStreaming() throws Exception {
+        // Over one chunk the page is read while the 200 is written, too late for a 503
+        mockMvc.perform(get("/api/v1/invoices").param("size", "500"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.size").value(500));
+    }
+    
+    private double rejected(String priority) {
+        return registry.get(ConcurrencyLimitAspect.REJECTED_COUNTER).tag("priority", priority).counter().count();
+    }
+}
@@ -0,0 +1,57 @@
+package com.invoiceme.infrastructure.concurrency;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimitTest {
+    
+    private static final long MILLIS = 1_000_000;
+    
+    @Test
+    void shouldGrowWhileLatencyStaysAtTheBaseline() {
+        GradientLimit limit = new GradientLimit(10, 4, 100, 1.5);
+        
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.limit(), 0, 10);
+        }
+        
+        assertTrue(limit.limit() > 30, "limit was " + limit.limit());
+    }
+    
+    @Test
+    void shouldNotGrowWhileMostOfTheLimitIsUnused() {
+        GradientLimit limit = new GradientLimit(10, 4, 100, 1.5);
+        
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, 1, 0, 10);
+        }
+        
+        assertEquals(10, limit.limit());
+    }
+    
+    @Test
+    void shouldShrinkToTheMinimumWhenLatencyClimbs() {
+        GradientLimit limit = new GradientLimit(50, 4, 100, 1.5);
+        for (int i = 0; i < 20; i++) {
+            limit.onSample(10 * MILLIS, 50, 0, 10);
+        }
+        
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(500 * MILLIS, limit.limit(), 0, 10);
+        }
+        
+        assertEquals(4, limit.limit());
+    }
+    
+    @Test
+    void shouldShrinkWhenThreadsWaitForConnections() {
+        GradientLimit limit = new GradientLimit(50, 4, 100, 1.5);
+        
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MILLIS, limit.limit(), 30, 10);
+        }
+        
+        assertTrue(limit.limit() < 20, "limit was " + limit.limit());
+    }
+}
@@ -0,0 +1,58 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+import org.springframework.core.io.Resource;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JfrEndpointTest {
+    
+    @TempDir
+    private Path dumpDir;
+    
+    private JfrEndpoint endpoint;
+    
+    @AfterEach
+    void stopRecording() {
+        if (endpoint != null) {
+            endpoint.control("stop", null, null);
+        }
+    }
+    
+    @Test
+    void shouldDeleteDownloadedDumpOnceStreamed() throws Exception {
+        endpoint = new JfrEndpoint(dumpDir.toString());
+        endpoint.control("start", null, null);
+        
+        WebEndpointResponse<Resource> response = endpoint.dump("dump", null);
+        Path file = response.getBody().getFile().toPath();
+        assertTrue(Files.exists(file));
+        
+        try (InputStream in = response.getBody().getInputStream()) {
+            assertTrue(in.readAllBytes().length > 0);
+        }
+        assertFalse(Files.exists(file));
+    }
+    
+    @Test
+    void shouldKeepDumpWrittenToDumpDirectory() throws Exception {
+        endpoint = new JfrEndpoint(dumpDir.toString());
+        endpoint.control("start", null, null);
+        
+        WebEndpointResponse<Resource> response = endpoint.dump("dump", true);
+        Path file = response.getBody().getFile().toPath();
+        try (InputStream in = response.getBody().getInputStream()) {
+            in.readAllBytes();
+        }
+        
+        assertEquals(dumpDir, file.getParent());
+        assertTrue(Files.exists(file));
+    }
+}
@@ -0,0 +1,106 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import com.invoiceme.application.customers.create.CreateCustomerCommand;
+import com.invoiceme.application.customers.create.CreateCustomerHandler;
+import com.invoiceme.application.invoices.create.CreateInvoiceCommand;
+import com.invoiceme.application.invoices.create.CreateInvoiceHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdQuery;
+import jakarta.persistence.EntityManager;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class JfrEventAspectTest {
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+    
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+    
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+    
+    @Autowired
+    private GetInvoiceByIdHandler getInvoiceByIdHandler;
+    
+    @Test
+    void shouldEmitHandlerRepositoryAndPasswordEvents() throws Exception {
+        UUID customerId = createCustomerHandler.handle(new CreateCustomerCommand(
+            "Jfr Customer", "jfr@example.com", "1 Main St", null));
+        UUID invoiceId = createInvoiceHandler.handle(new CreateInvoiceCommand(
+            customerId, LocalDate.now(), LocalDate.now().plusDays(30), null));
+        entityManager.flush();
+        entityManager.clear();
+        
+        List<RecordedEvent> events;
+        try (Recording recording = new Recording()) {
+            recording.enable(HandlerEvent.class);
+            recording.enable(RepositoryEvent.class);
+            recording.enable(PasswordCheckEvent.class);
+            recording.start();
+            
+            getInvoiceByIdHandler.handle(new GetInvoiceByIdQuery(invoiceId));
+            passwordEncoder.matches("secret", passwordEncoder.encode("secret"));
+            
+            recording.stop();
+            Path file = Files.createTempFile("jfr-events-test", ".jfr");
+            try {
+                recording.dump(file);
+                events = RecordingFile.readAllEvents(file);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        }
+        
+        RecordedEvent handler = single(events, "com.invoiceme.Handler");
+        assertEquals("GetInvoiceByIdHandler", handler.getString("handler"));
+        assertEquals(invoiceId.toString(), handler.getString("invoiceId"));
+        assertTrue(handler.getLong("sqlStatements") > 0);
+        assertTrue(handler.getLong("rowsRead") > 0);
+        
+        RecordedEvent repository = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.invoiceme.Repository"))
+                .filter(e -> e.getString("repository").equals("InvoiceRepositoryImpl"))
+                .findFirst()
+                .orElseThrow();
+        assertEquals("findById", repository.getString("method"));
+        assertEquals(invoiceId.toString(), repository.getString("invoiceId"));
+        assertEquals(1, repository.getLong("resultCount"));
+        
+        List<RecordedEvent> passwordChecks = events.stream()
+                .filter(e -> e.getEventType().getName().equals("com.invoiceme.PasswordCheck"))
+                .toList();
+        assertEquals(2, passwordChecks.size());
+        assertTrue(passwordChecks.stream().anyMatch(e -> e.getBoolean("matched")));
+    }
+    
+    private static RecordedEvent single(List<RecordedEvent> events, String type) {
+        List<RecordedEvent> matching = events.stream()
+                .filter(e -> e.getEventType().getName().equals(type))
+                .toList();
+        assertEquals(1, matching.size(), type);
+        return matching.get(0);
+    }
+}
@@ -0,0 +1,80 @@
+package com.invoiceme.infrastructure.diagnostics;
+
+import com.invoiceme.application.customers.create.CreateCustomerCommand;
+import com.invoiceme.application.customers.create.CreateCustomerHandler;
+import com.invoiceme.application.invoices.create.CreateInvoiceCommand;
+import com.invoiceme.application.invoices.create.CreateInvoiceHandler;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest(properties = "invoiceme.diagnostics.slow-requests.threshold=0ms")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Transactional
+class SlowRequestEndpointTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private SlowRequestLog slowRequestLog;
+    
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+    
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+    
+    @BeforeEach
+    void setUp() {
+        slowRequestLog.clear();
+        UUID customerId = createCustomerHandler.handle(new CreateCustomerCommand(
+            "Slow Customer", "slow@example.com", "1 Main St", null));
+        createInvoiceHandler.handle(new CreateInvoiceCommand(
+            customerId, LocalDate.now(), LocalDate.now().plusDays(30), null));
+        entityManager.flush();
+        entityManager.clear();
+    }
+    
+    @Test
+    @WithMockUser
+    void shouldCaptureHandlerChainAndSql() throws Exception {
+        mockMvc.perform(get("/api/v1/invoices"))
+                .andExpect(status().isOk());
+        
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.thresholdMillis").value(0))
+                .andExpect(jsonPath("$.requests[?(@.endpoint == 'GET /api/v1/invoices')]").exists())
+                .andExpect(jsonPath("$.requests[?(@.endpoint == 'GET /api/v1/invoices')].handlers[0].handler")
+                        .value(hasItem("ListAllInvoicesHandler")))
+                .andExpect(jsonPath("$.requests[?(@.endpoint == 'GET /api/v1/invoices')].statements[0].sql")
+                        .value(hasItem(containsStringIgnoringCase("select"))))
+                .andExpect(jsonPath("$.requests[?(@.endpoint == 'GET /api/v1/invoices')].rowsHydrated")
+                        .value(hasItem(greaterThan(0))));
+    }
+    
+    @Test
+    void shouldRequireAuthentication() throws Exception {
+        mockMvc.perform(get("/actuator/slowrequests"))
+                .andExpect(status().isForbidden());
+    }
+}
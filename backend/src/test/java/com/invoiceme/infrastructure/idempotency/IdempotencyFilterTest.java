@@ -0,0 +1,184 @@
+package com.invoiceme.infrastructure.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.invoiceme.api.invoices.CreateInvoiceRequest;
+import com.invoiceme.api.payments.RecordPaymentRequest;
+import com.invoiceme.application.payments.record.RecordPaymentCommand;
+import com.invoiceme.application.payments.record.RecordPaymentHandler;
+import com.invoiceme.domain.customers.Customer;
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.domain.invoices.LineItem;
+import com.invoiceme.domain.payments.PaymentPlan;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.user;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+/**
+ * Requests repeated with the same Idempotency-Key run once; repeats get the first response.
+ * Not transactional: the key store commits on its own, as it does outside tests.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class IdempotencyFilterTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @SpyBean
+    private RecordPaymentHandler recordPaymentHandler;
+    
+    private UUID customerId;
+    private UUID invoiceId;
+    
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(Customer.create(
+            "Idempotent Customer", UUID.randomUUID() + "@example.com", "1 Main St", "not-a-real-hash"));
+        customerId = customer.getId();
+        Invoice invoice = Invoice.create(customerId, LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        invoice.addLineItem(LineItem.create("Service", BigDecimal.ONE, BigDecimal.valueOf(100)));
+        invoice.markAsSent();
+        invoiceRepository.save(invoice);
+        invoiceId = invoice.getId();
+    }
+    
+    @Test
+    void shouldReplayTheFirstResponseWithoutRunningTheHandlerAgain() throws Exception {
+        String key = UUID.randomUUID().toString();
+        MockHttpServletResponse first = recordPayment(key, BigDecimal.valueOf(60));
+        MockHttpServletResponse repeat = recordPayment(key, BigDecimal.valueOf(60));
+        
+        assertEquals(201, first.getStatus());
+        assertNull(first.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(201, repeat.getStatus());
+        assertEquals("true", repeat.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.getContentAsString(), repeat.getContentAsString());
+        assertEquals(first.getContentType(), repeat.getContentType());
+        verify(recordPaymentHandler, times(1)).handle(any(RecordPaymentCommand.class));
+        
+        // Running again would have recorded a second payment
+        mockMvc.perform(get("/api/v1/payments/invoices/{invoiceId}", invoiceId).with(user("admin")))
+            .andExpect(jsonPath("$.length()").value(1));
+    }
+    
+    @Test
+    void shouldRunRequestsWithoutOrWithDifferentKeysEachTime() throws Exception {
+        assertEquals(201, recordPayment(null, BigDecimal.TEN).getStatus());
+        assertEquals(201, recordPayment(null, BigDecimal.TEN).getStatus());
+        assertEquals(201, recordPayment(UUID.randomUUID().toString(), BigDecimal.TEN).getStatus());
+        
+        verify(recordPaymentHandler, times(3)).handle(any(RecordPaymentCommand.class));
+    }
+    
+    @Test
+    void shouldRejectAKeyReusedForADifferentRequest() throws Exception {
+        String key = UUID.randomUUID().toString();
+        assertEquals(201, recordPayment(key, BigDecimal.TEN).getStatus());
+        
+        assertEquals(422, recordPayment(key, BigDecimal.ONE).getStatus());
+        mockMvc.perform(post("/api/v1/invoices")
+                .with(user("admin"))
+                .header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(
+                    new CreateInvoiceRequest(customerId, LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL))))
+            .andExpect(status().isUnprocessableEntity());
+    }
+    
+    @Test
+    void shouldKeepClientErrorsButRunAgainAfterServerErrors() throws Exception {
+        String key = UUID.randomUUID().toString();
+        doThrow(new IllegalStateException("Database unavailable"))
+            .doCallRealMethod()
+            .when(recordPaymentHandler).handle(any(RecordPaymentCommand.class));
+        
+        assertEquals(500, recordPayment(key, BigDecimal.TEN).getStatus());
+        assertEquals(201, recordPayment(key, BigDecimal.TEN).getStatus());
+        
+        String overpaymentKey = UUID.randomUUID().toString();
+        MockHttpServletResponse rejected = recordPayment(overpaymentKey, BigDecimal.valueOf(1000));
+        assertEquals(400, rejected.getStatus());
+        assertEquals(rejected.getContentAsString(), recordPayment(overpaymentKey, BigDecimal.valueOf(1000)).getContentAsString());
+        verify(recordPaymentHandler, times(3)).handle(any(RecordPaymentCommand.class));
+    }
+    
+    @Test
+    void shouldMakeAConcurrentRepeatWaitForTheFirstExecution() throws Exception {
+        String key = UUID.randomUUID().toString();
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            release.await(10, TimeUnit.SECONDS);
+            return invocation.callRealMethod();
+        }).when(recordPaymentHandler).handle(any(RecordPaymentCommand.class));
+        
+        CompletableFuture<MockHttpServletResponse> first = CompletableFuture.supplyAsync(() -> recordPaymentUnchecked(key));
+        assertTrue(entered.await(10, TimeUnit.SECONDS));
+        CompletableFuture<MockHttpServletResponse> repeat = CompletableFuture.supplyAsync(() -> recordPaymentUnchecked(key));
+        Thread.sleep(200);
+        assertFalse(repeat.isDone());
+        
+        release.countDown();
+        assertEquals(201, first.get(10, TimeUnit.SECONDS).getStatus());
+        MockHttpServletResponse replayed = repeat.get(10, TimeUnit.SECONDS);
+        assertEquals(201, replayed.getStatus());
+        assertEquals("true", replayed.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(first.get().getContentAsString(), replayed.getContentAsString());
+        verify(recordPaymentHandler, times(1)).handle(any(RecordPaymentCommand.class));
+    }
+    
+    private MockHttpServletResponse recordPaymentUnchecked(String key) {
+        try {
+            return recordPayment(key, BigDecimal.TEN);
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+    
+    private MockHttpServletResponse recordPayment(String key, BigDecimal amount) throws Exception {
+        var request = post("/api/v1/payments")
+            .with(user("admin"))
+            .contentType(MediaType.APPLICATION_JSON)
+            .content(objectMapper.writeValueAsString(
+                new RecordPaymentRequest(invoiceId, amount, LocalDate.now(), "CARD")));
+        if (key != null) {
+            request.header(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        return mockMvc.perform(request).andReturn().getResponse();
+    }
+}
@@ -0,0 +1,88 @@
+package com.invoiceme.infrastructure.metrics;
+
+import com.invoiceme.application.customers.create.CreateCustomerCommand;
+import com.invoiceme.application.customers.create.CreateCustomerHandler;
+import com.invoiceme.application.invoices.create.CreateInvoiceCommand;
+import com.invoiceme.application.invoices.create.CreateInvoiceHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdQuery;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class HandlerMetricsAspectTest {
+    
+    @Autowired
+    private MeterRegistry registry;
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+    
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+    
+    @Autowired
+    private GetInvoiceByIdHandler getInvoiceByIdHandler;
+    
+    @Test
+    void shouldTimeHandlerAndRecordSqlActivity() {
+        UUID customerId = createCustomerHandler.handle(new CreateCustomerCommand(
+            "Metrics Customer", "metrics@example.com", "1 Main St", null));
+        UUID invoiceId = createInvoiceHandler.handle(new CreateInvoiceCommand(
+            customerId, LocalDate.now(), LocalDate.now().plusDays(30), null));
+        entityManager.flush();
+        entityManager.clear();
+        
+        getInvoiceByIdHandler.handle(new GetInvoiceByIdQuery(invoiceId));
+        
+        Timer timer = registry.find(HandlerMetricsAspect.HANDLER_TIMER)
+                .tags("handler", "GetInvoiceByIdHandler", "outcome", "success")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+        
+        DistributionSummary statements = registry.find(HandlerMetricsAspect.HANDLER_STATEMENTS)
+                .tag("handler", "GetInvoiceByIdHandler")
+                .summary();
+        assertNotNull(statements);
+        assertTrue(statements.totalAmount() > 0);
+        
+        DistributionSummary rows = registry.find(HandlerMetricsAspect.HANDLER_ROWS)
+                .tag("handler", "GetInvoiceByIdHandler")
+                .summary();
+        assertNotNull(rows);
+        assertTrue(rows.totalAmount() > 0);
+    }
+    
+    @Test
+    void shouldTagFailedInvocationsWithException() {
+        assertThrows(DomainValidationException.class,
+            () -> getInvoiceByIdHandler.handle(new GetInvoiceByIdQuery(UUID.randomUUID())));
+        
+        Timer timer = registry.find(HandlerMetricsAspect.HANDLER_TIMER)
+                .tags("handler", "GetInvoiceByIdHandler",
+                      "outcome", "error",
+                      "exception", "DomainValidationException")
+                .timer();
+        assertNotNull(timer);
+        assertTrue(timer.count() >= 1);
+    }
+}
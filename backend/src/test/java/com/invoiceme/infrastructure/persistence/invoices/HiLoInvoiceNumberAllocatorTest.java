@@ -0,0 +1,148 @@
+package com.invoiceme.infrastructure.persistence.invoices;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Allocators standing in for separate instances, sharing the test database's series table.
+ * Each test uses its own prefix, so its series start empty.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+class HiLoInvoiceNumberAllocatorTest {
+    
+    private static final LocalDate ISSUE_DATE = LocalDate.of(2026, 3, 1);
+    
+    @Autowired
+    private InvoiceNumberBlockStore store;
+    
+    private final List<HiLoInvoiceNumberAllocator> allocators = new ArrayList<>();
+    
+    @AfterEach
+    void closeAllocators() {
+        allocators.forEach(HiLoInvoiceNumberAllocator::close);
+    }
+    
+    @Test
+    void shouldNumberEachIssueYearFromOne() {
+        HiLoInvoiceNumberAllocator allocator = allocator("YEAR", 10);
+        
+        assertEquals("YEAR-2025-000001", allocator.next(LocalDate.of(2025, 12, 31)));
+        assertEquals("YEAR-2025-000002", allocator.next(LocalDate.of(2025, 6, 1)));
+        assertEquals("YEAR-2026-000001", allocator.next(LocalDate.of(2026, 1, 1)));
+    }
+    
+    @Test
+    void shouldGiveEachInstanceItsOwnBlocks() {
+        HiLoInvoiceNumberAllocator first = allocator("NODE", 10);
+        HiLoInvoiceNumberAllocator second = allocator("NODE", 10);
+        
+        for (int i = 1; i <= 10; i++) {
+            assertEquals(String.format("NODE-2026-%06d", i), first.next(ISSUE_DATE));
+        }
+        // The first instance reserved 11-20 halfway through its first block
+        assertEquals("NODE-2026-000011", first.next(ISSUE_DATE));
+        assertEquals("NODE-2026-000021", second.next(ISSUE_DATE));
+        assertEquals("NODE-2026-000012", first.next(ISSUE_DATE));
+    }
+    
+    @Test
+    void shouldNeverHandOutANumberTwice() throws Exception {
+        List<HiLoInvoiceNumberAllocator> instances = List.of(allocator("RACE", 7), allocator("RACE", 7));
+        int threads = 8;
+        int perThread = 500;
+        
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                HiLoInvoiceNumberAllocator allocator = instances.get(t % instances.size());
+                futures.add(executor.submit(() -> {
+                    List<String> numbers = new ArrayList<>(perThread);
+                    for (int i = 0; i < perThread; i++) {
+                        numbers.add(allocator.next(ISSUE_DATE));
+                    }
+                    return numbers;
+                }));
+            }
+            
+            Set<String> seen = new HashSet<>();
+            for (Future<List<String>> future : futures) {
+                for (String number : future.get()) {
+                    assertTrue(seen.add(number), "Duplicate invoice number " + number);
+                }
+            }
+            assertEquals(threads * perThread, seen.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+    
+    @Test
+    void shouldGiveUpAfterMaxWaitWhileABlockIsBeingReserved() throws Exception {
+        CountDownLatch databaseBusy = new CountDownLatch(1);
+        InvoiceNumberBlockStore slowStore = mock(InvoiceNumberBlockStore.class);
+        when(slowStore.reserve(anyString(), anyInt())).thenAnswer(invocation -> {
+            databaseBusy.await();
+            return store.reserve(invocation.getArgument(0), invocation.getArgument(1));
+        });
+        HiLoInvoiceNumberAllocator allocator = allocator(slowStore, "WAIT", 10, Duration.ofMillis(50));
+        
+        assertThrows(InvoiceNumbersUnavailableException.class, () -> allocator.next(ISSUE_DATE));
+        
+        // The reservation that was still running is picked up, not repeated
+        databaseBusy.countDown();
+        assertEquals("WAIT-2026-000001", allocator.next(ISSUE_DATE));
+        verify(slowStore, times(1)).reserve(anyString(), anyInt());
+    }
+    
+    @Test
+    void shouldReserveTheFirstBlockAhead() throws Exception {
+        CountDownLatch reserved = new CountDownLatch(1);
+        InvoiceNumberBlockStore observedStore = mock(InvoiceNumberBlockStore.class);
+        when(observedStore.reserve(anyString(), anyInt())).thenAnswer(invocation -> {
+            long end = store.reserve(invocation.getArgument(0), invocation.getArgument(1));
+            reserved.countDown();
+            return end;
+        });
+        HiLoInvoiceNumberAllocator allocator = allocator(observedStore, "AHEAD", 10, Duration.ofSeconds(5));
+        allocator.reserveAhead(ISSUE_DATE);
+        
+        // Once the reservation is in, a second instance starts after it
+        assertTrue(reserved.await(5, TimeUnit.SECONDS));
+        assertEquals("AHEAD-2026-000011", allocator("AHEAD", 10).next(ISSUE_DATE));
+        assertEquals("AHEAD-2026-000001", allocator.next(ISSUE_DATE));
+    }
+    
+    private HiLoInvoiceNumberAllocator allocator(String prefix, int blockSize) {
+        return allocator(store, prefix, blockSize, Duration.ofSeconds(5));
+    }
+    
+    private HiLoInvoiceNumberAllocator allocator(InvoiceNumberBlockStore blockStore, String prefix, int blockSize,
+            Duration maxWait) {
+        HiLoInvoiceNumberAllocator allocator = new HiLoInvoiceNumberAllocator(blockStore,
+            new InvoiceNumberProperties(prefix, 6, blockSize, maxWait), Executors.newSingleThreadExecutor());
+        allocators.add(allocator);
+        return allocator;
+    }
+}
@@ -0,0 +1,117 @@
+package com.invoiceme.infrastructure.persistence.routing;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLFeatureNotSupportedException;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Uses two H2 databases that each hold a marker row naming themselves.
+ */
+class ReplicaRoutingDataSourceTest {
+    
+    private final DataSource primary = database("primary");
+    private final DataSource replica = database("replica");
+    
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+    
+    @Test
+    void shouldSendReadOnlyTransactionsToReplica() {
+        Routed routed = routed(List.of(replica), Duration.ZERO);
+        
+        assertEquals("replica", routed.readOnly());
+        assertEquals("primary", routed.readWrite());
+    }
+    
+    @Test
+    void shouldFallBackToPrimaryWhenReplicaIsDown() {
+        DataSource missing = new DriverManagerDataSource("jdbc:h2:mem:missing-" + UUID.randomUUID() + ";IFEXISTS=TRUE");
+        Routed routed = routed(List.of(missing, replica), Duration.ZERO);
+        
+        // Whichever replica comes first, the dead one is skipped from then on
+        assertEquals("replica", routed.readOnly());
+        assertEquals("replica", routed.readOnly());
+        
+        routed = routed(List.of(missing), Duration.ZERO);
+        assertEquals("primary", routed.readOnly());
+    }
+    
+    @Test
+    void shouldPinClientToPrimaryAfterItsOwnWrite() {
+        Routed routed = routed(List.of(replica), Duration.ofMinutes(1));
+        
+        authenticate("writer");
+        assertEquals("replica", routed.readOnly());
+        routed.readWrite();
+        assertEquals("primary", routed.readOnly());
+        
+        authenticate("someone-else");
+        assertEquals("replica", routed.readOnly());
+    }
+    
+    @Test
+    void shouldRejectPerCallCredentialsAsUnsupportedFeature() {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            primary, List.of(replica), Duration.ofSeconds(30), Duration.ZERO);
+        
+        assertThrows(SQLFeatureNotSupportedException.class, () -> routing.getConnection("sa", ""));
+    }
+    
+    private Routed routed(List<DataSource> replicas, Duration readYourWritesWindow) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            primary, replicas, Duration.ofSeconds(30), readYourWritesWindow);
+        return new Routed(new LazyConnectionDataSourceProxy(routing));
+    }
+    
+    private static void authenticate(String username) {
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(username, null, List.of()));
+    }
+    
+    private static DataSource database(String name) {
+        DataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table marker (name varchar(20))");
+        jdbc.update("insert into marker values (?)", name);
+        return dataSource;
+    }
+    
+    private static final class Routed {
+        
+        private final JdbcTemplate jdbc;
+        private final TransactionTemplate readOnly;
+        private final TransactionTemplate readWrite;
+        
+        private Routed(DataSource dataSource) {
+            DataSourceTransactionManager transactionManager = new DataSourceTransactionManager(dataSource);
+            this.jdbc = new JdbcTemplate(dataSource);
+            this.readOnly = new TransactionTemplate(transactionManager);
+            this.readOnly.setReadOnly(true);
+            this.readWrite = new TransactionTemplate(transactionManager);
+        }
+        
+        String readOnly() {
+            return readOnly.execute(status -> jdbc.queryForObject("select name from marker", String.class));
+        }
+        
+        String readWrite() {
+            return readWrite.execute(status -> jdbc.queryForObject("select name from marker", String.class));
+        }
+    }
+}
@@ -0,0 +1,153 @@
+package com.invoiceme.infrastructure.persistence.sharding;
+
+import com.invoiceme.application.customers.create.CreateCustomerCommand;
+import com.invoiceme.application.customers.create.CreateCustomerHandler;
+import com.invoiceme.application.customers.delete.DeleteCustomerCommand;
+import com.invoiceme.application.customers.delete.DeleteCustomerHandler;
+import com.invoiceme.application.invoices.addLineItem.AddLineItemCommand;
+import com.invoiceme.application.invoices.addLineItem.AddLineItemHandler;
+import com.invoiceme.application.invoices.create.CreateInvoiceCommand;
+import com.invoiceme.application.invoices.create.CreateInvoiceHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdQuery;
+import com.invoiceme.application.invoices.listAll.ListAllInvoicesHandler;
+import com.invoiceme.application.invoices.listAll.ListAllInvoicesQuery;
+import com.invoiceme.application.invoices.listByStatus.InvoiceSummaryDto;
+import com.invoiceme.domain.exceptions.DomainValidationException;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.domain.invoices.InvoiceStatus;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+    "invoiceme.sharding.enabled=true",
+    "invoiceme.sharding.initialize-schema=true",
+    "invoiceme.sharding.shards[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+    "invoiceme.sharding.shards[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+    "invoiceme.sharding.shards[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1"
+})
+@ActiveProfiles("test")
+@Transactional
+class ShardedRepositoriesTest {
+    
+    @Autowired
+    private ShardRouter router;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private CreateCustomerHandler createCustomerHandler;
+    
+    @Autowired
+    private DeleteCustomerHandler deleteCustomerHandler;
+    
+    @Autowired
+    private CreateInvoiceHandler createInvoiceHandler;
+    
+    @Autowired
+    private AddLineItemHandler addLineItemHandler;
+    
+    @Autowired
+    private GetInvoiceByIdHandler getInvoiceByIdHandler;
+    
+    @Autowired
+    private ListAllInvoicesHandler listAllInvoicesHandler;
+    
+    @Test
+    void shouldUseShardedRepository() {
+        assertInstanceOf(ShardedInvoiceRepositoryImpl.class, invoiceRepository);
+        assertEquals(3, router.shardCount());
+    }
+    
+    @Test
+    void shouldStoreInvoiceOnItsCustomersShard() {
+        UUID customerId = createCustomer(0);
+        UUID invoiceId = createInvoice(customerId);
+        addLineItemHandler.handle(new AddLineItemCommand(invoiceId, null, "Work", BigDecimal.ONE, BigDecimal.TEN));
+        
+        Shard home = router.forCustomer(customerId);
+        for (int i = 0; i < router.shardCount(); i++) {
+            Shard shard = router.forCustomer(customerOnShard(i));
+            long stored = router.execute(shard, () -> shard.jdbc().queryForObject(
+                "SELECT COUNT(*) FROM invoices WHERE id = :id", Map.of("id", invoiceId), Long.class));
+            assertEquals(shard.index() == home.index() ? 1 : 0, stored);
+        }
+        
+        var invoice = getInvoiceByIdHandler.handle(new GetInvoiceByIdQuery(invoiceId));
+        assertEquals(1, invoice.lineItems().size());
+        assertEquals(customerId, invoice.customerId());
+        
+        Invoice byNumber = invoiceRepository.findByInvoiceNumber(invoice.invoiceNumber()).orElseThrow();
+        assertEquals(invoiceId, byNumber.getId());
+        assertEquals(1, byNumber.getLineItems().size());
+    }
+    
+    @Test
+    void shouldMergePagesAcrossShards() {
+        List<UUID> invoiceIds = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            UUID customerId = createCustomer(i);
+            invoiceIds.add(createInvoice(customerId));
+            invoiceIds.add(createInvoice(customerId));
+        }
+        
+        assertEquals(12, invoiceRepository.count());
+        assertEquals(12, invoiceRepository.countByStatus(InvoiceStatus.DRAFT));
+        
+        Set<UUID> seen = new HashSet<>();
+        for (int page = 0; page < 3; page++) {
+            var result = listAllInvoicesHandler.handle(new ListAllInvoicesQuery(page, 5));
+            assertEquals(12, result.totalElements());
+            result.content().stream().map(InvoiceSummaryDto::id).forEach(seen::add);
+        }
+        assertEquals(Set.copyOf(invoiceIds), seen);
+        
+        List<Invoice> fetched = invoiceRepository.findAllByIds(invoiceIds);
+        assertEquals(Set.copyOf(invoiceIds), fetched.stream().map(Invoice::getId).collect(Collectors.toSet()));
+    }
+    
+    @Test
+    void shouldCheckCustomersShardBeforeDelete() {
+        UUID customerId = createCustomer(0);
+        createInvoice(customerId);
+        
+        assertThrows(DomainValidationException.class,
+            () -> deleteCustomerHandler.handle(new DeleteCustomerCommand(customerId)));
+    }
+    
+    private UUID createCustomer(int n) {
+        return createCustomerHandler.handle(new CreateCustomerCommand(
+            "Sharded Customer " + n, "sharded" + n + "@example.com", "1 Main St", null));
+    }
+    
+    private UUID createInvoice(UUID customerId) {
+        return createInvoiceHandler.handle(new CreateInvoiceCommand(
+            customerId, LocalDate.now(), LocalDate.now().plusDays(30), null));
+    }
+    
+    // Any customer id that hashes to the given shard, to reach that shard's tables
+    private UUID customerOnShard(int index) {
+        UUID candidate;
+        do {
+            candidate = UUID.randomUUID();
+        } while (router.forCustomer(candidate).index() != index);
+        return candidate;
+    }
+}
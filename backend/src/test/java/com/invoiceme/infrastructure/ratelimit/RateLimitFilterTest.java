@@ -0,0 +1,132 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import com.invoiceme.infrastructure.security.JwtService;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.test.web.servlet.request.RequestPostProcessor;
+
+import java.util.UUID;
+
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// A real server, so Tomcat applies server.forward-headers-strategy, which MockMvc bypasses
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+    "invoiceme.rate-limit.enabled=true",
+    "invoiceme.rate-limit.groups.portal.permits-per-second=0.01",
+    "invoiceme.rate-limit.groups.portal.burst=2"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class RateLimitFilterTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private TestRestTemplate restTemplate;
+    
+    @Autowired
+    private JwtService jwtService;
+    
+    @Autowired
+    private MeterRegistry registry;
+    
+    @Test
+    void shouldRejectClientOverItsBurstWithRetryAfter() throws Exception {
+        double rejectedBefore = rejected("portal");
+        
+        mockMvc.perform(portalInvoices("10.0.0.1")).andExpect(status().isOk());
+        mockMvc.perform(portalInvoices("10.0.0.1")).andExpect(status().isOk());
+        mockMvc.perform(portalInvoices("10.0.0.1"))
+            .andExpect(status().isTooManyRequests())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "100"));
+        
+        assertEquals(1, rejected("portal") - rejectedBefore);
+        assertEquals(1.0, registry.get(RateLimitFilter.OCCUPANCY_GAUGE).tag("group", "portal").gauge().value(), 0.01);
+    }
+    
+    @Test
+    void shouldKeepSeparateBucketsPerAddressAndPerUser() throws Exception {
+        mockMvc.perform(portalInvoices("10.0.0.2")).andExpect(status().isOk());
+        mockMvc.perform(portalInvoices("10.0.0.2")).andExpect(status().isOk());
+        mockMvc.perform(portalInvoices("10.0.0.3")).andExpect(status().isOk());
+        
+        // Same address, but each verified user has its own bucket
+        for (String user : new String[] {"alice", "bob"}) {
+            String token = jwtService.generateToken(user);
+            for (int i = 0; i < 2; i++) {
+                mockMvc.perform(portalInvoices("10.0.0.2").header(HttpHeaders.AUTHORIZATION, "Bearer " + token))
+                    .andExpect(status().isOk());
+            }
+        }
+        
+        // A token that does not verify falls back to the exhausted address bucket
+        mockMvc.perform(portalInvoices("10.0.0.2").header(HttpHeaders.AUTHORIZATION, "Bearer not-a-token"))
+            .andExpect(status().isTooManyRequests());
+    }
+    
+    @Test
+    void shouldLimitEachRouteGroupSeparately() throws Exception {
+        mockMvc.perform(portalInvoices("10.0.0.4")).andExpect(status().isOk());
+        mockMvc.perform(portalInvoices("10.0.0.4")).andExpect(status().isOk());
+        mockMvc.perform(portalInvoices("10.0.0.4")).andExpect(status().isTooManyRequests());
+        
+        mockMvc.perform(get("/actuator/health").with(remoteAddr("10.0.0.4")))
+            .andExpect(status().isOk());
+        mockMvc.perform(get("/api/v1/invoices").with(remoteAddr("10.0.0.4")))
+            .andExpect(status().is(not(429)));
+    }
+    
+    @Test
+    void shouldKeepSeparateBucketsPerForwardedClientBehindTheProxy() {
+        // Both clients reach the server through the same loopback proxy
+        assertEquals(HttpStatus.OK, portalInvoicesForwardedFor("203.0.113.10"));
+        assertEquals(HttpStatus.OK, portalInvoicesForwardedFor("203.0.113.10"));
+        assertEquals(HttpStatus.OK, portalInvoicesForwardedFor("203.0.113.20"));
+        
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, portalInvoicesForwardedFor("203.0.113.10"));
+        assertEquals(HttpStatus.OK, portalInvoicesForwardedFor("203.0.113.20"));
+    }
+    
+    private HttpStatus portalInvoicesForwardedFor(String client) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Forwarded-For", client);
+        return HttpStatus.valueOf(restTemplate.exchange(
+            "/api/v1/customers/portal/invoices?customerId=" + UUID.randomUUID(),
+            HttpMethod.GET,
+            new HttpEntity<>(headers),
+            String.class
+        ).getStatusCode().value());
+    }
+    
+    private static MockHttpServletRequestBuilder portalInvoices(String remoteAddr) {
+        return get("/api/v1/customers/portal/invoices")
+            .param("customerId", UUID.randomUUID().toString())
+            .with(remoteAddr(remoteAddr));
+    }
+    
+    private static RequestPostProcessor remoteAddr(String address) {
+        return request -> {
+            request.setRemoteAddr(address);
+            return request;
+        };
+    }
+    
+    private double rejected(String group) {
+        return registry.get(RateLimitFilter.REJECTED_COUNTER).tag("group", group).counter().count();
+    }
+}
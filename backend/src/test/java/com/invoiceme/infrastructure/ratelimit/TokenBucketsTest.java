@@ -0,0 +1,51 @@
+package com.invoiceme.infrastructure.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenBucketsTest {
+    
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+    
+    @Test
+    void shouldAllowBurstThenRefillAtTheConfiguredRate() {
+        TokenBuckets buckets = new TokenBuckets(2, 3, 100, 0);
+        
+        assertEquals(0, buckets.tryAcquire("a", 0));
+        assertEquals(0, buckets.tryAcquire("a", 0));
+        assertEquals(0, buckets.tryAcquire("a", 0));
+        assertEquals(SECOND / 2, buckets.tryAcquire("a", 0));
+        assertEquals(1.0, buckets.occupancy(0));
+        
+        assertEquals(0, buckets.tryAcquire("a", SECOND / 2));
+        assertEquals(SECOND / 2, buckets.tryAcquire("a", SECOND / 2));
+        assertEquals(0, buckets.tryAcquire("b", SECOND / 2));
+    }
+    
+    @Test
+    void shouldNotSaveUpMoreThanTheBurst() {
+        TokenBuckets buckets = new TokenBuckets(1, 2, 100, 0);
+        
+        long later = 60 * SECOND;
+        assertEquals(0, buckets.tryAcquire("a", later));
+        assertEquals(0, buckets.tryAcquire("a", later));
+        assertTrue(buckets.tryAcquire("a", later) > 0);
+    }
+    
+    @Test
+    void shouldDropRefilledBucketsOnceOverTheClientCap() {
+        TokenBuckets buckets = new TokenBuckets(1, 1, 2, 0);
+        buckets.tryAcquire("a", 0);
+        buckets.tryAcquire("b", 0);
+        buckets.tryAcquire("c", 0);
+        assertEquals(3, buckets.clients());
+        
+        // a, b and c have refilled by then; only d is left
+        buckets.tryAcquire("d", 5 * SECOND);
+        assertEquals(1, buckets.clients());
+        assertEquals(0.0, buckets.occupancy(10 * SECOND));
+    }
+}
@@ -0,0 +1,302 @@
+package com.invoiceme.integration;
+
+import com.invoiceme.application.invoices.addLineItem.AddLineItemCommand;
+import com.invoiceme.application.invoices.addLineItem.AddLineItemHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdHandler;
+import com.invoiceme.application.invoices.getById.GetInvoiceByIdQuery;
+import com.invoiceme.application.invoices.getByIds.GetInvoicesByIdsHandler;
+import com.invoiceme.application.invoices.getByIds.GetInvoicesByIdsQuery;
+import com.invoiceme.application.invoices.listAll.ListAllInvoicesHandler;
+import com.invoiceme.application.invoices.listAll.ListAllInvoicesQuery;
+import com.invoiceme.application.invoices.listByCustomer.ListInvoicesByCustomerHandler;
+import com.invoiceme.application.invoices.listByCustomer.ListInvoicesByCustomerQuery;
+import com.invoiceme.application.invoices.listByStatus.ListInvoicesByStatusHandler;
+import com.invoiceme.application.invoices.listByStatus.ListInvoicesByStatusQuery;
+import com.invoiceme.application.payments.record.RecordPaymentCommand;
+import com.invoiceme.application.payments.record.RecordPaymentHandler;
+import com.invoiceme.domain.customers.Customer;
+import com.invoiceme.domain.customers.CustomerRepository;
+import com.invoiceme.domain.invoices.Invoice;
+import com.invoiceme.domain.invoices.InvoiceRepository;
+import com.invoiceme.domain.invoices.InvoiceStatus;
+import com.invoiceme.domain.invoices.LineItem;
+import com.invoiceme.domain.payments.Payment;
+import com.invoiceme.domain.payments.PaymentPlan;
+import com.invoiceme.domain.payments.PaymentRepository;
+import com.invoiceme.infrastructure.metrics.JdbcActivity;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static com.invoiceme.support.QueryCountAssertions.assertQueryCount;
+import static com.invoiceme.support.QueryCountAssertions.atMost;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Guards the hot read/write paths against N+1 regressions.
+ * Each scenario runs at several data sizes under the same statement budget,
+ * so a per-row query anywhere in the path fails the larger sizes.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Transactional
+class HotPathQueryCountTest {
+    
+    @Autowired
+    private EntityManager entityManager;
+    
+    @Autowired
+    private CustomerRepository customerRepository;
+    
+    @Autowired
+    private InvoiceRepository invoiceRepository;
+    
+    @Autowired
+    private PaymentRepository paymentRepository;
+    
+    @Autowired
+    private ListAllInvoicesHandler listAllInvoicesHandler;
+    
+    @Autowired
+    private ListInvoicesByStatusHandler listInvoicesByStatusHandler;
+    
+    @Autowired
+    private ListInvoicesByCustomerHandler listInvoicesByCustomerHandler;
+    
+    @Autowired
+    private GetInvoiceByIdHandler getInvoiceByIdHandler;
+    
+    @Autowired
+    private GetInvoicesByIdsHandler getInvoicesByIdsHandler;
+    
+    @Autowired
+    private RecordPaymentHandler recordPaymentHandler;
+    
+    @Autowired
+    private AddLineItemHandler addLineItemHandler;
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void listAllInvoicesUsesConstantQueries(int pageSize) {
+        seedInvoicesForDistinctCustomers(pageSize);
+        
+        var result = assertQueryCount(atMost(5),
+            () -> listAllInvoicesHandler.handle(new ListAllInvoicesQuery(0, pageSize)));
+        
+        assertEquals(pageSize, result.content().size());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void listInvoicesByStatusUsesConstantQueries(int pageSize) {
+        seedInvoicesForDistinctCustomers(pageSize);
+        
+        var result = assertQueryCount(atMost(5),
+            () -> listInvoicesByStatusHandler.handle(
+                new ListInvoicesByStatusQuery(InvoiceStatus.SENT, 0, pageSize)));
+        
+        assertEquals(pageSize, result.content().size());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void portalInvoiceListUsesConstantQueries(int pageSize) {
+        Customer customer = seedCustomer(0);
+        for (int i = 0; i < pageSize; i++) {
+            seedInvoice(customer.getId(), 1, 1);
+        }
+        flushAndClear();
+        
+        var result = assertQueryCount(atMost(5),
+            () -> listInvoicesByCustomerHandler.handle(
+                new ListInvoicesByCustomerQuery(customer.getId(), 0, pageSize)));
+        
+        assertEquals(pageSize, result.content().size());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void getInvoiceUsesConstantQueries(int lineItemsAndPayments) {
+        Customer customer = seedCustomer(0);
+        UUID invoiceId = seedInvoice(customer.getId(), lineItemsAndPayments, lineItemsAndPayments);
+        flushAndClear();
+        
+        var invoice = assertQueryCount(atMost(3),
+            () -> getInvoiceByIdHandler.handle(new GetInvoiceByIdQuery(invoiceId)));
+        
+        assertEquals(lineItemsAndPayments, invoice.lineItems().size());
+        assertEquals(lineItemsAndPayments, invoice.payments().size());
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 99})
+    void batchGetInvoicesUsesConstantQueries(int invoiceCount) {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < invoiceCount; i++) {
+            ids.add(seedInvoice(seedCustomer(i).getId(), 3, 2));
+        }
+        UUID missingId = UUID.randomUUID();
+        ids.add(missingId);
+        flushAndClear();
+        
+        var lookups = assertQueryCount(atMost(3),
+            () -> getInvoicesByIdsHandler.handle(new GetInvoicesByIdsQuery(ids)));
+        
+        assertEquals(ids, lookups.stream().map(lookup -> lookup.invoiceId()).toList());
+        assertFalse(lookups.get(invoiceCount).found());
+        assertTrue(lookups.subList(0, invoiceCount).stream().allMatch(lookup ->
+            lookup.found()
+                && lookup.invoice().lineItems().size() == 3
+                && lookup.invoice().payments().size() == 2
+                && lookup.invoice().customerName().startsWith("Customer ")));
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void recordPaymentUsesConstantQueries(int existingPayments) {
+        Customer customer = seedCustomer(0);
+        UUID invoiceId = seedInvoice(customer.getId(), existingPayments, existingPayments);
+        flushAndClear();
+        
+        assertQueryCount(atMost(8), () -> {
+            recordPaymentHandler.handle(new RecordPaymentCommand(
+                invoiceId, BigDecimal.ONE, LocalDate.now(), "CARD"));
+            entityManager.flush();
+        });
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void addLineItemUsesConstantQueries(int existingLineItems) {
+        Customer customer = seedCustomer(0);
+        Invoice invoice = Invoice.create(customer.getId(), LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        for (int i = 0; i < existingLineItems; i++) {
+            invoice.addLineItem(LineItem.create("Existing " + i, BigDecimal.ONE, BigDecimal.TEN));
+        }
+        invoiceRepository.save(invoice);
+        flushAndClear();
+        
+        assertQueryCount(atMost(6), () -> {
+            addLineItemHandler.handle(new AddLineItemCommand(
+                invoice.getId(), null, "New item", BigDecimal.ONE, BigDecimal.TEN));
+            entityManager.flush();
+        });
+    }
+    
+    @ParameterizedTest
+    @ValueSource(ints = {1, 20, 100})
+    void createInvoiceInsertsWithoutSelectingFirst(int lineItems) {
+        Customer customer = seedCustomer(0);
+        flushAndClear();
+        Invoice invoice = Invoice.create(customer.getId(), LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        for (int i = 0; i < lineItems; i++) {
+            invoice.addLineItem(LineItem.create("Service " + i, BigDecimal.ONE, BigDecimal.TEN));
+        }
+        
+        List<String> statements = recordStatements(() -> {
+            invoiceRepository.save(invoice);
+            entityManager.flush();
+        });
+        
+        // The only read is the payments lookup that rebuilds the saved invoice
+        assertEquals(1, selects(statements), statements::toString);
+        // Besides that, one insert for the invoice and the line items in batches of 20
+        assertEquals(2 + (lineItems + 19) / 20, statements.size(), statements::toString);
+    }
+    
+    @Test
+    void lineItemAddedToStoredInvoiceIsInsertedWithoutSelectingFirst() {
+        Customer customer = seedCustomer(0);
+        Invoice draft = Invoice.create(customer.getId(), LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        draft.addLineItem(LineItem.create("Existing", BigDecimal.ONE, BigDecimal.TEN));
+        invoiceRepository.save(draft);
+        flushAndClear();
+        
+        Invoice invoice = invoiceRepository.findById(draft.getId()).orElseThrow();
+        invoice.addLineItem(LineItem.create("Added", BigDecimal.ONE, BigDecimal.TEN));
+        List<String> statements = recordStatements(() -> {
+            invoiceRepository.save(invoice);
+            entityManager.flush();
+        });
+        
+        assertEquals(1, selects(statements), statements::toString);
+        assertEquals(1, statements.stream().filter(sql -> sql.startsWith("insert into invoice_line_items")).count(),
+            statements::toString);
+    }
+    
+    @Test
+    void paymentIsInsertedWithoutSelectingFirst() {
+        Customer customer = seedCustomer(0);
+        UUID invoiceId = seedInvoice(customer.getId(), 1, 0);
+        flushAndClear();
+        
+        List<String> statements = recordStatements(() -> {
+            paymentRepository.save(Payment.create(invoiceId, BigDecimal.ONE, LocalDate.now(), "CARD"));
+            entityManager.flush();
+        });
+        
+        assertEquals(List.of("insert into payments"), statements.stream()
+            .map(sql -> sql.substring(0, sql.indexOf(" (")))
+            .toList());
+    }
+    
+    private static List<String> recordStatements(Runnable block) {
+        List<String> statements = new ArrayList<>();
+        JdbcActivity.current().observe((sql, nanos) -> statements.add(sql.strip().toLowerCase()));
+        try {
+            block.run();
+        } finally {
+            JdbcActivity.current().observe(null);
+        }
+        return statements;
+    }
+    
+    private static long selects(List<String> statements) {
+        return statements.stream().filter(sql -> sql.startsWith("select")).count();
+    }
+    
+    private void seedInvoicesForDistinctCustomers(int count) {
+        for (int i = 0; i < count; i++) {
+            seedInvoice(seedCustomer(i).getId(), 1, 1);
+        }
+        flushAndClear();
+    }
+    
+    private Customer seedCustomer(int index) {
+        return customerRepository.save(Customer.create(
+            "Customer " + index,
+            "customer" + index + "@example.com",
+            index + " Main St",
+            "not-a-real-hash"
+        ));
+    }
+    
+    private UUID seedInvoice(UUID customerId, int lineItems, int payments) {
+        Invoice invoice = Invoice.create(customerId, LocalDate.now(), LocalDate.now().plusDays(30), PaymentPlan.FULL);
+        for (int i = 0; i < lineItems; i++) {
+            invoice.addLineItem(LineItem.create("Service " + i, BigDecimal.ONE, BigDecimal.valueOf(1000)));
+        }
+        invoice.markAsSent();
+        invoiceRepository.save(invoice);
+        for (int i = 0; i < payments; i++) {
+            paymentRepository.save(Payment.create(invoice.getId(), BigDecimal.ONE, LocalDate.now(), "CARD"));
+        }
+        return invoice.getId();
+    }
+    
+    private void flushAndClear() {
+        entityManager.flush();
+        entityManager.clear();
+    }
+}
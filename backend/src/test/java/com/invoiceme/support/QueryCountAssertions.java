@@ -0,0 +1,78 @@
+package com.invoiceme.support;
+
+import com.invoiceme.infrastructure.metrics.JdbcActivity;
+
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts how many JDBC statements a block of code issues.
+ * Counts come from the DataSource proxy installed by the metrics package,
+ * so anything Hibernate or Spring Data sends to the database is included.
+ *
+ * <pre>
+ * assertQueryCount(atMost(3), () -> handler.handle(query));
+ * </pre>
+ */
+public final class QueryCountAssertions {
+    
+    private QueryCountAssertions() {
+    }
+    
+    public static QueryCountExpectation exactly(long statements) {
+        return new QueryCountExpectation(statements, statements);
+    }
+    
+    public static QueryCountExpectation atMost(long statements) {
+        return new QueryCountExpectation(0, statements);
+    }
+    
+    public static QueryCountExpectation between(long min, long max) {
+        return new QueryCountExpectation(min, max);
+    }
+    
+    public static <T> T assertQueryCount(QueryCountExpectation expected, Supplier<T> block) {
+        JdbcActivity.Snapshot before = JdbcActivity.current().snapshot();
+        T result = block.get();
+        long actual = JdbcActivity.current().snapshot().since(before).statements();
+        if (!expected.matches(actual)) {
+            fail("Expected " + expected + " SQL statements but " + actual + " were executed");
+        }
+        return result;
+    }
+    
+    public static void assertQueryCount(QueryCountExpectation expected, Runnable block) {
+        assertQueryCount(expected, () -> {
+            block.run();
+            return null;
+        });
+    }
+    
+    /**
+     * Counts statements without asserting, e.g. to compare two runs.
+     */
+    public static long countQueries(Runnable block) {
+        JdbcActivity.Snapshot before = JdbcActivity.current().snapshot();
+        block.run();
+        return JdbcActivity.current().snapshot().since(before).statements();
+    }
+    
+    /**
+     * Inclusive range of allowed statement counts.
+     */
+    public record QueryCountExpectation(long min, long max) {
+        
+        boolean matches(long actual) {
+            return actual >= min && actual <= max;
+        }
+        
+        @Override
+        public String toString() {
+            if (min == max) {
+                return "exactly " + max;
+            }
+            return min == 0 ? "at most " + max : "between " + min + " and " + max;
+        }
+    }
+}